@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The Benchmark Resources Class.
+ * <p/>
+ * A static utility class to load the test messages bundled with the
+ * benchmarks, which are copied at build time from the test resources of the
+ * product modules, so that the benchmarks and the module unit tests always
+ * operate on the same messages, and
+ * to generate the standard synthetic datasets of the performance tests.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class BenchmarkResources {
+
+    /**
+     * The S-125 test message.
+     */
+    public static final String S125_MESSAGE = "s125-msg.xml";
+
+    /**
+     * The S-201 test message.
+     */
+    public static final String S201_MESSAGE = "s201-msg.xml";
+
+    /**
+     * Loads the provided bundled resource as a UTF-8 string.
+     *
+     * @param name the name of the resource
+     * @return the resource contents
+     */
+    public static String load(String name) {
+        try(InputStream in = BenchmarkResources.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(Objects.requireNonNull(in, "Missing benchmark resource " + name).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Generates a synthetic dataset of the provided product and number of
+     * members, using the default generator settings, so that all the
+     * performance tests operate on the same input.
+     *
+     * @param product the dataset product
+     * @param memberCount the number of members to be generated
+     * @return the generated dataset XML representation
+     */
+    public static byte[] generate(SyntheticDatasetGenerator.Product product, long memberCount) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new SyntheticDatasetGenerator(product)
+                    .setMemberCount(memberCount)
+                    .generate(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+}
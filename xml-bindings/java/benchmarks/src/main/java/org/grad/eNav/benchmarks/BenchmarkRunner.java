@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The Benchmark Runner Class.
+ * <p/>
+ * The main entry point of the benchmarks jar. By default, all the S-100
+ * binding benchmarks are executed with the GC profiler enabled, so that the
+ * allocation rates are reported along with the throughput, and the results
+ * are written in JSON format, so that they can be compared between releases.
+ * Any standard JMH command line options can be provided to override these
+ * defaults, e.g. to select specific benchmarks or a different result file.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The default JSON result file.
+     */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * The main function of the benchmark runner.
+     *
+     * @param args the JMH command line options
+     * @throws RunnerException for any errors while running the benchmarks
+     * @throws CommandLineOptionException for invalid command line options
+     * @throws IOException for any errors while printing the help or listings
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        // Leave the help and listing options to the standard JMH runner
+        if(commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListProfilers()) {
+            Main.main(args);
+            return;
+        }
+        final ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLineOptions);
+
+        // Apply the defaults for anything not provided in the command line
+        if(commandLineOptions.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackageName() + "\\..*");
+        }
+        if(commandLineOptions.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        if(!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if(!commandLineOptions.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+
+        // And run the benchmarks
+        final Options options = builder.build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import _int.iho.s_201.gml.cs0._2.HorizontalDatumType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Enum Lookup Benchmark Class.
+ * <p/>
+ * Measures the {@code fromValue} lookups of the largest S-201 enumeration,
+ * i.e. the 130 horizontal datums, as generated with the {@code -Xenum-lookup}
+ * XJC plugin, against the loop over the enumeration values that XJC
+ * generates by default. Each invocation looks up all the lexical values of
+ * the enumeration, in a shuffled order.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnumLookupBenchmark {
+
+    // Class Variables
+    private String[] values;
+
+    /**
+     * Collects the lexical values of the enumeration, in a fixed shuffled
+     * order.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<String> values = new ArrayList<>(Arrays.stream(HorizontalDatumType.values())
+                .map(HorizontalDatumType::value)
+                .toList());
+        Collections.shuffle(values, new Random(SyntheticDatasetGenerator.DEFAULT_SEED));
+        this.values = values.toArray(String[]::new);
+    }
+
+    /**
+     * Benchmarks the generated hash map based lookups.
+     *
+     * @param blackhole the blackhole consuming the looked up constants
+     */
+    @Benchmark
+    public void fromValue(Blackhole blackhole) {
+        for(String value : this.values) {
+            blackhole.consume(HorizontalDatumType.fromValue(value));
+        }
+    }
+
+    /**
+     * Benchmarks the default XJC lookups, which loop over the values of the
+     * enumeration until a matching one is found.
+     *
+     * @param blackhole the blackhole consuming the looked up constants
+     */
+    @Benchmark
+    public void linearFromValue(Blackhole blackhole) {
+        for(String value : this.values) {
+            blackhole.consume(linearFromValue(value));
+        }
+    }
+
+    /**
+     * The default XJC lookup of the enumeration constants.
+     *
+     * @param value the lexical value
+     * @return the matching enumeration constant
+     */
+    private static HorizontalDatumType linearFromValue(String value) {
+        for(HorizontalDatumType constant : HorizontalDatumType.values()) {
+            if(constant.value().equals(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import _int.iho.s100.catalog._5_2.S100DataCoverage;
+import _int.iho.s100.catalog._5_2.S100GeographicBoundingBoxType;
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s100.utils.S100ExchangeSetUtils;
+import org.grad.eNav.s125.utils.S125Utils;
+import org.grad.eNav.s201.utils.S201Utils;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Geometry Benchmark Class.
+ * <p/>
+ * Measures the throughput and allocation rate of the geometry helpers, i.e.
+ * the reflective S-125 and S-201 Aids to Navigation geometry list generation
+ * and access, as well as the S-100 exchange set data coverage and bounding
+ * box generation from JTS polygons of increasing complexity.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometryBenchmark {
+
+    /**
+     * The number of geometries per Aids to Navigation feature, and the number
+     * of vertices of the data coverage polygon.
+     */
+    @Param({"1", "100", "10000"})
+    public int complexity;
+
+    // Class Variables
+    private _int.iho.s_125.gml.cs0._1.VirtualAISAidToNavigation s125Aton;
+    private List<_int.iho.s_125.s_100.gml.base._5_2.S100SpatialAttributeType> s125SpatialAttributes;
+    private _int.iho.s_201.gml.cs0._2.VirtualAISAidToNavigation s201Aton;
+    private List<_int.iho.s_201.s_100.gml.base._5_2.S100SpatialAttributeType> s201SpatialAttributes;
+    private Polygon polygon;
+
+    /**
+     * Prepares the Aids to Navigation features and the data coverage polygon
+     * of the current complexity.
+     *
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException {
+        // Take the S-125 AtoN of the test message and replicate its geometry
+        this.s125Aton = (_int.iho.s_125.gml.cs0._1.VirtualAISAidToNavigation) S125Utils
+                .unmarshallS125(BenchmarkResources.load(BenchmarkResources.S125_MESSAGE))
+                .getMembers()
+                .getVirtualAISAidToNavigation()
+                .getFirst();
+        this.s125SpatialAttributes = Collections.nCopies(this.complexity, S125Utils.getS125AidsToNavigationTypeGeometriesList(this.s125Aton).getFirst());
+        this.s125Aton.getGeometries().clear();
+        this.s125Aton.getGeometries().addAll((List) S125Utils.generateS125AidsToNavigationTypeGeometriesList(this.s125Aton.getClass(), this.s125SpatialAttributes));
+
+        // Take the S-201 AtoN of the test message and replicate its geometry
+        this.s201Aton = (_int.iho.s_201.gml.cs0._2.VirtualAISAidToNavigation) S201Utils
+                .unmarshallS201(BenchmarkResources.load(BenchmarkResources.S201_MESSAGE))
+                .getMembers()
+                .getVirtualAISAidToNavigation()
+                .getFirst();
+        this.s201SpatialAttributes = Collections.nCopies(this.complexity, S201Utils.getS201AidsToNavigationTypeGeometriesList(this.s201Aton).getFirst());
+        this.s201Aton.getGeometries().clear();
+        this.s201Aton.getGeometries().addAll((List) S201Utils.generateS201AidsToNavigationTypeGeometriesList(this.s201Aton.getClass(), this.s201SpatialAttributes));
+
+        // Create a closed polygon with the requested number of vertices
+        final int vertices = Math.max(3, this.complexity);
+        final Coordinate[] coordinates = new Coordinate[vertices + 1];
+        for(int i = 0; i < vertices; i++) {
+            final double angle = 2 * Math.PI * i / vertices;
+            coordinates[i] = new Coordinate(10 * Math.cos(angle), 10 * Math.sin(angle));
+        }
+        coordinates[vertices] = coordinates[0];
+        this.polygon = new GeometryFactory(new PrecisionModel(), 4326).createPolygon(coordinates);
+    }
+
+    /**
+     * Benchmarks the generation of the S-125 Aids to Navigation geometries.
+     *
+     * @return the generated geometries
+     */
+    @Benchmark
+    public List<?> generateS125Geometries() {
+        return S125Utils.generateS125AidsToNavigationTypeGeometriesList(this.s125Aton.getClass(), this.s125SpatialAttributes);
+    }
+
+    /**
+     * Benchmarks the access of the S-125 Aids to Navigation geometries.
+     *
+     * @return the accessed spatial attributes
+     */
+    @Benchmark
+    public List<?> getS125Geometries() {
+        return S125Utils.getS125AidsToNavigationTypeGeometriesList(this.s125Aton);
+    }
+
+    /**
+     * Benchmarks the generation of the S-201 Aids to Navigation geometries.
+     *
+     * @return the generated geometries
+     */
+    @Benchmark
+    public List<?> generateS201Geometries() {
+        return S201Utils.generateS201AidsToNavigationTypeGeometriesList(this.s201Aton.getClass(), this.s201SpatialAttributes);
+    }
+
+    /**
+     * Benchmarks the access of the S-201 Aids to Navigation geometries.
+     *
+     * @return the accessed spatial attributes
+     */
+    @Benchmark
+    public List<?> getS201Geometries() {
+        return S201Utils.getS201AidsToNavigationTypeGeometriesList(this.s201Aton);
+    }
+
+    /**
+     * Benchmarks the generation of the S-100 data coverages.
+     *
+     * @return the generated data coverages
+     */
+    @Benchmark
+    public List<S100DataCoverage> createS100DataCoverages() {
+        return S100ExchangeSetUtils.createS100DataCoverages(this.polygon);
+    }
+
+    /**
+     * Benchmarks the generation of the S-100 geographic bounding box.
+     *
+     * @return the generated bounding box
+     */
+    @Benchmark
+    public S100GeographicBoundingBoxType createS100GeographicBoundingBox() {
+        return S100ExchangeSetUtils.createS100GeographicBoundingBoxType(this.polygon);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import _int.iho.s100.catalog._5_2.S100ExchangeCatalogue;
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignature;
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s100.utils.S100ExchangeCatalogueBuilder;
+import org.grad.eNav.s100.utils.S100ExchangeSetSignatureProvider;
+import org.grad.eNav.s100.utils.S100ExchangeSetUtils;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateEncodingException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The S-100 Catalogue Benchmark Class.
+ * <p/>
+ * Measures the throughput and allocation rate of the S-100 exchange set
+ * catalogue building, marshalling and unmarshalling operations, for an
+ * increasing number of dataset discovery metadata entries. The digital
+ * signatures are provided by a constant signature provider, so that only the
+ * cost of the bindings is measured.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S100CatalogueBenchmark {
+
+    /**
+     * The number of dataset discovery metadata entries in the catalogue.
+     */
+    @Param({"1", "100", "1000"})
+    public int datasetCount;
+
+    // Class Variables
+    private S100ExchangeSetSignatureProvider signatureProvider;
+    private Polygon coverage;
+    private byte[] payload;
+    private S100ExchangeCatalogue catalogue;
+    private byte[] xml;
+
+    /**
+     * Prepares the catalogue inputs for the current dataset count.
+     *
+     * @throws JAXBException for errors in the marshalling operation
+     * @throws CertificateEncodingException for errors in the certificate encoding
+     */
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException, CertificateEncodingException {
+        this.signatureProvider = (id, algorithm, payload) -> {
+            S100SEDigitalSignature s100SEDigitalSignature = new S100SEDigitalSignature();
+            s100SEDigitalSignature.setId("sig-" + id);
+            s100SEDigitalSignature.setCertificateRef("ref");
+            s100SEDigitalSignature.setValue("signature".getBytes(StandardCharsets.UTF_8));
+            return s100SEDigitalSignature;
+        };
+        this.coverage = new GeometryFactory(new PrecisionModel(), 4326).createPolygon(new Coordinate[]{
+                new Coordinate(-10, -10),
+                new Coordinate(-11, 10),
+                new Coordinate(10, 11),
+                new Coordinate(11, -11),
+                new Coordinate(-10, -10),
+        });
+        this.payload = BenchmarkResources.load(BenchmarkResources.S125_MESSAGE).getBytes(StandardCharsets.UTF_8);
+
+        // Build and marshal a catalogue once, for the parsing benchmarks
+        this.catalogue = this.build();
+        this.xml = S100ExchangeSetUtils.marshalS100ExchangeSetCatalogue(this.catalogue, Boolean.FALSE)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Benchmarks the building of an exchange set catalogue.
+     *
+     * @return the built catalogue
+     * @throws JAXBException for errors in the catalogue building
+     * @throws CertificateEncodingException for errors in the certificate encoding
+     */
+    @Benchmark
+    public S100ExchangeCatalogue build() throws JAXBException, CertificateEncodingException {
+        final S100ExchangeCatalogueBuilder builder = new S100ExchangeCatalogueBuilder(this.signatureProvider)
+                .setIdentifier("benchmark")
+                .setDateTime(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .setLocales(Collections.emptyList());
+        for(int i = 0; i < this.datasetCount; i++) {
+            final String fileName = String.format("S-125/DATASET_FILES/dataset%d.gml", i);
+            builder.addDatasetMetadata(b -> b
+                    .setFileName(fileName)
+                    .setDatasetID(fileName)
+                    .setBoundingBox(this.coverage)
+                    .setDataCoverages(this.coverage)
+                    .build(this.payload));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Benchmarks the marshalling of an exchange set catalogue, without
+     * formatting.
+     *
+     * @return the marshalled catalogue
+     * @throws JAXBException for errors in the marshalling operation
+     */
+    @Benchmark
+    public String marshal() throws JAXBException {
+        return S100ExchangeSetUtils.marshalS100ExchangeSetCatalogue(this.catalogue, Boolean.FALSE);
+    }
+
+    /**
+     * Benchmarks the unmarshalling of an exchange set catalogue.
+     *
+     * @return the unmarshalled catalogue
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public S100ExchangeCatalogue unmarshal() throws JAXBException {
+        return S100ExchangeSetUtils.unmarshallS100ExchangeSetCatalogue(new ByteArrayInputStream(this.xml));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import _int.iho.s_125.gml.cs0._1.Dataset;
+import _int.iho.s_125.gml.cs0._1.impl.DatasetImpl;
+import _int.iho.s_125.s_100.gml.profiles._5_2.AbstractGMLType;
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s125.utils.S125Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The S-125 Benchmark Class.
+ * <p/>
+ * Measures the throughput and allocation rate of the S-125 marshalling and
+ * unmarshalling operations, as well as the dataset member access and
+ * population utilities, both for the small test message and for larger
+ * synthetic datasets generated by the {@link SyntheticDatasetGenerator}.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S125Benchmark {
+
+    /**
+     * The number of synthetic dataset members, with zero selecting the test
+     * message instead.
+     */
+    @Param({"0", "1000", "10000"})
+    public int memberCount;
+
+    // Class Variables
+    private byte[] xml;
+    private Dataset dataset;
+    private List<? extends AbstractGMLType> members;
+
+    /**
+     * Loads the input dataset for the current member count.
+     *
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException {
+        this.xml = this.memberCount == 0 ?
+                BenchmarkResources.load(BenchmarkResources.S125_MESSAGE).getBytes(StandardCharsets.UTF_8) :
+                BenchmarkResources.generate(SyntheticDatasetGenerator.Product.S125, this.memberCount);
+        this.dataset = S125Utils.unmarshallS125(new ByteArrayInputStream(this.xml));
+        this.members = S125Utils.getDatasetMembers(this.dataset);
+    }
+
+    /**
+     * Benchmarks the marshalling of the S-125 dataset, without formatting.
+     *
+     * @return the marshalled dataset
+     * @throws JAXBException for errors in the marshalling operation
+     */
+    @Benchmark
+    public String marshal() throws JAXBException {
+        return S125Utils.marshalS125(this.dataset, Boolean.FALSE);
+    }
+
+    /**
+     * Benchmarks the unmarshalling of the S-125 dataset.
+     *
+     * @return the unmarshalled dataset
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public Dataset unmarshal() throws JAXBException {
+        return S125Utils.unmarshallS125(new ByteArrayInputStream(this.xml));
+    }
+
+    /**
+     * Benchmarks the collection of all the S-125 dataset members.
+     *
+     * @return the dataset members
+     */
+    @Benchmark
+    public List<? extends AbstractGMLType> getDatasetMembers() {
+        return S125Utils.getDatasetMembers(this.dataset);
+    }
+
+    /**
+     * Benchmarks the population of an empty S-125 dataset with all the
+     * members of the input dataset.
+     *
+     * @return the populated dataset
+     */
+    @Benchmark
+    public Dataset addDatasetMembers() {
+        final Dataset target = new DatasetImpl();
+        S125Utils.addDatasetMembers(target, this.members);
+        return target;
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import _int.iho.s_201.gml.cs0._2.Dataset;
+import _int.iho.s_201.gml.cs0._2.LightAllAround;
+import _int.iho.s_201.gml.cs0._2.LightSectored;
+import _int.iho.s_201.gml.cs0._2.Lighthouse;
+import _int.iho.s_201.gml.cs0._2.impl.DatasetImpl;
+import _int.iho.s_201.s_100.gml.profiles._5_2.AbstractGMLType;
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s100.query.S100BoundingBox;
+import org.grad.eNav.s100.query.S100DatasetIndex;
+import org.grad.eNav.s100.query.S100DatasetQuery;
+import org.grad.eNav.s100.stax.S100MemberFilter;
+import org.grad.eNav.s100.stax.S100MemberProjection;
+import org.grad.eNav.s100.stax.S100ProjectedMember;
+import org.grad.eNav.s201.utils.S201Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The S-201 Benchmark Class.
+ * <p/>
+ * Measures the throughput and allocation rate of the S-201 marshalling and
+ * unmarshalling operations, as well as the dataset member access and
+ * population utilities, both for the small test message and for larger
+ * synthetic datasets generated by the {@link SyntheticDatasetGenerator}.
+ * The reads of the binary dataset snapshots are measured against the
+ * unmarshalling of the same datasets from their XML content.
+ * The selective member reads, which only decode the light members, are
+ * measured against the full decoding of the dataset members from the same
+ * XML content, as are the rendering projections of the members. Finally,
+ * the dataset queries over a reused index are measured against the same
+ * queries indexing the dataset members every time.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S201Benchmark {
+
+    /**
+     * The number of synthetic dataset members, with zero selecting the test
+     * message instead.
+     */
+    @Param({"0", "1000", "10000"})
+    public int memberCount;
+
+    /**
+     * The filter of the light members, for the selective member reads.
+     */
+    private static final S100MemberFilter LIGHTS_FILTER = S100MemberFilter.ofTypes(
+            Lighthouse.class, LightAllAround.class, LightSectored.class);
+
+    /**
+     * The projection of the members required for map rendering.
+     */
+    private static final S100MemberProjection RENDERING_PROJECTION = S100MemberProjection.of(
+            "status", "colour", S100MemberProjection.POINT_GEOMETRY);
+
+    /**
+     * The bounding box of the dataset queries, around the dataset origin.
+     */
+    private static final S100BoundingBox QUERY_BOUNDING_BOX = new S100BoundingBox(51.8, 1.3, 52.0, 1.5);
+
+    /**
+     * The validity date of the dataset queries.
+     */
+    private static final LocalDate QUERY_VALIDITY_DATE = LocalDate.of(2020, 1, 1);
+
+    // Class Variables
+    private byte[] xml;
+    private byte[] snapshot;
+    private Dataset dataset;
+    private List<? extends AbstractGMLType> members;
+    private S100DatasetIndex<AbstractGMLType> index;
+
+    /**
+     * Loads the input dataset for the current member count.
+     *
+     * @throws JAXBException for errors in the unmarshalling operation
+     * @throws IOException for errors while writing the dataset snapshot
+     */
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException, IOException {
+        this.xml = this.memberCount == 0 ?
+                BenchmarkResources.load(BenchmarkResources.S201_MESSAGE).getBytes(StandardCharsets.UTF_8) :
+                BenchmarkResources.generate(SyntheticDatasetGenerator.Product.S201, this.memberCount);
+        this.dataset = S201Utils.unmarshallS201(new ByteArrayInputStream(this.xml));
+        this.members = S201Utils.getDatasetMembers(this.dataset);
+        this.index = S201Utils.indexDatasetMembers(this.dataset);
+
+        // Write the dataset snapshot once, for the snapshot reads
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        S201Utils.writeS201Snapshot(this.dataset, out);
+        this.snapshot = out.toByteArray();
+    }
+
+    /**
+     * Benchmarks the marshalling of the S-201 dataset, without formatting.
+     *
+     * @return the marshalled dataset
+     * @throws JAXBException for errors in the marshalling operation
+     */
+    @Benchmark
+    public String marshal() throws JAXBException {
+        return S201Utils.marshalS201(this.dataset, Boolean.FALSE);
+    }
+
+    /**
+     * Benchmarks the unmarshalling of the S-201 dataset.
+     *
+     * @return the unmarshalled dataset
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public Dataset unmarshal() throws JAXBException {
+        return S201Utils.unmarshallS201(new ByteArrayInputStream(this.xml));
+    }
+
+    /**
+     * Benchmarks the reading of the S-201 dataset from its binary snapshot,
+     * as the alternative of the {@link #unmarshal()} operation.
+     *
+     * @return the dataset read from the snapshot
+     * @throws IOException for errors while reading the snapshot
+     */
+    @Benchmark
+    public Dataset readSnapshot() throws IOException {
+        return S201Utils.readS201Snapshot(new ByteArrayInputStream(this.snapshot));
+    }
+
+    /**
+     * Benchmarks the collection of all the S-201 dataset members.
+     *
+     * @return the dataset members
+     */
+    @Benchmark
+    public List<? extends AbstractGMLType> getDatasetMembers() {
+        return S201Utils.getDatasetMembers(this.dataset);
+    }
+
+    /**
+     * Benchmarks the decoding of all the S-201 dataset members from the XML
+     * content, as the baseline of the selective member reads.
+     *
+     * @return the dataset members
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public List<? extends AbstractGMLType> readAllDatasetMembers() throws JAXBException {
+        return S201Utils.getDatasetMembers(new ByteArrayInputStream(this.xml), S100MemberFilter.ALL);
+    }
+
+    /**
+     * Benchmarks the selective decoding of the S-201 light members from the
+     * XML content, skipping all the other members.
+     *
+     * @return the light dataset members
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public List<? extends AbstractGMLType> readLightDatasetMembers() throws JAXBException {
+        return S201Utils.getDatasetMembers(new ByteArrayInputStream(this.xml), LIGHTS_FILTER);
+    }
+
+    /**
+     * Benchmarks the projection of the S-201 dataset members from the XML
+     * content into the lightweight records required for map rendering.
+     *
+     * @return the projected dataset members
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public List<S100ProjectedMember> projectDatasetMembers() throws JAXBException {
+        return S201Utils.projectDatasetMembers(new ByteArrayInputStream(this.xml), RENDERING_PROJECTION);
+    }
+
+    /**
+     * Benchmarks a query of the confirmed members within a bounding box that
+     * are valid on a given date, answered through the dataset indices.
+     *
+     * @return the number of matching members
+     */
+    @Benchmark
+    public long queryIndexedDatasetMembers() {
+        return new S100DatasetQuery<AbstractGMLType>()
+                .addAttribute("status", "Confirmed")
+                .setBoundingBox(QUERY_BOUNDING_BOX)
+                .setValidityDate(QUERY_VALIDITY_DATE)
+                .execute(this.index)
+                .count();
+    }
+
+    /**
+     * Benchmarks the same query as {@link #queryIndexedDatasetMembers()},
+     * indexing the dataset members on every query instead of reusing the
+     * index.
+     *
+     * @return the number of matching members
+     */
+    @Benchmark
+    public long queryDatasetMembers() {
+        return S201Utils.queryDatasetMembers(this.dataset, new S100DatasetQuery<AbstractGMLType>()
+                        .addAttribute("status", "Confirmed")
+                        .setBoundingBox(QUERY_BOUNDING_BOX)
+                        .setValidityDate(QUERY_VALIDITY_DATE))
+                .count();
+    }
+
+    /**
+     * Benchmarks the population of an empty S-201 dataset with all the
+     * members of the input dataset.
+     *
+     * @return the populated dataset
+     */
+    @Benchmark
+    public Dataset addDatasetMembers() {
+        final Dataset target = new DatasetImpl();
+        S201Utils.addDatasetMembers(target, this.members);
+        return target;
+    }
+
+}
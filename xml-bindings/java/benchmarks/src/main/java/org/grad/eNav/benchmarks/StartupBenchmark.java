@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s100.stax.S100XmlEngine;
+import org.grad.eNav.s125.utils.S125Utils;
+import org.grad.eNav.s201.utils.S201Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Startup Benchmark Class.
+ * <p/>
+ * Measures the time to the first marshalling operation of a freshly started
+ * JVM, which is dominated by the creation of the JAXB context and is the main
+ * contributor to the cold start of short-lived services, e.g. serverless
+ * functions. Each measurement is a single shot in a new JVM fork, either with
+ * the JAXB context pre-warmed in the background during the startup, or not.
+ * <p/>
+ * The input dataset is loaded through the JAXB-free StAX engine, so that the
+ * JAXB context is not created before the measurement. The effect of an AppCDS
+ * archive can be measured by passing it to the forks, e.g. through the
+ * {@code -jvmArgsAppend -XX:SharedArchiveFile=startup.jsa} option.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    /**
+     * The dataset product.
+     */
+    @Param({"S125", "S201"})
+    public String product;
+
+    /**
+     * Whether the JAXB context is pre-warmed in the background during the
+     * startup.
+     */
+    @Param({"false", "true"})
+    public boolean prewarm;
+
+    // Class Variables
+    private _int.iho.s_125.gml.cs0._1.Dataset s125Dataset;
+    private _int.iho.s_201.gml.cs0._2.Dataset s201Dataset;
+
+    /**
+     * Simulates the startup of the application, pre-warming the JAXB context
+     * if required and loading the input dataset in the meantime.
+     *
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException {
+        if("S125".equals(this.product)) {
+            if(this.prewarm) {
+                S125Utils.prewarm();
+            }
+            this.s125Dataset = S125Utils.unmarshallS125(new ByteArrayInputStream(
+                    BenchmarkResources.load(BenchmarkResources.S125_MESSAGE).getBytes(StandardCharsets.UTF_8)), S100XmlEngine.STAX);
+        } else {
+            if(this.prewarm) {
+                S201Utils.prewarm();
+            }
+            this.s201Dataset = S201Utils.unmarshallS201(new ByteArrayInputStream(
+                    BenchmarkResources.load(BenchmarkResources.S201_MESSAGE).getBytes(StandardCharsets.UTF_8)), S100XmlEngine.STAX);
+        }
+    }
+
+    /**
+     * Benchmarks the first marshalling operation of the dataset.
+     *
+     * @return the marshalled dataset
+     * @throws JAXBException for errors in the marshalling operation
+     */
+    @Benchmark
+    public String firstMarshal() throws JAXBException {
+        return "S125".equals(this.product) ?
+                S125Utils.marshalS125(this.s125Dataset, Boolean.FALSE) :
+                S201Utils.marshalS201(this.s201Dataset, Boolean.FALSE);
+    }
+
+}
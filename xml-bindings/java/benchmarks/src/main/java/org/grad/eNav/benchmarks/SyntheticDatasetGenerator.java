@@ -0,0 +1,794 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import org.grad.eNav.benchmarks.SyntheticDatasetSchema.*;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * The Synthetic Dataset Generator Class.
+ * <p/>
+ * Generates deterministic synthetic S-125 and S-201 datasets of arbitrary
+ * size, which are used as the standard input of the performance tests. The
+ * datasets are streamed directly to the provided output, so that even
+ * datasets of millions of members can be generated without holding them in
+ * memory.
+ * <p/>
+ * The member types are drawn from all the types handled by the dataset
+ * utilities, according to a configurable type mix. Each member contains the
+ * mandatory content of its type, as described by the product specification
+ * schema, and optionally a configurable ratio of its optional content. The
+ * feature geometries are drawn from the point, curve and surface properties
+ * allowed by each type, with a configurable number of vertices per curve and
+ * surface, and are spread over an area that grows with the number of members
+ * according to the configured coordinate density.
+ * <p/>
+ * For the same configuration and seed, the generated output is always
+ * identical.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SyntheticDatasetGenerator {
+
+    /**
+     * The default random seed.
+     */
+    public static final long DEFAULT_SEED = 42L;
+
+    /**
+     * The default number of vertices of the curve and surface geometries.
+     */
+    public static final int DEFAULT_GEOMETRY_COMPLEXITY = 8;
+
+    /**
+     * The default number of features per square degree.
+     */
+    public static final double DEFAULT_COORDINATE_DENSITY = 1000.0;
+
+    /**
+     * The default ratio of the optional content to be included.
+     */
+    public static final double DEFAULT_OPTIONAL_CONTENT_RATIO = 0.0;
+
+    /**
+     * The maximum nesting depth of the generated optional content.
+     */
+    private static final int MAX_OPTIONAL_DEPTH = 3;
+
+    /**
+     * The namespaces of the generated datasets.
+     */
+    private static final String GML_NAMESPACE = "http://www.opengis.net/gml/3.2";
+    private static final String XLINK_NAMESPACE = "http://www.w3.org/1999/xlink";
+    private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    // Class Variables
+    private final Product product;
+    private long seed;
+    private long memberCount;
+    private Map<String, Double> typeMix;
+    private int geometryComplexity;
+    private double coordinateDensity;
+    private double optionalContentRatio;
+    private double originLatitude;
+    private double originLongitude;
+
+    /**
+     * Class Constructor.
+     *
+     * @param product the product of the datasets to be generated
+     */
+    public SyntheticDatasetGenerator(Product product) {
+        this.product = Objects.requireNonNull(product, "The dataset product is required");
+        this.seed = DEFAULT_SEED;
+        this.memberCount = 1000;
+        this.typeMix = new LinkedHashMap<>();
+        this.product.getMemberTypes().forEach(type -> this.typeMix.put(type, 1.0));
+        this.geometryComplexity = DEFAULT_GEOMETRY_COMPLEXITY;
+        this.coordinateDensity = DEFAULT_COORDINATE_DENSITY;
+        this.optionalContentRatio = DEFAULT_OPTIONAL_CONTENT_RATIO;
+        this.originLatitude = 51.9;
+        this.originLongitude = 1.4;
+    }
+
+    /**
+     * Sets the random seed of the generator.
+     *
+     * @param seed the random seed
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the number of members to be generated.
+     *
+     * @param memberCount the number of members
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setMemberCount(long memberCount) {
+        if(memberCount < 0) {
+            throw new IllegalArgumentException("The number of members cannot be negative");
+        }
+        this.memberCount = memberCount;
+        return this;
+    }
+
+    /**
+     * Sets the relative weights of the member types to be generated, keyed
+     * by their dataset member names, e.g. "LateralBuoy". Types not included
+     * in the provided map will not be generated.
+     *
+     * @param typeMix the relative weights of the member types
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setTypeMix(Map<String, Double> typeMix) {
+        final Map<String, Double> mix = new LinkedHashMap<>();
+        this.product.getMemberTypes()
+                .stream()
+                .filter(typeMix::containsKey)
+                .filter(type -> typeMix.get(type) > 0)
+                .forEach(type -> mix.put(type, typeMix.get(type)));
+        typeMix.keySet()
+                .stream()
+                .filter(type -> !this.product.getMemberTypes().contains(type))
+                .findAny()
+                .ifPresent(type -> { throw new IllegalArgumentException("Unsupported " + this.product.getName() + " member type: " + type); });
+        if(mix.isEmpty()) {
+            throw new IllegalArgumentException("At least one member type should be included in the type mix");
+        }
+        this.typeMix = mix;
+        return this;
+    }
+
+    /**
+     * Sets the number of vertices of the curve and surface geometries.
+     *
+     * @param geometryComplexity the number of vertices per geometry
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setGeometryComplexity(int geometryComplexity) {
+        if(geometryComplexity < 3) {
+            throw new IllegalArgumentException("The geometry complexity should be at least 3 vertices");
+        }
+        this.geometryComplexity = geometryComplexity;
+        return this;
+    }
+
+    /**
+     * Sets the coordinate density, i.e. the average number of features per
+     * square degree. The area covered by the dataset will grow accordingly
+     * with the number of members.
+     *
+     * @param coordinateDensity the number of features per square degree
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setCoordinateDensity(double coordinateDensity) {
+        if(!(coordinateDensity > 0)) {
+            throw new IllegalArgumentException("The coordinate density should be positive");
+        }
+        this.coordinateDensity = coordinateDensity;
+        return this;
+    }
+
+    /**
+     * Sets the ratio of the optional member content to be included, between
+     * zero (only mandatory content) and one (all optional content).
+     *
+     * @param optionalContentRatio the optional content ratio
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setOptionalContentRatio(double optionalContentRatio) {
+        if(optionalContentRatio < 0 || optionalContentRatio > 1) {
+            throw new IllegalArgumentException("The optional content ratio should be between 0 and 1");
+        }
+        this.optionalContentRatio = optionalContentRatio;
+        return this;
+    }
+
+    /**
+     * Sets the centre of the area covered by the dataset.
+     *
+     * @param latitude the latitude of the centre
+     * @param longitude the longitude of the centre
+     * @return the synthetic dataset generator
+     */
+    public SyntheticDatasetGenerator setOrigin(double latitude, double longitude) {
+        this.originLatitude = latitude;
+        this.originLongitude = longitude;
+        return this;
+    }
+
+    /**
+     * Generates the synthetic dataset into the provided file.
+     *
+     * @param path the file to generate the dataset into
+     * @return the path of the generated file
+     * @throws IOException for any errors while writing the file
+     */
+    public Path generate(Path path) throws IOException {
+        try(OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            this.generate(out);
+        }
+        return path;
+    }
+
+    /**
+     * Generates the synthetic dataset into the provided output stream. The
+     * stream is flushed but not closed.
+     *
+     * @param out the output stream to generate the dataset into
+     * @throws IOException for any errors while writing the dataset
+     */
+    public void generate(OutputStream out) throws IOException {
+        try {
+            final XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            new Generation(writer).write();
+            writer.flush();
+        } catch (XMLStreamException ex) {
+            throw new IOException("Unable to generate the synthetic " + this.product.getName() + " dataset", ex);
+        }
+    }
+
+    /**
+     * A command line entry point, for generating large datasets for soak
+     * testing.
+     * <p/>
+     * Usage: {@code SyntheticDatasetGenerator <S125|S201> <memberCount> <file> [seed]}
+     *
+     * @param args the command line arguments
+     * @throws IOException for any errors while writing the dataset
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 3) {
+            System.err.println("Usage: SyntheticDatasetGenerator <S125|S201> <memberCount> <file> [seed]");
+            System.exit(1);
+        }
+        new SyntheticDatasetGenerator(Product.valueOf(args[0].toUpperCase(Locale.ROOT)))
+                .setMemberCount(Long.parseLong(args[1]))
+                .setSeed(args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED)
+                .generate(Path.of(args[2]));
+    }
+
+    /**
+     * The Generation Class.
+     * <p/>
+     * Holds the state of a single generation run, so that the generator
+     * itself can be reused.
+     */
+    private class Generation {
+
+        // Class Variables
+        private final XMLStreamWriter writer;
+        private final SplittableRandom random;
+        private final SyntheticDatasetSchema schema;
+        private final String[] types;
+        private final double[] cumulativeWeights;
+        private final double latitudeSpan;
+        private final double longitudeSpan;
+        private final double radius;
+        private final StringBuilder coordinates;
+        private long memberIndex;
+
+        /**
+         * Class Constructor.
+         *
+         * @param writer the XML stream writer to generate the dataset into
+         */
+        Generation(XMLStreamWriter writer) {
+            this.writer = writer;
+            this.random = new SplittableRandom(seed);
+            this.schema = product.getSchema();
+            this.types = typeMix.keySet().toArray(String[]::new);
+            this.cumulativeWeights = new double[this.types.length];
+            double total = 0;
+            for(int i = 0; i < this.types.length; i++) {
+                total += typeMix.get(this.types[i]);
+                this.cumulativeWeights[i] = total;
+            }
+
+            // The dataset area grows with the number of members
+            final double side = Math.sqrt(Math.max(1, memberCount) / coordinateDensity);
+            this.latitudeSpan = Math.min(side, 170.0);
+            this.longitudeSpan = Math.min(side, 350.0);
+            this.radius = 0.25 / Math.sqrt(coordinateDensity);
+            this.coordinates = new StringBuilder();
+        }
+
+        /**
+         * Writes the whole dataset.
+         *
+         * @throws XMLStreamException for any errors while writing the dataset
+         */
+        void write() throws XMLStreamException {
+            this.writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            this.writer.setPrefix("gml", GML_NAMESPACE);
+            this.writer.setPrefix("S100", SyntheticDatasetSchema.S100_NAMESPACE);
+            this.writer.setPrefix("xlink", XLINK_NAMESPACE);
+            this.writer.setPrefix("xsi", XSI_NAMESPACE);
+            this.writer.setPrefix(product.getPrefix(), this.schema.getNamespace());
+            this.writer.writeStartElement(product.getPrefix(), "Dataset", this.schema.getNamespace());
+            this.writer.writeNamespace("gml", GML_NAMESPACE);
+            this.writer.writeNamespace("S100", SyntheticDatasetSchema.S100_NAMESPACE);
+            this.writer.writeNamespace("xlink", XLINK_NAMESPACE);
+            this.writer.writeNamespace("xsi", XSI_NAMESPACE);
+            this.writer.writeNamespace(product.getPrefix(), this.schema.getNamespace());
+            this.writer.writeAttribute("gml", GML_NAMESPACE, "id", "SyntheticDataset" + seed);
+
+            // The dataset bounds, including the extent of the geometries
+            this.writer.writeStartElement("gml", "boundedBy", GML_NAMESPACE);
+            this.writer.writeStartElement("gml", "Envelope", GML_NAMESPACE);
+            this.writer.writeAttribute("srsName", "EPSG:4326");
+            this.writeTextElement(GML_NAMESPACE, "lowerCorner", this.position(
+                    originLatitude - this.latitudeSpan / 2 - 2 * this.radius,
+                    originLongitude - this.longitudeSpan / 2 - 2 * this.radius));
+            this.writeTextElement(GML_NAMESPACE, "upperCorner", this.position(
+                    originLatitude + this.latitudeSpan / 2 + 2 * this.radius,
+                    originLongitude + this.longitudeSpan / 2 + 2 * this.radius));
+            this.writer.writeEndElement();
+            this.writer.writeEndElement();
+
+            // The dataset identification information
+            this.writer.writeStartElement("S100", "DatasetIdentificationInformation", SyntheticDatasetSchema.S100_NAMESPACE);
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "encodingSpecification", "S-100 Part 10b");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "encodingSpecificationEdition", "1.0");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "productIdentifier", product.getName());
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "productEdition", product.getEdition());
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "applicationProfile", "synthetic");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetFileIdentifier", "synthetic-" + seed + "-" + memberCount);
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetTitle", "Synthetic " + product.getName() + " Dataset");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetReferenceDate", "2001-01-01");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetLanguage", "eng");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetAbstract", "Synthetic dataset for performance testing");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetTopicCategory", "oceans");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "datasetPurpose", "base");
+            this.writeTextElement(SyntheticDatasetSchema.S100_NAMESPACE, "updateNumber", "0");
+            this.writer.writeEndElement();
+
+            // And all the members
+            this.writer.writeStartElement(product.getPrefix(), "members", this.schema.getNamespace());
+            for(this.memberIndex = 0; this.memberIndex < memberCount; this.memberIndex++) {
+                this.writeMember(this.nextType());
+            }
+            this.writer.writeEndElement();
+
+            this.writer.writeEndElement();
+            this.writer.writeEndDocument();
+        }
+
+        /**
+         * Picks the next member type based on the type mix weights.
+         *
+         * @return the next member type name
+         */
+        private String nextType() {
+            final double value = this.random.nextDouble(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(this.cumulativeWeights, value);
+            index = index < 0 ? -index - 1 : index + 1;
+            return this.types[Math.min(index, this.types.length - 1)];
+        }
+
+        /**
+         * Writes a single dataset member of the provided type.
+         *
+         * @param memberName the dataset member name
+         * @throws XMLStreamException for any errors while writing the member
+         */
+        private void writeMember(String memberName) throws XMLStreamException {
+            final String typeName = this.schema.getMemberType(memberName);
+            this.writer.writeStartElement(product.getPrefix(), memberName, this.schema.getNamespace());
+            this.writer.writeAttribute("xsi", XSI_NAMESPACE, "type", product.getPrefix() + ":" + typeName);
+            this.writer.writeAttribute("gml", GML_NAMESPACE, "id", this.memberId(this.memberIndex));
+            this.writeParticles(this.schema.getContent(typeName).particles(), 0);
+            this.writer.writeEndElement();
+        }
+
+        /**
+         * Writes the provided content particles.
+         *
+         * @param particles the content particles
+         * @param depth the current nesting depth
+         * @throws XMLStreamException for any errors while writing the content
+         */
+        private void writeParticles(List<Particle> particles, int depth) throws XMLStreamException {
+            for(Particle particle : particles) {
+                if(this.include(particle, depth)) {
+                    this.writeParticle(particle, depth);
+                }
+            }
+        }
+
+        /**
+         * Writes a single content particle.
+         *
+         * @param particle the content particle
+         * @param depth the current nesting depth
+         * @throws XMLStreamException for any errors while writing the content
+         */
+        private void writeParticle(Particle particle, int depth) throws XMLStreamException {
+            switch (particle) {
+                case Sequence sequence -> this.writeParticles(sequence.particles(), depth);
+                case Choice choice -> {
+                    if(!choice.options().isEmpty()) {
+                        this.writeParticle(choice.options().get(this.random.nextInt(choice.options().size())), depth);
+                    }
+                }
+                case ElementParticle element -> this.writeElement(element, depth);
+            }
+        }
+
+        /**
+         * Writes a single element particle, based on its content.
+         *
+         * @param element the element particle
+         * @param depth the current nesting depth
+         * @throws XMLStreamException for any errors while writing the element
+         */
+        private void writeElement(ElementParticle element, int depth) throws XMLStreamException {
+            final String prefix = product.getPrefix();
+            switch (element.content()) {
+                case GeometryContent geometry -> {
+                    if(!geometry.kinds().isEmpty()) {
+                        this.writer.writeStartElement(prefix, element.name(), element.namespace());
+                        this.writeGeometry(geometry.kinds());
+                        this.writer.writeEndElement();
+                    }
+                }
+                case ComplexContent complex -> {
+                    this.writer.writeStartElement(prefix, element.name(), element.namespace());
+                    this.writeParticles(complex.particles(), depth + 1);
+                    this.writer.writeEndElement();
+                }
+                case ReferenceContent reference -> {
+                    this.writer.writeEmptyElement(prefix, element.name(), element.namespace());
+                    this.writer.writeAttribute("xlink", XLINK_NAMESPACE, "href", "#" + this.memberId(this.random.nextLong(this.memberIndex + 1)));
+                }
+                case SimpleContent simple -> {
+                    if(simple.kind() == ValueKind.ANY) {
+                        this.writer.writeEmptyElement(prefix, element.name(), element.namespace());
+                    } else {
+                        this.writeTextElement(element.namespace(), element.name(), this.value(simple));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes a geometry property of one of the provided kinds.
+         *
+         * @param kinds the allowed geometry kinds
+         * @throws XMLStreamException for any errors while writing the geometry
+         */
+        private void writeGeometry(Set<GeometryKind> kinds) throws XMLStreamException {
+            final GeometryKind[] allowed = kinds.toArray(GeometryKind[]::new);
+            final GeometryKind kind = allowed[this.random.nextInt(allowed.length)];
+            final String geometryId = this.memberId(this.memberIndex) + "-G";
+            final double latitude = originLatitude + (this.random.nextDouble() - 0.5) * this.latitudeSpan;
+            final double longitude = originLongitude + (this.random.nextDouble() - 0.5) * this.longitudeSpan;
+
+            this.writer.writeStartElement("S100", kind.getPropertyName(), SyntheticDatasetSchema.S100_NAMESPACE);
+            switch (kind) {
+                case POINT -> {
+                    this.writer.writeStartElement("S100", "Point", SyntheticDatasetSchema.S100_NAMESPACE);
+                    this.writer.writeAttribute("srsName", "EPSG:4326");
+                    this.writer.writeAttribute("gml", GML_NAMESPACE, "id", geometryId);
+                    this.writeTextElement(GML_NAMESPACE, "pos", this.position(latitude, longitude));
+                    this.writer.writeEndElement();
+                }
+                case CURVE -> {
+                    this.writer.writeStartElement("gml", "Curve", GML_NAMESPACE);
+                    this.writer.writeAttribute("srsName", "EPSG:4326");
+                    this.writer.writeAttribute("gml", GML_NAMESPACE, "id", geometryId);
+                    this.writer.writeStartElement("gml", "segments", GML_NAMESPACE);
+                    this.writer.writeStartElement("gml", "LineStringSegment", GML_NAMESPACE);
+                    this.writeTextElement(GML_NAMESPACE, "posList", this.curve(latitude, longitude));
+                    this.writer.writeEndElement();
+                    this.writer.writeEndElement();
+                    this.writer.writeEndElement();
+                }
+                case SURFACE -> {
+                    this.writer.writeStartElement("gml", "Polygon", GML_NAMESPACE);
+                    this.writer.writeAttribute("srsName", "EPSG:4326");
+                    this.writer.writeAttribute("gml", GML_NAMESPACE, "id", geometryId);
+                    this.writer.writeStartElement("gml", "exterior", GML_NAMESPACE);
+                    this.writer.writeStartElement("gml", "LinearRing", GML_NAMESPACE);
+                    this.writeTextElement(GML_NAMESPACE, "posList", this.ring(latitude, longitude));
+                    this.writer.writeEndElement();
+                    this.writer.writeEndElement();
+                    this.writer.writeEndElement();
+                }
+            }
+            this.writer.writeEndElement();
+        }
+
+        /**
+         * Generates the coordinates of a random walk curve, starting from the
+         * provided position and staying within twice the feature radius.
+         *
+         * @param latitude the starting latitude
+         * @param longitude the starting longitude
+         * @return the curve coordinates
+         */
+        private String curve(double latitude, double longitude) {
+            final double step = 2 * this.radius / geometryComplexity;
+            this.coordinates.setLength(0);
+            double heading = this.random.nextDouble(2 * Math.PI);
+            for(int i = 0; i < geometryComplexity; i++) {
+                if(i > 0) {
+                    this.coordinates.append(' ');
+                }
+                this.appendPosition(latitude, longitude);
+                heading += (this.random.nextDouble() - 0.5) * Math.PI / 2;
+                latitude += step * Math.sin(heading);
+                longitude += step * Math.cos(heading);
+            }
+            return this.coordinates.toString();
+        }
+
+        /**
+         * Generates the coordinates of a closed, star-shaped ring around the
+         * provided position, within twice the feature radius.
+         *
+         * @param latitude the centre latitude
+         * @param longitude the centre longitude
+         * @return the ring coordinates
+         */
+        private String ring(double latitude, double longitude) {
+            this.coordinates.setLength(0);
+            for(int i = 0; i < geometryComplexity; i++) {
+                final double angle = 2 * Math.PI * i / geometryComplexity;
+                final double distance = this.radius * (1 + this.random.nextDouble());
+                this.appendPosition(latitude + distance * Math.sin(angle), longitude + distance * Math.cos(angle));
+                this.coordinates.append(' ');
+            }
+
+            // Close the ring by repeating the first position
+            final String ring = this.coordinates.toString();
+            return ring + ring.substring(0, ring.indexOf(' ', ring.indexOf(' ') + 1));
+        }
+
+        /**
+         * Generates a value for the provided simple content.
+         *
+         * @param simple the simple content
+         * @return the generated value
+         */
+        private String value(SimpleContent simple) {
+            return switch (simple.kind()) {
+                case ENUMERATION -> simple.enumeration().get(this.random.nextInt(simple.enumeration().size()));
+                case WORD -> simple.length() == 3 ? "eng" : simple.length() == 2 ? "GB" : "x".repeat(simple.length());
+                case DECIMAL -> Double.toString(Math.round(this.random.nextDouble(100) * 100) / 100.0);
+                case INTEGER -> Integer.toString(this.random.nextInt(1, 100000));
+                case BOOLEAN -> Boolean.toString(this.random.nextBoolean());
+                case DATE -> LocalDate.of(2000, 1, 1).plusDays(this.random.nextInt(36500)).toString();
+                case GDAY -> String.format("---%02d", this.random.nextInt(1, 29));
+                case GMONTH -> String.format("--%02d", this.random.nextInt(1, 13));
+                case GYEAR -> Integer.toString(this.random.nextInt(2000, 2100));
+                case GMONTHDAY -> String.format("--%02d-%02d", this.random.nextInt(1, 13), this.random.nextInt(1, 29));
+                case GYEARMONTH -> String.format("%04d-%02d", this.random.nextInt(2000, 2100), this.random.nextInt(1, 13));
+                case URI -> "urn:mrn:grad:synthetic:" + this.memberId(this.memberIndex);
+                case STRING -> "Synthetic " + this.memberId(this.memberIndex);
+                case ANY -> "";
+            };
+        }
+
+        /**
+         * Decides whether the provided particle should be included, which is
+         * always the case for the mandatory particles and the geometries, and
+         * randomly for the optional ones, based on the optional content ratio.
+         *
+         * @param particle the particle to be checked
+         * @param depth the current nesting depth
+         * @return whether the particle should be included
+         */
+        private boolean include(Particle particle, int depth) {
+            if(particle.minOccurs() > 0 || (particle instanceof ElementParticle element && element.content() instanceof GeometryContent)) {
+                return true;
+            }
+            return optionalContentRatio > 0
+                    && depth < MAX_OPTIONAL_DEPTH
+                    && this.random.nextDouble() < optionalContentRatio;
+        }
+
+        /**
+         * Writes a simple text element.
+         *
+         * @param namespace the element namespace
+         * @param name the element name
+         * @param text the element text
+         * @throws XMLStreamException for any errors while writing the element
+         */
+        private void writeTextElement(String namespace, String name, String text) throws XMLStreamException {
+            this.writer.writeStartElement(namespace, name);
+            this.writer.writeCharacters(text);
+            this.writer.writeEndElement();
+        }
+
+        /**
+         * Returns the GML identifier of the member with the provided index.
+         *
+         * @param index the member index
+         * @return the member GML identifier
+         */
+        private String memberId(long index) {
+            return "ID" + index;
+        }
+
+        /**
+         * Formats a single position.
+         *
+         * @param latitude the position latitude
+         * @param longitude the position longitude
+         * @return the formatted position
+         */
+        private String position(double latitude, double longitude) {
+            this.coordinates.setLength(0);
+            this.appendPosition(latitude, longitude);
+            return this.coordinates.toString();
+        }
+
+        /**
+         * Appends a position into the coordinates buffer, with a fixed
+         * precision of seven decimal places.
+         *
+         * @param latitude the position latitude
+         * @param longitude the position longitude
+         */
+        private void appendPosition(double latitude, double longitude) {
+            this.appendCoordinate(latitude);
+            this.coordinates.append(' ');
+            this.appendCoordinate(longitude);
+        }
+
+        /**
+         * Appends a single coordinate into the coordinates buffer, with a
+         * fixed precision of seven decimal places, avoiding the scientific
+         * notation of the default double formatting.
+         *
+         * @param value the coordinate value
+         */
+        private void appendCoordinate(double value) {
+            long scaled = Math.round(value * 1e7);
+            if(scaled < 0) {
+                this.coordinates.append('-');
+                scaled = -scaled;
+            }
+            final String fraction = Long.toString(scaled % 10_000_000L);
+            this.coordinates.append(scaled / 10_000_000L).append('.');
+            this.coordinates.append("0000000", 0, 7 - fraction.length()).append(fraction);
+        }
+    }
+
+    /**
+     * The Synthetic Dataset Product Enum.
+     * <p/>
+     * The supported products, along with the member types handled by their
+     * dataset utilities.
+     */
+    public enum Product {
+        S125("S-125", "1.0.0", "S125", "xsd/S-125.xsd", List.of(
+                "SpatialQuality", "AtoNFixingMethod", "PositioningInformation", "AtonStatusInformation",
+                "SpecialPurposeGeneralBeacon", "LateralBeacon", "CardinalBeacon", "IsolatedDangerBeacon",
+                "SafeWaterBeacon", "InstallationBuoy", "LateralBuoy", "CardinalBuoy", "SafeWaterBuoy",
+                "IsolatedDangerBuoy", "SpecialPurposeGeneralBuoy", "OffshorePlatform", "LightVessel", "Pile",
+                "SiloTank", "Lighthouse", "Landmark", "LightFloat", "Topmark", "LightAllAround", "LightSectored",
+                "LightAirObstruction", "LightFogDetector", "FogSignal", "RadarReflector", "Retroreflector",
+                "Daymark", "RadarTransponderBeacon", "RecommendedTrack", "NavigationLine", "AtonAggregation",
+                "AtonAssociation", "DataCoverage", "LocalDirectionOfBuoyage", "NavigationalSystemOfMarks",
+                "SoundingDatum", "VerticalDatumOfData", "EmergencyWreckMarkingBuoy", "PhysicalAISAidToNavigation",
+                "VirtualAISAidToNavigation", "SyntheticAISAidToNavigation", "RadioStation")),
+        S201("S-201", "2.0.0", "S201", "xsd/S-201.xsd", List.of(
+                "SpatialQuality", "AtoNFixingMethod", "PositioningInformation", "AtonStatusInformation",
+                "SpecialPurposeGeneralBeacon", "LateralBeacon", "CardinalBeacon", "IsolatedDangerBeacon",
+                "SafeWaterBeacon", "InstallationBuoy", "LateralBuoy", "CardinalBuoy", "SafeWaterBuoy",
+                "IsolatedDangerBuoy", "SpecialPurposeGeneralBuoy", "OffshorePlatform", "LightVessel", "Pile",
+                "SiloTank", "Lighthouse", "Landmark", "LightFloat", "Topmark", "LightAllAround", "LightSectored",
+                "LightAirObstruction", "LightFogDetector", "FogSignal", "RadarReflector", "Retroreflector",
+                "Daymark", "RadarTransponderBeacon", "RecommendedTrack", "NavigationLine", "AtonAggregation",
+                "AtonAssociation", "DataCoverage", "LocalDirectionOfBuoyage", "NavigationalSystemOfMarks",
+                "QualityOfNonBathymetricData", "SoundingDatum", "VerticalDatumOfData", "EmergencyWreckMarkingBuoy",
+                "PhysicalAISAidToNavigation", "VirtualAISAidToNavigation", "SyntheticAISAidToNavigation",
+                "MooringShackle", "RadioStation", "PowerSource"));
+
+        // Enum Variables
+        private final String name;
+        private final String edition;
+        private final String prefix;
+        private final String schemaResource;
+        private final List<String> memberTypes;
+        private SyntheticDatasetSchema schema;
+
+        /**
+         * Enum Constructor.
+         *
+         * @param name the product name
+         * @param edition the product edition
+         * @param prefix the product namespace prefix
+         * @param schemaResource the classpath resource of the product schema
+         * @param memberTypes the supported member types
+         */
+        Product(String name, String edition, String prefix, String schemaResource, List<String> memberTypes) {
+            this.name = name;
+            this.edition = edition;
+            this.prefix = prefix;
+            this.schemaResource = schemaResource;
+            this.memberTypes = memberTypes;
+        }
+
+        /**
+         * Returns the product name.
+         *
+         * @return the product name
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Returns the product edition.
+         *
+         * @return the product edition
+         */
+        public String getEdition() {
+            return this.edition;
+        }
+
+        /**
+         * Returns the product namespace prefix.
+         *
+         * @return the product namespace prefix
+         */
+        public String getPrefix() {
+            return this.prefix;
+        }
+
+        /**
+         * Returns the supported member types, i.e. the dataset member names.
+         *
+         * @return the supported member types
+         */
+        public List<String> getMemberTypes() {
+            return this.memberTypes;
+        }
+
+        /**
+         * Returns the product schema model, loading it on first use.
+         *
+         * @return the product schema model
+         */
+        synchronized SyntheticDatasetSchema getSchema() {
+            if(Objects.isNull(this.schema)) {
+                this.schema = SyntheticDatasetSchema.load(this.schemaResource);
+            }
+            return this.schema;
+        }
+    }
+
+}
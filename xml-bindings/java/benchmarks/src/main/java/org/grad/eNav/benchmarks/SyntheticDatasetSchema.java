@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Synthetic Dataset Schema Class.
+ * <p/>
+ * A compact model of the member types of an S-100 product specification
+ * XSD, as bundled in the S-125 and S-201 binding jars. Only the constructs
+ * actually used by these product schemas are supported, i.e. sequences,
+ * choices, type extensions, string restrictions and the S-100 geometry
+ * properties, which is sufficient for the synthetic dataset generator to
+ * produce the mandatory content of each member type.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+final class SyntheticDatasetSchema {
+
+    /**
+     * The XML schema namespace.
+     */
+    static final String XS_NAMESPACE = XMLConstants.W3C_XML_SCHEMA_NS_URI;
+
+    /**
+     * The S-100 GML namespace.
+     */
+    static final String S100_NAMESPACE = "http://www.iho.int/s100gml/5.0";
+
+    /**
+     * The pattern of the fixed length word restrictions, e.g. the language codes.
+     */
+    private static final Pattern WORD_PATTERN = Pattern.compile("\\\\w\\{(\\d+)}");
+
+    // Class Variables
+    private final String namespace;
+    private final Map<String, Element> complexTypes;
+    private final Map<String, Element> simpleTypes;
+    private final Map<String, String> elementTypes;
+    private final Map<String, ComplexContent> compiledTypes;
+
+    /**
+     * Class Constructor.
+     *
+     * @param document the parsed product specification XSD
+     */
+    private SyntheticDatasetSchema(Document document) {
+        this.namespace = document.getDocumentElement().getAttribute("targetNamespace");
+        this.complexTypes = new HashMap<>();
+        this.simpleTypes = new HashMap<>();
+        this.elementTypes = new HashMap<>();
+        this.compiledTypes = new HashMap<>();
+
+        // Index the global declarations
+        for(Element child : children(document.getDocumentElement())) {
+            switch (child.getLocalName()) {
+                case "complexType" -> this.complexTypes.put(child.getAttribute("name"), child);
+                case "simpleType" -> this.simpleTypes.put(child.getAttribute("name"), child);
+                case "element" -> this.elementTypes.put(child.getAttribute("name"), localName(child.getAttribute("type")));
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * Loads the product specification XSD from the provided classpath
+     * resource.
+     *
+     * @param resource the classpath resource of the XSD
+     * @return the loaded schema model
+     */
+    static SyntheticDatasetSchema load(String resource) {
+        try(InputStream in = SyntheticDatasetSchema.class.getClassLoader().getResourceAsStream(resource)) {
+            if(Objects.isNull(in)) {
+                throw new IllegalStateException("Product specification schema not found in the classpath: " + resource);
+            }
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            return new SyntheticDatasetSchema(factory.newDocumentBuilder().parse(in));
+        } catch (IOException | SAXException | ParserConfigurationException ex) {
+            throw new IllegalStateException("Unable to load the product specification schema " + resource, ex);
+        }
+    }
+
+    /**
+     * Returns the target namespace of the product specification.
+     *
+     * @return the target namespace
+     */
+    String getNamespace() {
+        return this.namespace;
+    }
+
+    /**
+     * Returns the name of the type of the provided global member element.
+     *
+     * @param memberName the global member element name
+     * @return the member type name
+     */
+    String getMemberType(String memberName) {
+        return Optional.ofNullable(this.elementTypes.get(memberName))
+                .filter(this.complexTypes::containsKey)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown member type: " + memberName));
+    }
+
+    /**
+     * Returns the compiled content of the provided member type, including the
+     * content inherited by its base types.
+     *
+     * @param typeName the member type name
+     * @return the compiled member type content
+     */
+    synchronized ComplexContent getContent(String typeName) {
+        final ComplexContent cached = this.compiledTypes.get(typeName);
+        if(Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        // Register first, so that recursive types resolve to the same instance
+        final ComplexContent content = new ComplexContent(new ArrayList<>());
+        this.compiledTypes.put(typeName, content);
+        this.compileComplexType(this.complexTypes.get(typeName), content.particles());
+        return content;
+    }
+
+    /**
+     * Compiles the particles of a complex type declaration, starting with the
+     * particles of its base type, if that is declared in this schema.
+     *
+     * @param complexType the complex type declaration
+     * @param particles the list to add the compiled particles to
+     */
+    private void compileComplexType(Element complexType, List<Particle> particles) {
+        for(Element child : children(complexType)) {
+            switch (child.getLocalName()) {
+                case "complexContent" -> {
+                    final Element extension = children(child).stream()
+                            .filter(e -> "extension".equals(e.getLocalName()))
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalStateException("Unsupported complex content restriction"));
+                    final String base = extension.getAttribute("base");
+                    if(this.namespace.equals(namespaceOf(base, extension)) && this.complexTypes.containsKey(localName(base))) {
+                        this.compileComplexType(this.complexTypes.get(localName(base)), particles);
+                    }
+                    children(extension).stream()
+                            .map(this::compileParticle)
+                            .filter(Objects::nonNull)
+                            .forEach(particles::add);
+                }
+                case "sequence", "choice", "element", "group" -> Optional.ofNullable(this.compileParticle(child))
+                        .ifPresent(particles::add);
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * Compiles a single particle declaration.
+     *
+     * @param declaration the particle declaration
+     * @return the compiled particle, or null if not supported
+     */
+    private Particle compileParticle(Element declaration) {
+        final int minOccurs = declaration.hasAttribute("minOccurs") ? Integer.parseInt(declaration.getAttribute("minOccurs")) : 1;
+        return switch (declaration.getLocalName()) {
+            case "sequence" -> new Sequence(minOccurs, children(declaration).stream().map(this::compileParticle).filter(Objects::nonNull).toList());
+            case "choice" -> new Choice(minOccurs, children(declaration).stream().map(this::compileParticle).filter(Objects::nonNull).toList());
+            case "element" -> this.compileElement(declaration, minOccurs);
+            default -> null;
+        };
+    }
+
+    /**
+     * Compiles an element declaration, along with its content model.
+     *
+     * @param declaration the element declaration
+     * @param minOccurs the minimum number of occurrences
+     * @return the compiled element particle
+     */
+    private ElementParticle compileElement(Element declaration, int minOccurs) {
+        // Element references are only used for the S-100 geometry properties
+        if(declaration.hasAttribute("ref")) {
+            return new ElementParticle(S100_NAMESPACE, localName(declaration.getAttribute("ref")), minOccurs, new SimpleContent(ValueKind.ANY, List.of(), 0));
+        }
+
+        final String name = declaration.getAttribute("name");
+        final Element inlineType = children(declaration).stream()
+                .filter(e -> "complexType".equals(e.getLocalName()) || "simpleType".equals(e.getLocalName()))
+                .findFirst()
+                .orElse(null);
+
+        // Inline geometry choices
+        if(Objects.nonNull(inlineType) && "geometry".equals(name)) {
+            final Set<GeometryKind> kinds = EnumSet.noneOf(GeometryKind.class);
+            descendants(inlineType, "element").forEach(ref -> Arrays.stream(GeometryKind.values())
+                    .filter(kind -> localName(ref.getAttribute("ref")).equals(kind.getPropertyName()))
+                    .forEach(kinds::add));
+            return new ElementParticle(this.namespace, name, minOccurs, new GeometryContent(kinds));
+        }
+
+        // Other inline types
+        if(Objects.nonNull(inlineType)) {
+            if("simpleType".equals(inlineType.getLocalName())) {
+                return new ElementParticle(this.namespace, name, minOccurs, this.compileSimpleType(inlineType));
+            }
+            final ComplexContent content = new ComplexContent(new ArrayList<>());
+            this.compileComplexType(inlineType, content.particles());
+            return new ElementParticle(this.namespace, name, minOccurs, content);
+        }
+
+        // Named types
+        return new ElementParticle(this.namespace, name, minOccurs, this.compileNamedType(declaration.getAttribute("type"), declaration));
+    }
+
+    /**
+     * Compiles the content of a named type reference.
+     *
+     * @param type the qualified type name
+     * @param context the declaration the type is referenced from
+     * @return the compiled content
+     */
+    private Content compileNamedType(String type, Element context) {
+        final String localName = localName(type);
+        final String namespace = namespaceOf(type, context);
+
+        // XML schema built-in types
+        if(XS_NAMESPACE.equals(namespace)) {
+            return new SimpleContent(switch (localName) {
+                case "double", "decimal", "float" -> ValueKind.DECIMAL;
+                case "integer", "int", "long", "nonNegativeInteger", "positiveInteger" -> ValueKind.INTEGER;
+                case "boolean" -> ValueKind.BOOLEAN;
+                case "date" -> ValueKind.DATE;
+                case "gDay" -> ValueKind.GDAY;
+                case "gMonth" -> ValueKind.GMONTH;
+                case "gYear" -> ValueKind.GYEAR;
+                case "gMonthDay" -> ValueKind.GMONTHDAY;
+                case "gYearMonth" -> ValueKind.GYEARMONTH;
+                case "anyURI" -> ValueKind.URI;
+                default -> ValueKind.STRING;
+            }, List.of(), 0);
+        }
+
+        // GML references
+        if(!this.namespace.equals(namespace)) {
+            return "ReferenceType".equals(localName) ?
+                    new ReferenceContent() :
+                    new SimpleContent(ValueKind.ANY, List.of(), 0);
+        }
+
+        // Product specific types
+        if(this.simpleTypes.containsKey(localName)) {
+            return this.compileSimpleType(this.simpleTypes.get(localName));
+        }
+        if(this.complexTypes.containsKey(localName)) {
+            return this.getContent(localName);
+        }
+        return new SimpleContent(ValueKind.ANY, List.of(), 0);
+    }
+
+    /**
+     * Compiles a simple type restriction, which in the product schemas is
+     * always a string enumeration or a fixed length word pattern.
+     *
+     * @param simpleType the simple type declaration
+     * @return the compiled simple content
+     */
+    private SimpleContent compileSimpleType(Element simpleType) {
+        final List<String> enumeration = new ArrayList<>();
+        int length = 0;
+        final List<Element> facets = new ArrayList<>(descendants(simpleType, "enumeration"));
+        facets.addAll(descendants(simpleType, "pattern"));
+        for(Element facet : facets) {
+            if("enumeration".equals(facet.getLocalName())) {
+                enumeration.add(facet.getAttribute("value"));
+            } else {
+                final Matcher matcher = WORD_PATTERN.matcher(facet.getAttribute("value"));
+                if(matcher.matches()) {
+                    length = Integer.parseInt(matcher.group(1));
+                }
+            }
+        }
+        return new SimpleContent(enumeration.isEmpty() ? (length > 0 ? ValueKind.WORD : ValueKind.STRING) : ValueKind.ENUMERATION, List.copyOf(enumeration), length);
+    }
+
+    /**
+     * Returns the namespace of a qualified name, in the scope of the provided
+     * declaration. Unprefixed names resolve to the default namespace.
+     *
+     * @param qualifiedName the qualified name
+     * @param context the declaration the name is used in
+     * @return the namespace of the qualified name
+     */
+    private static String namespaceOf(String qualifiedName, Element context) {
+        return context.lookupNamespaceURI(qualifiedName.contains(":") ?
+                qualifiedName.substring(0, qualifiedName.indexOf(':')) :
+                null);
+    }
+
+    /**
+     * Returns the local part of a qualified name.
+     *
+     * @param qualifiedName the qualified name
+     * @return the local part of the name
+     */
+    private static String localName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.indexOf(':') + 1);
+    }
+
+    /**
+     * Returns the XML schema element children of the provided element.
+     *
+     * @param parent the parent element
+     * @return the XML schema element children
+     */
+    private static List<Element> children(Element parent) {
+        final List<Element> children = new ArrayList<>();
+        for(Node node = parent.getFirstChild(); Objects.nonNull(node); node = node.getNextSibling()) {
+            if(node instanceof Element element && XS_NAMESPACE.equals(element.getNamespaceURI())) {
+                children.add(element);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Returns the XML schema element descendants of the provided element,
+     * with the provided local name, in document order.
+     *
+     * @param parent the parent element
+     * @param localName the local name of the descendants
+     * @return the matching descendants
+     */
+    private static List<Element> descendants(Element parent, String localName) {
+        final NodeList nodes = parent.getElementsByTagNameNS(XS_NAMESPACE, localName);
+        final List<Element> descendants = new ArrayList<>(nodes.getLength());
+        for(int i = 0; i < nodes.getLength(); i++) {
+            descendants.add((Element) nodes.item(i));
+        }
+        return descendants;
+    }
+
+    //========================================================================//
+    //                       Schema Model Definitions                         //
+    // ---------------------------------------------------------------------- //
+    // The compiled model of the member types content. The particles follow  //
+    // the XML schema structure, while the content types capture only what   //
+    // is needed to generate a value for each element.                       //
+    //========================================================================//
+    sealed interface Particle permits ElementParticle, Sequence, Choice {
+        int minOccurs();
+    }
+    record ElementParticle(String namespace, String name, int minOccurs, Content content) implements Particle { }
+    record Sequence(int minOccurs, List<Particle> particles) implements Particle { }
+    record Choice(int minOccurs, List<Particle> options) implements Particle { }
+
+    sealed interface Content permits ComplexContent, SimpleContent, ReferenceContent, GeometryContent { }
+    record ComplexContent(List<Particle> particles) implements Content { }
+    record SimpleContent(ValueKind kind, List<String> enumeration, int length) implements Content { }
+    record ReferenceContent() implements Content { }
+    record GeometryContent(Set<GeometryKind> kinds) implements Content { }
+
+    enum ValueKind { STRING, WORD, ENUMERATION, DECIMAL, INTEGER, BOOLEAN, DATE, GDAY, GMONTH, GYEAR, GMONTHDAY, GYEARMONTH, URI, ANY }
+    //========================================================================//
+
+    /**
+     * The S-100 Geometry Kind Enum.
+     * <p/>
+     * The S-100 geometry properties supported by the member types.
+     */
+    enum GeometryKind {
+        POINT("pointProperty"),
+        CURVE("curveProperty"),
+        SURFACE("surfaceProperty");
+
+        // Enum Variables
+        private final String propertyName;
+
+        /**
+         * Enum Constructor.
+         *
+         * @param propertyName the S-100 geometry property element name
+         */
+        GeometryKind(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        /**
+         * Returns the S-100 geometry property element name.
+         *
+         * @return the geometry property element name
+         */
+        String getPropertyName() {
+            return this.propertyName;
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import _int.iho.s_201.gml.cs0._2.Dataset;
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s100.stax.S100XmlEngine;
+import org.grad.eNav.s201.utils.S201Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The XML Engine Benchmark Class.
+ * <p/>
+ * Measures the S-201 marshalling and unmarshalling operations of the
+ * {@link S100XmlEngine#STAX} engine, i.e. of the StAX bindings generated with
+ * the {@code -Xstax-codec} XJC plugin, against the same operations of the
+ * default {@link S100XmlEngine#JAXB} engine, for the test message and for
+ * larger synthetic datasets generated by the {@link SyntheticDatasetGenerator}.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlEngineBenchmark {
+
+    /**
+     * The XML engine to be measured.
+     */
+    @Param({"JAXB", "STAX"})
+    public S100XmlEngine engine;
+
+    /**
+     * The number of synthetic dataset members, with zero selecting the test
+     * message instead.
+     */
+    @Param({"0", "1000", "10000"})
+    public int memberCount;
+
+    // Class Variables
+    private byte[] xml;
+    private Dataset dataset;
+
+    /**
+     * Loads the input dataset for the current member count, always through
+     * JAXB, so that both engines marshal the same dataset.
+     *
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException {
+        this.xml = this.memberCount == 0 ?
+                BenchmarkResources.load(BenchmarkResources.S201_MESSAGE).getBytes(StandardCharsets.UTF_8) :
+                BenchmarkResources.generate(SyntheticDatasetGenerator.Product.S201, this.memberCount);
+        this.dataset = S201Utils.unmarshallS201(new ByteArrayInputStream(this.xml), S100XmlEngine.JAXB);
+    }
+
+    /**
+     * Benchmarks the marshalling of the S-201 dataset, without formatting.
+     *
+     * @return the marshalled dataset
+     * @throws JAXBException for errors in the marshalling operation
+     */
+    @Benchmark
+    public String marshal() throws JAXBException {
+        return S201Utils.marshalS201(this.dataset, Boolean.FALSE, this.engine);
+    }
+
+    /**
+     * Benchmarks the unmarshalling of the S-201 dataset.
+     *
+     * @return the unmarshalled dataset
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    @Benchmark
+    public Dataset unmarshal() throws JAXBException {
+        return S201Utils.unmarshallS201(new ByteArrayInputStream(this.xml), this.engine);
+    }
+
+}
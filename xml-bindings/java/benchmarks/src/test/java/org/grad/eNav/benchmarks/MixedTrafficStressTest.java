@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s125.utils.S125Utils;
+import org.grad.eNav.s201.utils.S201Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MixedTrafficStressTest {
+
+    /**
+     * The number of concurrent operations.
+     */
+    private static final int OPERATIONS = 4000;
+
+    // Test Variables
+    private _int.iho.s_125.gml.cs0._1.Dataset s125Dataset;
+    private _int.iho.s_201.gml.cs0._2.Dataset s201Dataset;
+    private String s125Xml;
+    private String s201Xml;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws JAXBException {
+        this.s125Dataset = S125Utils.unmarshallS125(BenchmarkResources.load(BenchmarkResources.S125_MESSAGE));
+        this.s201Dataset = S201Utils.unmarshallS201(BenchmarkResources.load(BenchmarkResources.S201_MESSAGE));
+        this.s125Xml = S125Utils.marshalS125(this.s125Dataset);
+        this.s201Xml = S201Utils.marshalS201(this.s201Dataset);
+    }
+
+    /**
+     * Test that thousands of concurrent S-125 and S-201 marshalling and
+     * unmarshalling operations, each on its own virtual thread with its own
+     * context class loader, all produce the expected output and leave the
+     * context class loaders of their threads untouched, even when some of
+     * them fail.
+     */
+    @Test
+    void testMixedTrafficOnVirtualThreads() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> results = new ArrayList<>();
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(int i = 0; i < OPERATIONS; i++) {
+                final int operation = i;
+                results.add(executor.submit(() -> {
+                    final ClassLoader isolatedClassLoader = new URLClassLoader(new URL[0], null);
+                    Thread.currentThread().setContextClassLoader(isolatedClassLoader);
+                    start.await();
+
+                    final boolean valid = switch (operation % 5) {
+                        case 0 -> this.s125Xml.equals(S125Utils.marshalS125(this.s125Dataset));
+                        case 1 -> this.s201Xml.equals(S201Utils.marshalS201(this.s201Dataset));
+                        case 2 -> this.s125Xml.equals(S125Utils.marshalS125(S125Utils.unmarshallS125(this.s125Xml)));
+                        case 3 -> this.s201Xml.equals(S201Utils.marshalS201(S201Utils.unmarshallS201(this.s201Xml)));
+                        default -> operation % 2 == 0 ?
+                                assertThrows(JAXBException.class, () -> S125Utils.unmarshallS125("<invalid")) != null :
+                                assertThrows(JAXBException.class, () -> S201Utils.unmarshallS201("<invalid")) != null;
+                    };
+                    return valid && Thread.currentThread().getContextClassLoader() == isolatedClassLoader;
+                }));
+            }
+            start.countDown();
+
+            for(Future<Boolean> result : results) {
+                assertTrue(result.get(5, TimeUnit.MINUTES));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.benchmarks;
+
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s125.utils.S125Utils;
+import org.grad.eNav.s201.utils.S201Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDatasetGeneratorTest {
+
+    // Test Variables
+    private Map<String, Double> typeMix;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.typeMix = new LinkedHashMap<>();
+        this.typeMix.put("LateralBuoy", 2.0);
+        this.typeMix.put("NavigationLine", 1.0);
+        this.typeMix.put("DataCoverage", 1.0);
+        this.typeMix.put("AtonStatusInformation", 1.0);
+    }
+
+    /**
+     * Test that the generator output only depends on its configuration and
+     * seed.
+     */
+    @Test
+    void testGenerateDeterministic() throws IOException {
+        final byte[] first = this.generate(new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125).setMemberCount(100).setSeed(1));
+        final byte[] second = this.generate(new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125).setMemberCount(100).setSeed(1));
+        final byte[] other = this.generate(new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125).setMemberCount(100).setSeed(2));
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, other));
+    }
+
+    /**
+     * Test that a generated S-125 dataset can be unmarshalled, and that it
+     * contains the requested members, based on the provided type mix.
+     */
+    @Test
+    void testGenerateS125() throws IOException, JAXBException {
+        final byte[] xml = this.generate(new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125)
+                .setMemberCount(500)
+                .setTypeMix(this.typeMix));
+        final _int.iho.s_125.gml.cs0._1.Dataset dataset = S125Utils.unmarshallS125(new ByteArrayInputStream(xml));
+
+        assertNotNull(dataset.getMembers());
+        final int lateralBuoys = dataset.getMembers().getLateralBuoy().size();
+        final int navigationLines = dataset.getMembers().getNavigationLine().size();
+        final int dataCoverages = dataset.getMembers().getDataCoverage().size();
+        final int statusInformation = dataset.getMembers().getAtonStatusInformation().size();
+        assertEquals(500, lateralBuoys + navigationLines + dataCoverages + statusInformation);
+        assertEquals(500, S125Utils.getDatasetMembers(dataset).size());
+        assertTrue(lateralBuoys > navigationLines);
+        assertTrue(navigationLines > 0);
+        assertTrue(dataCoverages > 0);
+        assertTrue(statusInformation > 0);
+    }
+
+    /**
+     * Test that a generated S-201 dataset with all the supported member types
+     * can be unmarshalled.
+     */
+    @Test
+    void testGenerateS201AllMemberTypes() throws IOException, JAXBException {
+        final byte[] xml = this.generate(new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S201)
+                .setMemberCount(1000)
+                .setOptionalContentRatio(0.5));
+        final _int.iho.s_201.gml.cs0._2.Dataset dataset = S201Utils.unmarshallS201(new ByteArrayInputStream(xml));
+
+        assertNotNull(dataset.getMembers());
+        assertFalse(S201Utils.getDatasetMembers(dataset).isEmpty());
+        assertEquals(SyntheticDatasetGenerator.Product.S201.getMemberTypes().size(), countDistinctMatches(xml, "xsi:type=\"S201:(\\w+)\""));
+    }
+
+    /**
+     * Test that the curves and surfaces are generated with the requested
+     * number of vertices, with the surface rings being closed.
+     */
+    @Test
+    void testGenerateGeometryComplexity() throws IOException {
+        final byte[] xml = this.generate(new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125)
+                .setMemberCount(200)
+                .setTypeMix(this.typeMix)
+                .setGeometryComplexity(12));
+
+        final Matcher matcher = Pattern.compile("<gml:(LineStringSegment|LinearRing)><gml:posList>([^<]*)</gml:posList>")
+                .matcher(new String(xml, StandardCharsets.UTF_8));
+        int geometries = 0;
+        while(matcher.find()) {
+            final String[] coordinates = matcher.group(2).split(" ");
+            if("LineStringSegment".equals(matcher.group(1))) {
+                assertEquals(2 * 12, coordinates.length);
+            } else {
+                assertEquals(2 * 13, coordinates.length);
+                assertEquals(coordinates[0], coordinates[coordinates.length - 2]);
+                assertEquals(coordinates[1], coordinates[coordinates.length - 1]);
+            }
+            geometries++;
+        }
+        assertTrue(geometries > 0);
+    }
+
+    /**
+     * Test that the generated datasets can be streamed directly into files.
+     */
+    @Test
+    void testGenerateToFile(@TempDir Path directory) throws IOException, JAXBException {
+        final Path path = new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125)
+                .setMemberCount(100)
+                .generate(directory.resolve("s125.xml"));
+
+        assertTrue(Files.size(path) > 0);
+        try(InputStream in = Files.newInputStream(path)) {
+            assertNotNull(S125Utils.unmarshallS125(in).getMembers());
+        }
+    }
+
+    /**
+     * Test that invalid configurations are rejected.
+     */
+    @Test
+    void testInvalidConfiguration() {
+        final SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Product.S125);
+
+        assertThrows(IllegalArgumentException.class, () -> generator.setMemberCount(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.setGeometryComplexity(2));
+        assertThrows(IllegalArgumentException.class, () -> generator.setCoordinateDensity(0));
+        assertThrows(IllegalArgumentException.class, () -> generator.setOptionalContentRatio(2));
+        assertThrows(IllegalArgumentException.class, () -> generator.setTypeMix(Map.of("Unknown", 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> generator.setTypeMix(Map.of()));
+    }
+
+    /**
+     * Generates the dataset of the provided generator in memory.
+     *
+     * @param generator the configured generator
+     * @return the generated dataset
+     */
+    private byte[] generate(SyntheticDatasetGenerator generator) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.generate(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Counts the distinct values of the first group of the provided pattern
+     * in the provided dataset.
+     *
+     * @param xml the dataset
+     * @param regex the pattern to be matched
+     * @return the number of distinct values
+     */
+    private static long countDistinctMatches(byte[] xml, String regex) {
+        return Pattern.compile(regex)
+                .matcher(new String(xml, StandardCharsets.UTF_8))
+                .results()
+                .map(result -> result.group(1))
+                .distinct()
+                .count();
+    }
+
+}
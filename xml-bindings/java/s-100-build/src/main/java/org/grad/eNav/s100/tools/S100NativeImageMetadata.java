@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The S100 Native Image Metadata Class.
+ * <p/>
+ * Generates the GraalVM native-image reachability metadata of the S-100
+ * bindings at build time, i.e. the "reflect-config.json" and
+ * "resource-config.json" files, so that the JAXB runtime and the dataset
+ * utilities can access the generated classes reflectively in a native image.
+ * The generated classes are detected as the classes of all the packages that
+ * include a JAXB object factory or package info, including their "impl"
+ * sub-packages, while additional packages, e.g. the adapters, can be provided
+ * explicitly.
+ * <p/>
+ * The same utility can also check the metadata against the configuration
+ * recorded by the native-image agent while running the test suite, reporting
+ * any classes of the module that were accessed reflectively but are missing
+ * from the metadata. Both operations are available through the command line:
+ * <pre>
+ *     S100NativeImageMetadata generate &lt;classesDir&gt; &lt;outputDir&gt; [packagePrefix...]
+ *     S100NativeImageMetadata check &lt;classesDir&gt; &lt;metadataDir&gt; &lt;agentOutputDir&gt;
+ * </pre>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100NativeImageMetadata {
+
+    /**
+     * The reflection metadata file name.
+     */
+    public static final String REFLECT_CONFIG = "reflect-config.json";
+
+    /**
+     * The resource metadata file name.
+     */
+    public static final String RESOURCE_CONFIG = "resource-config.json";
+
+    /**
+     * The reachability metadata file name of the newer native-image agents,
+     * which combines all the metadata into a single file.
+     */
+    public static final String REACHABILITY_METADATA = "reachability-metadata.json";
+
+    /**
+     * The pattern of the type names in the metadata files.
+     */
+    private static final Pattern TYPE_NAME_PATTERN = Pattern.compile("\"(?:name|type)\"\\s*:\\s*\"([^\"]+)\"");
+
+    /**
+     * The S100 native image metadata is a static utility class.
+     */
+    private S100NativeImageMetadata() {
+
+    }
+
+    /**
+     * The main function of the metadata generation and check operations,
+     * mainly used by the module builds.
+     *
+     * @param args the command line arguments
+     * @throws IOException for errors while reading or writing the metadata
+     */
+    public static void main(String[] args) throws IOException {
+        // Sanity Check
+        if(args.length < 3 || !Set.of("generate", "check").contains(args[0])) {
+            throw new IllegalArgumentException("Usage: S100NativeImageMetadata generate <classesDir> <outputDir> [packagePrefix...]"
+                    + " | check <classesDir> <metadataDir> <agentOutputDir>");
+        }
+
+        if("generate".equals(args[0])) {
+            writeMetadata(Path.of(args[1]), Path.of(args[2]), Arrays.asList(args).subList(3, args.length));
+        } else {
+            if(args.length < 4) {
+                throw new IllegalArgumentException("The native-image agent output directory is missing");
+            }
+            final Set<String> missingClasses = findMissingClasses(Path.of(args[1]), Path.of(args[2]), Path.of(args[3]));
+            if(!missingClasses.isEmpty()) {
+                throw new IllegalStateException("Classes missing from the native-image metadata: " + missingClasses);
+            }
+        }
+    }
+
+    /**
+     * Generates the reflection and resource metadata of the generated classes
+     * in the provided classes directory, and writes them into the provided
+     * output directory, e.g. the "META-INF/native-image/groupId/artifactId"
+     * directory of the module jar.
+     *
+     * @param classesDir the compiled classes directory
+     * @param outputDir the metadata output directory
+     * @param packagePrefixes the prefixes of any additional packages to be included
+     * @throws IOException for errors while reading the classes or writing the metadata
+     */
+    public static void writeMetadata(Path classesDir, Path outputDir, Collection<String> packagePrefixes) throws IOException {
+        Files.createDirectories(outputDir);
+        Files.writeString(outputDir.resolve(REFLECT_CONFIG), toReflectConfig(findClasses(classesDir, packagePrefixes)), StandardCharsets.UTF_8);
+        Files.writeString(outputDir.resolve(RESOURCE_CONFIG), toResourceConfig(findResources(classesDir, packagePrefixes)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the names of all the generated classes in the provided classes
+     * directory, along with the classes of any additional packages.
+     *
+     * @param classesDir the compiled classes directory
+     * @param packagePrefixes the prefixes of any additional packages to be included
+     * @return the sorted binary names of the classes
+     * @throws IOException for errors while reading the classes
+     */
+    public static SortedSet<String> findClasses(Path classesDir, Collection<String> packagePrefixes) throws IOException {
+        final Set<String> packages = findBoundPackages(classesDir);
+        try(Stream<Path> files = Files.walk(classesDir)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> classesDir.relativize(file).toString().replace('\\', '/'))
+                    .filter(file -> file.endsWith(".class"))
+                    .map(file -> file.substring(0, file.length() - ".class".length()).replace('/', '.'))
+                    .filter(name -> isIncluded(name, packages, packagePrefixes))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    /**
+     * Finds the resources of the generated packages, e.g. the
+     * "jaxb.properties" or "jaxb.index" files, in the provided classes
+     * directory.
+     *
+     * @param classesDir the compiled classes directory
+     * @param packagePrefixes the prefixes of any additional packages to be included
+     * @return the sorted resource paths
+     * @throws IOException for errors while reading the resources
+     */
+    public static SortedSet<String> findResources(Path classesDir, Collection<String> packagePrefixes) throws IOException {
+        final Set<String> packages = findBoundPackages(classesDir);
+        try(Stream<Path> files = Files.walk(classesDir)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> classesDir.relativize(file).toString().replace('\\', '/'))
+                    .filter(file -> !file.endsWith(".class") && file.contains("/"))
+                    .filter(file -> isIncluded(file.substring(0, file.lastIndexOf('/')).replace('/', '.') + ".", packages, packagePrefixes))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    /**
+     * Checks the metadata in the provided metadata directory against the
+     * configuration recorded by the native-image agent, and returns the
+     * classes of the module that were accessed reflectively but are missing
+     * from the metadata.
+     *
+     * @param classesDir the compiled classes directory of the module
+     * @param metadataDir the directory of the generated metadata
+     * @param agentOutputDir the output directory of the native-image agent
+     * @return the sorted names of the missing classes
+     * @throws IOException for errors while reading the metadata
+     */
+    public static SortedSet<String> findMissingClasses(Path classesDir, Path metadataDir, Path agentOutputDir) throws IOException {
+        final Set<String> registeredClasses = readTypeNames(metadataDir.resolve(REFLECT_CONFIG));
+        final SortedSet<String> missingClasses = new TreeSet<>();
+        for(String file : List.of(REFLECT_CONFIG, REACHABILITY_METADATA)) {
+            readTypeNames(agentOutputDir.resolve(file)).stream()
+                    .filter(name -> Files.isRegularFile(classesDir.resolve(name.replace('.', '/') + ".class")))
+                    .filter(name -> !registeredClasses.contains(name))
+                    .forEach(missingClasses::add);
+        }
+        return missingClasses;
+    }
+
+    /**
+     * Finds the packages bound by JAXB in the provided classes directory,
+     * i.e. the packages that include an object factory or a package info,
+     * along with their "impl" sub-packages.
+     *
+     * @param classesDir the compiled classes directory
+     * @return the bound package names, each followed by a dot
+     * @throws IOException for errors while reading the classes
+     */
+    private static Set<String> findBoundPackages(Path classesDir) throws IOException {
+        try(Stream<Path> files = Files.walk(classesDir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> Set.of("ObjectFactory.class", "package-info.class").contains(file.getFileName().toString()))
+                    .map(file -> classesDir.relativize(file.getParent()).toString().replace('\\', '/').replace('/', '.'))
+                    .map(name -> name.endsWith(".impl") ? name.substring(0, name.length() - ".impl".length()) : name)
+                    .flatMap(name -> Stream.of(name + ".", name + ".impl."))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Checks whether the provided class or resource name is included in the
+     * metadata, i.e. it belongs to one of the bound packages, or to any of
+     * the additional packages.
+     *
+     * @param name the class name, or the resource package name
+     * @param packages the bound package names
+     * @param packagePrefixes the prefixes of any additional packages to be included
+     * @return whether the name is included
+     */
+    private static boolean isIncluded(String name, Set<String> packages, Collection<String> packagePrefixes) {
+        final int separator = name.lastIndexOf('.');
+        return (separator > 0 && packages.contains(name.substring(0, separator + 1)))
+                || packagePrefixes.stream().anyMatch(name::startsWith);
+    }
+
+    /**
+     * Reads the type names of a metadata file, if present.
+     *
+     * @param file the metadata file
+     * @return the type names of the metadata file
+     */
+    private static Set<String> readTypeNames(Path file) {
+        // Sanity Check
+        if(!Files.isRegularFile(file)) {
+            return Collections.emptySet();
+        }
+
+        try {
+            final Set<String> names = new HashSet<>();
+            final Matcher matcher = TYPE_NAME_PATTERN.matcher(Files.readString(file, StandardCharsets.UTF_8));
+            while(matcher.find()) {
+                names.add(matcher.group(1));
+            }
+            return names;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Generates the reflection metadata of the provided classes, allowing the
+     * reflective access to all their constructors, fields, methods and member
+     * classes, as required by the JAXB runtime and the dataset utilities.
+     *
+     * @param classes the class names
+     * @return the reflection metadata JSON representation
+     */
+    private static String toReflectConfig(Collection<String> classes) {
+        return classes.stream()
+                .map(name -> String.format("""
+                          {
+                            "name": "%s",
+                            "allDeclaredConstructors": true,
+                            "allPublicConstructors": true,
+                            "allDeclaredFields": true,
+                            "allPublicFields": true,
+                            "allDeclaredMethods": true,
+                            "allPublicMethods": true,
+                            "allDeclaredClasses": true,
+                            "allPublicClasses": true
+                          }""", name).indent(2).stripTrailing())
+                .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+    }
+
+    /**
+     * Generates the resource metadata of the provided resources.
+     *
+     * @param resources the resource paths
+     * @return the resource metadata JSON representation
+     */
+    private static String toResourceConfig(Collection<String> resources) {
+        return resources.stream()
+                .map(resource -> String.format("      { \"pattern\": \"\\\\Q%s\\\\E\" }", resource))
+                .collect(Collectors.joining(",\n", "{\n  \"resources\": {\n    \"includes\": [\n", "\n    ]\n  },\n  \"bundles\": []\n}\n"))
+                .replace("\"includes\": [\n\n    ]", "\"includes\": []");
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.xjc;
+
+import com.sun.codemodel.*;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
+import com.sun.tools.xjc.outline.EnumOutline;
+import com.sun.tools.xjc.outline.Outline;
+import org.xml.sax.ErrorHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The S100 Enum Lookup Plugin Class.
+ * <p/>
+ * An XJC plugin, enabled through the {@code -Xenum-lookup} option, that
+ * replaces the {@code fromValue} methods of the generated enumerations with
+ * hash map lookups. By default, XJC generates methods that loop over the
+ * {@code values()} of the enumeration, which allocates a new array on every
+ * call and compares the lexical values one by one, so the lookups of large
+ * enumerations, e.g. the 130 horizontal datums of S-201, become noticeably
+ * slow. The generated enumerations instead index their constants by their
+ * lexical values in a static map, once, when the enumeration is initialised.
+ * <p/>
+ * The enumerations without a {@code value} field, i.e. the ones whose
+ * constant names match their lexical values, are left untouched, since their
+ * {@code fromValue} methods already delegate to {@code valueOf()}.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100EnumLookupPlugin extends Plugin {
+
+    /**
+     * The name of the plugin option.
+     */
+    public static final String OPTION_NAME = "Xenum-lookup";
+
+    /**
+     * The name of the generated lookup field.
+     */
+    public static final String LOOKUP_FIELD_NAME = "VALUE_LOOKUP";
+
+    /**
+     * Returns the name of the plugin option, without the leading dash.
+     *
+     * @return the name of the plugin option
+     */
+    @Override
+    public String getOptionName() {
+        return OPTION_NAME;
+    }
+
+    /**
+     * Returns the usage description of the plugin option.
+     *
+     * @return the usage description of the plugin option
+     */
+    @Override
+    public String getUsage() {
+        return "  -" + OPTION_NAME + "    :  generate hash map based fromValue lookups for the enumerations";
+    }
+
+    /**
+     * Replaces the {@code fromValue} methods of all the generated
+     * enumerations with hash map lookups.
+     *
+     * @param outline the outline of the generated code
+     * @param options the XJC options
+     * @param errorHandler the XJC error handler
+     * @return always true, since the generation cannot fail
+     */
+    @Override
+    public boolean run(Outline outline, Options options, ErrorHandler errorHandler) {
+        for(EnumOutline enumOutline : outline.getEnums()) {
+            addValueLookup(enumOutline.clazz);
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the {@code fromValue} method of the provided enumeration with
+     * a lookup of a static map from the lexical values to the constants,
+     * populated when the enumeration is initialised.
+     *
+     * @param enumClass the generated enumeration
+     * @return whether the fromValue method was replaced
+     */
+    static boolean addValueLookup(JDefinedClass enumClass) {
+        final JMethod fromValue = enumClass.methods()
+                .stream()
+                .filter(method -> "fromValue".equals(method.name()) && method.params().size() == 1)
+                .findFirst()
+                .orElse(null);
+
+        // Sanity Check
+        if(Objects.isNull(fromValue)
+                || !enumClass.fields().containsKey("value")
+                || enumClass.fields().containsKey(LOOKUP_FIELD_NAME)) {
+            return false;
+        }
+
+        // Create the lookup map, sized for all the constants
+        final JCodeModel codeModel = enumClass.owner();
+        final JType valueType = fromValue.params().getFirst().type();
+        final JClass keyType = valueType.boxify();
+        final JFieldVar lookup = enumClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                codeModel.ref(Map.class).narrow(keyType, enumClass),
+                LOOKUP_FIELD_NAME,
+                JExpr._new(codeModel.ref(HashMap.class).narrow(keyType, enumClass))
+                        .arg(JExpr.lit((int) Math.ceil(enumClass.getEnumConstantsByName().size() / 0.75))));
+
+        // Populate it when the enumeration is initialised
+        final JForEach constants = enumClass.init().forEach(enumClass, "c", enumClass.staticInvoke("values"));
+        constants.body().add(lookup.invoke("put").arg(constants.var().ref("value")).arg(constants.var()));
+
+        // And replace the fromValue method with the lookup
+        enumClass.methods().remove(fromValue);
+        final JMethod lookupFromValue = enumClass.method(JMod.PUBLIC | JMod.STATIC, enumClass, "fromValue");
+        final JVar value = lookupFromValue.param(valueType, "v");
+        final JVar constant = lookupFromValue.body().decl(enumClass, "c", lookup.invoke("get").arg(value));
+        lookupFromValue.body()._if(constant.eq(JExpr._null()))._then()
+                ._throw(JExpr._new(codeModel.ref(IllegalArgumentException.class))
+                        .arg(codeModel.ref(String.class).staticInvoke("valueOf").arg(value)));
+        lookupFromValue.body()._return(constant);
+        return true;
+    }
+
+}
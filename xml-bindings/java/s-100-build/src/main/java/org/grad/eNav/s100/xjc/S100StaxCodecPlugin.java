@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.xjc;
+
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
+import com.sun.tools.xjc.outline.Outline;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * The S100 StAX Codec Plugin Class.
+ * <p/>
+ * An XJC plugin, enabled through the {@code -Xstax-codec} option, that
+ * generates the readers and writers of the {@link org.grad.eNav.s100.stax.S100StaxCodec}
+ * for the generated classes, from the same XSD derived outline that the
+ * classes themselves are generated from. Every generated class gets a nested
+ * {@code StaxBinding} class that reads and writes its properties directly,
+ * dispatching the attributes and elements by their names, and every package
+ * gets a {@code StaxBindings} provider, next to its {@code ObjectFactory},
+ * that lists the bindings of the package. The codec is then created from the
+ * provider of the root class package, e.g.
+ * <pre>{@code
+ * final S100StaxCodec codec = new S100StaxCodec(new _int.iho.s_125.gml.cs0._1.StaxBindings());
+ * }</pre>
+ * so that no reflection or annotation processing takes place at runtime.
+ * <p/>
+ * The generated bindings cover the properties the S-100 product schemas use,
+ * i.e. the attributes, the simple contents, the element properties, including
+ * choices, lists, nillable elements and ID references, the element
+ * references and the element and attribute wildcards. The text of mixed
+ * content and the element wrappers are not supported.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100StaxCodecPlugin extends Plugin {
+
+    /**
+     * The name of the plugin option.
+     */
+    public static final String OPTION_NAME = "Xstax-codec";
+
+    /**
+     * The name of the binding classes, nested in the generated classes.
+     */
+    public static final String BINDING_CLASS_NAME = "StaxBinding";
+
+    /**
+     * The name of the provider classes, generated in every package.
+     */
+    public static final String PROVIDER_CLASS_NAME = "StaxBindings";
+
+    /**
+     * Returns the name of the plugin option, without the leading dash.
+     *
+     * @return the name of the plugin option
+     */
+    @Override
+    public String getOptionName() {
+        return OPTION_NAME;
+    }
+
+    /**
+     * Returns the usage description of the plugin option.
+     *
+     * @return the usage description of the plugin option
+     */
+    @Override
+    public String getUsage() {
+        return "  -" + OPTION_NAME + "    :  generate the StAX codec readers and writers of the generated classes";
+    }
+
+    /**
+     * Generates the StAX bindings of all the generated classes and
+     * enumerations, and the binding providers of all the packages.
+     *
+     * @param outline the outline of the generated code
+     * @param options the XJC options
+     * @param errorHandler the XJC error handler
+     * @return whether the generation succeeded
+     * @throws SAXException if the error handler aborts the generation
+     */
+    @Override
+    public boolean run(Outline outline, Options options, ErrorHandler errorHandler) throws SAXException {
+        return new StaxBindingGenerator(outline, errorHandler).generate();
+    }
+
+}
@@ -0,0 +1,1238 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.xjc;
+
+import com.sun.codemodel.*;
+import com.sun.tools.xjc.model.*;
+import com.sun.tools.xjc.outline.*;
+import org.glassfish.jaxb.core.v2.model.core.ID;
+import org.glassfish.jaxb.core.v2.model.core.WildcardMode;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import java.util.*;
+
+/**
+ * The StAX Binding Generator Class.
+ * <p/>
+ * Generates the StAX bindings of a single XJC run, for the
+ * {@link S100StaxCodecPlugin}. The bindings of all the classes are declared
+ * first, so that the bindings can refer to each other regardless of the
+ * order of the classes in the outline, and are then populated property by
+ * property, following the XJC model of each class. Finally, the bindings of
+ * each package are listed in the generated binding provider of the package.
+ * <p/>
+ * The generated bindings access the fields of the generated classes
+ * directly, since they are nested in them, and only handle the properties
+ * declared in their own class, delegating the inherited ones to the binding
+ * of the superclass.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+final class StaxBindingGenerator {
+
+    /**
+     * The name of the binding singleton fields.
+     */
+    static final String INSTANCE_FIELD_NAME = "INSTANCE";
+
+    /**
+     * The S-100 StAX runtime types the generated bindings refer to. These are
+     * referenced by name, since the plugin only runs at build time, without
+     * the S-100 catalogue on its classpath.
+     */
+    static final String STAX_PACKAGE = "org.grad.eNav.s100.stax";
+    static final String STAX_BINDING = "S100StaxBinding";
+    static final String STAX_ENUM_BINDING = "S100StaxEnumBinding";
+    static final String STAX_BINDING_PROVIDER = "S100StaxBindingProvider";
+    static final String STAX_READER = "S100StaxReader";
+    static final String STAX_WRITER = "S100StaxWriter";
+
+    // Class Variables
+    private final Outline outline;
+    private final ErrorHandler errorHandler;
+    private final JCodeModel codeModel;
+    private final Map<CClassInfo, JDefinedClass> bindings;
+    private final Map<JPackage, ProviderContent> providers;
+    private boolean valid;
+
+    /**
+     * The StAX Binding Generator Constructor.
+     *
+     * @param outline the outline of the generated code
+     * @param errorHandler the XJC error handler
+     */
+    StaxBindingGenerator(Outline outline, ErrorHandler errorHandler) {
+        this.outline = outline;
+        this.errorHandler = errorHandler;
+        this.codeModel = outline.getCodeModel();
+        this.bindings = new HashMap<>();
+        this.providers = new LinkedHashMap<>();
+        this.valid = true;
+    }
+
+    /**
+     * Generates the StAX bindings of all the generated classes and
+     * enumerations, and the binding providers of all the packages.
+     *
+     * @return whether the generation succeeded
+     * @throws SAXException if the error handler aborts the generation
+     */
+    boolean generate() throws SAXException {
+        // Declare the class bindings, so that they can refer to each other
+        for(ClassOutline classOutline : this.outline.getClasses()) {
+            this.declareBinding(classOutline);
+        }
+
+        // Populate them from the properties of each class
+        for(ClassOutline classOutline : this.outline.getClasses()) {
+            final JDefinedClass binding = this.bindings.get(classOutline.target);
+            if(Objects.nonNull(binding)) {
+                new ClassBinding(classOutline, binding).generate();
+            }
+        }
+
+        // Generate the enumeration bindings
+        for(EnumOutline enumOutline : this.outline.getEnums()) {
+            this.generateEnumBinding(enumOutline);
+        }
+
+        // And list all the bindings in the package providers
+        for(CElementInfo elementInfo : this.outline.getModel().getAllElements()) {
+            if(!elementInfo.hasClass() && Objects.isNull(elementInfo.getScope())) {
+                final ProviderContent provider = this.getProvider(elementInfo._package());
+                provider.elementDecls.put(elementInfo.getElementName(), this.classLiteral(elementInfo.getContentType()));
+                provider.namespaces.add(elementInfo.getElementName().getNamespaceURI());
+            }
+        }
+        this.generateProviders();
+        return this.valid;
+    }
+
+    /**
+     * Declares the StAX binding class of a generated class, nested in its
+     * implementation class.
+     *
+     * @param classOutline the outline of the generated class
+     * @throws SAXException if the error handler aborts the generation
+     */
+    private void declareBinding(ClassOutline classOutline) throws SAXException {
+        final JDefinedClass binding;
+        try {
+            binding = classOutline.implClass._class(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, S100StaxCodecPlugin.BINDING_CLASS_NAME);
+        } catch (JClassAlreadyExistsException ex) {
+            this.error(classOutline.target.getLocator(), String.format("Class %s already declares a %s class",
+                    classOutline.implClass.fullName(), S100StaxCodecPlugin.BINDING_CLASS_NAME));
+            return;
+        }
+        binding._implements(this.staxType(STAX_BINDING).narrow(classOutline.implClass));
+        binding.javadoc().add("The StAX binding of the {@link " + classOutline.implClass.name() + "} class, "
+                + "generated by the -" + S100StaxCodecPlugin.OPTION_NAME + " XJC plugin.");
+        binding.field(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, binding, INSTANCE_FIELD_NAME, JExpr._new(binding));
+        binding.constructor(JMod.PRIVATE);
+        this.bindings.put(classOutline.target, binding);
+        this.getProvider(classOutline.ref._package()).bindings.add(binding.staticRef(INSTANCE_FIELD_NAME));
+    }
+
+    /**
+     * Generates the StAX binding of a generated enumeration, nested in the
+     * enumeration, which converts the constants through the {@code value()}
+     * and {@code fromValue()} methods of the enumeration.
+     *
+     * @param enumOutline the outline of the generated enumeration
+     * @throws SAXException if the error handler aborts the generation
+     */
+    private void generateEnumBinding(EnumOutline enumOutline) throws SAXException {
+        final JDefinedClass enumClass = enumOutline.clazz;
+        final JMethod fromValue = enumClass.methods()
+                .stream()
+                .filter(method -> "fromValue".equals(method.name()) && method.params().size() == 1)
+                .findFirst()
+                .orElse(null);
+
+        // Sanity Check
+        if(Objects.isNull(fromValue)) {
+            this.error(enumOutline.target.getLocator(), String.format("Enumeration %s has no fromValue method", enumClass.fullName()));
+            return;
+        }
+
+        final JDefinedClass binding;
+        try {
+            binding = enumClass._class(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, S100StaxCodecPlugin.BINDING_CLASS_NAME);
+        } catch (JClassAlreadyExistsException ex) {
+            this.error(enumOutline.target.getLocator(), String.format("Enumeration %s already declares a %s class",
+                    enumClass.fullName(), S100StaxCodecPlugin.BINDING_CLASS_NAME));
+            return;
+        }
+        final JClass valueType = fromValue.params().getFirst().type().boxify();
+        binding._implements(this.staxType(STAX_ENUM_BINDING).narrow(enumClass));
+        binding.javadoc().add("The StAX binding of the {@link " + enumClass.name() + "} enumeration, "
+                + "generated by the -" + S100StaxCodecPlugin.OPTION_NAME + " XJC plugin.");
+        binding.field(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, binding, INSTANCE_FIELD_NAME, JExpr._new(binding));
+        binding.constructor(JMod.PRIVATE);
+
+        // The enumeration and its lexical value type
+        this.overrideMethod(binding, this.codeModel.ref(Class.class).narrow(enumClass), "getType")
+                .body()._return(JExpr.dotclass(enumClass));
+        this.overrideMethod(binding, this.classType(), "getValueType")
+                .body()._return(JExpr.dotclass(valueType.erasure()));
+
+        // And the conversions of the constants
+        final JMethod fromValueMethod = this.overrideMethod(binding, enumClass, "fromValue");
+        final JVar value = fromValueMethod.param(Object.class, "value");
+        fromValueMethod.body()._return(enumClass.staticInvoke(fromValue).arg(JExpr.cast(valueType, value)));
+        final JMethod toValueMethod = this.overrideMethod(binding, this.codeModel.ref(Object.class), "toValue");
+        final JVar constant = toValueMethod.param(enumClass, "constant");
+        toValueMethod.body()._return(constant.invoke("value"));
+
+        this.getProvider(enumClass._package()).enumBindings.add(binding.staticRef(INSTANCE_FIELD_NAME));
+    }
+
+    /**
+     * Generates the binding providers of all the packages, each of which
+     * lists the bindings, the global element declarations and the namespaces
+     * of its package, and instantiates the providers of the other packages
+     * as its dependencies.
+     *
+     * @throws SAXException if the error handler aborts the generation
+     */
+    private void generateProviders() throws SAXException {
+        // Declare the providers first, so that they can refer to each other
+        for(Map.Entry<JPackage, ProviderContent> entry : this.providers.entrySet()) {
+            try {
+                entry.getValue().provider = entry.getKey()._class(JMod.PUBLIC, S100StaxCodecPlugin.PROVIDER_CLASS_NAME);
+            } catch (JClassAlreadyExistsException ex) {
+                this.error(null, String.format("Package %s already declares a %s class",
+                        entry.getKey().name(), S100StaxCodecPlugin.PROVIDER_CLASS_NAME));
+            }
+        }
+
+        for(Map.Entry<JPackage, ProviderContent> entry : this.providers.entrySet()) {
+            final ProviderContent content = entry.getValue();
+            final JDefinedClass provider = content.provider;
+            if(Objects.isNull(provider)) {
+                continue;
+            }
+            provider._implements(this.staxType(STAX_BINDING_PROVIDER));
+            provider.javadoc().add("The StAX binding provider of the " + entry.getKey().name() + " package, "
+                    + "generated by the -" + S100StaxCodecPlugin.OPTION_NAME + " XJC plugin.");
+
+            // The global element declarations, assembled once
+            final JClass mapType = this.codeModel.ref(Map.class).narrow(this.codeModel.ref(QName.class), this.classType());
+            final JFieldVar elementDecls = provider.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, mapType, "ELEMENT_DECLS");
+            final JVar decls = provider.init().decl(mapType, "elementDecls",
+                    JExpr._new(this.codeModel.ref(LinkedHashMap.class).narrow(this.codeModel.ref(QName.class), this.classType())));
+            content.elementDecls.forEach((name, type) -> provider.init().add(decls.invoke("put").arg(this.newQName(name)).arg(type)));
+            provider.init().assign(elementDecls, this.codeModel.ref(Collections.class).staticInvoke("unmodifiableMap").arg(decls));
+
+            // The bindings of the package
+            this.overrideMethod(provider, this.codeModel.ref(List.class).narrow(this.staxType(STAX_BINDING).narrow(this.codeModel.wildcard())), "getBindings")
+                    .body()._return(this.listOf(content.bindings));
+            this.overrideMethod(provider, this.codeModel.ref(List.class).narrow(this.staxType(STAX_ENUM_BINDING).narrow(this.codeModel.wildcard())), "getEnumBindings")
+                    .body()._return(this.listOf(content.enumBindings));
+            this.overrideMethod(provider, mapType, "getElementDecls")
+                    .body()._return(elementDecls);
+
+            // The namespaces of the package, the most used one first
+            final Set<String> namespaces = new LinkedHashSet<>();
+            Optional.ofNullable(this.outline.getPackageContext(entry.getKey()))
+                    .map(PackageOutline::getMostUsedNamespaceURI)
+                    .ifPresent(namespaces::add);
+            namespaces.addAll(content.namespaces);
+            namespaces.remove("");
+            this.overrideMethod(provider, this.codeModel.ref(List.class).narrow(String.class), "getNamespaces")
+                    .body()._return(this.listOf(namespaces.stream().map(JExpr::lit).toList()));
+
+            // And the providers of the other packages
+            final List<JExpression> dependencies = new ArrayList<>();
+            this.providers.values()
+                    .stream()
+                    .filter(other -> other != content && Objects.nonNull(other.provider))
+                    .forEach(other -> dependencies.add(JExpr._new(other.provider)));
+            this.overrideMethod(provider, this.codeModel.ref(List.class).narrow(this.staxType(STAX_BINDING_PROVIDER)), "getDependencies")
+                    .body()._return(this.listOf(dependencies));
+        }
+    }
+
+    //========================================================================//
+    //                             Class Bindings                             //
+    //========================================================================//
+
+    /**
+     * The Class Binding Class.
+     * <p/>
+     * Populates the StAX binding of a single generated class from the
+     * properties of its XJC model.
+     */
+    private final class ClassBinding {
+
+        // Class Variables
+        private final ClassOutline classOutline;
+        private final CClassInfo classInfo;
+        private final JDefinedClass binding;
+        private final JExpression parent;
+        private final ProviderContent provider;
+        private final Map<QName, JFieldVar> names;
+        private final Map<QName, JExpression> elementTypes;
+        private final Map<String, List<Case>> attributeCases;
+        private final Map<String, List<Case>> elementCases;
+        private final JMethod writeAttributes;
+        private final JMethod writeContent;
+        private final JMethod getIdName;
+        private final JMethod getId;
+        private final JMethod readAnyAttribute;
+        private final JMethod readAnyElement;
+        private final JMethod hasValue;
+        private final JMethod readValue;
+        private final JMethod readAttribute;
+        private final JMethod readElement;
+        private final JMethod setReferenceMethod;
+        private boolean idGenerated;
+        private boolean valueGenerated;
+        private boolean wildcardGenerated;
+        private boolean attributeWildcardGenerated;
+
+        /**
+         * The Class Binding Constructor. Declares all the binding methods in
+         * the order of the binding interface.
+         *
+         * @param classOutline the outline of the generated class
+         * @param binding the declared binding class
+         */
+        ClassBinding(ClassOutline classOutline, JDefinedClass binding) {
+            this.classOutline = classOutline;
+            this.classInfo = classOutline.target;
+            this.binding = binding;
+            this.parent = Optional.ofNullable(classOutline.getSuperClass())
+                    .map(superClass -> StaxBindingGenerator.this.bindings.get(superClass.target))
+                    .map(superBinding -> (JExpression) superBinding.staticRef(INSTANCE_FIELD_NAME))
+                    .orElse(null);
+            this.provider = StaxBindingGenerator.this.getProvider(classOutline.ref._package());
+            this.names = new HashMap<>();
+            this.elementTypes = new LinkedHashMap<>();
+            this.attributeCases = new LinkedHashMap<>();
+            this.elementCases = new LinkedHashMap<>();
+
+            // The bound classes and names
+            final JClass implClass = classOutline.implClass;
+            overrideMethod(binding, codeModel.ref(Class.class).narrow(implClass), "getType")
+                    .body()._return(JExpr.dotclass(implClass));
+            overrideMethod(binding, codeModel.ref(Class.class).narrow(classOutline.ref), "getExposedType")
+                    .body()._return(JExpr.dotclass(classOutline.ref));
+            overrideMethod(binding, codeModel.ref(QName.class), "getTypeName")
+                    .body()._return(this.constant("TYPE_NAME", this.classInfo.getTypeName()));
+            overrideMethod(binding, codeModel.ref(QName.class), "getElementName")
+                    .body()._return(this.constant("ELEMENT_NAME", this.classInfo.isElement() ? this.classInfo.getElementName() : null));
+            overrideMethod(binding, codeModel.ref(Map.class).narrow(codeModel.ref(QName.class), classType()), "getElementTypes")
+                    .body()._return(binding.staticRef("ELEMENT_TYPES"));
+
+            // The instantiation of the bound class
+            final JMethod newInstance = overrideMethod(binding, implClass, "newInstance");
+            if(this.classInfo.isAbstract()) {
+                newInstance.body()._throw(JExpr._new(codeModel.ref(IllegalStateException.class))
+                        .arg(JExpr.lit("Class " + implClass.fullName() + " is abstract")));
+            } else {
+                newInstance.body()._return(JExpr._new(implClass));
+            }
+            this.getIdName = overrideMethod(binding, codeModel.ref(QName.class), "getIdName");
+            this.getId = overrideMethod(binding, codeModel.ref(String.class), "getId");
+            this.getId.param(implClass, "value");
+
+            // The writing methods, the inherited properties first
+            this.writeAttributes = this.writingMethod("writeAttributes");
+            this.writeContent = this.writingMethod("writeContent");
+
+            // And the reading ones
+            this.readAttribute = this.readingMethod("readAttribute", true, true);
+            this.readAnyAttribute = this.readingMethod("readAnyAttribute", true, false);
+            this.readElement = this.readingMethod("readElement", false, true);
+            this.readAnyElement = this.readingMethod("readAnyElement", false, false);
+            this.hasValue = overrideMethod(binding, codeModel.BOOLEAN, "hasValue");
+            this.readValue = overrideMethod(binding, codeModel.VOID, "readValue");
+            this.readValue._throws(XMLStreamException.class);
+            this.readValue.param(staxType(STAX_READER), "reader");
+            this.readValue.param(implClass, "target");
+            this.readValue.param(String.class, "text");
+            this.setReferenceMethod = overrideMethod(binding, codeModel.VOID, "setReference");
+            this.setReferenceMethod.param(implClass, "target");
+            this.setReferenceMethod.param(QName.class, "name");
+            this.setReferenceMethod.param(Object.class, "value");
+        }
+
+        /**
+         * Populates the binding from the properties of the class.
+         *
+         * @throws SAXException if the error handler aborts the generation
+         */
+        void generate() throws SAXException {
+            for(CPropertyInfo property : this.classInfo.getProperties()) {
+                final JFieldVar field = this.getField(property);
+                if(Objects.isNull(field)) {
+                    error(property.getLocator(), String.format("Property %s of class %s has no field",
+                            property.getName(false), this.classOutline.implClass.fullName()));
+                } else if(property instanceof CAttributePropertyInfo attributeProperty) {
+                    this.generateAttribute(attributeProperty, field);
+                } else if(property instanceof CValuePropertyInfo valueProperty) {
+                    this.generateValue(valueProperty, field);
+                } else if(property instanceof CElementPropertyInfo elementProperty) {
+                    this.generateElement(elementProperty, field);
+                } else if(property instanceof CReferencePropertyInfo referenceProperty) {
+                    this.generateReference(referenceProperty, field);
+                }
+            }
+            if(this.classInfo.declaresAttributeWildcard()) {
+                this.generateAttributeWildcard();
+            }
+            this.complete();
+        }
+
+        /**
+         * Generates the reading and writing of an attribute property.
+         *
+         * @param property the attribute property
+         * @param field the field of the property
+         */
+        private void generateAttribute(CAttributePropertyInfo property, JFieldVar field) {
+            final JFieldVar name = this.name(property.getXmlName());
+            final JFieldVar adapter = this.adapter(property);
+
+            // Write the attribute if set
+            final JVar writer = this.writeAttributes.listParams()[0];
+            final JFieldRef value = this.writeAttributes.listParams()[1].ref(field);
+            this.nonNull(this.writeAttributes.body(), field, value).add(writer.invoke("writeAttribute")
+                    .arg(name)
+                    .arg(this.print(writer, property, adapter, value)));
+
+            // And read it by its name
+            this.addCase(this.attributeCases, property.getXmlName(), name, (block, reader, target) -> {
+                final JVar text = this.readAttribute.listParams()[3];
+                if(property.id() == ID.IDREF) {
+                    block.add(reader.invoke("reference").arg(JExpr._this()).arg(target).arg(name).arg(text));
+                    this.addReference(name, property, field);
+                } else {
+                    block.assign(target.ref(field), this.parse(reader, property, adapter, text));
+                }
+                if(property.id() == ID.ID) {
+                    block.add(reader.invoke("registerId").arg(target.ref(field)).arg(target));
+                    this.generateId(name, field);
+                }
+            });
+        }
+
+        /**
+         * Generates the reading and writing of a simple content property.
+         *
+         * @param property the simple content property
+         * @param field the field of the property
+         */
+        private void generateValue(CValuePropertyInfo property, JFieldVar field) {
+            final JFieldVar adapter = this.adapter(property);
+
+            // Write the simple content if set
+            final JVar writer = this.writeContent.listParams()[0];
+            final JFieldRef value = this.writeContent.listParams()[1].ref(field);
+            this.nonNull(this.writeContent.body(), field, value).add(writer.invoke("writeCharacters")
+                    .arg(this.print(writer, property, adapter, value)));
+
+            // And read it from the text of the element
+            final JVar reader = this.readValue.listParams()[0];
+            final JVar target = this.readValue.listParams()[1];
+            this.readValue.body().assign(target.ref(field), this.parse(reader, property, adapter, this.readValue.listParams()[2]));
+            this.hasValue.body()._return(JExpr.TRUE);
+            this.valueGenerated = true;
+        }
+
+        /**
+         * Generates the reading and writing of an element property, i.e. of
+         * one or more element names, for the choices, each bound to a single
+         * type.
+         *
+         * @param property the element property
+         * @param field the field of the property
+         */
+        private void generateElement(CElementPropertyInfo property, JFieldVar field) {
+            final JFieldVar adapter = this.adapter(property);
+            final boolean collection = property.isCollection() && !property.isValueList();
+            final JType itemType = collection ? itemType(field) : field.type();
+
+            // Write the subtypes of the choices before their supertypes
+            final List<CTypeRef> types = new ArrayList<>(property.getTypes());
+            types.sort(Comparator.comparingInt((CTypeRef type) -> depth(type.getTarget())).reversed());
+            for(CTypeRef type : types) {
+                this.elementTypes.put(type.getTagName(), classLiteral(type.getTarget()));
+            }
+
+            // Write the element for each set value
+            final JVar writer = this.writeContent.listParams()[0];
+            final JFieldRef value = this.writeContent.listParams()[1].ref(field);
+            if(collection) {
+                final JForEach items = this.writeContent.body()._if(value.ne(JExpr._null()))._then()
+                        .forEach(itemType, "item", value);
+                this.writeItem(items.body(), writer, property, types, adapter, items.var(), itemType);
+            } else {
+                this.writeItem(this.writeContent.body(), writer, property, types, adapter, value, field.type());
+            }
+
+            // And read each of the element names
+            for(CTypeRef type : property.getTypes()) {
+                final JFieldVar name = this.name(type.getTagName());
+                this.addCase(this.elementCases, type.getTagName(), name, (block, reader, target) -> {
+                    if(property.id() == ID.IDREF) {
+                        block.add(reader.invoke("reference").arg(JExpr._this()).arg(target).arg(name).arg(reader.invoke("readText")));
+                        this.addReference(name, property, field);
+                        return;
+                    }
+                    final JExpression item = property.isValueList() ?
+                            reader.invoke("readList").arg(classLiteral(type.getTarget())) :
+                            this.read(reader, type.getTarget(), adapter);
+                    if(collection) {
+                        block.add(this.list(block, target, field, itemType).invoke("add").arg(item));
+                    } else {
+                        block.assign(target.ref(field), item);
+                    }
+                    if(property.id() == ID.ID) {
+                        block.add(reader.invoke("registerId").arg(target.ref(field)).arg(target));
+                    }
+                });
+            }
+        }
+
+        /**
+         * Generates the reading and writing of an element reference
+         * property, i.e. of the global elements, the root element classes
+         * and the element wildcard it refers to.
+         *
+         * @param property the element reference property
+         * @param field the field of the property
+         * @throws SAXException if the error handler aborts the generation
+         */
+        private void generateReference(CReferencePropertyInfo property, JFieldVar field) throws SAXException {
+            final boolean collection = property.isCollection();
+            final JType itemType = collection ? itemType(field) : field.type();
+
+            // Write the items as JAXB elements, root elements or DOM elements
+            final JVar writer = this.writeContent.listParams()[0];
+            final JFieldRef value = this.writeContent.listParams()[1].ref(field);
+            if(collection) {
+                final JForEach items = this.writeContent.body()._if(value.ne(JExpr._null()))._then()
+                        .forEach(itemType, "item", value);
+                items.body().add(writer.invoke("writeAny").arg(items.var()));
+            } else {
+                this.writeContent.body()._if(value.ne(JExpr._null()))._then().add(writer.invoke("writeAny").arg(value));
+            }
+
+            // Read the referred elements by their names
+            for(CElement element : property.getElements()) {
+                if(element instanceof CElementInfo elementInfo) {
+                    final QName elementName = elementInfo.getElementName();
+                    final CNonElement contentType = elementInfo.getContentType();
+                    final JFieldVar name = this.name(elementName);
+                    final JExpression scope = Objects.isNull(elementInfo.getScope()) ?
+                            JExpr._null() :
+                            JExpr.dotclass(outline.getClazz(elementInfo.getScope()).implRef);
+                    this.elementTypes.put(elementName, classLiteral(contentType));
+                    this.addCase(this.elementCases, elementName, name, (block, reader, target) -> this.store(block, target, field, collection, itemType,
+                            reader.invoke("wrap").arg(name).arg(classLiteral(contentType)).arg(scope).arg(this.read(reader, contentType, null))));
+                } else if(element instanceof CClassInfo elementClass && elementClass.isElement() && bindings.containsKey(elementClass)) {
+                    final QName elementName = elementClass.getElementName();
+                    final JFieldVar name = this.name(elementName);
+                    this.elementTypes.put(elementName, classLiteral(elementClass));
+                    this.addCase(this.elementCases, elementName, name, (block, reader, target) -> this.store(block, target, field, collection, itemType,
+                            this.read(reader, elementClass, null)));
+                } else {
+                    error(property.getLocator(), String.format("Element reference %s of class %s is not supported",
+                            property.getName(false), this.classOutline.implClass.fullName()));
+                }
+            }
+
+            // And the wildcard elements, if any
+            if(Objects.nonNull(property.getWildcard())) {
+                final JVar reader = this.readAnyElement.listParams()[0];
+                final JVar target = this.readAnyElement.listParams()[1];
+                this.store(this.readAnyElement.body(), target, field, collection, itemType,
+                        reader.invoke("readAny").arg(JExpr.lit(property.getWildcard() != WildcardMode.SKIP)));
+                this.readAnyElement.body()._return(JExpr.TRUE);
+                this.wildcardGenerated = true;
+            }
+        }
+
+        /**
+         * Generates the reading and writing of the attribute wildcard of the
+         * class.
+         */
+        private void generateAttributeWildcard() {
+            final JFieldVar field = this.classOutline.implClass.fields().get("otherAttributes");
+            if(Objects.isNull(field)) {
+                return;
+            }
+            final JVar writer = this.writeAttributes.listParams()[0];
+            final JVar value = this.writeAttributes.listParams()[1];
+            this.writeAttributes.body().add(writer.invoke("writeAttributes").arg(value.ref(field)));
+            final JVar[] params = this.readAnyAttribute.listParams();
+            this.readAnyAttribute.body().add(params[1].ref(field).invoke("put").arg(params[2]).arg(params[3]));
+            this.readAnyAttribute.body()._return(JExpr.TRUE);
+            this.attributeWildcardGenerated = true;
+        }
+
+        /**
+         * Completes the binding, generating the name based dispatching of the
+         * reading methods, the delegations to the binding of the superclass
+         * and the declared element types.
+         */
+        private void complete() {
+            this.generateDispatch(this.readAttribute, this.attributeCases);
+            this.generateDispatch(this.readElement, this.elementCases);
+
+            // Delegate everything not declared in this class to the superclass
+            this.delegate(this.readAttribute, false, JExpr.FALSE);
+            this.delegate(this.readAnyAttribute, this.attributeWildcardGenerated, JExpr.FALSE);
+            this.delegate(this.readElement, false, JExpr.FALSE);
+            this.delegate(this.readAnyElement, this.wildcardGenerated, JExpr.FALSE);
+            this.delegate(this.hasValue, this.valueGenerated, JExpr.FALSE);
+            this.delegate(this.readValue, this.valueGenerated, null);
+            this.delegate(this.getIdName, this.idGenerated, JExpr._null());
+            this.delegate(this.getId, this.idGenerated, JExpr._null());
+            this.delegate(this.setReferenceMethod, false, null);
+
+            // And collect the declared element types, including the inherited ones
+            final JClass mapType = codeModel.ref(Map.class).narrow(codeModel.ref(QName.class), classType());
+            final JFieldVar elementTypesField = this.binding.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, mapType, "ELEMENT_TYPES");
+            final JInvocation map = JExpr._new(codeModel.ref(LinkedHashMap.class).narrow(codeModel.ref(QName.class), classType()));
+            if(Objects.nonNull(this.parent)) {
+                map.arg(this.parent.invoke("getElementTypes"));
+            }
+            final JVar types = this.binding.init().decl(mapType, "elementTypes", map);
+            this.elementTypes.forEach((name, type) -> this.binding.init().add(types.invoke("put").arg(this.name(name)).arg(type)));
+            this.binding.init().assign(elementTypesField, codeModel.ref(Collections.class).staticInvoke("unmodifiableMap").arg(types));
+        }
+
+        //====================================================================//
+        //                          Code Generation                           //
+        //====================================================================//
+
+        /**
+         * Declares a writing method of the binding, which first delegates to
+         * the binding of the superclass, if any.
+         *
+         * @param methodName the name of the method
+         * @return the declared method
+         */
+        private JMethod writingMethod(String methodName) {
+            final JMethod method = overrideMethod(this.binding, codeModel.VOID, methodName);
+            method._throws(XMLStreamException.class);
+            final JVar writer = method.param(staxType(STAX_WRITER), "writer");
+            final JVar value = method.param(this.classOutline.implClass, "value");
+            if(Objects.nonNull(this.parent)) {
+                method.body().add(this.parent.invoke(methodName).arg(writer).arg(value));
+            }
+            return method;
+        }
+
+        /**
+         * Declares a reading method of the binding.
+         *
+         * @param methodName the name of the method
+         * @param attribute whether the method reads an attribute
+         * @param named whether the method receives the name of the attribute or element
+         * @return the declared method
+         */
+        private JMethod readingMethod(String methodName, boolean attribute, boolean named) {
+            final JMethod method = overrideMethod(this.binding, codeModel.BOOLEAN, methodName);
+            if(named || !attribute) {
+                method._throws(XMLStreamException.class);
+            }
+            method.param(staxType(STAX_READER), "reader");
+            method.param(this.classOutline.implClass, "target");
+            if(attribute || named) {
+                method.param(QName.class, "name");
+            }
+            if(attribute) {
+                method.param(String.class, "value");
+            }
+            return method;
+        }
+
+        /**
+         * Generates the name based dispatching of a reading method, i.e. a
+         * switch over the local names of the declared attributes or elements,
+         * checking the namespace of each matching name.
+         *
+         * @param method the reading method
+         * @param cases the cases of the declared names, by their local names
+         */
+        private void generateDispatch(JMethod method, Map<String, List<Case>> cases) {
+            if(cases.isEmpty()) {
+                return;
+            }
+            final JVar reader = method.listParams()[0];
+            final JVar target = method.listParams()[1];
+            final JVar name = method.listParams()[2];
+            final JSwitch localNames = method.body()._switch(name.invoke("getLocalPart"));
+            for(Map.Entry<String, List<Case>> entry : cases.entrySet()) {
+                final JBlock body = localNames._case(JExpr.lit(entry.getKey())).body();
+                for(Case nameCase : entry.getValue()) {
+                    final JBlock matched = body._if(nameCase.name().invoke("equals").arg(name))._then();
+                    nameCase.body().generate(matched, reader, target);
+                    matched._return(JExpr.TRUE);
+                }
+                body._break();
+            }
+        }
+
+        /**
+         * Completes a method, unless already completed by the properties of
+         * the class, with either a delegation to the binding of the
+         * superclass, or a default return value.
+         *
+         * @param method the method to complete
+         * @param completed whether the method has already been completed
+         * @param defaultValue the default return value, or null for void methods
+         */
+        private void delegate(JMethod method, boolean completed, JExpression defaultValue) {
+            if(completed) {
+                return;
+            } else if(Objects.nonNull(this.parent)) {
+                final JInvocation invocation = this.parent.invoke(method.name());
+                for(JVar param : method.listParams()) {
+                    invocation.arg(param);
+                }
+                if(Objects.isNull(defaultValue)) {
+                    method.body().add(invocation);
+                } else {
+                    method.body()._return(invocation);
+                }
+            } else if(Objects.nonNull(defaultValue)) {
+                method.body()._return(defaultValue);
+            }
+        }
+
+        /**
+         * Generates the ID accessors of the binding.
+         *
+         * @param name the name constant of the ID attribute
+         * @param field the field of the ID attribute
+         */
+        private void generateId(JFieldVar name, JFieldVar field) {
+            if(this.idGenerated) {
+                return;
+            }
+            this.getIdName.body()._return(name);
+            this.getId.body()._return(this.getId.listParams()[0].ref(field));
+            this.idGenerated = true;
+        }
+
+        /**
+         * Registers the ID references of a property, which are set through
+         * the binding once the referenced objects have been read.
+         *
+         * @param name the name constant of the referencing attribute or element
+         * @param property the referencing property
+         * @param field the field of the property
+         */
+        private void addReference(JFieldVar name, CPropertyInfo property, JFieldVar field) {
+            final JVar target = this.setReferenceMethod.listParams()[0];
+            final JVar value = this.setReferenceMethod.listParams()[2];
+            final JBlock block = this.setReferenceMethod.body()._if(name.invoke("equals").arg(this.setReferenceMethod.listParams()[1]))._then();
+            if(property.isCollection()) {
+                final JType itemType = itemType(field);
+                block.add(this.list(block, target, field, itemType).invoke("add").arg(JExpr.cast(itemType, value)));
+            } else {
+                block.assign(target.ref(field), JExpr.cast(field.type().boxify(), value));
+            }
+            block._return();
+        }
+
+        /**
+         * Generates the writing of a single value of an element property,
+         * selecting the element name of the choices by the type of the
+         * value. The null values are skipped, unless they are nillable.
+         *
+         * @param block the block to generate the writing in
+         * @param writer the writing context
+         * @param property the element property
+         * @param types the types of the element property, the subtypes first
+         * @param adapter the adapter of the property, if any
+         * @param item the value to be written
+         * @param itemType the declared type of the value
+         */
+        private void writeItem(JBlock block, JVar writer, CElementPropertyInfo property, List<CTypeRef> types, JFieldVar adapter, JExpression item, JType itemType) {
+            // Primitives are always written
+            if(itemType.isPrimitive()) {
+                block.add(this.writeTerm(writer, property, types.getFirst(), adapter, item));
+                return;
+            }
+
+            final JConditional nonNull = block._if(item.ne(JExpr._null()));
+            if(property.isValueList()) {
+                nonNull._then().add(writer.invoke("writeSimple")
+                        .arg(this.name(types.getFirst().getTagName()))
+                        .arg(writer.invoke("printList").arg(item)));
+            } else if(types.size() == 1) {
+                nonNull._then().add(this.writeTerm(writer, property, types.getFirst(), adapter, item));
+            } else {
+                JConditional choice = null;
+                for(CTypeRef type : types) {
+                    final JExpression matches = item._instanceof(classType(type.getTarget()));
+                    choice = Objects.isNull(choice) ? nonNull._then()._if(matches) : choice._elseif(matches);
+                    choice._then().add(this.writeTerm(writer, property, type, adapter, item));
+                }
+            }
+            if(types.size() == 1 && types.getFirst().isNillable()) {
+                nonNull._else().add(writer.invoke("writeNil").arg(this.name(types.getFirst().getTagName())));
+            }
+        }
+
+        /**
+         * Generates the writing of a single element of an element property.
+         *
+         * @param writer the writing context
+         * @param property the element property
+         * @param type the element type
+         * @param adapter the adapter of the property, if any
+         * @param item the value to be written
+         * @return the writing invocation
+         */
+        private JInvocation writeTerm(JVar writer, CElementPropertyInfo property, CTypeRef type, JFieldVar adapter, JExpression item) {
+            final JFieldVar name = this.name(type.getTagName());
+            if(property.id() == ID.IDREF) {
+                return writer.invoke("writeSimple").arg(name).arg(writer.invoke("printId").arg(item));
+            } else if(Objects.nonNull(adapter)) {
+                return writer.invoke("writeSimple").arg(name).arg(writer.invoke("adapt").arg(adapter).arg(item));
+            } else if(type.getTarget() instanceof CClassInfo targetClass && bindings.containsKey(targetClass)) {
+                return writer.invoke("writeObject").arg(name).arg(item).arg(instance(targetClass));
+            } else if(isObjectType(type.getTarget())) {
+                return writer.invoke("writeObject").arg(name).arg(item).arg(classLiteral(type.getTarget()));
+            }
+            return writer.invoke("writeSimple").arg(name).arg(item);
+        }
+
+        /**
+         * Generates the printing of the value of an attribute or simple
+         * content property.
+         *
+         * @param writer the writing context
+         * @param property the property
+         * @param adapter the adapter of the property, if any
+         * @param value the value to be printed
+         * @return the printing invocation
+         */
+        private JInvocation print(JVar writer, CPropertyInfo property, JFieldVar adapter, JExpression value) {
+            if(property.id() == ID.IDREF) {
+                return writer.invoke(property.isCollection() ? "printIds" : "printId").arg(value);
+            } else if(property.isCollection()) {
+                return writer.invoke("printList").arg(value);
+            } else if(Objects.nonNull(adapter)) {
+                return writer.invoke("print").arg(writer.invoke("adapt").arg(adapter).arg(value));
+            }
+            return writer.invoke("print").arg(value);
+        }
+
+        /**
+         * Generates the parsing of the lexical value of an attribute or simple
+         * content property.
+         *
+         * @param reader the reading context
+         * @param property the property
+         * @param adapter the adapter of the property, if any
+         * @param text the lexical value
+         * @return the parsing invocation
+         */
+        private JInvocation parse(JVar reader, CSingleTypePropertyInfo property, JFieldVar adapter, JVar text) {
+            final JExpression type = classLiteral(property.getTarget());
+            if(property.isCollection()) {
+                return reader.invoke("parseList").arg(text).arg(type);
+            } else if(Objects.nonNull(adapter)) {
+                return reader.invoke("unadapt").arg(adapter).arg(reader.invoke("parse").arg(text).arg(type));
+            }
+            return reader.invoke("parse").arg(text).arg(type);
+        }
+
+        /**
+         * Generates the reading of an element of the provided type, through
+         * the binding of its class if it is a generated one.
+         *
+         * @param reader the reading context
+         * @param type the element type
+         * @param adapter the adapter of the property, if any
+         * @return the reading invocation
+         */
+        private JInvocation read(JVar reader, CNonElement type, JFieldVar adapter) {
+            if(Objects.nonNull(adapter)) {
+                return reader.invoke("unadapt").arg(adapter).arg(reader.invoke("read").arg(classLiteral(type)));
+            } else if(type instanceof CClassInfo typeClass && bindings.containsKey(typeClass)) {
+                return reader.invoke("read").arg(instance(typeClass));
+            }
+            return reader.invoke("read").arg(classLiteral(type));
+        }
+
+        /**
+         * Stores a read item of an element reference property, casting it to
+         * the declared item type of the property.
+         *
+         * @param block the block to store the item in
+         * @param target the object being read
+         * @param field the field of the property
+         * @param collection whether the property is a collection
+         * @param itemType the declared item type of the property
+         * @param item the read item
+         */
+        private void store(JBlock block, JVar target, JFieldVar field, boolean collection, JType itemType, JExpression item) {
+            final JExpression cast = Object.class.getName().equals(itemType.boxify().erasure().fullName()) ?
+                    item :
+                    JExpr.cast(itemType, JExpr.cast(codeModel.ref(Object.class), item));
+            if(collection) {
+                block.add(this.list(block, target, field, itemType).invoke("add").arg(cast));
+            } else {
+                block.assign(target.ref(field), cast);
+            }
+        }
+
+        /**
+         * Returns the list of a collection property, initialising it first
+         * if required.
+         *
+         * @param block the block to generate the initialisation in
+         * @param target the object the property belongs to
+         * @param field the field of the property
+         * @param itemType the item type of the property
+         * @return the reference to the list
+         */
+        private JFieldRef list(JBlock block, JVar target, JFieldVar field, JType itemType) {
+            final JFieldRef list = target.ref(field);
+            block._if(list.eq(JExpr._null()))._then()
+                    .assign(list, JExpr._new(codeModel.ref(ArrayList.class).narrow(itemType.boxify())));
+            return list;
+        }
+
+        /**
+         * Wraps a block into a null check of the provided value, unless the
+         * field is a primitive one.
+         *
+         * @param block the block to generate the check in
+         * @param field the field of the value
+         * @param value the value to be checked
+         * @return the block to be executed for non-null values
+         */
+        private JBlock nonNull(JBlock block, JFieldVar field, JExpression value) {
+            return field.type().isPrimitive() ? block : block._if(value.ne(JExpr._null()))._then();
+        }
+
+        /**
+         * Adds the reading case of an attribute or element name.
+         *
+         * @param cases the cases of the reading method
+         * @param qName the attribute or element name
+         * @param name the name constant
+         * @param body the generator of the case body
+         */
+        private void addCase(Map<String, List<Case>> cases, QName qName, JFieldVar name, CaseBody body) {
+            final List<Case> localCases = cases.computeIfAbsent(qName.getLocalPart(), localPart -> new ArrayList<>());
+            if(localCases.stream().noneMatch(existing -> existing.name() == name)) {
+                localCases.add(new Case(name, body));
+            }
+        }
+
+        /**
+         * Returns the field of a property in the implementation class.
+         *
+         * @param property the property
+         * @return the field of the property, or null if not found
+         */
+        private JFieldVar getField(CPropertyInfo property) {
+            final Map<String, JFieldVar> fields = this.classOutline.implClass.fields();
+            return Optional.ofNullable(fields.get(property.getName(false)))
+                    .orElseGet(() -> fields.get("_" + property.getName(false)));
+        }
+
+        /**
+         * Declares a static adapter instance for a property with an adapter.
+         *
+         * @param property the property
+         * @return the adapter field, or null if the property has no adapter
+         */
+        private JFieldVar adapter(CPropertyInfo property) {
+            final CAdapter adapter = property.getAdapter();
+            if(Objects.isNull(adapter)) {
+                return null;
+            }
+            final JClass adapterClass = adapter.getAdapterClass(outline);
+            return this.binding.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, adapterClass,
+                    this.uniqueName(constantName(property.getName(false)) + "_ADAPTER"), JExpr._new(adapterClass));
+        }
+
+        /**
+         * Returns the static constant of an attribute or element name,
+         * declaring it on first use.
+         *
+         * @param qName the attribute or element name
+         * @return the name constant
+         */
+        private JFieldVar name(QName qName) {
+            this.provider.namespaces.add(qName.getNamespaceURI());
+            return this.names.computeIfAbsent(qName, key -> this.binding.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, QName.class,
+                    this.uniqueName(constantName(key.getLocalPart()) + "_NAME"), newQName(key)));
+        }
+
+        /**
+         * Returns a static name constant of the binding with a fixed name,
+         * or a null literal if no name is provided.
+         *
+         * @param constantName the name of the constant
+         * @param qName the name value
+         * @return the name constant, or a null literal
+         */
+        private JExpression constant(String constantName, QName qName) {
+            if(Objects.isNull(qName)) {
+                return JExpr._null();
+            }
+            this.provider.namespaces.add(qName.getNamespaceURI());
+            return this.binding.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, QName.class, constantName, newQName(qName));
+        }
+
+        /**
+         * Returns a field name of the binding that is not already used.
+         *
+         * @param name the preferred field name
+         * @return the unique field name
+         */
+        private String uniqueName(String name) {
+            String unique = name;
+            for(int i = 2; this.binding.fields().containsKey(unique) || "ELEMENT_TYPES".equals(unique); i++) {
+                unique = name + "_" + i;
+            }
+            return unique;
+        }
+
+    }
+
+    //========================================================================//
+    //                            Generic Helpers                             //
+    //========================================================================//
+
+    /**
+     * Declares an overriding public method.
+     *
+     * @param definedClass the class to declare the method in
+     * @param returnType the return type of the method
+     * @param name the name of the method
+     * @return the declared method
+     */
+    private JMethod overrideMethod(JDefinedClass definedClass, JType returnType, String name) {
+        final JMethod method = definedClass.method(JMod.PUBLIC, returnType, name);
+        method.annotate(Override.class);
+        return method;
+    }
+
+    /**
+     * Returns a type of the S-100 StAX runtime, by its simple name.
+     *
+     * @param name the simple name of the StAX runtime type
+     * @return the StAX runtime type
+     */
+    private JClass staxType(String name) {
+        return this.codeModel.ref(STAX_PACKAGE + "." + name);
+    }
+
+    /**
+     * Returns the {@code Class<?>} type.
+     *
+     * @return the class type
+     */
+    private JClass classType() {
+        return this.codeModel.ref(Class.class).narrow(this.codeModel.wildcard());
+    }
+
+    /**
+     * Returns the exposed type of an XJC type, as used for the class
+     * literals and type checks, i.e. boxed and erased.
+     *
+     * @param type the XJC type
+     * @return the exposed class
+     */
+    private JClass classType(CTypeInfo type) {
+        return type.toType(this.outline, Aspect.EXPOSED).boxify().erasure();
+    }
+
+    /**
+     * Returns the class literal of an XJC type.
+     *
+     * @param type the XJC type
+     * @return the class literal
+     */
+    private JExpression classLiteral(CTypeInfo type) {
+        return JExpr.dotclass(this.classType(type));
+    }
+
+    /**
+     * Returns whether an XJC type is bound to any object, e.g. for the
+     * {@code xs:anyType} elements, which are written by their runtime type.
+     *
+     * @param type the XJC type
+     * @return whether the type is bound to any object
+     */
+    private boolean isObjectType(CTypeInfo type) {
+        final String name = this.classType(type).fullName();
+        return Object.class.getName().equals(name) || "org.w3c.dom.Element".equals(name);
+    }
+
+    /**
+     * Returns the singleton instance of the binding of a generated class.
+     *
+     * @param classInfo the generated class
+     * @return the binding instance
+     */
+    private JExpression instance(CClassInfo classInfo) {
+        return this.bindings.get(classInfo).staticRef(INSTANCE_FIELD_NAME);
+    }
+
+    /**
+     * Returns the item type of a list field.
+     *
+     * @param field the list field
+     * @return the item type of the list
+     */
+    private JType itemType(JFieldVar field) {
+        return field.type() instanceof JClass listType && !listType.getTypeParameters().isEmpty() ?
+                listType.getTypeParameters().getFirst() :
+                this.codeModel.ref(Object.class);
+    }
+
+    /**
+     * Returns the depth of the class hierarchy of an XJC type, so that the
+     * choices can check the subtypes before their supertypes.
+     *
+     * @param type the XJC type
+     * @return the depth of the class hierarchy
+     */
+    private static int depth(CTypeInfo type) {
+        int depth = 0;
+        for(CClassInfo current = type instanceof CClassInfo classInfo ? classInfo : null; Objects.nonNull(current); current = current.getBaseClass()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Generates the instantiation of a QName.
+     *
+     * @param name the QName
+     * @return the instantiation expression
+     */
+    private JExpression newQName(QName name) {
+        return JExpr._new(this.codeModel.ref(QName.class))
+                .arg(JExpr.lit(name.getNamespaceURI()))
+                .arg(JExpr.lit(name.getLocalPart()));
+    }
+
+    /**
+     * Generates an immutable list of the provided items.
+     *
+     * @param items the list items
+     * @return the list expression
+     */
+    private JExpression listOf(Collection<? extends JExpression> items) {
+        if(items.isEmpty()) {
+            return this.codeModel.ref(Collections.class).staticInvoke("emptyList");
+        }
+        final JInvocation list = this.codeModel.ref(List.class).staticInvoke("of");
+        items.forEach(list::arg);
+        return list;
+    }
+
+    /**
+     * Returns the content of the binding provider of a package, creating
+     * it on first use.
+     *
+     * @param jPackage the package
+     * @return the provider content
+     */
+    private ProviderContent getProvider(JPackage jPackage) {
+        return this.providers.computeIfAbsent(jPackage, key -> new ProviderContent());
+    }
+
+    /**
+     * Reports a generation error.
+     *
+     * @param locator the location of the error in the schemas, if known
+     * @param message the error message
+     * @throws SAXException if the error handler aborts the generation
+     */
+    private void error(Locator locator, String message) throws SAXException {
+        this.valid = false;
+        this.errorHandler.error(new SAXParseException(message, locator));
+    }
+
+    /**
+     * Converts a local name into a constant name, e.g. {@code featureName}
+     * into {@code FEATURE_NAME}.
+     *
+     * @param name the local name
+     * @return the constant name
+     */
+    static String constantName(String name) {
+        final String constant = name.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .replaceAll("[^A-Za-z0-9]+", "_")
+                .toUpperCase(Locale.ROOT);
+        return constant.isEmpty() || Character.isDigit(constant.charAt(0)) ? "_" + constant : constant;
+    }
+
+    /**
+     * The generator of the body of a reading case.
+     */
+    @FunctionalInterface
+    private interface CaseBody {
+
+        /**
+         * Generates the reading of a matched attribute or element.
+         *
+         * @param block the block to generate the reading in
+         * @param reader the reading context
+         * @param target the object being read
+         */
+        void generate(JBlock block, JVar reader, JVar target);
+
+    }
+
+    /**
+     * A reading case of an attribute or element name.
+     *
+     * @param name the name constant
+     * @param body the generator of the case body
+     */
+    private record Case(JFieldVar name, CaseBody body) {
+
+    }
+
+    /**
+     * The content of the binding provider of a package.
+     */
+    private static final class ProviderContent {
+
+        // Class Variables
+        private final List<JExpression> bindings = new ArrayList<>();
+        private final List<JExpression> enumBindings = new ArrayList<>();
+        private final Map<QName, JExpression> elementDecls = new LinkedHashMap<>();
+        private final Set<String> namespaces = new LinkedHashSet<>();
+        private JDefinedClass provider;
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100NativeImageMetadataTest {
+
+    // Test Variables
+    @TempDir
+    Path tempDir;
+    private Path classesDir;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws IOException {
+        this.classesDir = this.tempDir.resolve("classes");
+        for(String file : List.of(
+                "org/example/gml/ObjectFactory.class",
+                "org/example/gml/package-info.class",
+                "org/example/gml/PointType.class",
+                "org/example/gml/jaxb.properties",
+                "org/example/gml/impl/PointTypeImpl.class",
+                "org/example/gml/impl/PointTypeImpl$Pos.class",
+                "org/example/adapters/DateAdapter.class",
+                "org/example/utils/Utils.class")) {
+            Files.createDirectories(this.classesDir.resolve(file).getParent());
+            Files.createFile(this.classesDir.resolve(file));
+        }
+    }
+
+    /**
+     * Test that the classes of the bound packages, their "impl" sub-packages
+     * and the additional packages are all detected.
+     */
+    @Test
+    void testFindClasses() throws IOException {
+        assertEquals(Set.of(
+                "org.example.gml.ObjectFactory",
+                "org.example.gml.package-info",
+                "org.example.gml.PointType",
+                "org.example.gml.impl.PointTypeImpl",
+                "org.example.gml.impl.PointTypeImpl$Pos",
+                "org.example.adapters.DateAdapter"
+        ), S100NativeImageMetadata.findClasses(this.classesDir, List.of("org.example.adapters.")));
+    }
+
+    /**
+     * Test that the resources of the bound packages are detected.
+     */
+    @Test
+    void testFindResources() throws IOException {
+        assertEquals(Set.of("org/example/gml/jaxb.properties"), S100NativeImageMetadata.findResources(this.classesDir, Collections.emptyList()));
+    }
+
+    /**
+     * Test that the reflection and resource metadata files are generated.
+     */
+    @Test
+    void testWriteMetadata() throws IOException {
+        final Path outputDir = this.tempDir.resolve("META-INF/native-image/org.example/example");
+        S100NativeImageMetadata.writeMetadata(this.classesDir, outputDir, List.of("org.example.adapters."));
+
+        final String reflectConfig = Files.readString(outputDir.resolve(S100NativeImageMetadata.REFLECT_CONFIG));
+        assertTrue(reflectConfig.startsWith("["));
+        assertTrue(reflectConfig.contains("\"name\": \"org.example.gml.impl.PointTypeImpl\""));
+        assertTrue(reflectConfig.contains("\"name\": \"org.example.adapters.DateAdapter\""));
+        assertTrue(reflectConfig.contains("\"allDeclaredFields\": true"));
+        assertFalse(reflectConfig.contains("org.example.utils.Utils"));
+
+        final String resourceConfig = Files.readString(outputDir.resolve(S100NativeImageMetadata.RESOURCE_CONFIG));
+        assertTrue(resourceConfig.contains("\\\\Qorg/example/gml/jaxb.properties\\\\E"));
+    }
+
+    /**
+     * Test that the classes of the module recorded by the native-image agent
+     * but missing from the metadata are reported.
+     */
+    @Test
+    void testFindMissingClasses() throws IOException {
+        final Path metadataDir = this.tempDir.resolve("metadata");
+        final Path agentDir = this.tempDir.resolve("agent");
+        S100NativeImageMetadata.writeMetadata(this.classesDir, metadataDir, Collections.emptyList());
+        Files.createDirectories(agentDir);
+        Files.writeString(agentDir.resolve(S100NativeImageMetadata.REFLECT_CONFIG), """
+                [
+                  {"name": "org.example.gml.impl.PointTypeImpl", "methods": [{"name": "getPos", "parameterTypes": []}]},
+                  {"name": "org.example.adapters.DateAdapter"},
+                  {"name": "java.lang.String"}
+                ]
+                """);
+
+        assertEquals(Set.of("org.example.adapters.DateAdapter"), S100NativeImageMetadata.findMissingClasses(this.classesDir, metadataDir, agentDir));
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.xjc;
+
+import com.sun.codemodel.*;
+import com.sun.codemodel.writer.FileCodeWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100EnumLookupPluginTest {
+
+    // Test Variables
+    private JCodeModel codeModel;
+    private JDefinedClass enumClass;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws JClassAlreadyExistsException {
+        // Generate an enumeration the same way XJC does
+        this.codeModel = new JCodeModel();
+        this.enumClass = this.codeModel._class(JMod.PUBLIC, "org.grad.eNav.test.HorizontalDatumType", ClassType.ENUM);
+        for(int i = 0; i < 130; i++) {
+            this.enumClass.enumConstant("DATUM_" + i).arg(JExpr.lit("Datum " + i));
+        }
+        final JFieldVar value = this.enumClass.field(JMod.PRIVATE | JMod.FINAL, String.class, "value");
+        final JMethod constructor = this.enumClass.constructor(JMod.NONE);
+        constructor.body().assign(JExpr._this().ref(value), constructor.param(String.class, "v"));
+        this.enumClass.method(JMod.PUBLIC, String.class, "value").body()._return(value);
+        final JMethod fromValue = this.enumClass.method(JMod.PUBLIC | JMod.STATIC, this.enumClass, "fromValue");
+        final JVar v = fromValue.param(String.class, "v");
+        final JForEach constants = fromValue.body().forEach(this.enumClass, "c", this.enumClass.staticInvoke("values"));
+        constants.body()._if(constants.var().ref(value).invoke("equals").arg(v))._then()._return(constants.var());
+        fromValue.body()._throw(JExpr._new(this.codeModel.ref(IllegalArgumentException.class)).arg(v));
+    }
+
+    /**
+     * Test that the fromValue method of a generated enumeration is replaced
+     * with a lookup, which still returns the matching constants and rejects
+     * the unknown values.
+     */
+    @Test
+    void testAddValueLookup() throws Exception {
+        assertTrue(S100EnumLookupPlugin.addValueLookup(this.enumClass));
+        assertTrue(this.enumClass.fields().containsKey(S100EnumLookupPlugin.LOOKUP_FIELD_NAME));
+        assertEquals(1, this.enumClass.methods().stream().filter(method -> "fromValue".equals(method.name())).count());
+
+        // Compile the generated enumeration and evaluate its lookups
+        final Class<?> compiled = this.compile();
+        final Method fromValue = compiled.getMethod("fromValue", String.class);
+        for(Object constant : compiled.getEnumConstants()) {
+            final String value = (String) compiled.getMethod("value").invoke(constant);
+            assertSame(constant, fromValue.invoke(null, value));
+        }
+        final InvocationTargetException ex = assertThrows(InvocationTargetException.class, () -> fromValue.invoke(null, "Unknown Datum"));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(InvocationTargetException.class, () -> fromValue.invoke(null, (Object) null)).getCause());
+    }
+
+    /**
+     * Test that the enumerations without lexical value fields, or already
+     * processed ones, are left untouched.
+     */
+    @Test
+    void testAddValueLookupSkipped() throws JClassAlreadyExistsException {
+        assertTrue(S100EnumLookupPlugin.addValueLookup(this.enumClass));
+        assertFalse(S100EnumLookupPlugin.addValueLookup(this.enumClass));
+
+        // Enumerations whose constant names are their values use valueOf()
+        final JDefinedClass namedClass = this.codeModel._class(JMod.PUBLIC, "org.grad.eNav.test.NamedType", ClassType.ENUM);
+        namedClass.enumConstant("ONE");
+        final JMethod fromValue = namedClass.method(JMod.PUBLIC | JMod.STATIC, namedClass, "fromValue");
+        fromValue.body()._return(namedClass.staticInvoke("valueOf").arg(fromValue.param(String.class, "v")));
+        assertFalse(S100EnumLookupPlugin.addValueLookup(namedClass));
+        assertFalse(namedClass.fields().containsKey(S100EnumLookupPlugin.LOOKUP_FIELD_NAME));
+    }
+
+    /**
+     * Test that the plugin is registered under its option name.
+     */
+    @Test
+    void testOption() {
+        final S100EnumLookupPlugin plugin = new S100EnumLookupPlugin();
+        assertEquals("Xenum-lookup", plugin.getOptionName());
+        assertTrue(plugin.getUsage().contains("-Xenum-lookup"));
+    }
+
+    /**
+     * Writes the generated code into the temporary directory, compiles it
+     * and loads the generated enumeration.
+     *
+     * @return the compiled enumeration class
+     */
+    private Class<?> compile() throws IOException, ClassNotFoundException {
+        final Path sources = Files.createDirectories(this.tempDir.resolve("src"));
+        final Path classes = Files.createDirectories(this.tempDir.resolve("classes"));
+        this.codeModel.build(new FileCodeWriter(sources.toFile()));
+        final Path source = sources.resolve("org/grad/eNav/test/HorizontalDatumType.java");
+        assertTrue(Files.readString(source).contains(S100EnumLookupPlugin.LOOKUP_FIELD_NAME + ".get(v)"));
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-d", classes.toString(), source.toString()));
+        final URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null);
+        return classLoader.loadClass("org.grad.eNav.test.HorizontalDatumType");
+    }
+
+}
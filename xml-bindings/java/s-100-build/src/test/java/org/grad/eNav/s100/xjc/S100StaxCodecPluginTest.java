@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.xjc;
+
+import com.sun.tools.xjc.Driver;
+import org.grad.eNav.s100.stax.S100StaxBindingProvider;
+import org.grad.eNav.s100.stax.S100StaxCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100StaxCodecPluginTest {
+
+    // Test Variables
+    private Path sources;
+    private Class<?> datasetClass;
+    private S100StaxCodec s100StaxCodec;
+    private String xml;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws Exception {
+        // Generate the test schema classes with the plugin enabled
+        this.sources = Files.createDirectories(this.tempDir.resolve("src"));
+        final Path classes = Files.createDirectories(this.tempDir.resolve("classes"));
+        final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        final int result = Driver.run(new String[]{
+                "-extension", "-no-header",
+                "-d", this.sources.toString(),
+                "-b", this.getResource("xjc/stax-codec-test.xjb").toString(),
+                "-" + S100StaxCodecPlugin.OPTION_NAME,
+                this.getResource("xjc/stax-codec-test.xsd").toString()
+        }, new PrintStream(log), new PrintStream(log));
+        assertEquals(0, result, log.toString());
+
+        // Compile the generated classes against the test classpath
+        final List<String> arguments = new ArrayList<>(List.of("-cp", System.getProperty("java.class.path"), "-d", classes.toString()));
+        try(Stream<Path> files = Files.walk(this.sources)) {
+            files.filter(file -> file.toString().endsWith(".java")).map(Path::toString).forEach(arguments::add);
+        }
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new)));
+
+        // And load them next to the StAX codec
+        final URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, this.getClass().getClassLoader());
+        this.datasetClass = classLoader.loadClass("org.grad.eNav.test.stax.Dataset");
+        this.s100StaxCodec = new S100StaxCodec((S100StaxBindingProvider) classLoader
+                .loadClass("org.grad.eNav.test.stax." + S100StaxCodecPlugin.PROVIDER_CLASS_NAME)
+                .getConstructor()
+                .newInstance());
+
+        // Create a dataset with a referencing member and polymorphic geometries
+        this.xml = """
+                <Dataset xmlns="http://www.gla-rad.org/test/stax" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" id="DS1">
+                    <member id="F1" peer="F2">
+                        <featureName>Buoy</featureName>
+                        <status>active</status>
+                        <dateStart>2024-03-01</dateStart>
+                        <geometry xmlns:test="http://www.gla-rad.org/test/stax" xsi:type="test:PointType" id="G1">
+                            <pos>51.5</pos>
+                            <pos>-1.2</pos>
+                        </geometry>
+                    </member>
+                    <member id="F2">
+                        <featureName>Beacon</featureName>
+                        <geometry xmlns:test="http://www.gla-rad.org/test/stax" xsi:type="test:PointType" id="G2">
+                            <pos>52.0</pos>
+                            <pos>-1.0</pos>
+                        </geometry>
+                    </member>
+                </Dataset>
+                """;
+    }
+
+    /**
+     * Test that the plugin generates a binding nested in each generated
+     * implementation class, and a binding provider for the generated package.
+     */
+    @Test
+    void testGeneratedBindings() throws Exception {
+        final String featureSource = Files.readString(this.sources.resolve("org/grad/eNav/test/stax/impl/FeatureTypeImpl.java"));
+        assertTrue(featureSource.contains("public static final class " + S100StaxCodecPlugin.BINDING_CLASS_NAME));
+        final String statusSource = Files.readString(this.sources.resolve("org/grad/eNav/test/stax/StatusType.java"));
+        assertTrue(statusSource.contains("public static final class " + S100StaxCodecPlugin.BINDING_CLASS_NAME));
+        assertTrue(Files.exists(this.sources.resolve("org/grad/eNav/test/stax/" + S100StaxCodecPlugin.PROVIDER_CLASS_NAME + ".java")));
+
+        // The inherited properties are delegated to the superclass binding
+        final String pointSource = Files.readString(this.sources.resolve("org/grad/eNav/test/stax/impl/PointTypeImpl.java"));
+        assertTrue(pointSource.contains("AbstractGeometryTypeImpl.StaxBinding.INSTANCE"));
+    }
+
+    /**
+     * Test that the generated bindings unmarshal the XML content, including
+     * the subtypes, the enumerations, the adapted values and the ID
+     * references, and marshal it back into the same content.
+     */
+    @Test
+    void testRoundTrip() throws Exception {
+        final Object dataset = this.s100StaxCodec.unmarshal(new ByteArrayInputStream(this.xml.getBytes(StandardCharsets.UTF_8)), this.datasetClass);
+        this.assertDataset(dataset);
+
+        // Marshal the dataset and read it back
+        final String marshalled = this.s100StaxCodec.marshal(dataset, true);
+        assertTrue(marshalled.contains("peer=\"F2\""));
+        assertTrue(marshalled.contains("2024-03-01"));
+        this.assertDataset(this.s100StaxCodec.unmarshal(new ByteArrayInputStream(marshalled.getBytes(StandardCharsets.UTF_8)), this.datasetClass));
+    }
+
+    /**
+     * Test that the plugin is registered under its option name.
+     */
+    @Test
+    void testOption() {
+        final S100StaxCodecPlugin plugin = new S100StaxCodecPlugin();
+        assertEquals("Xstax-codec", plugin.getOptionName());
+        assertTrue(plugin.getUsage().contains("-Xstax-codec"));
+    }
+
+    /**
+     * Asserts the content of the test dataset.
+     *
+     * @param dataset the dataset to be asserted
+     */
+    private void assertDataset(Object dataset) throws ReflectiveOperationException {
+        assertTrue(this.datasetClass.isInstance(dataset));
+        assertEquals("DS1", this.get(dataset, "getId"));
+        final List<?> members = (List<?>) this.get(dataset, "getMember");
+        assertEquals(2, members.size());
+
+        // The first member refers to the second one
+        final Object buoy = members.get(0);
+        assertEquals("Buoy", this.get(buoy, "getFeatureName"));
+        assertEquals("active", this.get(this.get(buoy, "getStatus"), "value"));
+        assertEquals(LocalDate.of(2024, 3, 1), this.get(buoy, "getDateStart"));
+        assertSame(members.get(1), this.get(buoy, "getPeer"));
+
+        // And both have point geometries
+        final Object geometry = this.get(buoy, "getGeometry");
+        assertEquals("PointType", geometry.getClass().getInterfaces()[0].getSimpleName());
+        assertEquals("G1", this.get(geometry, "getId"));
+        assertEquals(List.of(51.5, -1.2), this.get(geometry, "getPos"));
+        assertEquals("Beacon", this.get(members.get(1), "getFeatureName"));
+        assertNull(this.get(members.get(1), "getStatus"));
+        assertEquals(List.of(52.0, -1.0), this.get(this.get(members.get(1), "getGeometry"), "getPos"));
+    }
+
+    /**
+     * Invokes a getter of a generated object.
+     *
+     * @param value the generated object
+     * @param getter the name of the getter
+     * @return the value returned by the getter
+     */
+    private Object get(Object value, String getter) throws ReflectiveOperationException {
+        assertNotNull(value);
+        return value.getClass().getMethod(getter).invoke(value);
+    }
+
+    /**
+     * Resolves a test resource into a file path.
+     *
+     * @param name the name of the resource
+     * @return the path of the resource
+     */
+    private Path getResource(String name) throws Exception {
+        final URL url = Objects.requireNonNull(ClassLoader.getSystemResource(name), name);
+        return Path.of(url.toURI());
+    }
+
+}
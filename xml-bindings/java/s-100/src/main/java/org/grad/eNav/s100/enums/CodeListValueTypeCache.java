@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.enums;
+
+import org.iso.standards.iso._19115.__3.gco._1.CodeListValueType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The CodeListValueTypeCache Class.
+ * <p/>
+ * Holds the code list value type objects of the enums implementing the
+ * {@link CodeListValueTypeProvider} interface, created once per enum
+ * constant and then shared, as well as the reverse lookups of the enum
+ * constants from their codes. Both are computed lazily, the first time an
+ * enum is accessed, and then indexed by the enum constant ordinals and
+ * codes respectively.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+final class CodeListValueTypeCache {
+
+    /**
+     * The cached entries of each code list enum.
+     */
+    private static final ClassValue<Entries> ENTRIES = new ClassValue<>() {
+        @Override
+        protected Entries computeValue(Class<?> type) {
+            return new Entries(type.getEnumConstants());
+        }
+    };
+
+    /**
+     * The CodeListValueTypeCache Constructor, which is hidden since this is
+     * a static holder.
+     */
+    private CodeListValueTypeCache() {
+    }
+
+    /**
+     * Returns the shared, read-only code list value type object of the
+     * provided enum constant.
+     *
+     * @param constant the code list enum constant
+     * @return the shared code list value type object
+     */
+    static CodeListValueType getCodeListValueType(Enum<?> constant) {
+        return ENTRIES.get(constant.getDeclaringClass()).codeListValueTypes[constant.ordinal()];
+    }
+
+    /**
+     * Returns the constant of the provided code list enum with the provided
+     * code.
+     *
+     * @param type the code list enum class
+     * @param code the code to be looked up
+     * @return the matching enum constant, or null if not found
+     */
+    static Object fromCode(Class<?> type, String code) {
+        return ENTRIES.get(type).codes.get(code);
+    }
+
+    /**
+     * The Entries Class.
+     * <p/>
+     * The cached code list value type objects of an enum, indexed by the
+     * constant ordinals, along with its constants indexed by their codes.
+     */
+    private static final class Entries {
+
+        // Class Variables
+        private final CodeListValueType[] codeListValueTypes;
+        private final Map<String, Object> codes;
+
+        /**
+         * The Entries Constructor.
+         *
+         * @param constants the enum constants
+         */
+        Entries(Object[] constants) {
+            final CodeListValueTypeProvider[] providers = Arrays.stream(constants)
+                    .map(CodeListValueTypeProvider.class::cast)
+                    .toArray(CodeListValueTypeProvider[]::new);
+            this.codeListValueTypes = Arrays.stream(providers)
+                    .map(CodeListValueTypeProvider::getCodeListValueType)
+                    .toArray(CodeListValueType[]::new);
+            final Map<String, Object> codes = new HashMap<>();
+            for(CodeListValueTypeProvider provider : providers) {
+                codes.putIfAbsent(provider.getCode(), provider);
+            }
+            this.codes = Collections.unmodifiableMap(codes);
+        }
+
+    }
+
+}
@@ -63,7 +63,8 @@ public interface CodeListValueTypeProvider {
     String getValue();
 
     /**
-     * Returns the constructed code list value type object.
+     * Returns a newly constructed code list value type object, which can be
+     * modified and placed into the generated catalogues freely.
      *
      * @return the constructed code list value type object
      */
@@ -74,6 +75,62 @@ public interface CodeListValueTypeProvider {
                 this.getCode(),
                 this.getValue()
         );
-    };
+    }
+
+    /**
+     * Returns the shared code list value type object. For the code list enums,
+     * the object is created once per enum constant and then shared between
+     * all the calls, so it must be treated as read-only, i.e. it should
+     * neither be modified nor placed into any object trees that may be
+     * modified later, such as the generated catalogues. For any such uses,
+     * a new object should be obtained through the
+     * {@link #getCodeListValueType()} operation instead.
+     *
+     * @return the shared, read-only code list value type object
+     */
+    default CodeListValueType getSharedCodeListValueType() {
+        return this instanceof Enum<?> constant ?
+                CodeListValueTypeCache.getCodeListValueType(constant) :
+                this.getCodeListValueType();
+    }
+
+    /**
+     * Looks up the constant of the provided code list enum with the
+     * provided code, e.g. when reading the code list values of unmarshalled
+     * catalogues. The constants of each enum are indexed by their codes the
+     * first time it is looked up, so that every lookup takes constant time.
+     *
+     * @param type the code list enum class
+     * @param code the code to be looked up
+     * @return the matching enum constant, or null if not found
+     * @param <E> the type of the code list enum
+     */
+    static <E extends Enum<E> & CodeListValueTypeProvider> E fromCode(Class<E> type, String code) {
+        // Sanity Check
+        if(Objects.isNull(type) || Objects.isNull(code)) {
+            return null;
+        }
+
+        return type.cast(CodeListValueTypeCache.fromCode(type, code));
+    }
+
+    /**
+     * Looks up the constant of the provided code list enum matching the
+     * code of the provided code list value type object, e.g. one from an
+     * unmarshalled catalogue.
+     *
+     * @param type the code list enum class
+     * @param codeListValueType the code list value type object
+     * @return the matching enum constant, or null if not found
+     * @param <E> the type of the code list enum
+     */
+    static <E extends Enum<E> & CodeListValueTypeProvider> E fromCodeListValueType(Class<E> type, CodeListValueType codeListValueType) {
+        // Sanity Check
+        if(Objects.isNull(codeListValueType)) {
+            return null;
+        }
+
+        return fromCode(type, codeListValueType.getCodeListValue());
+    }
 
 }
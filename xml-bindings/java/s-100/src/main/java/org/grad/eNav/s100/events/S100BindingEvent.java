@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.events;
+
+import jdk.jfr.*;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The S-100 Binding Event Class.
+ * <p/>
+ * The common base of all the Java Flight Recorder (JFR) events emitted by the
+ * S-100 bindings. Each event carries the product it refers to, the number of
+ * bytes and members processed, while the duration and the thread of the
+ * operation are recorded by JFR itself.
+ * <p/>
+ * The events are meant to be used in the following way, so that they cost
+ * almost nothing when the recording is disabled; the event allocation is then
+ * eliminated by the JIT compiler and the payload is never computed. The
+ * event is ended right after the operation, so that computing the payload,
+ * e.g. counting the dataset members, is not included in its duration:
+ * <pre>
+ *     final S100MarshalEvent event = new S100MarshalEvent();
+ *     event.begin();
+ *     ... // The monitored operation
+ *     event.end();
+ *     if(event.shouldCommit()) {
+ *         event.setProduct("S-125").setMemberCount(count).commit();
+ *     }
+ * </pre>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Category({"S-100", "Bindings"})
+@StackTrace(false)
+public abstract class S100BindingEvent extends Event {
+
+    /**
+     * The product the event refers to, e.g. S-125.
+     */
+    @Label("Product")
+    protected String product;
+
+    /**
+     * The number of bytes processed.
+     */
+    @Label("Byte Size")
+    @DataAmount
+    protected long byteSize;
+
+    /**
+     * The number of members processed.
+     */
+    @Label("Member Count")
+    protected int memberCount;
+
+    /**
+     * Sets the product the event refers to.
+     *
+     * @param product the product
+     * @return the S-100 binding event
+     */
+    public S100BindingEvent setProduct(String product) {
+        this.product = product;
+        return this;
+    }
+
+    /**
+     * Sets the number of bytes processed.
+     *
+     * @param byteSize the number of bytes processed
+     * @return the S-100 binding event
+     */
+    public S100BindingEvent setByteSize(long byteSize) {
+        this.byteSize = byteSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of members processed.
+     *
+     * @param memberCount the number of members processed
+     * @return the S-100 binding event
+     */
+    public S100BindingEvent setMemberCount(int memberCount) {
+        this.memberCount = memberCount;
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes processed.
+     *
+     * @return the number of bytes processed
+     */
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Wraps the provided input stream so that the number of bytes read from
+     * it is accumulated in the byte size of the event. If the event is not
+     * enabled, the input stream is returned as is.
+     *
+     * @param in the input stream to be tracked
+     * @return the tracked input stream
+     */
+    public InputStream track(InputStream in) {
+        // Sanity Check
+        if(in == null || !this.isEnabled()) {
+            return in;
+        }
+
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if(b >= 0) {
+                    S100BindingEvent.this.byteSize++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                final int read = super.read(b, off, len);
+                if(read > 0) {
+                    S100BindingEvent.this.byteSize += read;
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                final long skipped = super.skip(n);
+                S100BindingEvent.this.byteSize += skipped;
+                return skipped;
+            }
+        };
+    }
+
+    /**
+     * Wraps the provided channel so that the number of bytes read from it is
+     * accumulated in the byte size of the event. If the event is not enabled,
+     * the channel is returned as is.
+     *
+     * @param channel the channel to be tracked
+     * @return the tracked channel
+     */
+    public ReadableByteChannel track(ReadableByteChannel channel) {
+        // Sanity Check
+        if(channel == null || !this.isEnabled()) {
+            return channel;
+        }
+
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                final int read = channel.read(dst);
+                if(read > 0) {
+                    S100BindingEvent.this.byteSize += read;
+                }
+                return read;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+}
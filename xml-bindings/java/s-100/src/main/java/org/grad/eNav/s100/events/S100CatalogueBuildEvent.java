@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The S-100 Catalogue Build Event Class.
+ * <p/>
+ * A JFR event recording the building of an S-100 exchange set catalogue,
+ * including the signing of all the referenced files. The member count refers
+ * to the total number of discovery metadata entries of the catalogue.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Name("org.grad.eNav.s100.CatalogueBuild")
+@Label("S-100 Catalogue Build")
+@Description("Building of an S-100 exchange set catalogue")
+public class S100CatalogueBuildEvent extends S100BindingEvent {
+
+}
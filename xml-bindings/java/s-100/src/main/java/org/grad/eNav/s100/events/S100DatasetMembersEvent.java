@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The S-100 Dataset Members Event Class.
+ * <p/>
+ * A JFR event recording the access or population of the members of an S-100
+ * based product dataset, e.g. the routing of the member entries into the
+ * appropriate S-125/S-201 dataset member lists.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Name("org.grad.eNav.s100.DatasetMembers")
+@Label("S-100 Dataset Members")
+@Description("Access or population of the members of an S-100 product dataset")
+public class S100DatasetMembersEvent extends S100BindingEvent {
+
+    /**
+     * The dataset members operation, e.g. getDatasetMembers.
+     */
+    @Label("Operation")
+    protected String operation;
+
+    /**
+     * Sets the dataset members operation.
+     *
+     * @param operation the dataset members operation
+     * @return the S-100 dataset members event
+     */
+    public S100DatasetMembersEvent setOperation(String operation) {
+        this.operation = operation;
+        return this;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The S-100 Geometry Event Class.
+ * <p/>
+ * A JFR event recording the reflective generation or access of the geometries
+ * of an S-100 based product feature, e.g. an S-125/S-201 Aids to Navigation
+ * type. The member count refers to the number of geometries processed.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Name("org.grad.eNav.s100.Geometry")
+@Label("S-100 Geometry")
+@Description("Generation or access of the geometries of an S-100 product feature")
+public class S100GeometryEvent extends S100BindingEvent {
+
+    /**
+     * The geometry operation, e.g. getGeometriesList.
+     */
+    @Label("Operation")
+    protected String operation;
+
+    /**
+     * The simple class name of the feature type.
+     */
+    @Label("Feature Type")
+    protected String featureType;
+
+    /**
+     * Sets the geometry operation.
+     *
+     * @param operation the geometry operation
+     * @return the S-100 geometry event
+     */
+    public S100GeometryEvent setOperation(String operation) {
+        this.operation = operation;
+        return this;
+    }
+
+    /**
+     * Sets the simple class name of the feature type.
+     *
+     * @param featureType the simple class name of the feature type
+     * @return the S-100 geometry event
+     */
+    public S100GeometryEvent setFeatureType(String featureType) {
+        this.featureType = featureType;
+        return this;
+    }
+
+}
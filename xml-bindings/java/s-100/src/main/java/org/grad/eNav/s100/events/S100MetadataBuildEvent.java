@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The S-100 Metadata Build Event Class.
+ * <p/>
+ * A JFR event recording the building of an S-100 exchange set discovery
+ * metadata entry, including the signing of the referenced file. The byte size
+ * refers to the size of the signed file payload.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Name("org.grad.eNav.s100.MetadataBuild")
+@Label("S-100 Metadata Build")
+@Description("Building of an S-100 exchange set discovery metadata entry")
+public class S100MetadataBuildEvent extends S100BindingEvent {
+
+    /**
+     * The type of the discovery metadata, e.g. Dataset.
+     */
+    @Label("Metadata Type")
+    protected String metadataType;
+
+    /**
+     * The file name of the discovery metadata entry.
+     */
+    @Label("File Name")
+    protected String fileName;
+
+    /**
+     * Sets the type of the discovery metadata.
+     *
+     * @param metadataType the type of the discovery metadata
+     * @return the S-100 metadata build event
+     */
+    public S100MetadataBuildEvent setMetadataType(String metadataType) {
+        this.metadataType = metadataType;
+        return this;
+    }
+
+    /**
+     * Sets the file name of the discovery metadata entry.
+     *
+     * @param fileName the file name of the discovery metadata entry
+     * @return the S-100 metadata build event
+     */
+    public S100MetadataBuildEvent setFileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+}
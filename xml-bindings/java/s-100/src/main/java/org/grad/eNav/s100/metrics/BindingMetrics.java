@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.metrics;
+
+/**
+ * The Binding Metrics Interface.
+ * <p/>
+ * A small dependency-free service provider interface (SPI) through which the
+ * S-100 bindings report their counters and operation latencies. Services can
+ * bridge these metrics to their own metrics stack by implementing this
+ * interface and registering the implementation in a
+ * "META-INF/services/org.grad.eNav.s100.metrics.BindingMetrics" file, so that
+ * it is discovered through the {@link java.util.ServiceLoader}. The active
+ * implementation can be accessed through the {@link BindingMetricsRegistry}.
+ * <p/>
+ * The metrics are identified by the product they refer to, e.g. S-125, and
+ * the name of the operation or counter, e.g. {@link #MARSHAL}. The latencies
+ * are measured in nanoseconds, between a {@link #startTimer()} call and the
+ * respective {@link #recordLatency(String, String, long)} call.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface BindingMetrics {
+
+    /**
+     * The operation names used by the S-100 bindings.
+     */
+    String MARSHAL = "marshal";
+    String UNMARSHAL = "unmarshal";
+    String GET_MEMBERS = "members.get";
+    String ADD_MEMBERS = "members.add";
+    String GENERATE_GEOMETRIES = "geometries.generate";
+    String GET_GEOMETRIES = "geometries.get";
+    String CONVERT_GEOMETRY = "geometries.convert";
+    String SIGNATURE = "signature";
+    String CATALOGUE_BUILD = "catalogue.build";
+
+    /**
+     * The counter names used by the S-100 bindings.
+     */
+    String MARSHALLED_BYTES = "marshal.bytes";
+    String ROUTED_MEMBERS = "members.routed";
+    String SIGNATURES = "signatures";
+    String CATALOGUE_ENTRIES = "catalogue.entries";
+
+    /**
+     * Returns whether this metrics implementation actually records anything.
+     * Callers may use this to skip computing expensive metric values.
+     *
+     * @return whether the metrics implementation is enabled
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Starts timing an operation and returns the timer start time, which
+     * should later be passed to {@link #recordLatency(String, String, long)}.
+     *
+     * @return the timer start time in nanoseconds
+     */
+    default long startTimer() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the latency of an operation of the specified product, started
+     * at the provided timer start time.
+     *
+     * @param product the product the operation refers to
+     * @param operation the name of the operation
+     * @param startTime the timer start time as returned by {@link #startTimer()}
+     */
+    void recordLatency(String product, String operation, long startTime);
+
+    /**
+     * Increments the specified counter of the specified product by the
+     * provided amount.
+     *
+     * @param product the product the counter refers to
+     * @param counter the name of the counter
+     * @param amount the amount to increment the counter by
+     */
+    void incrementCounter(String product, String counter, long amount);
+
+}
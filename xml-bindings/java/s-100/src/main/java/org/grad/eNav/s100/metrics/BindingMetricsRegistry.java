@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.metrics;
+
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+/**
+ * The Binding Metrics Registry Class.
+ * <p/>
+ * Provides access to the active {@link BindingMetrics} implementation. On
+ * first access, the implementation is discovered through the
+ * {@link ServiceLoader}, falling back to the {@link NoOpBindingMetrics} if
+ * none is available. Tests and benchmarks can also register an implementation
+ * programmatically, e.g. an {@link InMemoryBindingMetrics} instance.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class BindingMetricsRegistry {
+
+    /**
+     * The active binding metrics implementation.
+     */
+    private static volatile BindingMetrics instance;
+
+    /**
+     * The binding metrics registry is a static utility class.
+     */
+    private BindingMetricsRegistry() {
+
+    }
+
+    /**
+     * Returns the active binding metrics implementation, discovering it on
+     * first access.
+     *
+     * @return the active binding metrics implementation
+     */
+    public static BindingMetrics getInstance() {
+        final BindingMetrics metrics = instance;
+        return Objects.nonNull(metrics) ? metrics : discover();
+    }
+
+    /**
+     * Registers the provided binding metrics implementation as the active
+     * one. If a null value is provided, the implementation will be
+     * rediscovered on the next access.
+     *
+     * @param metrics the binding metrics implementation to be registered
+     */
+    public static void setInstance(BindingMetrics metrics) {
+        instance = metrics;
+    }
+
+    /**
+     * Discovers the binding metrics implementation through the service
+     * loader, falling back to the no-op implementation if none is available.
+     *
+     * @return the discovered binding metrics implementation
+     */
+    private static synchronized BindingMetrics discover() {
+        // Check again, in case another thread got here first
+        if(Objects.isNull(instance)) {
+            instance = ServiceLoader.load(BindingMetrics.class, BindingMetrics.class.getClassLoader())
+                    .findFirst()
+                    .orElse(NoOpBindingMetrics.INSTANCE);
+        }
+        return instance;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.metrics;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The In-Memory Binding Metrics Class.
+ * <p/>
+ * A binding metrics implementation that keeps all the counters and latency
+ * histograms in memory, so that they can be inspected directly, e.g. by tests
+ * and benchmarks. The metrics are keyed by their product and name, joined
+ * with a "/" character, e.g. "S-125/marshal".
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class InMemoryBindingMetrics implements BindingMetrics {
+
+    // Class Variables
+    private final ConcurrentMap<String, LongAdder> counters;
+    private final ConcurrentMap<String, LatencyHistogram> latencies;
+
+    /**
+     * The In-Memory Binding Metrics Constructor.
+     */
+    public InMemoryBindingMetrics() {
+        this.counters = new ConcurrentHashMap<>();
+        this.latencies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records the latency of an operation of the specified product, started
+     * at the provided timer start time. Each recorded latency also increments
+     * the counter of the operation.
+     *
+     * @param product the product the operation refers to
+     * @param operation the name of the operation
+     * @param startTime the timer start time as returned by {@link #startTimer()}
+     */
+    @Override
+    public void recordLatency(String product, String operation, long startTime) {
+        final long latency = System.nanoTime() - startTime;
+        final String key = getKey(product, operation);
+        this.latencies.computeIfAbsent(key, k -> new LatencyHistogram()).record(latency);
+        this.counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Increments the specified counter of the specified product by the
+     * provided amount.
+     *
+     * @param product the product the counter refers to
+     * @param counter the name of the counter
+     * @param amount the amount to increment the counter by
+     */
+    @Override
+    public void incrementCounter(String product, String counter, long amount) {
+        this.counters.computeIfAbsent(getKey(product, counter), k -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Returns the current value of the specified counter of the specified
+     * product, or zero if it has never been incremented.
+     *
+     * @param product the product the counter refers to
+     * @param counter the name of the counter
+     * @return the current value of the counter
+     */
+    public long getCounter(String product, String counter) {
+        return Optional.ofNullable(this.counters.get(getKey(product, counter)))
+                .map(LongAdder::sum)
+                .orElse(0L);
+    }
+
+    /**
+     * Returns the latency histogram of the specified operation of the
+     * specified product, if any latencies have been recorded.
+     *
+     * @param product the product the operation refers to
+     * @param operation the name of the operation
+     * @return the latency histogram of the operation
+     */
+    public Optional<LatencyHistogram> getLatencyHistogram(String product, String operation) {
+        return Optional.ofNullable(this.latencies.get(getKey(product, operation)));
+    }
+
+    /**
+     * Returns a sorted snapshot of the current values of all counters.
+     *
+     * @return the snapshot of the current values of all counters
+     */
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        this.counters.forEach((key, value) -> snapshot.put(key, value.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Clears all the counters and latency histograms.
+     */
+    public void reset() {
+        this.counters.clear();
+        this.latencies.clear();
+    }
+
+    /**
+     * Generates the key of the provided product and metric name.
+     *
+     * @param product the product the metric refers to
+     * @param name the name of the metric
+     * @return the key of the metric
+     */
+    protected static String getKey(String product, String name) {
+        return product + "/" + name;
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Latency Histogram Class.
+ * <p/>
+ * A lock-free HDR-style histogram of non-negative values, e.g. latencies in
+ * nanoseconds. The values are recorded in log-linear buckets, i.e. each power
+ * of two range is split into a fixed number of linear sub-buckets, so that the
+ * whole range of long values is covered with a bounded relative error of less
+ * than 2%, in a fixed amount of memory.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits used for the linear sub-buckets. Each power of two
+     * range is split in 2^(SUB_BUCKET_BITS-1) sub-buckets.
+     */
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+    // Class Variables
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalSum;
+    private final AtomicLong minValue;
+    private final AtomicLong maxValue;
+
+    /**
+     * The Latency Histogram Constructor.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.totalSum = new LongAdder();
+        this.minValue = new AtomicLong(Long.MAX_VALUE);
+        this.maxValue = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Records the provided value in the histogram. Negative values, e.g. due
+     * to clock adjustments, are recorded as zero.
+     *
+     * @param value the value to be recorded
+     */
+    public void record(long value) {
+        final long v = Math.max(0, value);
+        this.counts.incrementAndGet(getBucketIndex(v));
+        this.totalCount.increment();
+        this.totalSum.add(v);
+        this.minValue.accumulateAndGet(v, Math::min);
+        this.maxValue.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Returns the total number of recorded values.
+     *
+     * @return the total number of recorded values
+     */
+    public long getCount() {
+        return this.totalCount.sum();
+    }
+
+    /**
+     * Returns the minimum recorded value, or zero if no values have been
+     * recorded.
+     *
+     * @return the minimum recorded value
+     */
+    public long getMin() {
+        return this.getCount() > 0 ? this.minValue.get() : 0;
+    }
+
+    /**
+     * Returns the maximum recorded value, or zero if no values have been
+     * recorded.
+     *
+     * @return the maximum recorded value
+     */
+    public long getMax() {
+        return this.getCount() > 0 ? this.maxValue.get() : 0;
+    }
+
+    /**
+     * Returns the mean of the recorded values, or zero if no values have been
+     * recorded.
+     *
+     * @return the mean of the recorded values
+     */
+    public double getMean() {
+        final long count = this.getCount();
+        return count > 0 ? (double) this.totalSum.sum() / count : 0;
+    }
+
+    /**
+     * Returns the value at the provided percentile, i.e. the highest value
+     * that is equivalent, within the histogram precision, to the value below
+     * which the provided percentage of the recorded values fall.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at the provided percentile
+     */
+    public long getValueAtPercentile(double percentile) {
+        // Sanity Check
+        if(percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile should be between 0 and 100");
+        }
+
+        // Find the bucket where the requested rank falls into
+        final long count = this.getCount();
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long accumulated = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += this.counts.get(i);
+            if(accumulated >= rank) {
+                return Math.min(getHighestEquivalentValue(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Clears all the recorded values.
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts.set(i, 0);
+        }
+        this.totalCount.reset();
+        this.totalSum.reset();
+        this.minValue.set(Long.MAX_VALUE);
+        this.maxValue.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Returns the index of the bucket the provided non-negative value should
+     * be recorded in. Values smaller than the sub-bucket count are recorded
+     * exactly, while larger ones are recorded in the linear sub-buckets of
+     * their power of two range.
+     *
+     * @param value the non-negative value
+     * @return the index of the bucket
+     */
+    static int getBucketIndex(long value) {
+        if(value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the highest value that is recorded in the bucket of the
+     * provided index.
+     *
+     * @param index the index of the bucket
+     * @return the highest value recorded in the bucket
+     */
+    static long getHighestEquivalentValue(int index) {
+        if(index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
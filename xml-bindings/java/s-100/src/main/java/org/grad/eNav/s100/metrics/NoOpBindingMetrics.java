@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.metrics;
+
+/**
+ * The No-Op Binding Metrics Class.
+ * <p/>
+ * The default binding metrics implementation, used when no other one has been
+ * discovered or registered. It does not even read the system clock, so that
+ * the instrumented operations cost almost nothing.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class NoOpBindingMetrics implements BindingMetrics {
+
+    /**
+     * The shared no-op binding metrics instance.
+     */
+    public static final NoOpBindingMetrics INSTANCE = new NoOpBindingMetrics();
+
+    /**
+     * The no-op binding metrics should only be accessed through the shared
+     * instance.
+     */
+    private NoOpBindingMetrics() {
+
+    }
+
+    /**
+     * The no-op binding metrics do not record anything.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * The no-op binding metrics do not read the system clock.
+     *
+     * @return always zero
+     */
+    @Override
+    public long startTimer() {
+        return 0L;
+    }
+
+    /**
+     * The no-op binding metrics do not record any latencies.
+     *
+     * @param product the product the operation refers to
+     * @param operation the name of the operation
+     * @param startTime the timer start time as returned by {@link #startTimer()}
+     */
+    @Override
+    public void recordLatency(String product, String operation, long startTime) {
+        // Nothing to do
+    }
+
+    /**
+     * The no-op binding metrics do not record any counters.
+     *
+     * @param product the product the counter refers to
+     * @param counter the name of the counter
+     * @param amount the amount to increment the counter by
+     */
+    @Override
+    public void incrementCounter(String product, String counter, long amount) {
+        // Nothing to do
+    }
+
+}
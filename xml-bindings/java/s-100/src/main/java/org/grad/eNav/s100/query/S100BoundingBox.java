@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.query;
+
+import java.util.Objects;
+
+/**
+ * The S-100 Bounding Box Record.
+ * <p/>
+ * A geographic bounding box in the EPSG:4326 axis order used by the S-100
+ * datasets, i.e. latitude first. Boxes crossing the anti-meridian are not
+ * supported and should be split into two separate queries.
+ *
+ * @param minLatitude the minimum latitude
+ * @param minLongitude the minimum longitude
+ * @param maxLatitude the maximum latitude
+ * @param maxLongitude the maximum longitude
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record S100BoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    /**
+     * The S-100 Bounding Box Constructor.
+     *
+     * @param minLatitude the minimum latitude
+     * @param minLongitude the minimum longitude
+     * @param maxLatitude the maximum latitude
+     * @param maxLongitude the maximum longitude
+     */
+    public S100BoundingBox {
+        // Sanity Check
+        if(Double.isNaN(minLatitude) || Double.isNaN(minLongitude) || Double.isNaN(maxLatitude) || Double.isNaN(maxLongitude)) {
+            throw new IllegalArgumentException("The bounding box coordinates must be numbers");
+        }
+        if(minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("The bounding box minimum coordinates must not exceed the maximum ones");
+        }
+    }
+
+    /**
+     * Creates the bounding box of a single point.
+     *
+     * @param latitude the point latitude
+     * @param longitude the point longitude
+     * @return the bounding box of the point
+     */
+    public static S100BoundingBox ofPoint(double latitude, double longitude) {
+        return new S100BoundingBox(latitude, longitude, latitude, longitude);
+    }
+
+    /**
+     * Creates a bounding box from the lower and upper corner positions of a
+     * GML envelope, returning null if any of the corners is incomplete.
+     *
+     * @param lowerCorner the lower corner position, latitude first
+     * @param upperCorner the upper corner position, latitude first
+     * @return the bounding box, or null if the corners are incomplete
+     */
+    public static S100BoundingBox ofCorners(Double[] lowerCorner, Double[] upperCorner) {
+        // Sanity Check
+        if(Objects.isNull(lowerCorner) || Objects.isNull(upperCorner) || lowerCorner.length < 2 || upperCorner.length < 2
+                || Objects.isNull(lowerCorner[0]) || Objects.isNull(lowerCorner[1])
+                || Objects.isNull(upperCorner[0]) || Objects.isNull(upperCorner[1])) {
+            return null;
+        }
+
+        return new S100BoundingBox(Math.min(lowerCorner[0], upperCorner[0]), Math.min(lowerCorner[1], upperCorner[1]),
+                Math.max(lowerCorner[0], upperCorner[0]), Math.max(lowerCorner[1], upperCorner[1]));
+    }
+
+    /**
+     * Returns whether this bounding box intersects, i.e. shares at least one
+     * point with, the provided one.
+     *
+     * @param other the other bounding box
+     * @return whether the bounding boxes intersect
+     */
+    public boolean intersects(S100BoundingBox other) {
+        return Objects.nonNull(other)
+                && this.minLatitude <= other.maxLatitude && other.minLatitude <= this.maxLatitude
+                && this.minLongitude <= other.maxLongitude && other.minLongitude <= this.maxLongitude;
+    }
+
+    /**
+     * Returns the smallest bounding box containing both this and the
+     * provided one.
+     *
+     * @param other the other bounding box
+     * @return the union of the bounding boxes
+     */
+    public S100BoundingBox union(S100BoundingBox other) {
+        // Sanity Check
+        if(Objects.isNull(other)) {
+            return this;
+        }
+
+        return new S100BoundingBox(Math.min(this.minLatitude, other.minLatitude), Math.min(this.minLongitude, other.minLongitude),
+                Math.max(this.maxLatitude, other.maxLatitude), Math.max(this.maxLongitude, other.maxLongitude));
+    }
+
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.query;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The S-100 Dataset Index Class.
+ * <p/>
+ * An immutable, queryable view over the members of a loaded dataset, which
+ * can be searched through the {@link S100DatasetQuery} API. When the member
+ * envelopes are provided, the members are also indexed in a uniform spatial
+ * grid, sized to hold a few members per cell, while when the member validity
+ * periods are provided, the members are also sorted by their validity start,
+ * so that the bounding box and validity date predicates of the queries only
+ * need to check a fraction of the members.
+ * <p/>
+ * The index is built once and is thread-safe, so it should be reused for all
+ * the queries over the same dataset.
+ *
+ * @param <T> the type of the dataset members
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100DatasetIndex<T> {
+
+    /**
+     * The average number of members per spatial grid cell.
+     */
+    static final int MEMBERS_PER_CELL = 4;
+
+    // Class Variables
+    private final List<T> members;
+    private final S100BoundingBox[] envelopes;
+    private final S100ValidityPeriod[] validities;
+    private final SpatialGrid spatialGrid;
+    private final TemporalOrder temporalOrder;
+
+    /**
+     * The S-100 Dataset Index Constructor.
+     *
+     * @param members the dataset members
+     * @param envelopeExtractor the extractor of the member envelopes, if any
+     * @param validityExtractor the extractor of the member validity periods, if any
+     */
+    private S100DatasetIndex(Collection<? extends T> members,
+                             Function<? super T, S100BoundingBox> envelopeExtractor,
+                             Function<? super T, S100ValidityPeriod> validityExtractor) {
+        this.members = List.copyOf(members);
+
+        // Index the member envelopes
+        if(Objects.nonNull(envelopeExtractor)) {
+            this.envelopes = this.members.stream()
+                    .map(envelopeExtractor)
+                    .toArray(S100BoundingBox[]::new);
+            this.spatialGrid = new SpatialGrid(this.envelopes);
+        } else {
+            this.envelopes = null;
+            this.spatialGrid = null;
+        }
+
+        // Index the member validity periods
+        if(Objects.nonNull(validityExtractor)) {
+            this.validities = this.members.stream()
+                    .map(validityExtractor)
+                    .map(validity -> Optional.ofNullable(validity).orElse(S100ValidityPeriod.ALWAYS))
+                    .toArray(S100ValidityPeriod[]::new);
+            this.temporalOrder = new TemporalOrder(this.validities);
+        } else {
+            this.validities = null;
+            this.temporalOrder = null;
+        }
+    }
+
+    /**
+     * Creates an index over the provided members without any spatial or
+     * temporal indices, so that the queries can only filter the members by
+     * their types and attributes.
+     *
+     * @param members the dataset members
+     * @return the dataset index
+     * @param <T> the type of the dataset members
+     */
+    public static <T> S100DatasetIndex<T> of(Collection<? extends T> members) {
+        return of(members, null, null);
+    }
+
+    /**
+     * Creates an index over the provided members, with a spatial index if
+     * the member envelope extractor is provided, and a temporal index if the
+     * member validity period extractor is provided. The members without an
+     * envelope never match any bounding box, while the members without a
+     * validity period are considered to be always valid.
+     *
+     * @param members the dataset members
+     * @param envelopeExtractor the extractor of the member envelopes, or null
+     * @param validityExtractor the extractor of the member validity periods, or null
+     * @return the dataset index
+     * @param <T> the type of the dataset members
+     */
+    public static <T> S100DatasetIndex<T> of(Collection<? extends T> members,
+                                             Function<? super T, S100BoundingBox> envelopeExtractor,
+                                             Function<? super T, S100ValidityPeriod> validityExtractor) {
+        return new S100DatasetIndex<>(Objects.requireNonNull(members, "The dataset members are required"), envelopeExtractor, validityExtractor);
+    }
+
+    /**
+     * Returns the number of the indexed members.
+     *
+     * @return the number of the indexed members
+     */
+    public int size() {
+        return this.members.size();
+    }
+
+    /**
+     * Returns the indexed members, in their original order.
+     *
+     * @return the indexed members
+     */
+    public List<T> getMembers() {
+        return this.members;
+    }
+
+    /**
+     * Returns whether the members are spatially indexed.
+     *
+     * @return whether the members are spatially indexed
+     */
+    public boolean hasSpatialIndex() {
+        return Objects.nonNull(this.spatialGrid);
+    }
+
+    /**
+     * Returns whether the members are temporally indexed.
+     *
+     * @return whether the members are temporally indexed
+     */
+    public boolean hasTemporalIndex() {
+        return Objects.nonNull(this.temporalOrder);
+    }
+
+    /**
+     * Returns the member at the provided position.
+     *
+     * @param position the member position
+     * @return the member
+     */
+    T getMember(int position) {
+        return this.members.get(position);
+    }
+
+    /**
+     * Returns the envelope of the member at the provided position.
+     *
+     * @param position the member position
+     * @return the member envelope, or null if missing
+     */
+    S100BoundingBox getEnvelope(int position) {
+        return this.envelopes[position];
+    }
+
+    /**
+     * Returns the validity period of the member at the provided position.
+     *
+     * @param position the member position
+     * @return the member validity period
+     */
+    S100ValidityPeriod getValidity(int position) {
+        return this.validities[position];
+    }
+
+    /**
+     * Returns the positions of the members whose spatial grid cells intersect
+     * the provided bounding box. The candidates still need to be checked
+     * against the bounding box itself.
+     *
+     * @param boundingBox the bounding box
+     * @return the positions of the candidate members
+     */
+    BitSet spatialCandidates(S100BoundingBox boundingBox) {
+        return this.spatialGrid.candidates(boundingBox);
+    }
+
+    /**
+     * Returns the positions of the members that are valid on the provided
+     * date.
+     *
+     * @param date the validity date
+     * @return the positions of the valid members
+     */
+    BitSet temporalCandidates(LocalDate date) {
+        return this.temporalOrder.candidates(date);
+    }
+
+    /**
+     * The Spatial Grid Class.
+     * <p/>
+     * A uniform grid over the extent of the member envelopes, with each cell
+     * holding the positions of the members whose envelopes intersect it.
+     */
+    private static final class SpatialGrid {
+
+        // Class Variables
+        private final S100BoundingBox extent;
+        private final int size;
+        private final int[][] cells;
+
+        /**
+         * The Spatial Grid Constructor.
+         *
+         * @param envelopes the member envelopes, with nulls for the missing ones
+         */
+        SpatialGrid(S100BoundingBox[] envelopes) {
+            this.extent = Arrays.stream(envelopes)
+                    .filter(Objects::nonNull)
+                    .reduce(S100BoundingBox::union)
+                    .orElse(null);
+            final long count = Arrays.stream(envelopes).filter(Objects::nonNull).count();
+            this.size = (int) Math.max(1, Math.ceil(Math.sqrt((double) count / MEMBERS_PER_CELL)));
+
+            // Count the members of each cell first, to allocate them exactly
+            final int[] counts = new int[this.size * this.size];
+            for(S100BoundingBox envelope : envelopes) {
+                if(Objects.nonNull(envelope)) {
+                    this.forEachCell(envelope, cell -> counts[cell]++);
+                }
+            }
+            this.cells = new int[counts.length][];
+            for(int cell = 0; cell < counts.length; cell++) {
+                this.cells[cell] = new int[counts[cell]];
+            }
+
+            // And then fill them in
+            final int[] cursors = new int[counts.length];
+            for(int position = 0; position < envelopes.length; position++) {
+                if(Objects.nonNull(envelopes[position])) {
+                    final int member = position;
+                    this.forEachCell(envelopes[position], cell -> this.cells[cell][cursors[cell]++] = member);
+                }
+            }
+        }
+
+        /**
+         * Returns the positions of the members in the cells intersecting the
+         * provided bounding box.
+         *
+         * @param boundingBox the bounding box
+         * @return the positions of the candidate members
+         */
+        BitSet candidates(S100BoundingBox boundingBox) {
+            final BitSet candidates = new BitSet();
+            if(Objects.nonNull(this.extent) && this.extent.intersects(boundingBox)) {
+                this.forEachCell(boundingBox, cell -> {
+                    for(int member : this.cells[cell]) {
+                        candidates.set(member);
+                    }
+                });
+            }
+            return candidates;
+        }
+
+        /**
+         * Applies the provided action to all the cells intersecting the
+         * provided bounding box, clamped to the grid extent.
+         *
+         * @param boundingBox the bounding box
+         * @param action the action to be applied to the cell indices
+         */
+        private void forEachCell(S100BoundingBox boundingBox, IntConsumer action) {
+            final int minRow = this.index(boundingBox.minLatitude(), this.extent.minLatitude(), this.extent.maxLatitude());
+            final int maxRow = this.index(boundingBox.maxLatitude(), this.extent.minLatitude(), this.extent.maxLatitude());
+            final int minColumn = this.index(boundingBox.minLongitude(), this.extent.minLongitude(), this.extent.maxLongitude());
+            final int maxColumn = this.index(boundingBox.maxLongitude(), this.extent.minLongitude(), this.extent.maxLongitude());
+            for(int row = minRow; row <= maxRow; row++) {
+                for(int column = minColumn; column <= maxColumn; column++) {
+                    action.accept(row * this.size + column);
+                }
+            }
+        }
+
+        /**
+         * Returns the grid index of the provided coordinate along one axis.
+         *
+         * @param coordinate the coordinate
+         * @param min the minimum coordinate of the grid extent
+         * @param max the maximum coordinate of the grid extent
+         * @return the grid index, clamped to the grid
+         */
+        private int index(double coordinate, double min, double max) {
+            if(max <= min) {
+                return 0;
+            }
+            final int index = (int) ((coordinate - min) / (max - min) * this.size);
+            return Math.clamp(index, 0, this.size - 1);
+        }
+
+    }
+
+    /**
+     * The Temporal Order Class.
+     * <p/>
+     * The positions of the members sorted by the start of their validity
+     * periods, so that only the members that have started by a given date
+     * need to be checked for whether they have not yet ended.
+     */
+    private static final class TemporalOrder {
+
+        // Class Variables
+        private final int[] positions;
+        private final LocalDate[] starts;
+        private final LocalDate[] ends;
+
+        /**
+         * The Temporal Order Constructor.
+         *
+         * @param validities the member validity periods
+         */
+        TemporalOrder(S100ValidityPeriod[] validities) {
+            this.positions = IntStream.range(0, validities.length)
+                    .boxed()
+                    .sorted(Comparator.comparing(position -> Optional.ofNullable(validities[position].start()).orElse(LocalDate.MIN)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.starts = new LocalDate[validities.length];
+            this.ends = new LocalDate[validities.length];
+            for(int i = 0; i < this.positions.length; i++) {
+                final S100ValidityPeriod validity = validities[this.positions[i]];
+                this.starts[i] = Optional.ofNullable(validity.start()).orElse(LocalDate.MIN);
+                this.ends[i] = Optional.ofNullable(validity.end()).orElse(LocalDate.MAX);
+            }
+        }
+
+        /**
+         * Returns the positions of the members valid on the provided date.
+         *
+         * @param date the validity date
+         * @return the positions of the valid members
+         */
+        BitSet candidates(LocalDate date) {
+            // Find the members that have started by the date
+            int low = 0;
+            int high = this.starts.length;
+            while(low < high) {
+                final int middle = (low + high) >>> 1;
+                if(this.starts[middle].isAfter(date)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+
+            // And keep the ones that have not yet ended
+            final BitSet candidates = new BitSet();
+            for(int i = 0; i < low; i++) {
+                if(!this.ends[i].isBefore(date)) {
+                    candidates.set(this.positions[i]);
+                }
+            }
+            return candidates;
+        }
+
+    }
+
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.query;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The S-100 Dataset Query Class.
+ * <p/>
+ * A query over the members of a {@link S100DatasetIndex}, combining the
+ * following predicates, all of which must be satisfied by the returned
+ * members:
+ * <ul>
+ *     <li>The member types, e.g. the {@code Lighthouse} interface.</li>
+ *     <li>The member attributes, e.g. the status or colour, by name.</li>
+ *     <li>Any custom predicates over the members.</li>
+ *     <li>A bounding box the member envelopes must intersect.</li>
+ *     <li>A date on which the members must be valid.</li>
+ * </ul>
+ * The query is planned against the provided index, so that the bounding box
+ * and validity date predicates are answered through its spatial and temporal
+ * indices when present, and only the remaining candidates are checked against
+ * the rest of the predicates. Large candidate sets are checked in parallel.
+ * The results are returned as a lazily evaluated stream, in the original
+ * order of the members.
+ *
+ * @param <T> the type of the dataset members
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100DatasetQuery<T> {
+
+    /**
+     * The default number of candidates above which a query is executed in
+     * parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
+    /**
+     * The cache of the attribute accessors of the member classes.
+     */
+    private static final Map<Class<?>, Map<String, Optional<Method>>> ACCESSORS = new ConcurrentHashMap<>();
+
+    /**
+     * The cache of the XML value accessors of the enumerated attributes.
+     */
+    private static final Map<Class<?>, Optional<Method>> ENUM_VALUE_ACCESSORS = new ConcurrentHashMap<>();
+
+    // Class Variables
+    private final Set<Class<?>> types;
+    private final Map<String, List<Object>> attributes;
+    private final List<Predicate<? super T>> predicates;
+    private S100BoundingBox boundingBox;
+    private LocalDate validityDate;
+    private int parallelThreshold;
+
+    /**
+     * The S-100 Dataset Query Constructor, creating a query that matches
+     * all the members.
+     */
+    public S100DatasetQuery() {
+        this.types = new LinkedHashSet<>();
+        this.attributes = new LinkedHashMap<>();
+        this.predicates = new ArrayList<>();
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Sets the accepted member types, including their subtypes.
+     *
+     * @param types the accepted member types
+     * @return the S-100 dataset query
+     */
+    public S100DatasetQuery<T> setTypes(Class<?>... types) {
+        this.types.clear();
+        this.types.addAll(Arrays.asList(types));
+        return this;
+    }
+
+    /**
+     * Adds an attribute predicate, matching the members whose attribute of
+     * the provided name equals any of the provided values. The attributes
+     * are read through their getters, also trying the plural forms of the
+     * generated list properties, e.g. {@code status} reads the
+     * {@code getStatuses()} list, in which case any of its items has to
+     * match. Enumerated attributes also match their XML values, e.g.
+     * {@code "Confirmed"}, or their constant names.
+     *
+     * @param attribute the attribute name
+     * @param values the accepted attribute values
+     * @return the S-100 dataset query
+     */
+    public S100DatasetQuery<T> addAttribute(String attribute, Object... values) {
+        Objects.requireNonNull(attribute, "The attribute name is required");
+
+        // Sanity Check
+        if(attribute.isBlank() || values.length == 0) {
+            throw new IllegalArgumentException("A non-blank attribute name and at least one attribute value are required");
+        }
+
+        this.attributes.put(attribute, List.of(values));
+        return this;
+    }
+
+    /**
+     * Adds a custom predicate over the members.
+     *
+     * @param predicate the member predicate
+     * @return the S-100 dataset query
+     */
+    public S100DatasetQuery<T> addPredicate(Predicate<? super T> predicate) {
+        this.predicates.add(Objects.requireNonNull(predicate, "The member predicate is required"));
+        return this;
+    }
+
+    /**
+     * Sets the bounding box the member envelopes must intersect.
+     *
+     * @param boundingBox the bounding box
+     * @return the S-100 dataset query
+     */
+    public S100DatasetQuery<T> setBoundingBox(S100BoundingBox boundingBox) {
+        this.boundingBox = boundingBox;
+        return this;
+    }
+
+    /**
+     * Sets the date on which the members must be valid.
+     *
+     * @param validityDate the validity date
+     * @return the S-100 dataset query
+     */
+    public S100DatasetQuery<T> setValidityDate(LocalDate validityDate) {
+        this.validityDate = validityDate;
+        return this;
+    }
+
+    /**
+     * Sets the number of candidates above which the query is executed in
+     * parallel.
+     *
+     * @param parallelThreshold the parallel execution threshold
+     * @return the S-100 dataset query
+     */
+    public S100DatasetQuery<T> setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    /**
+     * Plans the query against the provided index, without executing it.
+     *
+     * @param index the dataset index
+     * @return the query plan
+     */
+    public S100QueryPlan plan(S100DatasetIndex<T> index) {
+        final BitSet candidates = this.candidates(index);
+        final int count = Objects.isNull(candidates) ? index.size() : candidates.cardinality();
+        return new S100QueryPlan(Objects.nonNull(this.boundingBox), Objects.nonNull(this.validityDate), count, count > this.parallelThreshold);
+    }
+
+    /**
+     * Executes the query against the provided index, returning a lazily
+     * evaluated stream of the matching members, in their original order.
+     * The stream is parallel if the number of candidates exceeds the
+     * parallel threshold.
+     *
+     * @param index the dataset index
+     * @return the stream of the matching members
+     */
+    public Stream<T> execute(S100DatasetIndex<T> index) {
+        final BitSet candidates = this.candidates(index);
+        final IntStream positions = Objects.isNull(candidates) ? IntStream.range(0, index.size()) : candidates.stream();
+        final int count = Objects.isNull(candidates) ? index.size() : candidates.cardinality();
+        return (count > this.parallelThreshold ? positions.parallel() : positions)
+                .filter(position -> this.matches(index, position))
+                .mapToObj(index::getMember);
+    }
+
+    /**
+     * Selects the candidate members through the indices of the provided
+     * index, or returns null if all the members have to be scanned.
+     *
+     * @param index the dataset index
+     * @return the positions of the candidate members, or null for all
+     */
+    private BitSet candidates(S100DatasetIndex<T> index) {
+        Objects.requireNonNull(index, "The dataset index is required");
+
+        // Sanity Check
+        if(Objects.nonNull(this.boundingBox) && !index.hasSpatialIndex()) {
+            throw new IllegalStateException("The bounding box predicate requires a spatially indexed dataset");
+        }
+        if(Objects.nonNull(this.validityDate) && !index.hasTemporalIndex()) {
+            throw new IllegalStateException("The validity date predicate requires a temporally indexed dataset");
+        }
+
+        // Intersect the candidates of all the applicable indices
+        BitSet candidates = null;
+        if(Objects.nonNull(this.boundingBox)) {
+            candidates = index.spatialCandidates(this.boundingBox);
+        }
+        if(Objects.nonNull(this.validityDate)) {
+            final BitSet temporalCandidates = index.temporalCandidates(this.validityDate);
+            if(Objects.isNull(candidates)) {
+                candidates = temporalCandidates;
+            } else {
+                candidates.and(temporalCandidates);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks whether the member at the provided position of the index
+     * satisfies all the predicates of the query.
+     *
+     * @param index the dataset index
+     * @param position the member position
+     * @return whether the member matches the query
+     */
+    private boolean matches(S100DatasetIndex<T> index, int position) {
+        final T member = index.getMember(position);
+        if(Objects.isNull(member)) {
+            return false;
+        }
+        if(!this.types.isEmpty() && this.types.stream().noneMatch(type -> type.isInstance(member))) {
+            return false;
+        }
+        if(Objects.nonNull(this.boundingBox) && !this.boundingBox.intersects(index.getEnvelope(position))) {
+            return false;
+        }
+        if(Objects.nonNull(this.validityDate) && !index.getValidity(position).includes(this.validityDate)) {
+            return false;
+        }
+        for(Map.Entry<String, List<Object>> attribute : this.attributes.entrySet()) {
+            if(!matchesAttribute(member, attribute.getKey(), attribute.getValue())) {
+                return false;
+            }
+        }
+        for(Predicate<? super T> predicate : this.predicates) {
+            if(!predicate.test(member)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the attribute of the provided member matches any of
+     * the provided values.
+     *
+     * @param member the member
+     * @param attribute the attribute name
+     * @param values the accepted attribute values
+     * @return whether the attribute matches
+     */
+    private static boolean matchesAttribute(Object member, String attribute, List<Object> values) {
+        final Optional<Method> accessor = ACCESSORS
+                .computeIfAbsent(member.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(attribute, name -> findAccessor(member.getClass(), name));
+        if(accessor.isEmpty()) {
+            return false;
+        }
+
+        // Read the attribute
+        final Object value;
+        try {
+            value = accessor.get().invoke(member);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            return false;
+        }
+
+        // And match its items, if it is a list
+        if(value instanceof Collection<?> items) {
+            return items.stream().anyMatch(item -> values.stream().anyMatch(expected -> matchesValue(item, expected)));
+        }
+        return values.stream().anyMatch(expected -> matchesValue(value, expected));
+    }
+
+    /**
+     * Checks whether an attribute value matches an expected value, either
+     * directly or through its lexical representation, including the XML
+     * values and constant names of the enumerated attributes.
+     *
+     * @param value the attribute value
+     * @param expected the expected value
+     * @return whether the values match
+     */
+    private static boolean matchesValue(Object value, Object expected) {
+        if(Objects.isNull(value) || Objects.isNull(expected)) {
+            return Objects.isNull(value) && Objects.isNull(expected);
+        }
+        if(value.equals(expected)) {
+            return true;
+        }
+        if(!(expected instanceof String text)) {
+            return false;
+        }
+        if(value instanceof Enum<?> constant) {
+            if(constant.name().equalsIgnoreCase(text)) {
+                return true;
+            }
+            final Method valueAccessor = ENUM_VALUE_ACCESSORS
+                    .computeIfAbsent(constant.getDeclaringClass(), S100DatasetQuery::findEnumValueAccessor)
+                    .orElse(null);
+            if(Objects.isNull(valueAccessor)) {
+                return false;
+            }
+            try {
+                return text.equals(String.valueOf(valueAccessor.invoke(constant)));
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                return false;
+            }
+        }
+        return text.equals(value.toString());
+    }
+
+    /**
+     * Finds the accessor of the XML values of the provided enumeration,
+     * as generated by XJC.
+     *
+     * @param type the enumeration class
+     * @return the XML value accessor, if found
+     */
+    private static Optional<Method> findEnumValueAccessor(Class<?> type) {
+        try {
+            return Optional.of(type.getMethod("value"));
+        } catch (NoSuchMethodException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Finds the getter of the provided attribute, also trying the plural
+     * forms of the generated list properties.
+     *
+     * @param type the member class
+     * @param attribute the attribute name
+     * @return the attribute getter, if found
+     */
+    private static Optional<Method> findAccessor(Class<?> type, String attribute) {
+        final String property = Character.toUpperCase(attribute.charAt(0)) + attribute.substring(1);
+        for(String name : List.of("get" + property, "is" + property, "get" + property + "s", "get" + property + "es")) {
+            try {
+                final Method method = type.getMethod(name);
+                if(method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                    return Optional.of(method);
+                }
+            } catch (NoSuchMethodException ex) {
+                // Try the next form
+            }
+        }
+        return Optional.empty();
+    }
+
+}
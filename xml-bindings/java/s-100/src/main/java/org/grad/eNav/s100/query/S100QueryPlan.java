@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.query;
+
+/**
+ * The S-100 Query Plan Record.
+ * <p/>
+ * Describes how a {@link S100DatasetQuery} is executed over a dataset index,
+ * i.e. which indices narrow down the candidate members, how many candidates
+ * remain to be checked against the rest of the predicates, and whether they
+ * are checked in parallel.
+ *
+ * @param spatialIndex whether the spatial index is used
+ * @param temporalIndex whether the temporal index is used
+ * @param candidates the number of candidate members
+ * @param parallel whether the candidates are checked in parallel
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record S100QueryPlan(boolean spatialIndex, boolean temporalIndex, int candidates, boolean parallel) {
+
+    /**
+     * Returns whether the plan scans all the members of the dataset, i.e.
+     * whether no index is used.
+     *
+     * @return whether all the members are scanned
+     */
+    public boolean isFullScan() {
+        return !this.spatialIndex && !this.temporalIndex;
+    }
+
+}
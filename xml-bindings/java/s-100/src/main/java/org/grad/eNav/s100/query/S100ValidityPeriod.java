@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.query;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The S-100 Validity Period Record.
+ * <p/>
+ * The period during which a dataset member is valid, e.g. as defined by the
+ * fixed date range of an Aid to Navigation. Both ends of the period are
+ * inclusive, while a missing start or end leaves the period open on that
+ * side.
+ *
+ * @param start the first valid date, or null if open
+ * @param end the last valid date, or null if open
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record S100ValidityPeriod(LocalDate start, LocalDate end) {
+
+    /**
+     * The validity period that is always valid.
+     */
+    public static final S100ValidityPeriod ALWAYS = new S100ValidityPeriod(null, null);
+
+    /**
+     * The S-100 Validity Period Constructor.
+     *
+     * @param start the first valid date, or null if open
+     * @param end the last valid date, or null if open
+     */
+    public S100ValidityPeriod {
+        // Sanity Check
+        if(Objects.nonNull(start) && Objects.nonNull(end) && start.isAfter(end)) {
+            throw new IllegalArgumentException("The validity period start must not be after its end");
+        }
+    }
+
+    /**
+     * Returns whether the provided date falls within the validity period.
+     *
+     * @param date the date to be checked
+     * @return whether the date is within the validity period
+     */
+    public boolean includes(LocalDate date) {
+        return (Objects.isNull(this.start) || !date.isBefore(this.start))
+                && (Objects.isNull(this.end) || !date.isAfter(this.end));
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import javax.xml.namespace.QName;
+import java.util.*;
+
+/**
+ * The S-100 Member Filter Class.
+ * <p/>
+ * Selects the members of a dataset to be read by the StAX engine, either by
+ * their types, e.g. the {@code LightAllAround} and {@code LightSectored}
+ * interfaces, or by their element names in the members container. The filter
+ * is pushed down to the parser, so the elements of the members that cannot
+ * match it are skipped without building any objects at all.
+ * <p/>
+ * The type filters are evaluated against the declared types of the member
+ * elements. If a member element is declared with a more generic type than
+ * the filtered ones, e.g. through an {@code xsi:type} override, the member
+ * is read and then checked against the filtered types.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100MemberFilter {
+
+    /**
+     * The filter accepting all the members.
+     */
+    public static final S100MemberFilter ALL = new S100MemberFilter(Collections.emptySet(), Collections.emptySet());
+
+    // Class Variables
+    private final Set<Class<?>> types;
+    private final Set<String> names;
+
+    /**
+     * The S-100 Member Filter Constructor.
+     *
+     * @param types the accepted member types, or empty for all
+     * @param names the accepted element names, or empty for all
+     */
+    private S100MemberFilter(Set<Class<?>> types, Set<String> names) {
+        this.types = types;
+        this.names = names;
+    }
+
+    /**
+     * Creates a filter accepting the members of the provided types, including
+     * their subtypes.
+     *
+     * @param types the accepted member types
+     * @return the member filter
+     */
+    public static S100MemberFilter ofTypes(Class<?>... types) {
+        return ofTypes(Arrays.asList(Objects.requireNonNull(types, "The member types are required")));
+    }
+
+    /**
+     * Creates a filter accepting the members of the provided types, including
+     * their subtypes.
+     *
+     * @param types the accepted member types
+     * @return the member filter
+     */
+    public static S100MemberFilter ofTypes(Collection<? extends Class<?>> types) {
+        Objects.requireNonNull(types, "The member types are required");
+
+        // Sanity Check
+        if(types.isEmpty() || types.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("At least one non-null member type is required");
+        }
+
+        return new S100MemberFilter(Set.copyOf(types), Collections.emptySet());
+    }
+
+    /**
+     * Creates a filter accepting the members of the provided element names.
+     * The names can either be local, e.g. {@code LightSectored}, or qualified
+     * in the {@link QName#toString()} format, e.g.
+     * {@code {http://www.iho.int/S201/gml/cs0/2.0}LightSectored}.
+     *
+     * @param names the accepted element names
+     * @return the member filter
+     */
+    public static S100MemberFilter ofNames(String... names) {
+        Objects.requireNonNull(names, "The element names are required");
+
+        // Sanity Check
+        if(names.length == 0 || Arrays.stream(names).anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("At least one non-null element name is required");
+        }
+
+        return new S100MemberFilter(Collections.emptySet(), Set.of(names));
+    }
+
+    /**
+     * Returns whether the filter accepts all the members.
+     *
+     * @return whether the filter accepts all the members
+     */
+    public boolean isAll() {
+        return this.types.isEmpty() && this.names.isEmpty();
+    }
+
+    /**
+     * Returns whether a member element, with the provided name and declared
+     * type, might be accepted by the filter. The elements for which this
+     * returns false are skipped by the parser.
+     *
+     * @param name the member element name
+     * @param declaredType the declared type of the member element
+     * @return whether the member element might be accepted
+     */
+    public boolean acceptsElement(QName name, Class<?> declaredType) {
+        if(!this.names.isEmpty()) {
+            return this.names.contains(name.getLocalPart()) || this.names.contains(name.toString());
+        }
+        if(!this.types.isEmpty()) {
+            return this.types.stream()
+                    .anyMatch(type -> type.isAssignableFrom(declaredType) || declaredType.isAssignableFrom(type));
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a member that has been read is accepted by the filter.
+     * This is only required for the members whose elements are declared with
+     * a more generic type than the filtered ones.
+     *
+     * @param member the member that has been read
+     * @return whether the member is accepted
+     */
+    public boolean accepts(Object member) {
+        return Objects.nonNull(member) && this.acceptsType(member.getClass());
+    }
+
+    /**
+     * Returns whether the members of the provided actual type are accepted
+     * by the filter, e.g. when the members are projected instead of read.
+     *
+     * @param memberType the actual type of the members
+     * @return whether the members of the type are accepted
+     */
+    public boolean acceptsType(Class<?> memberType) {
+        return this.types.isEmpty() || this.types.stream().anyMatch(type -> type.isAssignableFrom(memberType));
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import java.util.*;
+
+/**
+ * The S-100 Member Projection Class.
+ * <p/>
+ * Selects the paths of the dataset member content to be decoded by the StAX
+ * engine into {@link S100ProjectedMember} records. The paths are relative to
+ * the member elements and consist of the local names of the nested elements,
+ * separated by slashes, while the last step can also select an attribute by
+ * its local name prefixed with {@code @}, e.g.:
+ * <ul>
+ *     <li>{@code status}</li>
+ *     <li>{@code colour}</li>
+ *     <li>{@code featureName/name}</li>
+ *     <li>{@code geometry/pointProperty/Point/pos}</li>
+ *     <li>{@code geometry/pointProperty/Point/@srsName}</li>
+ * </ul>
+ * Only the elements along the projected paths are parsed, while all the
+ * other content of the members is skipped.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100MemberProjection {
+
+    /**
+     * The projection of the point geometries of the members.
+     */
+    public static final String POINT_GEOMETRY = "geometry/pointProperty/Point/pos";
+
+    // Class Variables
+    private final Set<String> paths;
+    private final Set<String> traversed;
+
+    /**
+     * The S-100 Member Projection Constructor.
+     *
+     * @param paths the projected paths
+     */
+    private S100MemberProjection(Set<String> paths) {
+        this.paths = paths;
+        this.traversed = new HashSet<>();
+        for(String path : paths) {
+            for(int index = path.indexOf('/'); index > 0; index = path.indexOf('/', index + 1)) {
+                this.traversed.add(path.substring(0, index));
+            }
+            if(!path.contains("@")) {
+                this.traversed.add(path);
+            }
+        }
+    }
+
+    /**
+     * Creates a projection of the provided member content paths.
+     *
+     * @param paths the projected paths
+     * @return the member projection
+     */
+    public static S100MemberProjection of(String... paths) {
+        Objects.requireNonNull(paths, "The projected paths are required");
+
+        // Sanity Check
+        if(paths.length == 0 || Arrays.stream(paths).anyMatch(path -> Objects.isNull(path) || path.isBlank())) {
+            throw new IllegalArgumentException("At least one non-blank projected path is required");
+        }
+        if(Arrays.stream(paths).anyMatch(path -> path.startsWith("/") || path.endsWith("/") || (path.contains("@") && path.indexOf('@') != path.lastIndexOf('/') + 1))) {
+            throw new IllegalArgumentException("The projected paths must be relative, with attributes only in their last step");
+        }
+
+        return new S100MemberProjection(new LinkedHashSet<>(Arrays.asList(paths)));
+    }
+
+    /**
+     * Returns the projected paths.
+     *
+     * @return the projected paths
+     */
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(this.paths);
+    }
+
+    /**
+     * Returns whether the provided path is projected, i.e. whether its
+     * values are collected.
+     *
+     * @param path the element or attribute path
+     * @return whether the path is projected
+     */
+    boolean includes(String path) {
+        return this.paths.contains(path);
+    }
+
+    /**
+     * Returns whether the element of the provided path has to be parsed,
+     * i.e. whether it is projected or contains any projected paths.
+     *
+     * @param path the element path
+     * @return whether the element has to be parsed
+     */
+    boolean traverses(String path) {
+        return this.traversed.contains(path);
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The S-100 Member Publisher Class.
+ * <p/>
+ * A reactive {@link Flow.Publisher} of the members of a dataset, which are
+ * parsed incrementally from the provided channel through the StAX engine.
+ * The members are only parsed as they are requested by the subscriber, so
+ * a slow subscriber never causes the unconsumed members to be buffered, and
+ * the subscriber can also cancel its subscription partway through the
+ * dataset, in which case the rest of the dataset is not parsed at all.
+ * <p/>
+ * The members are published in their document order, on the threads of the
+ * provided executor, but never concurrently. Since the channel can only be
+ * read once, the publisher only accepts a single subscriber, and the channel
+ * is closed once the subscription completes, fails or is cancelled.
+ * <p/>
+ * An optional {@link S100MemberFilter} can also be provided, which is pushed
+ * down to the parser, so that the members rejected by it are skipped without
+ * being parsed into objects.
+ *
+ * @param <T> the type of the published members
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100MemberPublisher<T> implements Flow.Publisher<T> {
+
+    /**
+     * The default executor of the publishers, which runs each drain loop on
+     * a new virtual thread, since the parsing might block on the channel.
+     */
+    public static final Executor VIRTUAL_THREAD_EXECUTOR = command -> Thread.ofVirtual()
+            .name("s100-members")
+            .start(command);
+
+    // Class Variables
+    private final S100StaxCodec codec;
+    private final ReadableByteChannel channel;
+    private final Class<?> containerType;
+    private final Class<T> memberType;
+    private final S100MemberFilter filter;
+    private final Executor executor;
+    private final AtomicBoolean subscribed;
+
+    /**
+     * The S-100 Member Publisher Constructor, publishing the members on
+     * virtual threads.
+     *
+     * @param codec the StAX codec of the dataset
+     * @param channel the channel of the dataset XML representation
+     * @param containerType the type of the dataset members container
+     * @param memberType the type of the published members
+     */
+    public S100MemberPublisher(S100StaxCodec codec, ReadableByteChannel channel, Class<?> containerType, Class<T> memberType) {
+        this(codec, channel, containerType, memberType, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * The S-100 Member Publisher Constructor.
+     *
+     * @param codec the StAX codec of the dataset
+     * @param channel the channel of the dataset XML representation
+     * @param containerType the type of the dataset members container
+     * @param memberType the type of the published members
+     * @param executor the executor to parse and publish the members with
+     */
+    public S100MemberPublisher(S100StaxCodec codec, ReadableByteChannel channel, Class<?> containerType, Class<T> memberType, Executor executor) {
+        this(codec, channel, containerType, memberType, S100MemberFilter.ALL, executor);
+    }
+
+    /**
+     * The S-100 Member Publisher Constructor, only publishing the members
+     * accepted by the provided filter.
+     *
+     * @param codec the StAX codec of the dataset
+     * @param channel the channel of the dataset XML representation
+     * @param containerType the type of the dataset members container
+     * @param memberType the type of the published members
+     * @param filter the filter of the members to be parsed
+     * @param executor the executor to parse and publish the members with
+     */
+    public S100MemberPublisher(S100StaxCodec codec, ReadableByteChannel channel, Class<?> containerType, Class<T> memberType, S100MemberFilter filter, Executor executor) {
+        this.codec = Objects.requireNonNull(codec, "The StAX codec is required");
+        this.channel = Objects.requireNonNull(channel, "The dataset channel is required");
+        this.containerType = Objects.requireNonNull(containerType, "The members container type is required");
+        this.memberType = Objects.requireNonNull(memberType, "The member type is required");
+        this.filter = Objects.requireNonNull(filter, "The member filter is required");
+        this.executor = Objects.requireNonNull(executor, "The publisher executor is required");
+        this.subscribed = new AtomicBoolean();
+    }
+
+    /**
+     * Subscribes the provided subscriber to the dataset members. Only a
+     * single subscriber is accepted, while any additional ones are notified
+     * with an {@link IllegalStateException}.
+     *
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "The subscriber is required");
+
+        // Sanity Check
+        if(!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    // Nothing to request
+                }
+
+                @Override
+                public void cancel() {
+                    // Nothing to cancel
+                }
+            });
+            subscriber.onError(new IllegalStateException("The dataset members have already been subscribed to"));
+            return;
+        }
+
+        subscriber.onSubscribe(new MemberSubscription(subscriber));
+    }
+
+    /**
+     * The Member Subscription Class.
+     * <p/>
+     * Parses and publishes the members while there is outstanding demand.
+     * All the signals are handled by a single drain loop, which runs on the
+     * executor and is never entered concurrently, so the parsing state does
+     * not need any further synchronisation.
+     */
+    private final class MemberSubscription implements Flow.Subscription, Runnable {
+
+        // Class Variables
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand;
+        private final AtomicInteger pending;
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private S100StaxCodec.MemberReader memberReader;
+        private boolean terminated;
+
+        /**
+         * The Member Subscription Constructor.
+         *
+         * @param subscriber the subscriber
+         */
+        MemberSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.pending = new AtomicInteger();
+        }
+
+        /**
+         * Adds the requested number of members to the outstanding demand.
+         * Non-positive requests fail the subscription.
+         *
+         * @param n the number of requested members
+         */
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                this.invalidRequest = new IllegalArgumentException("The number of requested members must be positive");
+            } else {
+                this.demand.getAndAccumulate(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+            }
+            this.schedule();
+        }
+
+        /**
+         * Cancels the subscription, stopping the parsing of the dataset.
+         */
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.schedule();
+        }
+
+        /**
+         * Schedules the drain loop, unless it is already running, in which
+         * case it will pick up the new signal before exiting.
+         */
+        private void schedule() {
+            if(this.pending.getAndIncrement() == 0) {
+                try {
+                    S100MemberPublisher.this.executor.execute(this);
+                } catch (RuntimeException ex) {
+                    this.terminate();
+                    this.subscriber.onError(ex);
+                }
+            }
+        }
+
+        /**
+         * The drain loop, processing all the signals received in the
+         * meantime.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                this.drain();
+                missed = this.pending.addAndGet(-missed);
+            } while(missed != 0);
+        }
+
+        /**
+         * Publishes the members while there is outstanding demand, or
+         * terminates the subscription.
+         */
+        private void drain() {
+            // Sanity Check
+            if(this.terminated) {
+                return;
+            }
+
+            try {
+                while(!this.cancelled && Objects.isNull(this.invalidRequest) && this.demand.get() > 0) {
+                    if(Objects.isNull(this.memberReader)) {
+                        this.memberReader = S100MemberPublisher.this.codec.openMembers(
+                                Channels.newInputStream(S100MemberPublisher.this.channel),
+                                S100MemberPublisher.this.containerType,
+                                S100MemberPublisher.this.filter);
+                    }
+                    final Object member = this.memberReader.next();
+                    if(Objects.isNull(member)) {
+                        this.terminate();
+                        this.subscriber.onComplete();
+                        return;
+                    }
+                    if(S100MemberPublisher.this.memberType.isInstance(member)) {
+                        this.demand.decrementAndGet();
+                        this.subscriber.onNext(S100MemberPublisher.this.memberType.cast(member));
+                    }
+                }
+            } catch (Exception ex) {
+                this.terminate();
+                this.subscriber.onError(ex);
+                return;
+            }
+
+            // Check for any terminating signals
+            if(this.cancelled) {
+                this.terminate();
+            } else if(Objects.nonNull(this.invalidRequest)) {
+                this.terminate();
+                this.subscriber.onError(this.invalidRequest);
+            }
+        }
+
+        /**
+         * Terminates the subscription, releasing the member reader and the
+         * dataset channel.
+         */
+        private void terminate() {
+            this.terminated = true;
+            try {
+                if(Objects.nonNull(this.memberReader)) {
+                    this.memberReader.close();
+                }
+                S100MemberPublisher.this.channel.close();
+            } catch (Exception ex) {
+                // Nothing to do, the subscription is already terminated
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The S-100 Projected Member Record.
+ * <p/>
+ * A lightweight projection of a dataset member, holding only its ID, its
+ * feature type, i.e. the local name of its element, and the lexical values
+ * of the paths selected by the {@link S100MemberProjection}, in document
+ * order. Repeated elements, e.g. multiple colours, produce multiple values
+ * for the same path, while the paths missing from the member produce none.
+ *
+ * @param id the ID of the member, if any
+ * @param featureType the feature type of the member
+ * @param values the values of the projected paths
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record S100ProjectedMember(String id, String featureType, Map<String, List<String>> values) {
+
+    /**
+     * The S-100 Projected Member Constructor.
+     *
+     * @param id the ID of the member, if any
+     * @param featureType the feature type of the member
+     * @param values the values of the projected paths
+     */
+    public S100ProjectedMember {
+        values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns the first value of the provided projected path.
+     *
+     * @param path the projected path
+     * @return the first value of the path, or null if missing
+     */
+    public String getValue(String path) {
+        final List<String> pathValues = this.values.get(path);
+        return Objects.isNull(pathValues) || pathValues.isEmpty() ? null : pathValues.getFirst();
+    }
+
+    /**
+     * Returns all the values of the provided projected path.
+     *
+     * @param path the projected path
+     * @return the values of the path, or an empty list if missing
+     */
+    public List<String> getValues(String path) {
+        return this.values.getOrDefault(path, Collections.emptyList());
+    }
+
+}
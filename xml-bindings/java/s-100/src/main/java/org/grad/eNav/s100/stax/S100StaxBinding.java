@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import java.util.Map;
+
+/**
+ * The S-100 StAX Binding Interface.
+ * <p/>
+ * The reader and writer of a single XJC generated class, generated at build
+ * time by the {@code -Xstax-codec} XJC plugin from the same XSD derived
+ * outline that the class itself was generated from. The generated bindings
+ * access the properties of the class directly and dispatch the attributes
+ * and elements by their names, so that the {@link S100StaxCodec} reads and
+ * writes the XML content without any reflection or annotation processing.
+ * <p/>
+ * Each binding only handles the properties declared in its own class, and
+ * delegates the inherited ones to the binding of the superclass, so that
+ * the inherited attributes and elements are always written first, as in
+ * JAXB.
+ *
+ * @param <T> the bound class
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface S100StaxBinding<T> {
+
+    /**
+     * Returns the bound class, i.e. the generated implementation class.
+     *
+     * @return the bound class
+     */
+    Class<T> getType();
+
+    /**
+     * Returns the exposed type of the bound class, i.e. the generated
+     * interface that the bound class implements, or the bound class itself
+     * if no interfaces are generated.
+     *
+     * @return the exposed type of the bound class
+     */
+    Class<? super T> getExposedType();
+
+    /**
+     * Returns the XML schema type name of the bound class.
+     *
+     * @return the XML schema type name, or null for anonymous types
+     */
+    QName getTypeName();
+
+    /**
+     * Returns the name of the root element the bound class is declared as.
+     *
+     * @return the root element name, or null if not a root element class
+     */
+    QName getElementName();
+
+    /**
+     * Returns the declared types of the child elements of the bound class,
+     * including the inherited ones, keyed by their element names.
+     *
+     * @return the declared child element types
+     */
+    Map<QName, Class<?>> getElementTypes();
+
+    /**
+     * Creates a new instance of the bound class.
+     *
+     * @return the new instance
+     * @throws IllegalStateException if the bound class is abstract
+     */
+    T newInstance();
+
+    /**
+     * Returns the name of the ID attribute of the bound class.
+     *
+     * @return the ID attribute name, or null if the class has no ID
+     */
+    QName getIdName();
+
+    /**
+     * Returns the ID of the provided object.
+     *
+     * @param value the object
+     * @return the ID of the object, or null if not available
+     */
+    String getId(T value);
+
+    /**
+     * Writes the attributes of the provided object.
+     *
+     * @param writer the writing context
+     * @param value the object to be written
+     * @throws XMLStreamException for errors while writing the attributes
+     */
+    void writeAttributes(S100StaxWriter writer, T value) throws XMLStreamException;
+
+    /**
+     * Writes the child elements and the simple content of the provided
+     * object, in schema order.
+     *
+     * @param writer the writing context
+     * @param value the object to be written
+     * @throws XMLStreamException for errors while writing the content
+     */
+    void writeContent(S100StaxWriter writer, T value) throws XMLStreamException;
+
+    /**
+     * Reads an attribute of the current element into the matching property
+     * of the provided object.
+     *
+     * @param reader the reading context
+     * @param target the object being read
+     * @param name the attribute name
+     * @param value the lexical attribute value
+     * @return whether the attribute matched a property
+     * @throws XMLStreamException for errors while reading the attribute
+     */
+    boolean readAttribute(S100StaxReader reader, T target, QName name, String value) throws XMLStreamException;
+
+    /**
+     * Reads an attribute that did not match any property into the attribute
+     * wildcard of the provided object, if any.
+     *
+     * @param reader the reading context
+     * @param target the object being read
+     * @param name the attribute name
+     * @param value the lexical attribute value
+     * @return whether the attribute was read into a wildcard
+     */
+    boolean readAnyAttribute(S100StaxReader reader, T target, QName name, String value);
+
+    /**
+     * Reads the current child element into the matching property of the
+     * provided object. If the element matches, the reader is left at the
+     * end of the element, otherwise it is not moved.
+     *
+     * @param reader the reading context
+     * @param target the object being read
+     * @param name the element name
+     * @return whether the element matched a property
+     * @throws XMLStreamException for errors while reading the element
+     */
+    boolean readElement(S100StaxReader reader, T target, QName name) throws XMLStreamException;
+
+    /**
+     * Reads the current child element, which did not match any property,
+     * into the element wildcard of the provided object, if any. If the
+     * element is read, the reader is left at the end of the element,
+     * otherwise it is not moved.
+     *
+     * @param reader the reading context
+     * @param target the object being read
+     * @return whether the element was read into a wildcard
+     * @throws XMLStreamException for errors while reading the element
+     */
+    boolean readAnyElement(S100StaxReader reader, T target) throws XMLStreamException;
+
+    /**
+     * Returns whether the bound class has simple content, i.e. a property
+     * bound to the text of its element.
+     *
+     * @return whether the bound class has simple content
+     */
+    boolean hasValue();
+
+    /**
+     * Reads the simple content of the current element into the provided
+     * object.
+     *
+     * @param reader the reading context
+     * @param target the object being read
+     * @param text the lexical simple content
+     * @throws XMLStreamException for errors while reading the content
+     */
+    void readValue(S100StaxReader reader, T target, String text) throws XMLStreamException;
+
+    /**
+     * Sets an object referenced by its ID, i.e. through an IDREF attribute
+     * or element, once the whole document has been read.
+     *
+     * @param target the object the reference was read into
+     * @param name the name of the referencing attribute or element
+     * @param value the referenced object
+     */
+    void setReference(T target, QName name, Object value);
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import javax.xml.namespace.QName;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The S-100 StAX Binding Provider Interface.
+ * <p/>
+ * Provides the generated StAX bindings of a single package, as generated at
+ * build time by the {@code -Xstax-codec} XJC plugin into a
+ * {@code StaxBindings} class next to the {@code ObjectFactory} of the
+ * package. Since the classes of a package refer to the classes of the other
+ * packages generated from the same schemas, e.g. to the S-100 GML profile,
+ * each provider also lists the providers of those packages, so that a codec
+ * can be created from the provider of its root class alone, e.g.
+ * <pre>{@code
+ * final S100StaxCodec codec = new S100StaxCodec(new _int.iho.s_125.gml.cs0._1.StaxBindings());
+ * }</pre>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface S100StaxBindingProvider {
+
+    /**
+     * Returns the bindings of the classes of the package.
+     *
+     * @return the class bindings
+     */
+    List<S100StaxBinding<?>> getBindings();
+
+    /**
+     * Returns the bindings of the enumerations of the package.
+     *
+     * @return the enumeration bindings
+     */
+    List<S100StaxEnumBinding<?>> getEnumBindings();
+
+    /**
+     * Returns the declared types of the global element declarations of the
+     * package, i.e. of the elements that are read into JAXB elements, keyed
+     * by their element names.
+     *
+     * @return the declared types of the global elements
+     */
+    Map<QName, Class<?>> getElementDecls();
+
+    /**
+     * Returns the namespaces used by the package, in the order they should
+     * be declared on the root elements.
+     *
+     * @return the namespaces of the package
+     */
+    List<String> getNamespaces();
+
+    /**
+     * Returns the providers of the other packages generated from the same
+     * schemas.
+     *
+     * @return the providers of the related packages
+     */
+    List<S100StaxBindingProvider> getDependencies();
+
+}
@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import jakarta.xml.bind.JAXBElement;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The S-100 StAX Codec Class.
+ * <p/>
+ * A JAXB-free fast path for reading and writing the XJC generated S-100
+ * product classes, e.g. the S-125 and S-201 datasets, directly through the
+ * StAX streaming API. The readers and writers of the generated classes are
+ * themselves generated at build time, by the {@code -Xstax-codec} XJC plugin,
+ * from the same XSD derived outline that the classes are generated from, so
+ * the codec reads and writes the XML content without any JAXB context,
+ * unmarshaller or marshaller, and without any reflection. The produced XML
+ * content is equivalent to the JAXB output, i.e. it contains the same
+ * elements, attributes and values, so that it can be read back by either
+ * engine.
+ * <p/>
+ * The codec instances are thread-safe and should be shared.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100StaxCodec {
+
+    /**
+     * The XML declaration written by JAXB at the start of the documents.
+     */
+    private static final byte[] XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            .getBytes(StandardCharsets.UTF_8);
+
+    // Class Variables
+    private final S100StaxBindingProvider provider;
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory;
+    private final DocumentBuilderFactory documentBuilderFactory;
+    private final StaxValueConverter converter;
+    private volatile StaxBindingModel model;
+
+    /**
+     * The S-100 StAX Codec Constructor.
+     *
+     * @param provider the generated binding provider of the root class package
+     */
+    public S100StaxCodec(S100StaxBindingProvider provider) {
+        this.provider = Objects.requireNonNull(provider, "The StAX binding provider is required");
+        this.inputFactory = XMLInputFactory.newFactory();
+        this.inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.outputFactory = XMLOutputFactory.newFactory();
+        this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        this.documentBuilderFactory.setNamespaceAware(true);
+        this.converter = new StaxValueConverter();
+    }
+
+    /**
+     * Returns the binding model of the codec, assembling it on first use.
+     *
+     * @return the binding model
+     */
+    StaxBindingModel getModel() {
+        StaxBindingModel current = this.model;
+        if(Objects.isNull(current)) {
+            synchronized (this) {
+                current = this.model;
+                if(Objects.isNull(current)) {
+                    current = new StaxBindingModel(this.provider);
+                    this.model = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Marshals the provided object into its XML representation.
+     *
+     * @param value the object to be marshalled
+     * @param format whether to format the XML output
+     * @return the XML representation of the object
+     * @throws XMLStreamException for errors in the marshalling operation
+     */
+    public String marshal(Object value, boolean format) throws XMLStreamException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.marshal(value, out, format);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Marshals the provided object into the provided output stream, using the
+     * UTF-8 encoding. The output stream is not closed.
+     *
+     * @param value the object to be marshalled
+     * @param out the output stream to write the XML representation to
+     * @param format whether to format the XML output
+     * @throws XMLStreamException for errors in the marshalling operation
+     */
+    public void marshal(Object value, OutputStream out, boolean format) throws XMLStreamException {
+        // Sanity Check
+        final StaxBindingModel model = this.getModel();
+        final S100StaxBinding<?> binding = value instanceof JAXBElement<?> ? null : model.getBinding(value.getClass());
+        final QName name = value instanceof JAXBElement<?> element ? element.getName() : Optional.ofNullable(binding)
+                .map(S100StaxBinding::getElementName)
+                .orElse(null);
+        if(Objects.isNull(name)) {
+            throw new XMLStreamException(String.format("Class %s is not bound to a root element", value.getClass().getName()));
+        }
+
+        // Write the same XML declaration as JAXB
+        try {
+            out.write(XML_DECLARATION);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+
+        // And the document itself
+        final XMLStreamWriter writer = this.outputFactory.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        try {
+            final S100StaxWriter context = new S100StaxWriter(model, this.converter, writer, format);
+            if(value instanceof JAXBElement<?> element) {
+                context.writeElement(name, element.isNil() ? null : element.getValue(), model.getBinding(element.getDeclaredType()), true);
+            } else {
+                context.writeElement(name, value, binding, true);
+            }
+            if(format) {
+                writer.writeCharacters("\n");
+            }
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Unmarshals the XML content of the provided input stream into an object
+     * of the requested type. Root elements wrapped into JAXB elements are
+     * unwrapped, unless a JAXB element is requested.
+     *
+     * @param in the input stream of the XML content
+     * @param type the requested type
+     * @param <T> the requested type
+     * @return the unmarshalled object
+     * @throws XMLStreamException for errors in the unmarshalling operation
+     */
+    public <T> T unmarshal(InputStream in, Class<T> type) throws XMLStreamException {
+        final StaxBindingModel model = this.getModel();
+        final XMLStreamReader reader = this.inputFactory.createXMLStreamReader(in);
+        try {
+            reader.nextTag();
+            final S100StaxReader context = new S100StaxReader(model, this.converter, this.documentBuilderFactory, reader);
+            final QName name = reader.getName();
+            final S100StaxBinding<?> rootBinding = model.getRootBinding(name);
+            final Object value;
+            if(Objects.nonNull(rootBinding)) {
+                value = context.read(rootBinding);
+            } else {
+                final Class<?> declaredType = Optional.<Class<?>>ofNullable(model.getElementDecl(name))
+                        .orElseThrow(() -> new XMLStreamException(String.format("Unexpected root element %s", name), reader.getLocation()));
+                value = context.wrap(name, declaredType, null, context.read(declaredType));
+            }
+            context.resolveReferences();
+            return type.cast(value instanceof JAXBElement<?> element && !JAXBElement.class.isAssignableFrom(type) ? element.getValue() : value);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            throw new XMLStreamException(ex.getMessage(), reader.getLocation(), ex);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Opens a streaming reader over the members of the provided container
+     * type, e.g. the members of a dataset, which are a direct child element
+     * of the root element. Each member is only read when requested, so the
+     * members do not have to be held in memory all at once, and the reading
+     * can be abandoned partway through the document. Since the members are
+     * read independently, any IDREF references between different members
+     * are not resolved. The input stream is not closed by the reader.
+     *
+     * @param in the input stream of the XML content
+     * @param containerType the type of the members container
+     * @return the streaming member reader
+     * @throws XMLStreamException for errors while reading the root element
+     */
+    public MemberReader openMembers(InputStream in, Class<?> containerType) throws XMLStreamException {
+        return this.openMembers(in, containerType, S100MemberFilter.ALL);
+    }
+
+    /**
+     * Opens a streaming reader over the members of the provided container
+     * type that are accepted by the provided filter. The elements of all the
+     * other members are skipped by the parser, without building any objects,
+     * so that selective reads are faster in proportion to the selectivity of
+     * the filter.
+     *
+     * @param in the input stream of the XML content
+     * @param containerType the type of the members container
+     * @param filter the filter of the members to be read
+     * @return the streaming member reader
+     * @throws XMLStreamException for errors while reading the root element
+     */
+    public MemberReader openMembers(InputStream in, Class<?> containerType, S100MemberFilter filter) throws XMLStreamException {
+        Objects.requireNonNull(filter, "The member filter is required");
+        final StaxBindingModel model = this.getModel();
+        final XMLStreamReader reader = this.inputFactory.createXMLStreamReader(in);
+        try {
+            return new MemberReader(model, reader, containerType, filter);
+        } catch (XMLStreamException | RuntimeException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a streaming reader projecting the members of the provided
+     * container type that are accepted by the provided filter into
+     * lightweight records, e.g. for map rendering workloads that only need
+     * the IDs, feature types, geometries and a few attributes of the
+     * members. Only the elements of the projected paths are parsed, while
+     * all the other content of the members is skipped.
+     *
+     * @param in the input stream of the XML content
+     * @param containerType the type of the members container
+     * @param filter the filter of the members to be projected
+     * @param projection the projection of the members
+     * @return the streaming projection reader
+     * @throws XMLStreamException for errors while reading the root element
+     */
+    public ProjectionReader openProjections(InputStream in, Class<?> containerType, S100MemberFilter filter, S100MemberProjection projection) throws XMLStreamException {
+        Objects.requireNonNull(projection, "The member projection is required");
+        return new ProjectionReader(this.openMembers(in, containerType, filter), projection);
+    }
+
+    //========================================================================//
+    //                             Member Reader                              //
+    //========================================================================//
+
+    /**
+     * The Member Reader Class.
+     * <p/>
+     * A streaming reader over the members of a container element, which
+     * reads each member only when requested. The members of multiple
+     * occurrences of the container element are read in document order, while
+     * any other content of the document, including the members rejected by
+     * the member filter, is skipped.
+     */
+    public final class MemberReader implements AutoCloseable {
+
+        // Class Variables
+        private final XMLStreamReader reader;
+        private final S100StaxReader context;
+        private final QName containerName;
+        private final S100StaxBinding<?> containerBinding;
+        private final S100MemberFilter filter;
+        private final Map<QName, Class<?>> memberTypes;
+        private boolean inContainer;
+        private boolean finished;
+
+        /**
+         * The Member Reader Constructor.
+         *
+         * @param model the binding model
+         * @param reader the StAX reader, positioned at the start of the document
+         * @param containerType the type of the members container
+         * @param filter the filter of the members to be read
+         * @throws XMLStreamException for errors while reading the root element
+         */
+        MemberReader(StaxBindingModel model, XMLStreamReader reader, Class<?> containerType, S100MemberFilter filter) throws XMLStreamException {
+            this.reader = reader;
+            this.context = new S100StaxReader(model, S100StaxCodec.this.converter, S100StaxCodec.this.documentBuilderFactory, reader);
+            this.filter = filter;
+            this.containerBinding = model.getBinding(containerType);
+            if(Objects.isNull(this.containerBinding)) {
+                throw new XMLStreamException(String.format("Container %s is not bound", containerType.getName()));
+            }
+
+            // Only keep the member elements that might pass the filter
+            this.memberTypes = new HashMap<>();
+            this.containerBinding.getElementTypes().forEach((memberName, memberType) -> {
+                if(filter.acceptsElement(memberName, memberType)) {
+                    this.memberTypes.put(memberName, memberType);
+                }
+            });
+
+            // Find the container element in the root element binding
+            reader.nextTag();
+            final QName name = reader.getName();
+            final S100StaxBinding<?> rootBinding = Optional.<S100StaxBinding<?>>ofNullable(model.getRootBinding(name))
+                    .or(() -> Optional.ofNullable(model.getElementDecl(name)).map(model::getBinding))
+                    .orElseThrow(() -> new XMLStreamException(String.format("Unexpected root element %s", name), reader.getLocation()));
+            this.containerName = rootBinding.getElementTypes()
+                    .entrySet()
+                    .stream()
+                    .filter(entry -> model.getBinding(entry.getValue()) == this.containerBinding)
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElseThrow(() -> new XMLStreamException(String.format("Element %s has no %s container", name, containerType.getName()), reader.getLocation()));
+        }
+
+        /**
+         * Reads the next member of the container, skipping any other content
+         * of the document.
+         *
+         * @return the next member, or null if there are no more members
+         * @throws XMLStreamException for errors while reading the member
+         */
+        public Object next() throws XMLStreamException {
+            return this.advance(this::readMember);
+        }
+
+        /**
+         * Advances to the next member of the container accepted by the member
+         * filter, skipping any other content of the document, and decodes it
+         * with the provided decoder.
+         *
+         * @param decoder the decoder of the member elements
+         * @return the next decoded member, or null if there are no more members
+         * @param <T> the type of the decoded members
+         * @throws XMLStreamException for errors while reading the member
+         */
+        private <T> T advance(MemberDecoder<T> decoder) throws XMLStreamException {
+            try {
+                while(!this.finished && this.reader.hasNext()) {
+                    final int event = this.reader.next();
+                    if(event == XMLStreamConstants.START_ELEMENT && this.inContainer) {
+                        final Class<?> memberType = this.memberTypes.get(this.reader.getName());
+                        if(Objects.isNull(memberType)) {
+                            this.context.skipElement();
+                            continue;
+                        }
+                        final T member = decoder.decode(memberType);
+                        if(Objects.nonNull(member)) {
+                            return member;
+                        }
+                    } else if(event == XMLStreamConstants.START_ELEMENT && this.containerName.equals(this.reader.getName())) {
+                        this.inContainer = true;
+                    } else if(event == XMLStreamConstants.START_ELEMENT) {
+                        this.context.skipElement();
+                    } else if(event == XMLStreamConstants.END_ELEMENT && this.inContainer) {
+                        this.inContainer = false;
+                    } else if(event == XMLStreamConstants.END_ELEMENT) {
+                        this.finished = true;
+                    }
+                }
+                this.finished = true;
+                return null;
+            } catch (IllegalArgumentException | IllegalStateException ex) {
+                throw new XMLStreamException(ex.getMessage(), this.reader.getLocation(), ex);
+            }
+        }
+
+        /**
+         * Reads the current member element into its bound object.
+         *
+         * @param declaredType the declared type of the member element
+         * @return the member, or null if it is nil or rejected by the filter
+         * @throws XMLStreamException for errors while reading the member
+         */
+        private Object readMember(Class<?> declaredType) throws XMLStreamException {
+            final Object member = Optional.<Object>ofNullable(this.context.read(declaredType))
+                    .map(value -> value instanceof JAXBElement<?> element ? element.getValue() : value)
+                    .orElse(null);
+            this.context.resolveReferences();
+            this.context.clearIds();
+            return Objects.nonNull(member) && this.filter.accepts(member) ? member : null;
+        }
+
+        /**
+         * Projects the current member element into a lightweight record,
+         * only descending into the elements of the projected paths and
+         * skipping everything else.
+         *
+         * @param declaredType the declared type of the member element
+         * @param projection the projection of the member
+         * @return the projected member, or null if it is rejected by the filter
+         * @throws XMLStreamException for errors while reading the member
+         */
+        private S100ProjectedMember projectMember(Class<?> declaredType, S100MemberProjection projection) throws XMLStreamException {
+            // Resolve the actual type of the member for the filter
+            Class<?> type = declaredType;
+            final S100StaxBinding<?> typeBinding = this.context.getTypeBinding();
+            if(Objects.nonNull(typeBinding) && type.isAssignableFrom(typeBinding.getType())) {
+                type = typeBinding.getType();
+            }
+            if(!this.filter.acceptsType(type)) {
+                this.context.skipElement();
+                return null;
+            }
+
+            // Project the requested paths of the member
+            final String id = Optional.<S100StaxBinding<?>>ofNullable(S100StaxCodec.this.getModel().getBinding(type))
+                    .map(S100StaxBinding::getIdName)
+                    .map(name -> this.reader.getAttributeValue(name.getNamespaceURI(), name.getLocalPart()))
+                    .orElse(null);
+            final String featureType = this.reader.getLocalName();
+            final Map<String, List<String>> values = new LinkedHashMap<>();
+            this.projectElement("", projection, values);
+            return new S100ProjectedMember(id, featureType, values);
+        }
+
+        /**
+         * Projects the current element, collecting the values of its
+         * projected attributes and text, and descending into its projected
+         * child elements. The reader is left at the end of the element.
+         *
+         * @param path the path of the current element, relative to the member
+         * @param projection the projection of the member
+         * @param values the collected values of the projected paths
+         * @throws XMLStreamException for errors while reading the element
+         */
+        private void projectElement(String path, S100MemberProjection projection, Map<String, List<String>> values) throws XMLStreamException {
+            final String prefix = path.isEmpty() ? "" : path + "/";
+
+            // Collect the projected attributes
+            for(int i = 0; i < this.reader.getAttributeCount(); i++) {
+                final String attributePath = prefix + "@" + this.reader.getAttributeLocalName(i);
+                if(projection.includes(attributePath)) {
+                    values.computeIfAbsent(attributePath, key -> new ArrayList<>()).add(this.reader.getAttributeValue(i));
+                }
+            }
+
+            // Collect the projected text and descend into the projected children
+            final StringBuilder text = !path.isEmpty() && projection.includes(path) ? new StringBuilder() : null;
+            while(this.reader.hasNext()) {
+                final int event = this.reader.next();
+                if(event == XMLStreamConstants.START_ELEMENT) {
+                    final String childPath = prefix + this.reader.getLocalName();
+                    if(projection.traverses(childPath)) {
+                        this.projectElement(childPath, projection, values);
+                    } else {
+                        this.context.skipElement();
+                    }
+                } else if(Objects.nonNull(text) && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    text.append(this.reader.getText());
+                } else if(event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+            }
+            if(Objects.nonNull(text)) {
+                values.computeIfAbsent(path, key -> new ArrayList<>()).add(text.toString().trim());
+            }
+        }
+
+        /**
+         * Closes the underlying StAX reader. The input stream is not closed.
+         *
+         * @throws XMLStreamException for errors while closing the reader
+         */
+        @Override
+        public void close() throws XMLStreamException {
+            this.finished = true;
+            this.reader.close();
+        }
+
+    }
+
+    /**
+     * The Projection Reader Class.
+     * <p/>
+     * A streaming reader over the members of a container element, which
+     * projects each member into a lightweight {@link S100ProjectedMember}
+     * record with only the values of the requested paths. None of the member
+     * objects are built, while the elements outside the projected paths are
+     * skipped without being parsed.
+     */
+    public final class ProjectionReader implements AutoCloseable {
+
+        // Class Variables
+        private final MemberReader memberReader;
+        private final S100MemberProjection projection;
+
+        /**
+         * The Projection Reader Constructor.
+         *
+         * @param memberReader the member reader positioned at the root element
+         * @param projection the projection of the members
+         */
+        ProjectionReader(MemberReader memberReader, S100MemberProjection projection) {
+            this.memberReader = memberReader;
+            this.projection = projection;
+        }
+
+        /**
+         * Projects the next member of the container, skipping any other
+         * content of the document.
+         *
+         * @return the next projected member, or null if there are no more members
+         * @throws XMLStreamException for errors while reading the member
+         */
+        public S100ProjectedMember next() throws XMLStreamException {
+            return this.memberReader.advance(declaredType -> this.memberReader.projectMember(declaredType, this.projection));
+        }
+
+        /**
+         * Closes the underlying StAX reader. The input stream is not closed.
+         *
+         * @throws XMLStreamException for errors while closing the reader
+         */
+        @Override
+        public void close() throws XMLStreamException {
+            this.memberReader.close();
+        }
+
+    }
+
+    /**
+     * The decoder of the member elements of a member reader.
+     *
+     * @param <T> the type of the decoded members
+     */
+    /**
+     * The decoder of the member elements of a member reader.
+     *
+     * @param <T> the type of the decoded members
+     */
+    @FunctionalInterface
+    private interface MemberDecoder<T> {
+
+        /**
+         * Decodes the current member element, leaving the reader at its end.
+         *
+         * @param declaredType the declared type of the member element
+         * @return the decoded member, or null if it should be skipped
+         * @throws XMLStreamException for errors while reading the member
+         */
+        T decode(Class<?> declaredType) throws XMLStreamException;
+
+    }
+
+}
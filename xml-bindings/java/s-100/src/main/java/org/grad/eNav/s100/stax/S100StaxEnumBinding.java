@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+/**
+ * The S-100 StAX Enum Binding Interface.
+ * <p/>
+ * The converter of a single XJC generated enumeration, generated at build
+ * time by the {@code -Xstax-codec} XJC plugin, which translates between the
+ * enumeration constants and their lexical values through the generated
+ * {@code value()} and {@code fromValue()} methods of the enumeration.
+ *
+ * @param <E> the bound enumeration
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface S100StaxEnumBinding<E> {
+
+    /**
+     * Returns the bound enumeration.
+     *
+     * @return the bound enumeration
+     */
+    Class<E> getType();
+
+    /**
+     * Returns the type of the values of the enumeration constants, e.g. the
+     * String class.
+     *
+     * @return the type of the values of the constants
+     */
+    Class<?> getValueType();
+
+    /**
+     * Returns the enumeration constant of the provided value.
+     *
+     * @param value the value of the constant
+     * @return the enumeration constant
+     * @throws IllegalArgumentException if no constant has the provided value
+     */
+    E fromValue(Object value);
+
+    /**
+     * Returns the value of the provided enumeration constant.
+     *
+     * @param constant the enumeration constant
+     * @return the value of the constant
+     */
+    Object toValue(E constant);
+
+}
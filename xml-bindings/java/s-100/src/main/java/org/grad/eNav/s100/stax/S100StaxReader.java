@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.*;
+
+/**
+ * The S-100 StAX Reader Class.
+ * <p/>
+ * The reading context of a single unmarshalling operation of the
+ * {@link S100StaxCodec}. The generated {@link S100StaxBinding} classes read
+ * their properties through this context, which handles the XML level details
+ * that are common to all the classes, i.e. the nil elements, the
+ * {@code xsi:type} overrides, the simple value conversions, the wildcard
+ * elements and the resolution of the ID references.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100StaxReader {
+
+    /**
+     * The XML schema instance namespace, for the xsi:type and xsi:nil
+     * attributes.
+     */
+    private static final String XSI = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+
+    // Class Variables
+    private final StaxBindingModel model;
+    private final StaxValueConverter converter;
+    private final DocumentBuilderFactory documentBuilderFactory;
+    private final XMLStreamReader reader;
+    private final Map<String, Object> ids;
+    private final List<Runnable> references;
+    private Document document;
+
+    /**
+     * The S-100 StAX Reader Constructor.
+     *
+     * @param model the binding model
+     * @param converter the value converter
+     * @param documentBuilderFactory the factory of the DOM wildcard documents
+     * @param reader the StAX reader
+     */
+    S100StaxReader(StaxBindingModel model, StaxValueConverter converter, DocumentBuilderFactory documentBuilderFactory, XMLStreamReader reader) {
+        this.model = model;
+        this.converter = converter;
+        this.documentBuilderFactory = documentBuilderFactory;
+        this.reader = reader;
+        this.ids = new HashMap<>();
+        this.references = new ArrayList<>();
+    }
+
+    /**
+     * Reads the current element through the provided binding, or the binding
+     * of its xsi:type if that is a subtype. The reader is left at the end of
+     * the element.
+     *
+     * @param binding the binding of the declared element type
+     * @param <T> the declared element type
+     * @return the read object, or null for nil elements
+     * @throws XMLStreamException for errors while reading the element
+     */
+    public <T> T read(S100StaxBinding<T> binding) throws XMLStreamException {
+        if(this.skipNil()) {
+            return null;
+        }
+        return this.readContent(this.resolveType(binding));
+    }
+
+    /**
+     * Reads the current element into a value of the provided type, which
+     * may either be a bound class or a simple type. The reader is left at
+     * the end of the element.
+     *
+     * @param type the declared element type
+     * @param <T> the declared element type
+     * @return the read value, or null for nil elements
+     * @throws XMLStreamException for errors while reading the element
+     */
+    public <T> T read(Class<T> type) throws XMLStreamException {
+        if(this.skipNil()) {
+            return null;
+        }
+
+        // Bound classes, with their xsi:type if any
+        final S100StaxBinding<T> binding = this.model.getBinding(type);
+        if(Objects.nonNull(binding)) {
+            return this.readContent(this.resolveType(binding));
+        }
+        else if(type == Object.class || type == Element.class) {
+            final S100StaxBinding<?> typeBinding = this.getTypeBinding();
+            return type.cast(Objects.nonNull(typeBinding) && type == Object.class ? this.readContent(typeBinding) : this.readDomElement());
+        }
+
+        // Otherwise simple values
+        return this.parse(this.reader.getElementText(), type);
+    }
+
+    /**
+     * Reads the text of the current element as a whitespace separated list
+     * of values of the provided type. The reader is left at the end of the
+     * element.
+     *
+     * @param type the type of the list items
+     * @param <T> the type of the list items
+     * @return the list of the read values, or null for nil elements
+     * @throws XMLStreamException for errors while reading the element
+     */
+    public <T> List<T> readList(Class<T> type) throws XMLStreamException {
+        if(this.skipNil()) {
+            return null;
+        }
+        return this.parseList(this.reader.getElementText(), type);
+    }
+
+    /**
+     * Reads the text of the current element, e.g. for the ID references.
+     * The reader is left at the end of the element.
+     *
+     * @return the text of the element, or null for nil elements
+     * @throws XMLStreamException for errors while reading the element
+     */
+    public String readText() throws XMLStreamException {
+        if(this.skipNil()) {
+            return null;
+        }
+        return this.reader.getElementText();
+    }
+
+    /**
+     * Reads the current element of a wildcard, either as a bound root
+     * element, as a global element declaration or as a DOM element. The
+     * reader is left at the end of the element.
+     *
+     * @param lax whether the bound elements should be read into their classes
+     * @return the read value
+     * @throws XMLStreamException for errors while reading the element
+     */
+    public Object readAny(boolean lax) throws XMLStreamException {
+        final QName name = this.reader.getName();
+        if(lax) {
+            final S100StaxBinding<?> rootBinding = this.model.getRootBinding(name);
+            if(Objects.nonNull(rootBinding)) {
+                return this.read(rootBinding);
+            }
+            final Class<?> declaredType = this.model.getElementDecl(name);
+            if(Objects.nonNull(declaredType)) {
+                return this.wrap(name, declaredType, null, this.read(declaredType));
+            }
+        }
+        return this.readDomElement();
+    }
+
+    /**
+     * Wraps a read value into a JAXB element, for the element references to
+     * element declarations.
+     *
+     * @param name the element name
+     * @param declaredType the declared type of the element
+     * @param scope the scope of the element, or null if global
+     * @param value the read value, or null for nil elements
+     * @param <T> the declared type of the element
+     * @return the JAXB element
+     */
+    public <T> JAXBElement<T> wrap(QName name, Class<T> declaredType, Class<?> scope, Object value) {
+        final JAXBElement<T> element = new JAXBElement<>(name, declaredType, scope, declaredType.cast(value));
+        element.setNil(Objects.isNull(value));
+        return element;
+    }
+
+    /**
+     * Parses the provided lexical value into the provided simple type,
+     * including the bound enumerations.
+     *
+     * @param text the lexical value
+     * @param type the simple type
+     * @param <T> the simple type
+     * @return the parsed value, or null if no value is provided
+     * @throws XMLStreamException for invalid lexical values
+     */
+    public <T> T parse(String text, Class<T> type) throws XMLStreamException {
+        if(Objects.isNull(text)) {
+            return null;
+        }
+        try {
+            final S100StaxEnumBinding<T> enumBinding = this.model.getEnumBinding(type);
+            if(Objects.nonNull(enumBinding)) {
+                return enumBinding.fromValue(this.parse(text.trim(), enumBinding.getValueType()));
+            }
+            return type.cast(this.converter.parse(text, type, this.reader.getNamespaceContext()));
+        } catch (IllegalArgumentException ex) {
+            throw new XMLStreamException(ex.getMessage(), this.reader.getLocation(), ex);
+        }
+    }
+
+    /**
+     * Parses the provided whitespace separated list of lexical values into
+     * values of the provided simple type.
+     *
+     * @param text the lexical values
+     * @param type the simple type of the list items
+     * @param <T> the simple type of the list items
+     * @return the list of the parsed values, or null if no value is provided
+     * @throws XMLStreamException for invalid lexical values
+     */
+    public <T> List<T> parseList(String text, Class<T> type) throws XMLStreamException {
+        if(Objects.isNull(text)) {
+            return null;
+        }
+        final List<T> values = new ArrayList<>();
+        for(String item : text.trim().split("\\s+")) {
+            if(!item.isEmpty()) {
+                values.add(this.parse(item, type));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Converts a read value into its bound type through the provided
+     * adapter.
+     *
+     * @param adapter the adapter of the property
+     * @param value the read value
+     * @param <V> the read value type
+     * @param <B> the bound type
+     * @return the bound value, or null if no value is provided
+     * @throws XMLStreamException for errors in the adapter
+     */
+    public <V, B> B unadapt(XmlAdapter<V, B> adapter, V value) throws XMLStreamException {
+        if(Objects.isNull(value)) {
+            return null;
+        }
+        try {
+            return adapter.unmarshal(value);
+        } catch (Exception ex) {
+            throw new XMLStreamException(ex.getMessage(), this.reader.getLocation(), ex);
+        }
+    }
+
+    /**
+     * Converts a list of read values into their bound type through the
+     * provided adapter.
+     *
+     * @param adapter the adapter of the property
+     * @param values the read values
+     * @param <V> the read value type
+     * @param <B> the bound type
+     * @return the list of the bound values, or null if no values are provided
+     * @throws XMLStreamException for errors in the adapter
+     */
+    public <V, B> List<B> unadaptList(XmlAdapter<V, B> adapter, List<V> values) throws XMLStreamException {
+        if(Objects.isNull(values)) {
+            return null;
+        }
+        final List<B> bound = new ArrayList<>(values.size());
+        for(V value : values) {
+            bound.add(this.unadapt(adapter, value));
+        }
+        return bound;
+    }
+
+    /**
+     * Registers an object by its ID, so that it can be referenced by the
+     * IDREF attributes and elements of the document.
+     *
+     * @param id the ID of the object
+     * @param value the object
+     */
+    public void registerId(String id, Object value) {
+        if(Objects.nonNull(id)) {
+            this.ids.put(id, value);
+        }
+    }
+
+    /**
+     * Registers the references of a property to objects by their IDs, which
+     * are set through the provided binding once the whole document has been
+     * read.
+     *
+     * @param binding the binding of the referencing object
+     * @param target the referencing object
+     * @param name the name of the referencing attribute or element
+     * @param text the whitespace separated IDs of the referenced objects
+     * @param <T> the class of the referencing object
+     */
+    public <T> void reference(S100StaxBinding<T> binding, T target, QName name, String text) {
+        if(Objects.isNull(text)) {
+            return;
+        }
+        for(String id : text.trim().split("\\s+")) {
+            if(!id.isEmpty()) {
+                this.references.add(() -> binding.setReference(target, name, this.ids.get(id)));
+            }
+        }
+    }
+
+    //========================================================================//
+    //                            Codec Operations                            //
+    //========================================================================//
+
+    /**
+     * Returns the underlying StAX reader.
+     *
+     * @return the StAX reader
+     */
+    XMLStreamReader getStreamReader() {
+        return this.reader;
+    }
+
+    /**
+     * Resolves the binding of the current element, i.e. the binding of its
+     * xsi:type if that is a subtype of the declared one.
+     *
+     * @param binding the binding of the declared element type
+     * @param <T> the declared element type
+     * @return the binding of the actual element type
+     * @throws XMLStreamException for invalid xsi:type values
+     */
+    @SuppressWarnings("unchecked")
+    <T> S100StaxBinding<? extends T> resolveType(S100StaxBinding<T> binding) throws XMLStreamException {
+        final S100StaxBinding<?> typeBinding = this.getTypeBinding();
+        if(Objects.nonNull(typeBinding) && binding.getType().isAssignableFrom(typeBinding.getType())) {
+            return (S100StaxBinding<? extends T>) typeBinding;
+        }
+        return binding;
+    }
+
+    /**
+     * Returns the binding of the xsi:type of the current element, if any.
+     *
+     * @return the binding of the xsi:type, or null if not available
+     * @throws XMLStreamException for invalid xsi:type values
+     */
+    S100StaxBinding<?> getTypeBinding() throws XMLStreamException {
+        final String xsiType = this.reader.getAttributeValue(XSI, "type");
+        return Objects.isNull(xsiType) ? null : this.model.getType(this.parse(xsiType, QName.class));
+    }
+
+    /**
+     * Reads the attributes and the content of the current element through
+     * the provided binding.
+     *
+     * @param binding the binding of the element class
+     * @param <T> the element class
+     * @return the read object
+     * @throws XMLStreamException for errors while reading the content
+     */
+    <T> T readContent(S100StaxBinding<T> binding) throws XMLStreamException {
+        final T value;
+        try {
+            value = binding.newInstance();
+        } catch (IllegalStateException ex) {
+            throw new XMLStreamException(ex.getMessage(), this.reader.getLocation(), ex);
+        }
+
+        // First the attributes
+        for(int i = 0; i < this.reader.getAttributeCount(); i++) {
+            final QName name = this.reader.getAttributeName(i);
+            if(XSI.equals(name.getNamespaceURI())) {
+                continue;
+            }
+            final String attribute = this.reader.getAttributeValue(i);
+            if(!binding.readAttribute(this, value, name, attribute)) {
+                binding.readAnyAttribute(this, value, name, attribute);
+            }
+        }
+
+        // Then the child elements and the simple content
+        final StringBuilder text = binding.hasValue() ? new StringBuilder() : null;
+        while(this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                if(!binding.readElement(this, value, this.reader.getName()) && !binding.readAnyElement(this, value)) {
+                    this.skipElement();
+                }
+            } else if(Objects.nonNull(text) && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                text.append(this.reader.getText());
+            } else if(event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        if(Objects.nonNull(text) && !text.isEmpty()) {
+            binding.readValue(this, value, text.toString());
+        }
+        return value;
+    }
+
+    /**
+     * Skips the current element, including all its content.
+     *
+     * @throws XMLStreamException for errors while reading the element
+     */
+    void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while(depth > 0 && this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if(event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Resolves all the object references by their IDs.
+     */
+    void resolveReferences() {
+        this.references.forEach(Runnable::run);
+        this.references.clear();
+    }
+
+    /**
+     * Forgets all the objects read so far by their IDs, so that they are
+     * not retained once they can no longer be referenced.
+     */
+    void clearIds() {
+        this.ids.clear();
+    }
+
+    /**
+     * Skips the current element if it is nil.
+     *
+     * @return whether the element was nil
+     * @throws XMLStreamException for errors while reading the element
+     */
+    private boolean skipNil() throws XMLStreamException {
+        final String nil = this.reader.getAttributeValue(XSI, "nil");
+        if("true".equals(nil) || "1".equals(nil)) {
+            this.skipElement();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the current element into a DOM element.
+     *
+     * @return the DOM element
+     * @throws XMLStreamException for errors while reading the element
+     */
+    private Element readDomElement() throws XMLStreamException {
+        if(Objects.isNull(this.document)) {
+            try {
+                this.document = this.documentBuilderFactory.newDocumentBuilder().newDocument();
+            } catch (ParserConfigurationException ex) {
+                throw new XMLStreamException(ex);
+            }
+        }
+        final Element element = this.document.createElementNS(emptyToNull(this.reader.getNamespaceURI()), qualifiedName(this.reader.getPrefix(), this.reader.getLocalName()));
+        for(int i = 0; i < this.reader.getNamespaceCount(); i++) {
+            final String prefix = this.reader.getNamespacePrefix(i);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, Objects.isNull(prefix) || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix, this.reader.getNamespaceURI(i));
+        }
+        for(int i = 0; i < this.reader.getAttributeCount(); i++) {
+            element.setAttributeNS(emptyToNull(this.reader.getAttributeNamespace(i)), qualifiedName(this.reader.getAttributePrefix(i), this.reader.getAttributeLocalName(i)), this.reader.getAttributeValue(i));
+        }
+        while(this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                element.appendChild(this.readDomElement());
+            } else if(event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                element.appendChild(this.document.createTextNode(this.reader.getText()));
+            } else if(event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Converts empty namespaces to nulls, as required by the DOM API.
+     *
+     * @param namespace the namespace
+     * @return the namespace, or null if empty
+     */
+    private static String emptyToNull(String namespace) {
+        return Objects.isNull(namespace) || namespace.isEmpty() ? null : namespace;
+    }
+
+    /**
+     * Generates a qualified name from the provided prefix and local name.
+     *
+     * @param prefix the prefix, if any
+     * @param localName the local name
+     * @return the qualified name
+     */
+    private static String qualifiedName(String prefix, String localName) {
+        return Objects.isNull(prefix) || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+import org.w3c.dom.*;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The S-100 StAX Writer Class.
+ * <p/>
+ * The writing context of a single marshalling operation of the
+ * {@link S100StaxCodec}. The generated {@link S100StaxBinding} classes write
+ * their properties through this context, which handles the XML level details
+ * that are common to all the classes, i.e. the namespace declarations, the
+ * formatting, the nil elements, the {@code xsi:type} overrides, the simple
+ * value conversions and the wildcard elements.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100StaxWriter {
+
+    /**
+     * The XML schema instance namespace, for the xsi:type and xsi:nil
+     * attributes.
+     */
+    private static final String XSI = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+
+    /**
+     * The indentation used for the formatted output, as in JAXB.
+     */
+    private static final String INDENT = "    ";
+
+    // Class Variables
+    private final StaxBindingModel model;
+    private final StaxValueConverter converter;
+    private final XMLStreamWriter writer;
+    private final boolean format;
+    private final BitSet children;
+    private int depth;
+    private int prefixIndex;
+
+    /**
+     * The S-100 StAX Writer Constructor.
+     *
+     * @param model the binding model
+     * @param converter the value converter
+     * @param writer the StAX writer
+     * @param format whether to format the XML output
+     */
+    S100StaxWriter(StaxBindingModel model, StaxValueConverter converter, XMLStreamWriter writer, boolean format) {
+        this.model = model;
+        this.converter = converter;
+        this.writer = writer;
+        this.format = format;
+        this.children = new BitSet();
+        this.depth = 0;
+        this.prefixIndex = model.getNamespaces().size();
+    }
+
+    /**
+     * Writes an element with the provided object as its content, through
+     * the binding of its runtime class, with its xsi:type if that is not the
+     * declared one.
+     *
+     * @param name the element name
+     * @param value the element content, or null for nil elements
+     * @param binding the binding of the declared element type
+     * @throws XMLStreamException for errors while writing the element
+     */
+    public void writeObject(QName name, Object value, S100StaxBinding<?> binding) throws XMLStreamException {
+        this.writeElement(name, value, binding, false);
+    }
+
+    /**
+     * Writes an element with the provided value as its content, which may
+     * either be a bound object or a simple value.
+     *
+     * @param name the element name
+     * @param value the element content, or null for nil elements
+     * @param declaredType the declared element type
+     * @throws XMLStreamException for errors while writing the element
+     */
+    public void writeObject(QName name, Object value, Class<?> declaredType) throws XMLStreamException {
+        this.writeElement(name, value, Objects.isNull(declaredType) ? null : this.model.getBinding(declaredType), false);
+    }
+
+    /**
+     * Writes an element with the provided simple value as its text.
+     *
+     * @param name the element name
+     * @param value the simple value
+     * @throws XMLStreamException for errors while writing the element
+     */
+    public void writeSimple(QName name, Object value) throws XMLStreamException {
+        this.startElement(name, false);
+        this.writer.writeCharacters(this.print(value));
+        this.endElement();
+    }
+
+    /**
+     * Writes a nil element.
+     *
+     * @param name the element name
+     * @throws XMLStreamException for errors while writing the element
+     */
+    public void writeNil(QName name) throws XMLStreamException {
+        this.startElement(name, false);
+        this.writeAttribute(new QName(XSI, "nil"), "true");
+        this.endElement();
+    }
+
+    /**
+     * Writes an item of a wildcard or element reference property, i.e. a
+     * JAXB element, a root element object or a DOM element.
+     *
+     * @param value the item to be written
+     * @throws XMLStreamException for errors while writing the item
+     */
+    public void writeAny(Object value) throws XMLStreamException {
+        if(value instanceof JAXBElement<?> element) {
+            this.writeObject(element.getName(), element.isNil() ? null : element.getValue(), element.getDeclaredType());
+        } else if(value instanceof Element element) {
+            this.writeDomElement(element);
+        } else if(Objects.nonNull(value)) {
+            final S100StaxBinding<?> binding = this.model.getBinding(value.getClass());
+            if(Objects.isNull(binding) || Objects.isNull(binding.getElementName())) {
+                throw new XMLStreamException(String.format("Class %s is not bound to an element", value.getClass().getName()));
+            }
+            this.writeElement(binding.getElementName(), value, binding, false);
+        }
+    }
+
+    /**
+     * Writes an attribute of the current element, declaring its namespace
+     * if not already declared.
+     *
+     * @param name the attribute name
+     * @param value the attribute value
+     * @throws XMLStreamException for errors while writing the attribute
+     */
+    public void writeAttribute(QName name, String value) throws XMLStreamException {
+        final String namespace = name.getNamespaceURI();
+        if(namespace.isEmpty()) {
+            this.writer.writeAttribute(name.getLocalPart(), value);
+            return;
+        }
+        this.writer.writeAttribute(this.getPrefix(namespace), namespace, name.getLocalPart(), value);
+    }
+
+    /**
+     * Writes the attributes of an attribute wildcard.
+     *
+     * @param attributes the wildcard attributes
+     * @throws XMLStreamException for errors while writing the attributes
+     */
+    public void writeAttributes(Map<QName, String> attributes) throws XMLStreamException {
+        for(Map.Entry<QName, String> attribute : attributes.entrySet()) {
+            this.writeAttribute(attribute.getKey(), attribute.getValue());
+        }
+    }
+
+    /**
+     * Writes the simple content of the current element.
+     *
+     * @param text the simple content
+     * @throws XMLStreamException for errors while writing the content
+     */
+    public void writeCharacters(String text) throws XMLStreamException {
+        this.writer.writeCharacters(text);
+    }
+
+    /**
+     * Prints a simple value, including the values of the bound enumerations,
+     * declaring the namespaces of QName values if required.
+     *
+     * @param value the value to be printed
+     * @return the lexical representation of the value
+     * @throws XMLStreamException for errors while declaring the namespaces
+     */
+    public String print(Object value) throws XMLStreamException {
+        if(value instanceof Enum<?> constant) {
+            return this.printConstant(this.model.getEnumBinding(constant.getDeclaringClass()), constant);
+        } else if(value instanceof QName qName && !qName.getNamespaceURI().isEmpty()) {
+            final String prefix = this.getPrefix(qName.getNamespaceURI());
+            return this.converter.print(value, namespace -> prefix);
+        }
+        return this.converter.print(value, namespace -> "");
+    }
+
+    /**
+     * Prints a list of simple values as a whitespace separated value.
+     *
+     * @param values the values to be printed
+     * @return the lexical representation of the values
+     * @throws XMLStreamException for errors while declaring the namespaces
+     */
+    public String printList(List<?> values) throws XMLStreamException {
+        final StringJoiner joiner = new StringJoiner(" ");
+        for(Object value : values) {
+            joiner.add(this.print(value));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Prints the ID of a referenced object.
+     *
+     * @param value the referenced object
+     * @return the ID of the referenced object
+     */
+    public String printId(Object value) {
+        return Objects.toString(this.getId(value), String.valueOf(value));
+    }
+
+    /**
+     * Prints the IDs of a list of referenced objects, as a whitespace
+     * separated value.
+     *
+     * @param values the referenced objects
+     * @return the IDs of the referenced objects
+     */
+    public String printIds(List<?> values) {
+        final StringJoiner joiner = new StringJoiner(" ");
+        for(Object value : values) {
+            joiner.add(this.printId(value));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Converts a bound value into the value to be written through the
+     * provided adapter.
+     *
+     * @param adapter the adapter of the property
+     * @param value the bound value
+     * @param <V> the written value type
+     * @param <B> the bound type
+     * @return the value to be written, or null if no value is provided
+     * @throws XMLStreamException for errors in the adapter
+     */
+    public <V, B> V adapt(XmlAdapter<V, B> adapter, B value) throws XMLStreamException {
+        if(Objects.isNull(value)) {
+            return null;
+        }
+        try {
+            return adapter.marshal(value);
+        } catch (Exception ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    /**
+     * Converts a list of bound values into the values to be written through
+     * the provided adapter.
+     *
+     * @param adapter the adapter of the property
+     * @param values the bound values
+     * @param <V> the written value type
+     * @param <B> the bound type
+     * @return the list of the values to be written
+     * @throws XMLStreamException for errors in the adapter
+     */
+    public <V, B> List<V> adaptList(XmlAdapter<V, B> adapter, List<? extends B> values) throws XMLStreamException {
+        final List<V> adapted = new java.util.ArrayList<>(values.size());
+        for(B value : values) {
+            adapted.add(this.adapt(adapter, value));
+        }
+        return adapted;
+    }
+
+    //========================================================================//
+    //                            Codec Operations                            //
+    //========================================================================//
+
+    /**
+     * Writes an element with the provided content.
+     *
+     * @param name the element name
+     * @param value the element content, or null for nil elements
+     * @param declared the binding of the declared element type, if any
+     * @param root whether this is the root element
+     * @throws XMLStreamException for errors while writing the element
+     */
+    void writeElement(QName name, Object value, S100StaxBinding<?> declared, boolean root) throws XMLStreamException {
+        this.startElement(name, root);
+
+        // Nil elements
+        if(Objects.isNull(value)) {
+            this.writeAttribute(new QName(XSI, "nil"), "true");
+            this.endElement();
+            return;
+        }
+
+        // Complex values, with their runtime type if not the declared one
+        final S100StaxBinding<?> binding = Objects.nonNull(declared) && declared.getType() == value.getClass() ?
+                declared :
+                this.model.getBinding(value.getClass());
+        if(Objects.nonNull(binding)) {
+            if(binding != declared && Objects.nonNull(binding.getTypeName())) {
+                this.writeAttribute(new QName(XSI, "type"), this.print(binding.getTypeName()));
+            }
+            this.writeContent(binding, value);
+        }
+        // DOM elements
+        else if(value instanceof Element element) {
+            this.writeDomContent(element);
+        }
+        // And simple values
+        else {
+            this.writer.writeCharacters(this.print(value));
+        }
+        this.endElement();
+    }
+
+    /**
+     * Writes the attributes and the content of a bound object.
+     *
+     * @param binding the binding of the object class
+     * @param value the bound object
+     * @param <T> the object class
+     * @throws XMLStreamException for errors while writing the content
+     */
+    private <T> void writeContent(S100StaxBinding<T> binding, Object value) throws XMLStreamException {
+        final T object = binding.getType().cast(value);
+        binding.writeAttributes(this, object);
+        binding.writeContent(this, object);
+    }
+
+    /**
+     * Writes a DOM element, e.g. of a wildcard property.
+     *
+     * @param element the DOM element
+     * @throws XMLStreamException for errors while writing the element
+     */
+    private void writeDomElement(Element element) throws XMLStreamException {
+        this.startElement(new QName(Objects.requireNonNullElse(element.getNamespaceURI(), ""),
+                Objects.requireNonNullElse(element.getLocalName(), element.getTagName())), false);
+        this.writeDomContent(element);
+        this.endElement();
+    }
+
+    /**
+     * Writes the attributes and the content of a DOM element.
+     *
+     * @param element the DOM element
+     * @throws XMLStreamException for errors while writing the content
+     */
+    private void writeDomContent(Element element) throws XMLStreamException {
+        final NamedNodeMap attributes = element.getAttributes();
+        for(int i = 0; i < attributes.getLength(); i++) {
+            final Attr attribute = (Attr) attributes.item(i);
+            if(!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                this.writeAttribute(new QName(Objects.requireNonNullElse(attribute.getNamespaceURI(), ""),
+                        Objects.requireNonNullElse(attribute.getLocalName(), attribute.getName())), attribute.getValue());
+            }
+        }
+        boolean elements = false;
+        for(Node child = element.getFirstChild(); Objects.nonNull(child); child = child.getNextSibling()) {
+            if(child instanceof Element childElement) {
+                this.writeDomElement(childElement);
+                elements = true;
+            } else if(child instanceof Text text && !(elements && text.getData().isBlank())) {
+                this.writer.writeCharacters(text.getData());
+            }
+        }
+    }
+
+    /**
+     * Starts a new element, declaring all the model namespaces on the root
+     * element, as JAXB does.
+     *
+     * @param name the element name
+     * @param root whether this is the root element
+     * @throws XMLStreamException for errors while writing the element
+     */
+    private void startElement(QName name, boolean root) throws XMLStreamException {
+        if(this.format) {
+            this.writer.writeCharacters("\n" + INDENT.repeat(this.depth));
+        }
+        if(this.depth > 0) {
+            this.children.set(this.depth - 1);
+        }
+        this.children.clear(this.depth);
+        this.depth++;
+
+        // Write the element, with any required namespace declarations
+        final String namespace = name.getNamespaceURI();
+        if(root) {
+            final String prefix = namespace.isEmpty() ? "" : this.model.getNamespaces().getOrDefault(namespace, this.newPrefix());
+            this.writer.writeStartElement(prefix, name.getLocalPart(), namespace);
+            this.declareNamespace(prefix, namespace);
+            for(Map.Entry<String, String> entry : this.model.getNamespaces().entrySet()) {
+                if(!entry.getKey().equals(namespace)) {
+                    this.declareNamespace(entry.getValue(), entry.getKey());
+                }
+            }
+        } else if(namespace.isEmpty()) {
+            this.writer.writeStartElement(name.getLocalPart());
+        } else {
+            final String prefix = this.writer.getPrefix(namespace);
+            if(Objects.nonNull(prefix)) {
+                this.writer.writeStartElement(prefix, name.getLocalPart(), namespace);
+            } else {
+                final String newPrefix = this.newPrefix();
+                this.writer.writeStartElement(newPrefix, name.getLocalPart(), namespace);
+                this.declareNamespace(newPrefix, namespace);
+            }
+        }
+    }
+
+    /**
+     * Ends the current element, indenting its end tag if it had any child
+     * elements.
+     *
+     * @throws XMLStreamException for errors while writing the element
+     */
+    private void endElement() throws XMLStreamException {
+        this.depth--;
+        if(this.format && this.children.get(this.depth)) {
+            this.writer.writeCharacters("\n" + INDENT.repeat(this.depth));
+        }
+        this.writer.writeEndElement();
+    }
+
+    /**
+     * Returns the prefix of the provided namespace, declaring it on the
+     * current element if not already declared.
+     *
+     * @param namespace the namespace
+     * @return the namespace prefix
+     * @throws XMLStreamException for errors while declaring the namespace
+     */
+    private String getPrefix(String namespace) throws XMLStreamException {
+        final String prefix = this.writer.getPrefix(namespace);
+        if(Objects.nonNull(prefix) && !prefix.isEmpty()) {
+            return prefix;
+        }
+        final String newPrefix = XSI.equals(namespace) ? "xsi" : this.newPrefix();
+        this.declareNamespace(newPrefix, namespace);
+        return newPrefix;
+    }
+
+    /**
+     * Declares a namespace on the current element.
+     *
+     * @param prefix the namespace prefix
+     * @param namespace the namespace
+     * @throws XMLStreamException for errors while declaring the namespace
+     */
+    private void declareNamespace(String prefix, String namespace) throws XMLStreamException {
+        if(namespace.isEmpty()) {
+            return;
+        }
+        if(prefix.isEmpty()) {
+            this.writer.writeDefaultNamespace(namespace);
+            this.writer.setDefaultNamespace(namespace);
+        } else {
+            this.writer.writeNamespace(prefix, namespace);
+            this.writer.setPrefix(prefix, namespace);
+        }
+    }
+
+    /**
+     * Generates a new namespace prefix, not used by the model.
+     *
+     * @return the new namespace prefix
+     */
+    private String newPrefix() {
+        String prefix;
+        do {
+            prefix = "ns" + (++this.prefixIndex);
+        } while(this.model.getNamespaces().containsValue(prefix));
+        return prefix;
+    }
+
+    /**
+     * Prints the value of an enumeration constant through its binding.
+     *
+     * @param enumBinding the binding of the enumeration
+     * @param constant the enumeration constant
+     * @param <E> the enumeration
+     * @return the lexical value of the constant
+     * @throws XMLStreamException if the enumeration is not bound
+     */
+    private <E> String printConstant(S100StaxEnumBinding<E> enumBinding, Object constant) throws XMLStreamException {
+        if(Objects.isNull(enumBinding)) {
+            throw new XMLStreamException(String.format("Enumeration %s is not bound", constant.getClass().getName()));
+        }
+        return this.print(enumBinding.toValue(enumBinding.getType().cast(constant)));
+    }
+
+    /**
+     * Returns the ID of a bound object.
+     *
+     * @param value the bound object
+     * @return the ID of the object, or null if not available
+     */
+    private String getId(Object value) {
+        final S100StaxBinding<?> binding = this.model.getBinding(value.getClass());
+        return Objects.isNull(binding) ? null : this.getId(binding, value);
+    }
+
+    /**
+     * Returns the ID of a bound object through its binding.
+     *
+     * @param binding the binding of the object class
+     * @param value the bound object
+     * @param <T> the object class
+     * @return the ID of the object, or null if not available
+     */
+    private <T> String getId(S100StaxBinding<T> binding, Object value) {
+        return binding.getId(binding.getType().cast(value));
+    }
+
+}
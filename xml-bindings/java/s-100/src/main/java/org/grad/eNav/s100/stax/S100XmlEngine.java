@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+/**
+ * The S100 XML Engine Enum.
+ * <p/>
+ * Selects the engine used by the product utilities, e.g. the S-125 ones, to
+ * marshal and unmarshall the datasets. Both engines produce equivalent XML
+ * representations and objects, so they can be used interchangeably.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public enum S100XmlEngine {
+    /**
+     * The standard JAXB runtime, which remains the default engine.
+     */
+    JAXB,
+    /**
+     * The JAXB-free StAX codec, which reads and writes the datasets directly
+     * through the StAX API without the JAXB runtime.
+     */
+    STAX
+}
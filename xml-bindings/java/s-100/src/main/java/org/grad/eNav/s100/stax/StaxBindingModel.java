@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import jakarta.xml.bind.annotation.XmlNs;
+import jakarta.xml.bind.annotation.XmlSchema;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import java.util.*;
+
+/**
+ * The StAX Binding Model Class.
+ * <p/>
+ * The binding model of the StAX codec, assembled once from the bindings that
+ * the {@code -Xstax-codec} XJC plugin generates for the XJC generated classes
+ * at build time. Starting from the provider of the root class package, the
+ * providers of all the related packages are collected, and their bindings
+ * are indexed by their classes, schema type names and root element names,
+ * so that the codec only performs map lookups while reading or writing.
+ * <p/>
+ * The namespaces of the model are mapped to the prefixes declared through
+ * the {@link XmlNs} annotations of the package infos of the bound packages,
+ * as in JAXB, while the remaining ones get the same generated "ns" prefixes
+ * that JAXB would generate for them.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+final class StaxBindingModel {
+
+    // Class Variables
+    private final Map<Class<?>, S100StaxBinding<?>> bindings;
+    private final Map<Class<?>, S100StaxEnumBinding<?>> enumBindings;
+    private final Map<QName, S100StaxBinding<?>> types;
+    private final Map<QName, S100StaxBinding<?>> rootElements;
+    private final Map<QName, Class<?>> elementDecls;
+    private final Map<String, String> namespaces;
+
+    /**
+     * The StAX Binding Model Constructor.
+     *
+     * @param provider the binding provider of the root class package
+     */
+    StaxBindingModel(S100StaxBindingProvider provider) {
+        this.bindings = new HashMap<>();
+        this.enumBindings = new HashMap<>();
+        this.types = new HashMap<>();
+        this.rootElements = new HashMap<>();
+        this.elementDecls = new HashMap<>();
+        this.namespaces = new LinkedHashMap<>();
+
+        // Collect the providers of all the related packages
+        final Set<Class<?>> visited = new HashSet<>();
+        final List<S100StaxBindingProvider> providers = new ArrayList<>();
+        final Deque<S100StaxBindingProvider> queue = new ArrayDeque<>();
+        queue.add(Objects.requireNonNull(provider, "The StAX binding provider is required"));
+        while(!queue.isEmpty()) {
+            final S100StaxBindingProvider current = queue.poll();
+            if(visited.add(current.getClass())) {
+                this.register(current);
+                providers.add(current);
+                queue.addAll(current.getDependencies());
+            }
+        }
+
+        // Map the declared namespace prefixes first, as JAXB does
+        providers.forEach(this::registerPrefixes);
+        providers.forEach(current -> current.getNamespaces().forEach(this::registerNamespace));
+    }
+
+    /**
+     * Returns the binding of the provided class, which may either be a bound
+     * implementation class or its exposed interface. Classes extending the
+     * bound ones are bound to the binding of their closest bound superclass.
+     *
+     * @param type the class to get the binding for
+     * @param <T> the class to get the binding for
+     * @return the class binding, or null if not bound
+     */
+    @SuppressWarnings("unchecked")
+    <T> S100StaxBinding<T> getBinding(Class<T> type) {
+        for(Class<?> current = type; Objects.nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+            final S100StaxBinding<?> binding = this.bindings.get(current);
+            if(Objects.nonNull(binding)) {
+                return (S100StaxBinding<T>) binding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the binding of the provided enumeration.
+     *
+     * @param type the enumeration to get the binding for
+     * @param <E> the enumeration to get the binding for
+     * @return the enumeration binding, or null if not bound
+     */
+    @SuppressWarnings("unchecked")
+    <E> S100StaxEnumBinding<E> getEnumBinding(Class<E> type) {
+        return (S100StaxEnumBinding<E>) this.enumBindings.get(type);
+    }
+
+    /**
+     * Returns the binding of the class bound to the provided XML schema type
+     * name.
+     *
+     * @param typeName the XML schema type name
+     * @return the class binding, or null if not found
+     */
+    S100StaxBinding<?> getType(QName typeName) {
+        return this.types.get(typeName);
+    }
+
+    /**
+     * Returns the binding of the class bound to the provided root element
+     * name.
+     *
+     * @param name the root element name
+     * @return the class binding, or null if not found
+     */
+    S100StaxBinding<?> getRootBinding(QName name) {
+        return this.rootElements.get(name);
+    }
+
+    /**
+     * Returns the declared type of the global element declaration of the
+     * provided name.
+     *
+     * @param name the element name
+     * @return the declared type of the element, or null if not found
+     */
+    Class<?> getElementDecl(QName name) {
+        return this.elementDecls.get(name);
+    }
+
+    /**
+     * Returns the namespaces of the model, mapped to their prefixes, to be
+     * declared on the root element.
+     *
+     * @return the namespaces mapped to their prefixes
+     */
+    Map<String, String> getNamespaces() {
+        return this.namespaces;
+    }
+
+    /**
+     * Registers the bindings and element declarations of the provided
+     * provider.
+     *
+     * @param provider the binding provider
+     */
+    private void register(S100StaxBindingProvider provider) {
+        for(S100StaxBinding<?> binding : provider.getBindings()) {
+            this.bindings.put(binding.getType(), binding);
+            this.bindings.putIfAbsent(binding.getExposedType(), binding);
+            Optional.ofNullable(binding.getTypeName()).ifPresent(typeName -> this.types.putIfAbsent(typeName, binding));
+            Optional.ofNullable(binding.getElementName()).ifPresent(name -> this.rootElements.putIfAbsent(name, binding));
+        }
+        for(S100StaxEnumBinding<?> enumBinding : provider.getEnumBindings()) {
+            this.enumBindings.put(enumBinding.getType(), enumBinding);
+        }
+        provider.getElementDecls().forEach(this.elementDecls::putIfAbsent);
+    }
+
+    /**
+     * Registers the namespace prefixes declared through the {@link XmlNs}
+     * annotations of the package info of the provider package, i.e. the
+     * package of the bound classes.
+     *
+     * @param provider the binding provider
+     */
+    private void registerPrefixes(S100StaxBindingProvider provider) {
+        final XmlSchema xmlSchema = provider.getClass().getPackage().getAnnotation(XmlSchema.class);
+        if(Objects.isNull(xmlSchema)) {
+            return;
+        }
+        for(XmlNs xmlNs : xmlSchema.xmlns()) {
+            if(!xmlNs.prefix().isEmpty()
+                    && !xmlNs.namespaceURI().isEmpty()
+                    && !this.namespaces.containsKey(xmlNs.namespaceURI())
+                    && !this.namespaces.containsValue(xmlNs.prefix())) {
+                this.namespaces.put(xmlNs.namespaceURI(), xmlNs.prefix());
+            }
+        }
+    }
+
+    /**
+     * Registers a namespace used by the model, generating a prefix for it if
+     * none was declared, in the same way as JAXB.
+     *
+     * @param namespace the namespace to be registered
+     */
+    private void registerNamespace(String namespace) {
+        if(Objects.isNull(namespace)
+                || namespace.isEmpty()
+                || XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(namespace)
+                || this.namespaces.containsKey(namespace)) {
+            return;
+        }
+        String prefix = "ns" + (this.namespaces.size() + 1);
+        while(this.namespaces.containsValue(prefix)) {
+            prefix += "_";
+        }
+        this.namespaces.put(namespace, prefix);
+    }
+
+}
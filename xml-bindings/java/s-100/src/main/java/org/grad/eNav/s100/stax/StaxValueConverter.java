@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The StAX Value Converter Class.
+ * <p/>
+ * Converts the XML schema simple type values between their lexical and Java
+ * representations, following the same rules as the JAXB datatype converter,
+ * so that the StAX codec output is equivalent to the JAXB one. The values of
+ * the generated enumerations are converted by their generated bindings
+ * instead.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+final class StaxValueConverter {
+
+    // Class Variables
+    private final DatatypeFactory datatypeFactory;
+
+    /**
+     * The StAX Value Converter Constructor.
+     */
+    StaxValueConverter() {
+        try {
+            this.datatypeFactory = DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Checks whether the provided type is an XML schema simple type, i.e. it
+     * is written as text rather than as a complex element.
+     *
+     * @param type the type to be checked
+     * @return whether the type is a simple type
+     */
+    static boolean isSimple(Class<?> type) {
+        return type.isPrimitive()
+                || type == String.class
+                || type == Boolean.class
+                || Number.class.isAssignableFrom(type)
+                || type == QName.class
+                || type == byte[].class
+                || XMLGregorianCalendar.class.isAssignableFrom(type)
+                || Duration.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Parses the provided lexical value into the requested type.
+     *
+     * @param text the lexical value
+     * @param type the requested type
+     * @param namespaceContext the namespace context, to resolve the QName values
+     * @return the parsed value
+     */
+    Object parse(String text, Class<?> type, NamespaceContext namespaceContext) {
+        if(type == String.class || type == Object.class) {
+            return text;
+        }
+
+        final String value = text.trim();
+        if(type == Boolean.class || type == boolean.class) {
+            return "true".equals(value) || "1".equals(value);
+        } else if(type == Integer.class || type == int.class) {
+            return Integer.parseInt(value);
+        } else if(type == Long.class || type == long.class) {
+            return Long.parseLong(value);
+        } else if(type == Short.class || type == short.class) {
+            return Short.parseShort(value);
+        } else if(type == Byte.class || type == byte.class) {
+            return Byte.parseByte(value);
+        } else if(type == Double.class || type == double.class) {
+            return parseDouble(value);
+        } else if(type == Float.class || type == float.class) {
+            return (float) parseDouble(value);
+        } else if(type == BigDecimal.class) {
+            return new BigDecimal(value);
+        } else if(type == BigInteger.class) {
+            return new BigInteger(value);
+        } else if(XMLGregorianCalendar.class.isAssignableFrom(type)) {
+            return this.datatypeFactory.newXMLGregorianCalendar(value);
+        } else if(Duration.class.isAssignableFrom(type)) {
+            return this.datatypeFactory.newDuration(value);
+        } else if(type == byte[].class) {
+            return Base64.getMimeDecoder().decode(value);
+        } else if(type == QName.class) {
+            final int colon = value.indexOf(':');
+            final String prefix = colon < 0 ? "" : value.substring(0, colon);
+            final String namespace = Objects.requireNonNullElse(namespaceContext.getNamespaceURI(prefix), "");
+            return new QName(namespace, value.substring(colon + 1), prefix);
+        }
+        throw new IllegalArgumentException(String.format("Type %s is not a simple type", type.getName()));
+    }
+
+    /**
+     * Prints the provided value into its lexical representation.
+     *
+     * @param value the value to be printed
+     * @param prefixResolver the resolver of the namespace prefixes, for the QName values
+     * @return the lexical representation of the value
+     */
+    String print(Object value, Function<String, String> prefixResolver) {
+        return switch (value) {
+            case String s -> s;
+            case Double d -> printDouble(d);
+            case Float f -> f.isNaN() || f.isInfinite() ? printDouble(f) : String.valueOf(f);
+            case BigDecimal d -> d.toPlainString();
+            case XMLGregorianCalendar c -> c.toXMLFormat();
+            case byte[] b -> Base64.getEncoder().encodeToString(b);
+            case QName q -> {
+                final String prefix = q.getNamespaceURI().isEmpty() ? "" : prefixResolver.apply(q.getNamespaceURI());
+                yield prefix.isEmpty() ? q.getLocalPart() : prefix + ":" + q.getLocalPart();
+            }
+            default -> value.toString();
+        };
+    }
+
+    /**
+     * Parses an XML schema double value, including its special values.
+     *
+     * @param value the lexical value
+     * @return the parsed double value
+     */
+    private static double parseDouble(String value) {
+        return switch (value) {
+            case "INF" -> Double.POSITIVE_INFINITY;
+            case "-INF" -> Double.NEGATIVE_INFINITY;
+            case "NaN" -> Double.NaN;
+            default -> Double.parseDouble(value);
+        };
+    }
+
+    /**
+     * Prints an XML schema double value, including its special values.
+     *
+     * @param value the double value
+     * @return the lexical value
+     */
+    private static String printDouble(double value) {
+        if(Double.isNaN(value)) {
+            return "NaN";
+        } else if(value == Double.POSITIVE_INFINITY) {
+            return "INF";
+        } else if(value == Double.NEGATIVE_INFINITY) {
+            return "-INF";
+        }
+        return String.valueOf(value);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+/**
+ * The S100 Batch Operations Class.
+ * <p/>
+ * A static utility class to apply an operation, e.g. the marshalling or
+ * unmarshalling of a dataset, to all the items of a batch concurrently. Each
+ * item is processed as a separate task of the provided executor, which by
+ * default starts a new virtual thread per item, since the operations are
+ * short-lived and might block on their input. The results are returned in
+ * the input order, with the failures of the individual items captured in
+ * their results, so that they do not abort the rest of the batch.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100BatchOperations {
+
+    /**
+     * The default executor of the batch operations, which runs each item on
+     * a new virtual thread.
+     */
+    public static final Executor VIRTUAL_THREAD_EXECUTOR = command -> Thread.ofVirtual()
+            .name("s100-batch")
+            .start(command);
+
+    /**
+     * The S100 batch operations is a static utility class.
+     */
+    private S100BatchOperations() {
+
+    }
+
+    /**
+     * Applies the provided operation to all the items of the batch, using
+     * the default virtual thread executor.
+     *
+     * @param items the batch items
+     * @param operation the operation to be applied to each item
+     * @return the results of all the items, in the input order
+     * @param <I> the type of the batch items
+     * @param <O> the type of the produced values
+     */
+    public static <I, O> List<S100BatchResult<O>> executeAll(List<I> items, BatchOperation<I, O> operation) {
+        return executeAll(items, operation, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Applies the provided operation to all the items of the batch, using
+     * the provided executor, and waits for all of them to complete.
+     *
+     * @param items the batch items
+     * @param operation the operation to be applied to each item
+     * @param executor the executor to process the items with
+     * @return the results of all the items, in the input order
+     * @param <I> the type of the batch items
+     * @param <O> the type of the produced values
+     */
+    public static <I, O> List<S100BatchResult<O>> executeAll(List<I> items, BatchOperation<I, O> operation, Executor executor) {
+        Objects.requireNonNull(operation, "The batch operation is required");
+        Objects.requireNonNull(executor, "The batch executor is required");
+        final List<I> batch = Optional.ofNullable(items).orElse(Collections.emptyList());
+
+        // Process all items concurrently
+        final List<CompletableFuture<S100BatchResult<O>>> futures = IntStream.range(0, batch.size())
+                .mapToObj(index -> CompletableFuture.supplyAsync(() -> execute(index, batch.get(index), operation), executor))
+                .toList();
+
+        // And return the results in order
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Applies the provided operation to a single item of the batch,
+     * capturing any failures in the result.
+     *
+     * @param index the index of the item
+     * @param item the batch item
+     * @param operation the operation to be applied
+     * @return the result of the item
+     * @param <I> the type of the batch item
+     * @param <O> the type of the produced value
+     */
+    private static <I, O> S100BatchResult<O> execute(int index, I item, BatchOperation<I, O> operation) {
+        try {
+            return S100BatchResult.success(index, operation.apply(item));
+        } catch (Exception ex) {
+            return S100BatchResult.failure(index, ex);
+        }
+    }
+
+    /**
+     * The operation applied to each item of a batch.
+     *
+     * @param <I> the type of the batch items
+     * @param <O> the type of the produced values
+     */
+    @FunctionalInterface
+    public interface BatchOperation<I, O> {
+
+        /**
+         * Applies the operation to a batch item.
+         *
+         * @param item the batch item
+         * @return the produced value
+         * @throws Exception for any errors while processing the item
+         */
+        O apply(I item) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import java.util.Objects;
+
+/**
+ * The S100 Batch Result Record.
+ * <p/>
+ * The result of a single item of a batch operation, holding either the
+ * produced value or the error that caused the item to fail, so that the
+ * failure of an item does not abort the rest of the batch.
+ *
+ * @param index the index of the item in the batch input
+ * @param value the produced value, if successful
+ * @param error the error of the item, if failed
+ * @param <T> the type of the produced value
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record S100BatchResult<T>(int index, T value, Exception error) {
+
+    /**
+     * Creates a successful batch result.
+     *
+     * @param index the index of the item in the batch input
+     * @param value the produced value
+     * @return the batch result
+     * @param <T> the type of the produced value
+     */
+    public static <T> S100BatchResult<T> success(int index, T value) {
+        return new S100BatchResult<>(index, value, null);
+    }
+
+    /**
+     * Creates a failed batch result.
+     *
+     * @param index the index of the item in the batch input
+     * @param error the error of the item
+     * @return the batch result
+     * @param <T> the type of the produced value
+     */
+    public static <T> S100BatchResult<T> failure(int index, Exception error) {
+        return new S100BatchResult<>(index, null, Objects.requireNonNull(error, "The batch item error is required"));
+    }
+
+    /**
+     * Returns whether the item was processed successfully.
+     *
+     * @return whether the item was processed successfully
+     */
+    public boolean isSuccess() {
+        return Objects.isNull(this.error);
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The S100 Certificate Cache Class.
+ * <p/>
+ * A bounded, least-recently-used cache of the X.509 certificates parsed from
+ * their PEM representations, and of the PEM representations generated for
+ * the X.509 certificates. The parsed certificates are keyed by the SHA-256
+ * hash of their DER encoding, while the PEM representations are keyed by the
+ * certificates themselves, which are compared by their encoded contents.
+ * <p/>
+ * A shared instance is used by the S-100 exchange set utilities, and
+ * therefore by the exchange catalogue builders and the signature verifier.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100CertificateCache {
+
+    /**
+     * The default maximum number of entries in each of the cache maps.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    // Class Variables
+    private final Map<String, X509Certificate> certificates;
+    private final Map<X509Certificate, byte[]> pems;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * Class Constructor.
+     */
+    public S100CertificateCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Class Constructor.
+     *
+     * @param maximumSize the maximum number of entries in each of the cache maps
+     */
+    public S100CertificateCache(int maximumSize) {
+        if(maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum cache size should be positive");
+        }
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.certificates = new BoundedMap<>(maximumSize);
+        this.pems = new BoundedMap<>(maximumSize);
+    }
+
+    /**
+     * Returns the X.509 certificate of the provided PEM representation,
+     * parsing it only if it is not already cached.
+     *
+     * @param certificatePem the certificate PEM input
+     * @return the valid X509 certificate
+     * @throws CertificateException if the provided PEM file is invalid
+     */
+    public X509Certificate getCertificate(String certificatePem) throws CertificateException {
+        // First decode the Base64 encoded PEM format
+        final byte[] decodedPem = Base64.getDecoder().decode(certificatePem);
+        final String key = contentHash(decodedPem);
+
+        // Check the cache
+        synchronized (this.certificates) {
+            final X509Certificate cached = this.certificates.get(key);
+            if(Objects.nonNull(cached)) {
+                this.hits.increment();
+                return cached;
+            }
+        }
+
+        // Otherwise reconstruct the X509Certificate object
+        this.misses.increment();
+        final X509Certificate certificate = (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(decodedPem));
+        synchronized (this.certificates) {
+            this.certificates.putIfAbsent(key, certificate);
+        }
+        return certificate;
+    }
+
+    /**
+     * Returns the minified PEM representation of the provided certificate,
+     * generating it only if it is not already cached. A copy is always
+     * returned, so the caller is free to modify it.
+     *
+     * @param certificate the X.509 certificate to be read
+     * @return the minified PEM representation of the certificate
+     * @throws CertificateEncodingException if the provided certificate cannot be encoded
+     */
+    public byte[] getPem(X509Certificate certificate) throws CertificateEncodingException {
+        // Check the cache
+        synchronized (this.pems) {
+            final byte[] cached = this.pems.get(certificate);
+            if(Objects.nonNull(cached)) {
+                this.hits.increment();
+                return cached.clone();
+            }
+        }
+
+        // Otherwise encode the certificate
+        this.misses.increment();
+        final byte[] pem = Base64.getEncoder().encode(certificate.getEncoded());
+        synchronized (this.pems) {
+            this.pems.putIfAbsent(certificate, pem);
+        }
+        return pem.clone();
+    }
+
+    /**
+     * Returns the current statistics of the cache.
+     *
+     * @return the cache statistics
+     */
+    public Statistics getStatistics() {
+        final int size;
+        synchronized (this.certificates) {
+            synchronized (this.pems) {
+                size = this.certificates.size() + this.pems.size();
+            }
+        }
+        return new Statistics(this.hits.sum(), this.misses.sum(), this.evictions.sum(), size);
+    }
+
+    /**
+     * Clears all the cached entries and resets the statistics.
+     */
+    public void clear() {
+        synchronized (this.certificates) {
+            this.certificates.clear();
+        }
+        synchronized (this.pems) {
+            this.pems.clear();
+        }
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    /**
+     * Computes the SHA-256 content hash of the provided bytes.
+     *
+     * @param content the content to be hashed
+     * @return the hexadecimal content hash
+     */
+    private static String contentHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on all Java platforms
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * The Cache Statistics Record.
+     *
+     * @param hits the number of cache hits
+     * @param misses the number of cache misses
+     * @param evictions the number of evicted entries
+     * @param size the current number of cached entries
+     */
+    public record Statistics(long hits, long misses, long evictions, int size) {
+
+        /**
+         * Returns the ratio of the cache hits over all the cache requests.
+         *
+         * @return the cache hit ratio
+         */
+        public double hitRatio() {
+            final long requests = this.hits + this.misses;
+            return requests == 0 ? 0.0 : (double) this.hits / requests;
+        }
+    }
+
+    /**
+     * An access-ordered map that evicts its least recently used entry when
+     * the maximum size is exceeded.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    private class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+
+        // Class Variables
+        private final int maximumSize;
+
+        BoundedMap(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            final boolean evict = this.size() > this.maximumSize;
+            if(evict) {
+                evictions.increment();
+            }
+            return evict;
+        }
+    }
+
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBException;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The S100 Dataset Cache Class.
+ * <p/>
+ * A bounded, least-recently-used cache of unmarshalled datasets, e.g. S-125
+ * or S-201 ones, so that the same dataset content does not have to be
+ * unmarshalled again for every request. The datasets are keyed either by
+ * their dataset ID, edition and update number, as these are published in
+ * the exchange set catalogues, or by the SHA-256 hash of their content.
+ * <p/>
+ * Each cached dataset carries a weight, e.g. the size in bytes of its XML
+ * representation, and the least recently used datasets are evicted whenever
+ * the total weight exceeds the maximum one. Concurrent requests for the same
+ * missing key only trigger a single load, the result of which is shared by
+ * all of them.
+ * <p/>
+ * Note that the cached datasets are shared, so they should not be modified
+ * by the callers.
+ *
+ * @param <T> the type of the cached datasets
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100DatasetCache<T> {
+
+    /**
+     * The default maximum total weight of the cached datasets, i.e. 64MB of
+     * XML content when weighted by their XML representation sizes.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+    // Class Variables
+    private final long maximumWeight;
+    private final Map<String, Entry<T>> entries;
+    private final ConcurrentMap<String, CompletableFuture<T>> loads;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private long weight;
+
+    /**
+     * Class Constructor.
+     */
+    public S100DatasetCache() {
+        this(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Class Constructor.
+     *
+     * @param maximumWeight the maximum total weight of the cached datasets
+     */
+    public S100DatasetCache(long maximumWeight) {
+        if(maximumWeight < 1) {
+            throw new IllegalArgumentException("The maximum cache weight should be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.loads = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.weight = 0;
+    }
+
+    /**
+     * Returns the dataset of the provided key, loading it through the
+     * provided loader only if it is not already cached. If the same key is
+     * already being loaded by another thread, the current thread will wait
+     * for that load to complete instead.
+     *
+     * @param key the key of the dataset
+     * @param weight the weight of the dataset, e.g. its XML size in bytes
+     * @param loader the loader of the dataset
+     * @return the cached or loaded dataset
+     * @throws JAXBException for errors while loading the dataset
+     */
+    public T get(String key, long weight, DatasetLoader<T> loader) throws JAXBException {
+        // Check the cache
+        synchronized (this.entries) {
+            final Entry<T> cached = this.entries.get(key);
+            if(Objects.nonNull(cached)) {
+                this.hits.increment();
+                return cached.value();
+            }
+        }
+        this.misses.increment();
+
+        // Check whether the same key is already being loaded
+        final CompletableFuture<T> load = new CompletableFuture<>();
+        final CompletableFuture<T> existingLoad = this.loads.putIfAbsent(key, load);
+        if(Objects.nonNull(existingLoad)) {
+            return join(existingLoad);
+        }
+
+        // Otherwise load the dataset and share it with any waiting threads
+        try {
+            // Check again, in case another load completed in the meantime
+            final T cached = this.getIfPresent(key);
+            if(Objects.nonNull(cached)) {
+                load.complete(cached);
+                return cached;
+            }
+
+            final T value = loader.load();
+            this.put(key, weight, value);
+            load.complete(value);
+            return value;
+        } catch (JAXBException | RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the cached dataset of the provided key, if any, without loading
+     * it.
+     *
+     * @param key the key of the dataset
+     * @return the cached dataset, or null if not cached
+     */
+    public T getIfPresent(String key) {
+        synchronized (this.entries) {
+            final Entry<T> cached = this.entries.get(key);
+            return Objects.nonNull(cached) ? cached.value() : null;
+        }
+    }
+
+    /**
+     * Removes the dataset of the provided key from the cache, e.g. when a new
+     * update of it is published.
+     *
+     * @param key the key of the dataset
+     */
+    public void invalidate(String key) {
+        synchronized (this.entries) {
+            final Entry<T> removed = this.entries.remove(key);
+            if(Objects.nonNull(removed)) {
+                this.weight -= removed.weight();
+            }
+        }
+    }
+
+    /**
+     * Returns the current statistics of the cache.
+     *
+     * @return the cache statistics
+     */
+    public Statistics getStatistics() {
+        synchronized (this.entries) {
+            return new Statistics(this.hits.sum(), this.misses.sum(), this.evictions.sum(),
+                    this.entries.size(), this.weight, this.maximumWeight);
+        }
+    }
+
+    /**
+     * Clears all the cached datasets and resets the statistics.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.weight = 0;
+        }
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    /**
+     * Generates the cache key of a dataset from its dataset ID, edition and
+     * update number, as published in the exchange set catalogues.
+     *
+     * @param datasetID the dataset ID
+     * @param editionNumber the dataset edition number
+     * @param updateNumber the dataset update number
+     * @return the cache key of the dataset
+     */
+    public static String datasetKey(String datasetID, BigInteger editionNumber, BigInteger updateNumber) {
+        return String.format("id:%s/%s/%s", datasetID, editionNumber, updateNumber);
+    }
+
+    /**
+     * Generates the cache key of a dataset from the SHA-256 hash of its
+     * content.
+     *
+     * @param content the dataset content
+     * @return the cache key of the dataset
+     */
+    public static String contentKey(byte[] content) {
+        try {
+            return "sha256:" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on all Java platforms
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Adds the loaded dataset into the cache, evicting the least recently
+     * used datasets until the total weight fits. Datasets heavier than the
+     * maximum weight are not cached at all.
+     *
+     * @param key the key of the dataset
+     * @param weight the weight of the dataset
+     * @param value the dataset
+     */
+    private void put(String key, long weight, T value) {
+        // Sanity Check
+        if(Objects.isNull(value) || weight > this.maximumWeight) {
+            return;
+        }
+
+        synchronized (this.entries) {
+            final Entry<T> previous = this.entries.put(key, new Entry<>(value, Math.max(0, weight)));
+            if(Objects.nonNull(previous)) {
+                this.weight -= previous.weight();
+            }
+            this.weight += Math.max(0, weight);
+
+            // Evict the least recently used datasets
+            final Iterator<Entry<T>> iterator = this.entries.values().iterator();
+            while(this.weight > this.maximumWeight && iterator.hasNext()) {
+                this.weight -= iterator.next().weight();
+                iterator.remove();
+                this.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Waits for a dataset load performed by another thread, rethrowing its
+     * failure if any.
+     *
+     * @param load the dataset load
+     * @return the loaded dataset
+     * @param <T> the type of the dataset
+     * @throws JAXBException for errors while loading the dataset
+     */
+    private static <T> T join(CompletableFuture<T> load) throws JAXBException {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if(ex.getCause() instanceof JAXBException jaxbException) {
+                throw jaxbException;
+            }
+            if(ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * The loader of the cached datasets, e.g. the S-125 unmarshalling
+     * operation.
+     *
+     * @param <T> the type of the dataset
+     */
+    @FunctionalInterface
+    public interface DatasetLoader<T> {
+        T load() throws JAXBException;
+    }
+
+    /**
+     * A cached dataset entry.
+     *
+     * @param value the cached dataset
+     * @param weight the weight of the dataset
+     * @param <T> the type of the dataset
+     */
+    private record Entry<T>(T value, long weight) {
+
+    }
+
+    /**
+     * The Cache Statistics Record.
+     *
+     * @param hits the number of cache hits
+     * @param misses the number of cache misses
+     * @param evictions the number of evicted datasets
+     * @param size the current number of cached datasets
+     * @param weight the current total weight of the cached datasets
+     * @param maximumWeight the maximum total weight of the cached datasets
+     */
+    public record Statistics(long hits, long misses, long evictions, int size, long weight, long maximumWeight) {
+
+        /**
+         * Returns the ratio of the cache hits over all the cache requests.
+         *
+         * @return the cache hit ratio
+         */
+        public double hitRatio() {
+            final long requests = this.hits + this.misses;
+            return requests == 0 ? 0.0 : (double) this.hits / requests;
+        }
+    }
+
+}
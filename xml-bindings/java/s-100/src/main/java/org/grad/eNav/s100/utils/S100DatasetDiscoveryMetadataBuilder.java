@@ -22,6 +22,9 @@ import org.grad.eNav.s100.enums.CodeListValueTypeProvider;
 import org.grad.eNav.s100.enums.MaintenanceFrequency;
 import org.grad.eNav.s100.enums.RoleCode;
 import org.grad.eNav.s100.enums.SecurityClassification;
+import org.grad.eNav.s100.events.S100MetadataBuildEvent;
+import org.grad.eNav.s100.metrics.BindingMetrics;
+import org.grad.eNav.s100.metrics.BindingMetricsRegistry;
 import org.iso.standards.iso._19115.__3.cit._2.*;
 import org.iso.standards.iso._19115.__3.gco._1.DatePropertyType;
 import org.iso.standards.iso._19115.__3.gco._1.TMPeriodDurationPropertyType;
@@ -32,7 +35,10 @@ import org.iso.standards.iso._19115.__3.mmi._1.MDMaintenanceInformationType;
 import org.iso.standards.iso._19115.__3.mri._1.MDUsageType;
 import org.locationtech.jts.geom.Geometry;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -41,6 +47,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 /**
  * The S100 Dataset Discovery Metadata Builder Class.
@@ -487,9 +494,155 @@ public class S100DatasetDiscoveryMetadataBuilder {
      * The main building function of the S-100 exchange set dataset discovery
      * metadata object.
      *
+     * @param payload the dataset file payload to be signed
      * @return the built S-100 exchange set dataset discovery metadata object
      */
     public S100DatasetDiscoveryMetadata build(byte[] payload) {
+        // Start monitoring the operation
+        final S100MetadataBuildEvent event = new S100MetadataBuildEvent();
+        event.begin();
+
+        // Sign the dataset file if a provider detected
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+        final S100SEDigitalSignature signature = Objects.nonNull(this.signatureProvider) && Objects.nonNull(payload) ?
+                this.signatureProvider.generateSignature(this.fileName, this.getSignatureReference(), payload) :
+                null;
+        this.recordSignatureMetrics(metrics, signature, startTime);
+
+        // And build the metadata
+        final S100DatasetDiscoveryMetadata metadata = this.buildMetadata(signature);
+
+        // Record the operation if required
+        this.commitBuildEvent(event, () -> Objects.nonNull(payload) ? payload.length : 0);
+
+        // And return the metadata
+        return metadata;
+    }
+
+    /**
+     * A streaming variant of the main building function of the S-100 exchange
+     * set dataset discovery metadata object. The dataset file payload will be
+     * read from the provided channel in chunks while being signed.
+     *
+     * @param payload the channel to read the dataset file payload from
+     * @return the built S-100 exchange set dataset discovery metadata object
+     * @throws IOException for any errors while reading the payload channel
+     */
+    public S100DatasetDiscoveryMetadata build(ReadableByteChannel payload) throws IOException {
+        // Start monitoring the operation
+        final S100MetadataBuildEvent event = new S100MetadataBuildEvent();
+        event.begin();
+
+        // Sign the dataset file if a provider detected
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+        final S100SEDigitalSignature signature = Objects.nonNull(this.signatureProvider) && Objects.nonNull(payload) ?
+                this.signatureProvider.generateSignature(this.fileName, this.getSignatureReference(), event.track(payload)) :
+                null;
+        this.recordSignatureMetrics(metrics, signature, startTime);
+
+        // And build the metadata
+        final S100DatasetDiscoveryMetadata metadata = this.buildMetadata(signature);
+
+        // Record the operation if required
+        this.commitBuildEvent(event, event::getByteSize);
+
+        // And return the metadata
+        return metadata;
+    }
+
+    /**
+     * A file based variant of the main building function of the S-100 exchange
+     * set dataset discovery metadata object. The dataset file payload will be
+     * streamed from the provided path in chunks while being signed.
+     *
+     * @param payload the path of the dataset file
+     * @return the built S-100 exchange set dataset discovery metadata object
+     * @throws IOException for any errors while reading the payload file
+     */
+    public S100DatasetDiscoveryMetadata build(Path payload) throws IOException {
+        // Start monitoring the operation
+        final S100MetadataBuildEvent event = new S100MetadataBuildEvent();
+        event.begin();
+
+        // Sign the dataset file if a provider detected
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+        final S100SEDigitalSignature signature = Objects.nonNull(this.signatureProvider) && Objects.nonNull(payload) ?
+                this.signatureProvider.generateSignature(this.fileName, this.getSignatureReference(), payload) :
+                null;
+        this.recordSignatureMetrics(metrics, signature, startTime);
+
+        // And build the metadata
+        final S100DatasetDiscoveryMetadata metadata = this.buildMetadata(signature);
+
+        // Record the operation if required
+        this.commitBuildEvent(event, () -> S100ExchangeSetUtils.getFileSize(payload));
+
+        // And return the metadata
+        return metadata;
+    }
+
+    /**
+     * Records the metrics of the signature generation, if a signature was
+     * actually generated.
+     *
+     * @param metrics the binding metrics to record the signature generation in
+     * @param signature the generated signature
+     * @param startTime the timer start time of the signature generation
+     */
+    protected void recordSignatureMetrics(BindingMetrics metrics, S100SEDigitalSignature signature, long startTime) {
+        if(Objects.nonNull(signature)) {
+            metrics.recordLatency(S100ExchangeSetUtils.PRODUCT, BindingMetrics.SIGNATURE, startTime);
+            metrics.incrementCounter(S100ExchangeSetUtils.PRODUCT, BindingMetrics.SIGNATURES, 1);
+        }
+    }
+
+    /**
+     * Ends and commits the provided monitoring event of the metadata building
+     * operation, if required by the current recording settings. The payload
+     * byte size is only computed when the event is actually committed, after
+     * the event duration has been recorded.
+     *
+     * @param event the monitoring event of the building operation
+     * @param byteSize the supplier of the dataset file payload byte size
+     */
+    protected void commitBuildEvent(S100MetadataBuildEvent event, LongSupplier byteSize) {
+        // Stop timing the operation, before computing the payload size
+        event.end();
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setMetadataType("Dataset")
+                    .setFileName(this.fileName)
+                    .setProduct(Optional.ofNullable(this.productSpecification)
+                            .map(S100ProductSpecification::getProductIdentifier)
+                            .orElse(S100ExchangeSetUtils.PRODUCT))
+                    .setByteSize(byteSize.getAsLong())
+                    .commit();
+        }
+    }
+
+    /**
+     * Returns the digital signature reference to be used for signing the
+     * dataset file. If none has been specified, DSA will be used by default.
+     *
+     * @return the digital signature reference to be used
+     */
+    protected S100SEDigitalSignatureReference getSignatureReference() {
+        return Optional.ofNullable(this.digitalSignatureReference)
+                .orElse(S100SEDigitalSignatureReference.DSA);
+    }
+
+    /**
+     * Builds the S-100 exchange set dataset discovery metadata object using
+     * the provided signature of the dataset file, if available.
+     *
+     * @param signature the generated signature of the dataset file
+     * @return the built S-100 exchange set dataset discovery metadata object
+     */
+    private S100DatasetDiscoveryMetadata buildMetadata(S100SEDigitalSignature signature) {
         // Create the metadata object
         final S100DatasetDiscoveryMetadata metadata = new S100DatasetDiscoveryMetadata();
 
@@ -584,23 +737,14 @@ public class S100DatasetDiscoveryMetadataBuilder {
         //====================================================================//
         //                        METADATA SIGNATURES                         //
         //====================================================================//
-        // First choose the signature reference to be used
-        final S100SEDigitalSignatureReference signatureReference = Optional.ofNullable(this.digitalSignatureReference)
-                .orElse(S100SEDigitalSignatureReference.DSA);
-        // And populate the metadata
+        // First populate the signature reference to be used
         final S100SEDigitalSignatureReferencePropertyType digitalSignatureReferencePropertyType = new S100SEDigitalSignatureReferencePropertyType();
-        digitalSignatureReferencePropertyType.setValue(signatureReference);
+        digitalSignatureReferencePropertyType.setValue(this.getSignatureReference());
         metadata.setDigitalSignatureReference(digitalSignatureReferencePropertyType);
 
-        // Sign the dataset file if a provider detected
-        if(Objects.nonNull(this.signatureProvider) && Objects.nonNull(payload)) {
-            // Generate the signature
-            final S100SEDigitalSignature signature = this.signatureProvider.generateSignature(
-                    this.fileName,
-                    signatureReference,
-                    payload);
-
-            // And add it to the metadata
+        // Add the dataset file signature if one was generated
+        if(Objects.nonNull(signature)) {
+            // Add it to the metadata
             final S100DatasetDiscoveryMetadata.DigitalSignatureValue digitalSignatureValue = new S100DatasetDiscoveryMetadata.DigitalSignatureValue();
             digitalSignatureValue.setS100SEDigitalSignature(this.objectFactory.createS100SEDigitalSignature(signature));
             metadata.getDigitalSignatureValues().add(digitalSignatureValue);
@@ -0,0 +1,1128 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32C;
+
+/**
+ * The S-100 Dataset Snapshot Codec Class.
+ * <p/>
+ * A compact binary snapshot codec for the JAXB generated dataset object
+ * graphs of the S-100 based products, e.g. the S-125 and S-201 datasets. The
+ * snapshots can be loaded much faster than the original XML representations,
+ * since no XML parsing or JAXB context initialisation is required.
+ * <p/>
+ * Each snapshot consists of a header, containing the format version, the
+ * product, the SHA-256 hash of the XML source the dataset was loaded from and
+ * a CRC32C checksum of the payload, followed by the payload itself. The
+ * payload is a self-describing encoding of the object graph, where the class
+ * and field names are only written once, the strings are de-duplicated and
+ * the coordinate arrays are written as primitive doubles. Since the field
+ * names are stored, snapshots of slightly different versions of the generated
+ * classes can still be read, with any unknown fields being skipped.
+ * <p/>
+ * For security reasons, only the classes under the provided package prefix
+ * can be instantiated while reading a snapshot.
+ *
+ * @param <T> the type of the dataset
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100DatasetSnapshotCodec<T> {
+
+    /**
+     * The magic bytes at the start of every snapshot.
+     */
+    public static final byte[] MAGIC = "S100SNAP".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The current snapshot format version.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The algorithm used to hash the XML sources.
+     */
+    public static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * The value tags of the payload encoding.
+     */
+    static final int TAG_NULL = 0;
+    static final int TAG_REF = 1;
+    static final int TAG_OBJECT = 2;
+    static final int TAG_STRING = 3;
+    static final int TAG_STRING_REF = 4;
+    static final int TAG_TRUE = 5;
+    static final int TAG_FALSE = 6;
+    static final int TAG_INT = 7;
+    static final int TAG_LONG = 8;
+    static final int TAG_DOUBLE = 9;
+    static final int TAG_FLOAT = 10;
+    static final int TAG_SHORT = 11;
+    static final int TAG_BYTE = 12;
+    static final int TAG_CHAR = 13;
+    static final int TAG_BIG_INTEGER = 14;
+    static final int TAG_BIG_DECIMAL = 15;
+    static final int TAG_ENUM = 16;
+    static final int TAG_LIST = 17;
+    static final int TAG_DOUBLE_LIST = 18;
+    static final int TAG_MAP = 19;
+    static final int TAG_JAXB_ELEMENT = 20;
+    static final int TAG_QNAME = 21;
+    static final int TAG_TEMPORAL = 22;
+    static final int TAG_BYTE_ARRAY = 23;
+    static final int TAG_DOUBLE_ARRAY = 24;
+    static final int TAG_BOXED_DOUBLE_ARRAY = 25;
+    static final int TAG_OBJECT_ARRAY = 26;
+
+    /**
+     * The supported temporal value kinds, encoded in their lexical forms.
+     */
+    static final List<Class<?>> TEMPORAL_KINDS = List.of(
+            XMLGregorianCalendar.class,
+            javax.xml.datatype.Duration.class,
+            LocalDate.class,
+            LocalTime.class,
+            LocalDateTime.class,
+            OffsetDateTime.class,
+            OffsetTime.class,
+            ZonedDateTime.class,
+            Instant.class,
+            Duration.class
+    );
+
+    // Class Variables
+    private final Class<T> rootClass;
+    private final String product;
+    private final String packagePrefix;
+    private final ClassLoader classLoader;
+    private final ConcurrentMap<Class<?>, ClassLayout> layouts;
+    private final DatatypeFactory datatypeFactory;
+
+    /**
+     * The S-100 Dataset Snapshot Codec Constructor.
+     *
+     * @param rootClass the class of the dataset objects
+     * @param product the product of the datasets, e.g. S-125
+     * @param packagePrefix the package prefix of the classes that can be instantiated
+     */
+    public S100DatasetSnapshotCodec(Class<T> rootClass, String product, String packagePrefix) {
+        this.rootClass = Objects.requireNonNull(rootClass);
+        this.product = Objects.requireNonNull(product);
+        this.packagePrefix = Objects.requireNonNull(packagePrefix);
+        this.classLoader = Optional.ofNullable(rootClass.getClassLoader())
+                .orElseGet(ClassLoader::getSystemClassLoader);
+        this.layouts = new ConcurrentHashMap<>();
+        try {
+            this.datatypeFactory = DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the provided dataset into the output stream,
+     * without recording any source hash.
+     *
+     * @param dataset the dataset to be written
+     * @param out the output stream to write the snapshot to
+     * @throws IOException for any errors while writing the snapshot
+     */
+    public void write(T dataset, OutputStream out) throws IOException {
+        this.write(dataset, new byte[0], out);
+    }
+
+    /**
+     * Writes a snapshot of the provided dataset into the output stream,
+     * recording the hash of the XML source the dataset was loaded from.
+     *
+     * @param dataset the dataset to be written
+     * @param sourceHash the hash of the XML source of the dataset
+     * @param out the output stream to write the snapshot to
+     * @throws IOException for any errors while writing the snapshot
+     */
+    public void write(T dataset, byte[] sourceHash, OutputStream out) throws IOException {
+        // Sanity Check
+        if(Objects.isNull(dataset) || Objects.isNull(out)) {
+            throw new IllegalArgumentException("A dataset and an output stream are required to write a snapshot");
+        }
+
+        // Encode the payload first, to calculate its checksum
+        final Encoder encoder = new Encoder();
+        encoder.writeValue(dataset);
+        final CRC32C crc = new CRC32C();
+        crc.update(encoder.buffer, 0, encoder.position);
+
+        // Write the header and the payload
+        final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+        dataOut.write(MAGIC);
+        dataOut.writeShort(FORMAT_VERSION);
+        dataOut.writeUTF(this.product);
+        dataOut.writeByte(Objects.requireNonNullElse(sourceHash, new byte[0]).length);
+        dataOut.write(Objects.requireNonNullElse(sourceHash, new byte[0]));
+        dataOut.writeInt(encoder.position);
+        dataOut.writeInt((int) crc.getValue());
+        dataOut.write(encoder.buffer, 0, encoder.position);
+        dataOut.flush();
+    }
+
+    /**
+     * Reads a dataset from the provided snapshot input stream, regardless of
+     * the XML source it was generated from.
+     *
+     * @param in the input stream to read the snapshot from
+     * @return the dataset read from the snapshot
+     * @throws IOException for invalid or corrupted snapshots
+     */
+    public T read(InputStream in) throws IOException {
+        return this.read(in, null);
+    }
+
+    /**
+     * Reads a dataset from the provided snapshot input stream. If an expected
+     * source hash is provided, the snapshot will only be read if it was
+     * generated from the same XML source.
+     *
+     * @param in the input stream to read the snapshot from
+     * @param expectedSourceHash the expected hash of the XML source, if any
+     * @return the dataset read from the snapshot
+     * @throws IOException for invalid, corrupted or stale snapshots
+     */
+    public T read(InputStream in, byte[] expectedSourceHash) throws IOException {
+        final DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in));
+
+        // Read and validate the header
+        final byte[] magic = dataIn.readNBytes(MAGIC.length);
+        if(!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("Invalid S-100 dataset snapshot");
+        }
+        final int version = dataIn.readUnsignedShort();
+        if(version != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported S-100 dataset snapshot version %d", version));
+        }
+        final String snapshotProduct = dataIn.readUTF();
+        if(!this.product.equals(snapshotProduct)) {
+            throw new IOException(String.format("The snapshot refers to %s instead of %s", snapshotProduct, this.product));
+        }
+        final byte[] sourceHash = dataIn.readNBytes(dataIn.readUnsignedByte());
+        if(Objects.nonNull(expectedSourceHash) && !Arrays.equals(expectedSourceHash, sourceHash)) {
+            throw new IOException("The snapshot is stale relative to its XML source");
+        }
+        final int length = dataIn.readInt();
+        final int checksum = dataIn.readInt();
+
+        // Sanity Check
+        if(length < 0) {
+            throw new IOException(String.format("Invalid S-100 dataset snapshot payload length %d", length));
+        }
+
+        // Read and verify the payload, which is buffered incrementally, so
+        // a length beyond the end of the snapshot is detected, not allocated
+        final byte[] payload = dataIn.readNBytes(length);
+        if(payload.length != length) {
+            throw new IOException(String.format("The snapshot payload length %d exceeds the %d remaining bytes", length, payload.length));
+        }
+        final CRC32C crc = new CRC32C();
+        crc.update(payload, 0, payload.length);
+        if((int) crc.getValue() != checksum) {
+            throw new IOException("The snapshot checksum verification failed");
+        }
+
+        // And decode the dataset
+        try {
+            return this.rootClass.cast(new Decoder(payload).readValue());
+        } catch (RuntimeException ex) {
+            throw new IOException("The snapshot payload could not be decoded", ex);
+        }
+    }
+
+    /**
+     * Loads a dataset from the provided XML source file, using its snapshot
+     * if that is available and up-to-date. Otherwise, the XML source will be
+     * loaded using the provided loader and the snapshot will be refreshed, so
+     * that it can be used the next time. Any errors while refreshing the
+     * snapshot are ignored, since the dataset has already been loaded.
+     *
+     * @param source the path of the XML source file
+     * @param snapshot the path of the snapshot file
+     * @param loader the loader of the XML source
+     * @return the loaded dataset
+     * @throws IOException for any errors while reading the XML source
+     * @throws JAXBException for any errors while unmarshalling the XML source
+     */
+    public T load(Path source, Path snapshot, DatasetLoader<T> loader) throws IOException, JAXBException {
+        // Try the snapshot first, if still valid
+        if(Files.isRegularFile(snapshot)) {
+            try(InputStream in = Files.newInputStream(snapshot)) {
+                return this.read(in, hash(source));
+            } catch (IOException ex) {
+                // The snapshot is stale or invalid, so fall back to the source
+            }
+        }
+
+        // Load the XML source, while hashing its contents. The SAX parsers
+        // close their input at the end of the document, so the loader gets a
+        // close-shielded stream and the remainder is hashed afterwards.
+        final MessageDigest digest = newDigest();
+        final T dataset;
+        try(InputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(source)), digest)) {
+            dataset = loader.load(new CloseShieldInputStream(in));
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        // And refresh the snapshot
+        final Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try {
+            try(OutputStream out = Files.newOutputStream(temporary)) {
+                this.write(dataset, digest.digest(), out);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+        }
+
+        return dataset;
+    }
+
+    /**
+     * Calculates the hash of the provided XML source file, as recorded in
+     * the snapshots.
+     *
+     * @param source the path of the XML source file
+     * @return the hash of the XML source file
+     * @throws IOException for any errors while reading the XML source file
+     */
+    public static byte[] hash(Path source) throws IOException {
+        final MessageDigest digest = newDigest();
+        try(InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Calculates the hash of the provided XML source content, as recorded in
+     * the snapshots.
+     *
+     * @param source the XML source content
+     * @return the hash of the XML source content
+     */
+    public static byte[] hash(byte[] source) {
+        return newDigest().digest(source);
+    }
+
+    /**
+     * Creates a new message digest for hashing the XML sources.
+     *
+     * @return the new message digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on all Java platforms
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Returns the cached layout of the provided class, i.e. its constructor
+     * and persistent fields, after checking that it can be instantiated.
+     *
+     * @param clazz the class to get the layout for
+     * @return the layout of the class
+     */
+    ClassLayout getLayout(Class<?> clazz) {
+        return this.layouts.computeIfAbsent(clazz, c -> {
+            if(!c.getName().startsWith(this.packagePrefix) || c.isInterface() || Modifier.isAbstract(c.getModifiers())) {
+                throw new IllegalArgumentException(String.format("Class %s is not supported in snapshots", c.getName()));
+            }
+            return new ClassLayout(c);
+        });
+    }
+
+    /**
+     * Resolves the class of the provided name, through the class loader of
+     * the dataset class.
+     *
+     * @param name the name of the class
+     * @return the resolved class
+     */
+    Class<?> resolveClass(String name) {
+        try {
+            return Class.forName(name, false, this.classLoader);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalArgumentException(String.format("Class %s of the snapshot cannot be found", name), ex);
+        }
+    }
+
+    //========================================================================//
+    //                         Snapshot Codec Types                           //
+    //========================================================================//
+
+    /**
+     * The loader of the XML sources of the datasets, e.g. the S-125
+     * unmarshalling operation.
+     *
+     * @param <T> the type of the dataset
+     */
+    @FunctionalInterface
+    public interface DatasetLoader<T> {
+        T load(InputStream in) throws JAXBException;
+    }
+
+    /**
+     * An input stream that ignores the close requests, so that the wrapped
+     * stream remains open until closed by its owner.
+     */
+    static final class CloseShieldInputStream extends FilterInputStream {
+
+        /**
+         * The Close Shield Input Stream Constructor.
+         *
+         * @param in the wrapped input stream
+         */
+        CloseShieldInputStream(InputStream in) {
+            super(in);
+        }
+
+        /**
+         * Ignores the close request, leaving the wrapped stream open.
+         */
+        @Override
+        public void close() {
+            // Left to the owner of the wrapped stream
+        }
+
+    }
+
+    /**
+     * The layout of a snapshot class, i.e. its no-argument constructor and
+     * its persistent fields keyed by name. Fields shadowed by subclasses are
+     * keyed by their declaring class and name.
+     */
+    static final class ClassLayout {
+
+        // Class Variables
+        final Constructor<?> constructor;
+        final String[] names;
+        final Field[] fields;
+        final Map<String, Field> fieldsByName;
+
+        /**
+         * The Class Layout Constructor.
+         *
+         * @param clazz the class of the layout
+         */
+        ClassLayout(Class<?> clazz) {
+            try {
+                this.constructor = clazz.getDeclaredConstructor();
+                this.constructor.setAccessible(true);
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalArgumentException(String.format("Class %s has no default constructor", clazz.getName()), ex);
+            }
+
+            // Collect the persistent fields of the whole class hierarchy
+            this.fieldsByName = new LinkedHashMap<>();
+            for(Class<?> c = clazz; Objects.nonNull(c) && c != Object.class; c = c.getSuperclass()) {
+                for(Field field : c.getDeclaredFields()) {
+                    if(Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    final String name = this.fieldsByName.containsKey(field.getName()) ?
+                            c.getName() + "." + field.getName() :
+                            field.getName();
+                    this.fieldsByName.put(name, field);
+                }
+            }
+            this.names = this.fieldsByName.keySet().toArray(String[]::new);
+            this.fields = this.fieldsByName.values().toArray(Field[]::new);
+        }
+
+        /**
+         * Creates a new instance of the layout class.
+         *
+         * @return the new instance
+         */
+        Object newInstance() {
+            try {
+                return this.constructor.newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+    }
+
+    /**
+     * The payload encoder, writing the object graph into a growing byte
+     * buffer.
+     */
+    final class Encoder {
+
+        // Class Variables
+        byte[] buffer = new byte[8192];
+        int position = 0;
+        private final Map<Object, Integer> objects = new IdentityHashMap<>();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Class<?>, Integer> types = new HashMap<>();
+        private final Map<Class<?>, Integer> layouts = new HashMap<>();
+
+        /**
+         * Writes any supported value.
+         *
+         * @param value the value to be written
+         */
+        void writeValue(Object value) {
+            switch (value) {
+                case null -> this.writeByte(TAG_NULL);
+                case String s -> this.writeString(s);
+                case Boolean b -> this.writeByte(b ? TAG_TRUE : TAG_FALSE);
+                case Integer i -> { this.writeByte(TAG_INT); this.writeVarLong(zigZag(i)); }
+                case Long l -> { this.writeByte(TAG_LONG); this.writeVarLong(zigZag(l)); }
+                case Double d -> { this.writeByte(TAG_DOUBLE); this.writeLong(Double.doubleToRawLongBits(d)); }
+                case Float f -> { this.writeByte(TAG_FLOAT); this.writeVarLong(Float.floatToRawIntBits(f) & 0xFFFFFFFFL); }
+                case Short s -> { this.writeByte(TAG_SHORT); this.writeVarLong(zigZag(s)); }
+                case Byte b -> { this.writeByte(TAG_BYTE); this.writeByte(b); }
+                case Character c -> { this.writeByte(TAG_CHAR); this.writeVarLong(c); }
+                case BigInteger i -> { this.writeByte(TAG_BIG_INTEGER); this.writeBytes(i.toByteArray()); }
+                case BigDecimal d -> {
+                    this.writeByte(TAG_BIG_DECIMAL);
+                    this.writeVarLong(zigZag(d.scale()));
+                    this.writeBytes(d.unscaledValue().toByteArray());
+                }
+                case Enum<?> e -> {
+                    this.writeByte(TAG_ENUM);
+                    this.writeType(e.getDeclaringClass());
+                    this.writeStringValue(e.name());
+                }
+                case QName q -> { this.writeByte(TAG_QNAME); this.writeQName(q); }
+                case JAXBElement<?> e -> {
+                    this.writeByte(TAG_JAXB_ELEMENT);
+                    this.writeQName(e.getName());
+                    this.writeType(e.getDeclaredType());
+                    this.writeType(e.getScope());
+                    this.writeByte(e.isNil() ? 1 : 0);
+                    this.writeValue(e.getValue());
+                }
+                case byte[] a -> { this.writeByte(TAG_BYTE_ARRAY); this.writeBytes(a); }
+                case double[] a -> {
+                    this.writeByte(TAG_DOUBLE_ARRAY);
+                    this.writeVarLong(a.length);
+                    for(double d : a) {
+                        this.writeLong(Double.doubleToRawLongBits(d));
+                    }
+                }
+                case Double[] a when Arrays.stream(a).allMatch(Objects::nonNull) -> {
+                    this.writeByte(TAG_BOXED_DOUBLE_ARRAY);
+                    this.writeVarLong(a.length);
+                    for(Double d : a) {
+                        this.writeLong(Double.doubleToRawLongBits(d));
+                    }
+                }
+                case Object[] a -> {
+                    this.writeByte(TAG_OBJECT_ARRAY);
+                    this.writeType(a.getClass().getComponentType());
+                    this.writeVarLong(a.length);
+                    for(Object o : a) {
+                        this.writeValue(o);
+                    }
+                }
+                case List<?> l when !l.isEmpty() && l.stream().allMatch(Double.class::isInstance) -> {
+                    this.writeByte(TAG_DOUBLE_LIST);
+                    this.writeVarLong(l.size());
+                    for(Object d : l) {
+                        this.writeLong(Double.doubleToRawLongBits((Double) d));
+                    }
+                }
+                case List<?> l -> {
+                    this.writeByte(TAG_LIST);
+                    this.writeVarLong(l.size());
+                    for(Object o : l) {
+                        this.writeValue(o);
+                    }
+                }
+                case Map<?, ?> m -> {
+                    this.writeByte(TAG_MAP);
+                    this.writeVarLong(m.size());
+                    for(Map.Entry<?, ?> entry : m.entrySet()) {
+                        this.writeValue(entry.getKey());
+                        this.writeValue(entry.getValue());
+                    }
+                }
+                default -> {
+                    final int kind = temporalKind(value.getClass());
+                    if(kind >= 0) {
+                        this.writeByte(TAG_TEMPORAL);
+                        this.writeByte(kind);
+                        this.writeStringValue(kind == 0 ? ((XMLGregorianCalendar) value).toXMLFormat() : value.toString());
+                    } else {
+                        this.writeObject(value);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes a generated class object, or a reference to it if it has
+         * already been written.
+         *
+         * @param value the object to be written
+         */
+        private void writeObject(Object value) {
+            final Integer index = this.objects.get(value);
+            if(Objects.nonNull(index)) {
+                this.writeByte(TAG_REF);
+                this.writeVarLong(index);
+                return;
+            }
+            this.objects.put(value, this.objects.size());
+
+            // Write the class layout and the field values
+            final ClassLayout layout = S100DatasetSnapshotCodec.this.getLayout(value.getClass());
+            this.writeByte(TAG_OBJECT);
+            this.writeLayout(value.getClass(), layout);
+            try {
+                for(Field field : layout.fields) {
+                    this.writeValue(field.get(value));
+                }
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        /**
+         * Writes the class layout, i.e. its type and field names, the first
+         * time it is encountered, and its index afterwards.
+         *
+         * @param clazz the class of the layout
+         * @param layout the layout to be written
+         */
+        private void writeLayout(Class<?> clazz, ClassLayout layout) {
+            final Integer index = this.layouts.get(clazz);
+            if(Objects.nonNull(index)) {
+                this.writeVarLong(index + 1);
+                return;
+            }
+            this.layouts.put(clazz, this.layouts.size());
+            this.writeVarLong(0);
+            this.writeType(clazz);
+            this.writeVarLong(layout.names.length);
+            for(String name : layout.names) {
+                this.writeStringValue(name);
+            }
+        }
+
+        /**
+         * Writes the class name the first time it is encountered, and its
+         * index afterwards.
+         *
+         * @param clazz the class to be written
+         */
+        private void writeType(Class<?> clazz) {
+            final Integer index = this.types.get(clazz);
+            if(Objects.nonNull(index)) {
+                this.writeVarLong(index + 1);
+                return;
+            }
+            this.types.put(clazz, this.types.size());
+            this.writeVarLong(0);
+            this.writeStringValue(clazz.getName());
+        }
+
+        /**
+         * Writes a qualified name.
+         *
+         * @param qName the qualified name to be written
+         */
+        private void writeQName(QName qName) {
+            this.writeStringValue(qName.getNamespaceURI());
+            this.writeStringValue(qName.getLocalPart());
+            this.writeStringValue(qName.getPrefix());
+        }
+
+        /**
+         * Writes a tagged string value.
+         *
+         * @param value the string to be written
+         */
+        private void writeString(String value) {
+            final Integer index = this.strings.get(value);
+            if(Objects.nonNull(index)) {
+                this.writeByte(TAG_STRING_REF);
+                this.writeVarLong(index);
+                return;
+            }
+            this.writeByte(TAG_STRING);
+            this.writeNewString(value);
+        }
+
+        /**
+         * Writes an untagged string value, e.g. a class or field name.
+         *
+         * @param value the string to be written
+         */
+        private void writeStringValue(String value) {
+            final Integer index = this.strings.get(value);
+            if(Objects.nonNull(index)) {
+                this.writeVarLong(index + 1);
+                return;
+            }
+            this.writeVarLong(0);
+            this.writeNewString(value);
+        }
+
+        /**
+         * Writes the contents of a string encountered for the first time.
+         *
+         * @param value the string to be written
+         */
+        private void writeNewString(String value) {
+            this.strings.put(value, this.strings.size());
+            this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Writes a length-prefixed byte array.
+         *
+         * @param bytes the byte array to be written
+         */
+        private void writeBytes(byte[] bytes) {
+            this.writeVarLong(bytes.length);
+            this.ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+            this.position += bytes.length;
+        }
+
+        /**
+         * Writes an unsigned variable length long value.
+         *
+         * @param value the value to be written
+         */
+        private void writeVarLong(long value) {
+            this.ensureCapacity(10);
+            while((value & ~0x7FL) != 0) {
+                this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.buffer[this.position++] = (byte) value;
+        }
+
+        /**
+         * Writes a fixed length long value.
+         *
+         * @param value the value to be written
+         */
+        private void writeLong(long value) {
+            this.ensureCapacity(8);
+            for(int i = 56; i >= 0; i -= 8) {
+                this.buffer[this.position++] = (byte) (value >>> i);
+            }
+        }
+
+        /**
+         * Writes a single byte.
+         *
+         * @param value the byte to be written
+         */
+        private void writeByte(int value) {
+            this.ensureCapacity(1);
+            this.buffer[this.position++] = (byte) value;
+        }
+
+        /**
+         * Makes sure the buffer can fit the provided number of bytes.
+         *
+         * @param length the number of bytes to fit
+         */
+        private void ensureCapacity(int length) {
+            if(this.position + length > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.position + length));
+            }
+        }
+
+    }
+
+    /**
+     * The payload decoder, reading the object graph from a byte array.
+     */
+    final class Decoder {
+
+        // Class Variables
+        private final byte[] buffer;
+        private int position;
+        private final List<Object> objects = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+        private final List<Class<?>> types = new ArrayList<>();
+        private final List<Field[]> layouts = new ArrayList<>();
+        private final List<ClassLayout> classLayouts = new ArrayList<>();
+
+        /**
+         * The Decoder Constructor.
+         *
+         * @param buffer the payload to be decoded
+         */
+        Decoder(byte[] buffer) {
+            this.buffer = buffer;
+            this.position = 0;
+        }
+
+        /**
+         * Reads any supported value.
+         *
+         * @return the value read
+         */
+        Object readValue() {
+            final int tag = this.readByte();
+            return switch (tag) {
+                case TAG_NULL -> null;
+                case TAG_REF -> this.objects.get((int) this.readVarLong());
+                case TAG_OBJECT -> this.readObject();
+                case TAG_STRING -> this.readNewString();
+                case TAG_STRING_REF -> this.strings.get((int) this.readVarLong());
+                case TAG_TRUE -> Boolean.TRUE;
+                case TAG_FALSE -> Boolean.FALSE;
+                case TAG_INT -> (int) unZigZag(this.readVarLong());
+                case TAG_LONG -> unZigZag(this.readVarLong());
+                case TAG_DOUBLE -> Double.longBitsToDouble(this.readLong());
+                case TAG_FLOAT -> Float.intBitsToFloat((int) this.readVarLong());
+                case TAG_SHORT -> (short) unZigZag(this.readVarLong());
+                case TAG_BYTE -> (byte) this.readByte();
+                case TAG_CHAR -> (char) this.readVarLong();
+                case TAG_BIG_INTEGER -> new BigInteger(this.readBytes());
+                case TAG_BIG_DECIMAL -> {
+                    final int scale = (int) unZigZag(this.readVarLong());
+                    yield new BigDecimal(new BigInteger(this.readBytes()), scale);
+                }
+                case TAG_ENUM -> this.readEnum();
+                case TAG_QNAME -> this.readQName();
+                case TAG_JAXB_ELEMENT -> this.readJAXBElement();
+                case TAG_BYTE_ARRAY -> this.readBytes();
+                case TAG_DOUBLE_ARRAY -> {
+                    final double[] array = new double[(int) this.readVarLong()];
+                    for(int i = 0; i < array.length; i++) {
+                        array[i] = Double.longBitsToDouble(this.readLong());
+                    }
+                    yield array;
+                }
+                case TAG_BOXED_DOUBLE_ARRAY -> {
+                    final Double[] array = new Double[(int) this.readVarLong()];
+                    for(int i = 0; i < array.length; i++) {
+                        array[i] = Double.longBitsToDouble(this.readLong());
+                    }
+                    yield array;
+                }
+                case TAG_OBJECT_ARRAY -> {
+                    final Class<?> componentType = this.readType();
+                    final Object[] array = (Object[]) java.lang.reflect.Array.newInstance(componentType, (int) this.readVarLong());
+                    for(int i = 0; i < array.length; i++) {
+                        array[i] = this.readValue();
+                    }
+                    yield array;
+                }
+                case TAG_DOUBLE_LIST -> {
+                    final int size = (int) this.readVarLong();
+                    final List<Object> list = new ArrayList<>(size);
+                    for(int i = 0; i < size; i++) {
+                        list.add(Double.longBitsToDouble(this.readLong()));
+                    }
+                    yield list;
+                }
+                case TAG_LIST -> {
+                    final int size = (int) this.readVarLong();
+                    final List<Object> list = new ArrayList<>(size);
+                    for(int i = 0; i < size; i++) {
+                        list.add(this.readValue());
+                    }
+                    yield list;
+                }
+                case TAG_MAP -> {
+                    final int size = (int) this.readVarLong();
+                    final Map<Object, Object> map = new LinkedHashMap<>();
+                    for(int i = 0; i < size; i++) {
+                        map.put(this.readValue(), this.readValue());
+                    }
+                    yield map;
+                }
+                case TAG_TEMPORAL -> this.readTemporal();
+                default -> throw new IllegalArgumentException(String.format("Unknown snapshot value tag %d", tag));
+            };
+        }
+
+        /**
+         * Reads a generated class object, registering it before reading its
+         * fields, so that any references back to it can be resolved.
+         *
+         * @return the object read
+         */
+        private Object readObject() {
+            final int layoutIndex = this.readLayout();
+            final ClassLayout layout = this.classLayouts.get(layoutIndex);
+            final Object value = layout.newInstance();
+            this.objects.add(value);
+            try {
+                for(Field field : this.layouts.get(layoutIndex)) {
+                    final Object fieldValue = this.readValue();
+                    // Skip the fields that no longer exist
+                    if(Objects.nonNull(field)) {
+                        field.set(value, fieldValue);
+                    }
+                }
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return value;
+        }
+
+        /**
+         * Reads a class layout and maps its field names to the fields of the
+         * current class version.
+         *
+         * @return the index of the layout
+         */
+        private int readLayout() {
+            final int index = (int) this.readVarLong();
+            if(index > 0) {
+                return index - 1;
+            }
+            final ClassLayout layout = S100DatasetSnapshotCodec.this.getLayout(this.readType());
+            final Field[] fields = new Field[(int) this.readVarLong()];
+            for(int i = 0; i < fields.length; i++) {
+                fields[i] = layout.fieldsByName.get(this.readStringValue());
+            }
+            this.classLayouts.add(layout);
+            this.layouts.add(fields);
+            return this.layouts.size() - 1;
+        }
+
+        /**
+         * Reads a class name, or the index of an already read one.
+         *
+         * @return the class read
+         */
+        private Class<?> readType() {
+            final int index = (int) this.readVarLong();
+            if(index > 0) {
+                return this.types.get(index - 1);
+            }
+            final Class<?> clazz = S100DatasetSnapshotCodec.this.resolveClass(this.readStringValue());
+            this.types.add(clazz);
+            return clazz;
+        }
+
+        /**
+         * Reads an enum constant of the allowed packages.
+         *
+         * @return the enum constant read
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readEnum() {
+            final Class<?> clazz = this.readType();
+            final String name = this.readStringValue();
+            if(!clazz.isEnum() || !clazz.getName().startsWith(S100DatasetSnapshotCodec.this.packagePrefix)) {
+                throw new IllegalArgumentException(String.format("Class %s is not a supported enum", clazz.getName()));
+            }
+            return Enum.valueOf((Class<Enum>) clazz, name);
+        }
+
+        /**
+         * Reads a JAXB element.
+         *
+         * @return the JAXB element read
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readJAXBElement() {
+            final QName name = this.readQName();
+            final Class declaredType = this.readType();
+            final Class<?> scope = this.readType();
+            final boolean nil = this.readByte() != 0;
+            final JAXBElement element = new JAXBElement(name, declaredType, scope, this.readValue());
+            element.setNil(nil);
+            return element;
+        }
+
+        /**
+         * Reads a qualified name.
+         *
+         * @return the qualified name read
+         */
+        private QName readQName() {
+            return new QName(this.readStringValue(), this.readStringValue(), this.readStringValue());
+        }
+
+        /**
+         * Reads a temporal value from its lexical form.
+         *
+         * @return the temporal value read
+         */
+        private Object readTemporal() {
+            final int kind = this.readByte();
+            final String value = this.readStringValue();
+            return switch (kind) {
+                case 0 -> S100DatasetSnapshotCodec.this.datatypeFactory.newXMLGregorianCalendar(value);
+                case 1 -> S100DatasetSnapshotCodec.this.datatypeFactory.newDuration(value);
+                case 2 -> LocalDate.parse(value);
+                case 3 -> LocalTime.parse(value);
+                case 4 -> LocalDateTime.parse(value);
+                case 5 -> OffsetDateTime.parse(value);
+                case 6 -> OffsetTime.parse(value);
+                case 7 -> ZonedDateTime.parse(value);
+                case 8 -> Instant.parse(value);
+                case 9 -> Duration.parse(value);
+                default -> throw new IllegalArgumentException(String.format("Unknown snapshot temporal kind %d", kind));
+            };
+        }
+
+        /**
+         * Reads an untagged string value, e.g. a class or field name.
+         *
+         * @return the string read
+         */
+        private String readStringValue() {
+            final int index = (int) this.readVarLong();
+            return index > 0 ? this.strings.get(index - 1) : this.readNewString();
+        }
+
+        /**
+         * Reads the contents of a string encountered for the first time.
+         *
+         * @return the string read
+         */
+        private String readNewString() {
+            final int length = (int) this.readVarLong();
+            final String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            this.strings.add(value);
+            return value;
+        }
+
+        /**
+         * Reads a length-prefixed byte array.
+         *
+         * @return the byte array read
+         */
+        private byte[] readBytes() {
+            final int length = (int) this.readVarLong();
+            final byte[] bytes = Arrays.copyOfRange(this.buffer, this.position, this.position + length);
+            this.position += length;
+            return bytes;
+        }
+
+        /**
+         * Reads an unsigned variable length long value.
+         *
+         * @return the value read
+         */
+        private long readVarLong() {
+            long value = 0;
+            for(int shift = 0; shift < 64; shift += 7) {
+                final byte b = this.buffer[this.position++];
+                value |= (long) (b & 0x7F) << shift;
+                if((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed snapshot variable length value");
+        }
+
+        /**
+         * Reads a fixed length long value.
+         *
+         * @return the value read
+         */
+        private long readLong() {
+            long value = 0;
+            for(int i = 0; i < 8; i++) {
+                value = (value << 8) | (this.buffer[this.position++] & 0xFF);
+            }
+            return value;
+        }
+
+        /**
+         * Reads a single unsigned byte.
+         *
+         * @return the byte read
+         */
+        private int readByte() {
+            return this.buffer[this.position++] & 0xFF;
+        }
+
+    }
+
+    /**
+     * Returns the temporal kind of the provided class, or -1 if it is not a
+     * supported temporal class.
+     *
+     * @param clazz the class to be checked
+     * @return the temporal kind of the class
+     */
+    static int temporalKind(Class<?> clazz) {
+        for(int i = 0; i < TEMPORAL_KINDS.size(); i++) {
+            if(TEMPORAL_KINDS.get(i).isAssignableFrom(clazz)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Zig-zag encodes a signed value, so that small negative values are also
+     * written compactly.
+     *
+     * @param value the signed value
+     * @return the zig-zag encoded value
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decodes a zig-zag encoded value.
+     *
+     * @param value the zig-zag encoded value
+     * @return the signed value
+     */
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
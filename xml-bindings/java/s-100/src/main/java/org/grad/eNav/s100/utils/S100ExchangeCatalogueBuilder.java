@@ -20,6 +20,9 @@ import _int.iho.s100.catalog._5_2.*;
 import jakarta.xml.bind.JAXBException;
 import org.grad.eNav.s100.enums.CodeListValueTypeProvider;
 import org.grad.eNav.s100.enums.TelephoneType;
+import org.grad.eNav.s100.events.S100CatalogueBuildEvent;
+import org.grad.eNav.s100.metrics.BindingMetrics;
+import org.grad.eNav.s100.metrics.BindingMetricsRegistry;
 import org.iso.standards.iso._19115.__3.cit._2.CITelephoneTypeCodePropertyType;
 import org.iso.standards.iso._19115.__3.lan._1.PTLocalePropertyType;
 
@@ -40,6 +43,18 @@ import java.util.stream.Collectors;
  */
 public class S100ExchangeCatalogueBuilder {
 
+    /**
+     * The default maximum number of signatures in flight when an asynchronous
+     * signature provider is used.
+     */
+    public static final int DEFAULT_MAX_SIGNATURES_IN_FLIGHT = 16;
+
+    /**
+     * The default number of signature requests per batch when an asynchronous
+     * signature provider is used.
+     */
+    public static final int DEFAULT_SIGNATURE_BATCH_SIZE = 8;
+
     // Class Variables
     protected String identifier;
     protected LocalDateTime dateTime;
@@ -66,6 +81,8 @@ public class S100ExchangeCatalogueBuilder {
 
     // Signature Provider
     private final S100ExchangeSetSignatureProvider signatureProvider;
+    private int maxSignaturesInFlight;
+    private int signatureBatchSize;
 
     // Metadata Providers
     private List<DatasetDiscoveryMetadataProvider> datasetDiscoveryMetadataProviders;
@@ -79,6 +96,8 @@ public class S100ExchangeCatalogueBuilder {
      */
     public S100ExchangeCatalogueBuilder(S100ExchangeSetSignatureProvider signatureProvider) {
         this.signatureProvider = signatureProvider;
+        this.maxSignaturesInFlight = DEFAULT_MAX_SIGNATURES_IN_FLIGHT;
+        this.signatureBatchSize = DEFAULT_SIGNATURE_BATCH_SIZE;
 
         // Initialise the object factories
         this.objectFactory = new ObjectFactory();
@@ -292,6 +311,41 @@ public class S100ExchangeCatalogueBuilder {
         return this.setCertificates(x509CertificateMap);
     }
 
+    /**
+     * Sets the maximum number of signatures in flight. This is only used
+     * when an asynchronous signature provider is available, to bound the
+     * number of pipelined signature requests that have not yet completed.
+     *
+     * @param maxSignaturesInFlight the maximum number of signatures in flight
+     * @return the S100 exchange set catalogue builder
+     * @throws IllegalArgumentException if the maximum number is not positive
+     */
+    public S100ExchangeCatalogueBuilder setMaxSignaturesInFlight(int maxSignaturesInFlight) {
+        // Sanity Check
+        if(maxSignaturesInFlight <= 0) {
+            throw new IllegalArgumentException("The maximum number of signatures in flight must be positive");
+        }
+        this.maxSignaturesInFlight = maxSignaturesInFlight;
+        return this;
+    }
+
+    /**
+     * Sets the number of signature requests per batch. This is only used
+     * when an asynchronous signature provider is available.
+     *
+     * @param signatureBatchSize the number of signature requests per batch
+     * @return the S100 exchange set catalogue builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public S100ExchangeCatalogueBuilder setSignatureBatchSize(int signatureBatchSize) {
+        // Sanity Check
+        if(signatureBatchSize <= 0) {
+            throw new IllegalArgumentException("The signature batch size must be positive");
+        }
+        this.signatureBatchSize = signatureBatchSize;
+        return this;
+    }
+
     /**
      * Appends a new dataset metadata provider.
      *
@@ -332,6 +386,12 @@ public class S100ExchangeCatalogueBuilder {
      * @throws JAXBException for any exceptions while marshalling the XML content
      */
     public S100ExchangeCatalogue build() throws JAXBException, CertificateEncodingException {
+        // Start monitoring the operation
+        final S100CatalogueBuildEvent event = new S100CatalogueBuildEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // Create a new exchange set catalogue
         final S100ExchangeCatalogue exchangeCatalogue  = new S100ExchangeCatalogue();
 
@@ -445,30 +505,59 @@ public class S100ExchangeCatalogueBuilder {
         exchangeCatalogue.setCatalogueDiscoveryMetadata(
                 new S100ExchangeCatalogue.CatalogueDiscoveryMetadata()
         );
+        // Pipeline the signature requests if the provider is asynchronous
+        final S100ExchangeSetSignaturePipeline signaturePipeline = this.signatureProvider instanceof S100ExchangeSetAsyncSignatureProvider asyncSignatureProvider ?
+                new S100ExchangeSetSignaturePipeline(asyncSignatureProvider, this.maxSignaturesInFlight, this.signatureBatchSize) :
+                null;
+        final S100ExchangeSetSignatureProvider metadataSignatureProvider = Objects.nonNull(signaturePipeline) ?
+                signaturePipeline :
+                this.signatureProvider;
+
         // Add more metadata lists from the providers if any
         exchangeCatalogue.getDatasetDiscoveryMetadata()
                 .getS100DatasetDiscoveryMetadatas()
                 .addAll(this.datasetDiscoveryMetadataProviders.stream()
                         .map(provider -> provider.buildMetadata(
-                                new S100DatasetDiscoveryMetadataBuilder(this.signatureProvider)
+                                new S100DatasetDiscoveryMetadataBuilder(metadataSignatureProvider)
                         ))
                         .toList());
         exchangeCatalogue.getSupportFileDiscoveryMetadata()
                 .getS100SupportFileDiscoveryMetadatas()
                 .addAll(this.supportFileDiscoveryMetadataProviders.stream()
                         .map(provider -> provider.buildMetadata(
-                                new S100SupportFileDiscoveryMetadataBuilder(this.signatureProvider)
+                                new S100SupportFileDiscoveryMetadataBuilder(metadataSignatureProvider)
                         ))
                         .toList());
         exchangeCatalogue.getCatalogueDiscoveryMetadata()
                 .getS100CatalogueDiscoveryMetadatas()
                 .addAll(this.catalogueDiscoveryMetadataProviders.stream()
                         .map(provider -> provider.buildMetadata(
-                                new S100CatalogueDiscoveryMetadataBuilder(this.signatureProvider)
+                                new S100CatalogueDiscoveryMetadataBuilder(metadataSignatureProvider)
                         ))
                         .toList());
+
+        // Make sure all pipelined signatures have been populated
+        if(Objects.nonNull(signaturePipeline)) {
+            signaturePipeline.await();
+        }
         // ================================================================== //
 
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(S100ExchangeSetUtils.PRODUCT, BindingMetrics.CATALOGUE_BUILD, startTime);
+        if(metrics.isEnabled()) {
+            metrics.incrementCounter(S100ExchangeSetUtils.PRODUCT, BindingMetrics.CATALOGUE_ENTRIES, S100ExchangeSetUtils.getDiscoveryMetadataCount(exchangeCatalogue));
+        }
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setProduct(S100ExchangeSetUtils.PRODUCT)
+                    .setMemberCount(S100ExchangeSetUtils.getDiscoveryMetadataCount(exchangeCatalogue))
+                    .commit();
+        }
+
         // And finally marshall to the XML output
         return exchangeCatalogue;
     }
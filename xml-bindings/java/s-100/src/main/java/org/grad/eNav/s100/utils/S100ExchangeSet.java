@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100DatasetDiscoveryMetadata;
+import _int.iho.s100.catalog._5_2.S100ExchangeCatalogue;
+import _int.iho.s100.catalog._5_2.S100SupportFileDiscoveryMetadata;
+import jakarta.xml.bind.JAXBException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The S100 Exchange Set Class.
+ * <p/>
+ * This class provides lazy, random access to an S-100 exchange set, stored
+ * either as a ZIP archive or as a directory tree. When opened, only the
+ * exchange set catalogue (i.e. the "CATALOG.XML" file) is parsed, while the
+ * dataset and support files are accessed on demand, through channels,
+ * streams or memory-mapped buffers. ZIP archives are accessed through the
+ * NIO ZIP file system, so opening even very large exchange sets does not
+ * require reading through the whole archive.
+ * <p/>
+ * The datasets can be passed directly to the relevant product unmarshallers,
+ * e.g. {@code exchangeSet.readDataset(fileName, S125Utils::unmarshallS125)}.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100ExchangeSet implements Closeable {
+
+    // Class Variables
+    private final FileSystem fileSystem;
+    private final Path root;
+    private final S100ExchangeCatalogue catalogue;
+    private final Map<String, S100DatasetDiscoveryMetadata> datasetMetadata;
+    private final Map<String, S100SupportFileDiscoveryMetadata> supportFileMetadata;
+
+    /**
+     * Class Constructor.
+     *
+     * @param fileSystem the ZIP file system to be closed with the exchange set, if any
+     * @param root the exchange set root directory
+     * @param catalogue the parsed exchange set catalogue
+     */
+    private S100ExchangeSet(FileSystem fileSystem, Path root, S100ExchangeCatalogue catalogue) {
+        this.fileSystem = fileSystem;
+        this.root = root.toAbsolutePath().normalize();
+        this.catalogue = catalogue;
+
+        // Index the file metadata by their file names
+        this.datasetMetadata = Optional.ofNullable(catalogue.getDatasetDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.DatasetDiscoveryMetadata::getS100DatasetDiscoveryMetadatas)
+                .orElse(Collections.emptyList())
+                .stream()
+                .filter(metadata -> Objects.nonNull(metadata.getFileName()))
+                .collect(Collectors.toMap(metadata -> normaliseFileName(metadata.getFileName()), Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        this.supportFileMetadata = Optional.ofNullable(catalogue.getSupportFileDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.SupportFileDiscoveryMetadata::getS100SupportFileDiscoveryMetadatas)
+                .orElse(Collections.emptyList())
+                .stream()
+                .filter(metadata -> Objects.nonNull(metadata.getFileName()))
+                .collect(Collectors.toMap(metadata -> normaliseFileName(metadata.getFileName()), Function.identity(), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Opens the S-100 exchange set at the provided location, which can be
+     * either a ZIP archive or a directory. In both cases, the location can
+     * either contain the "S100_ROOT" directory, or be the root directory
+     * itself. Only the exchange set catalogue is parsed at this point.
+     *
+     * @param path the location of the exchange set
+     * @return the opened S-100 exchange set
+     * @throws IOException for any errors while accessing the exchange set
+     * @throws JAXBException for any errors while parsing the exchange set catalogue
+     */
+    public static S100ExchangeSet open(Path path) throws IOException, JAXBException {
+        // Directories can be accessed directly
+        if(Files.isDirectory(path)) {
+            return open(null, path);
+        }
+
+        // Otherwise, access the archive through the ZIP file system
+        final FileSystem zipFileSystem = FileSystems.newFileSystem(path);
+        try {
+            return open(zipFileSystem, zipFileSystem.getPath("/"));
+        } catch (IOException | JAXBException | RuntimeException ex) {
+            zipFileSystem.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Locates the exchange set root directory and parses its catalogue.
+     *
+     * @param fileSystem the ZIP file system to be closed with the exchange set, if any
+     * @param base the base directory of the exchange set
+     * @return the opened S-100 exchange set
+     * @throws IOException for any errors while accessing the exchange set
+     * @throws JAXBException for any errors while parsing the exchange set catalogue
+     */
+    private static S100ExchangeSet open(FileSystem fileSystem, Path base) throws IOException, JAXBException {
+        final Path root = Files.isDirectory(base.resolve(S100ExchangeSetPackager.ROOT_DIRECTORY)) ?
+                base.resolve(S100ExchangeSetPackager.ROOT_DIRECTORY) :
+                base;
+        final Path cataloguePath = root.resolve(S100ExchangeSetPackager.CATALOGUE_FILE_NAME);
+
+        // Sanity Check
+        if(!Files.isRegularFile(cataloguePath)) {
+            throw new NoSuchFileException(cataloguePath.toString(), null, "No exchange set catalogue found");
+        }
+
+        // Parse only the catalogue
+        try(InputStream in = Files.newInputStream(cataloguePath)) {
+            return new S100ExchangeSet(fileSystem, root, S100ExchangeSetUtils.unmarshallS100ExchangeSetCatalogue(in));
+        }
+    }
+
+    /**
+     * Returns the parsed exchange set catalogue.
+     *
+     * @return the exchange set catalogue
+     */
+    public S100ExchangeCatalogue getCatalogue() {
+        return this.catalogue;
+    }
+
+    /**
+     * Returns the file names of the datasets listed in the catalogue.
+     *
+     * @return the dataset file names
+     */
+    public Set<String> getDatasetFileNames() {
+        return Collections.unmodifiableSet(this.datasetMetadata.keySet());
+    }
+
+    /**
+     * Returns the file names of the support files listed in the catalogue.
+     *
+     * @return the support file names
+     */
+    public Set<String> getSupportFileNames() {
+        return Collections.unmodifiableSet(this.supportFileMetadata.keySet());
+    }
+
+    /**
+     * Returns the discovery metadata of the dataset with the provided file
+     * name, if listed in the catalogue.
+     *
+     * @param fileName the dataset file name
+     * @return the dataset discovery metadata
+     */
+    public Optional<S100DatasetDiscoveryMetadata> getDatasetMetadata(String fileName) {
+        return Optional.ofNullable(fileName)
+                .map(S100ExchangeSet::normaliseFileName)
+                .map(this.datasetMetadata::get);
+    }
+
+    /**
+     * Returns the discovery metadata of the support file with the provided
+     * file name, if listed in the catalogue.
+     *
+     * @param fileName the support file name
+     * @return the support file discovery metadata
+     */
+    public Optional<S100SupportFileDiscoveryMetadata> getSupportFileMetadata(String fileName) {
+        return Optional.ofNullable(fileName)
+                .map(S100ExchangeSet::normaliseFileName)
+                .map(this.supportFileMetadata::get);
+    }
+
+    /**
+     * Resolves the path of the provided exchange set file, relative to the
+     * exchange set root directory.
+     *
+     * @param fileName the exchange set file name
+     * @return the path of the exchange set file
+     * @throws NoSuchFileException if the file does not exist in the exchange set
+     */
+    public Path getPath(String fileName) throws NoSuchFileException {
+        final Path path = this.root.resolve(normaliseFileName(fileName)).normalize();
+
+        // Sanity Check
+        if(!path.startsWith(this.root) || !Files.isRegularFile(path)) {
+            throw new NoSuchFileException(fileName, null, "No such exchange set file");
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the size of the provided exchange set file in bytes.
+     *
+     * @param fileName the exchange set file name
+     * @return the size of the file in bytes
+     * @throws IOException for any errors while accessing the file
+     */
+    public long size(String fileName) throws IOException {
+        return Files.size(this.getPath(fileName));
+    }
+
+    /**
+     * Opens a channel to the provided exchange set file.
+     *
+     * @param fileName the exchange set file name
+     * @return the opened channel
+     * @throws IOException for any errors while opening the file
+     */
+    public SeekableByteChannel openChannel(String fileName) throws IOException {
+        return Files.newByteChannel(this.getPath(fileName), StandardOpenOption.READ);
+    }
+
+    /**
+     * Opens an input stream to the provided exchange set file.
+     *
+     * @param fileName the exchange set file name
+     * @return the opened input stream
+     * @throws IOException for any errors while opening the file
+     */
+    public InputStream openStream(String fileName) throws IOException {
+        return Files.newInputStream(this.getPath(fileName));
+    }
+
+    /**
+     * Maps the provided exchange set file into memory. For directory based
+     * exchange sets, the file is memory-mapped in read-only mode. ZIP entries
+     * cannot be memory-mapped, since they are normally compressed, so in that
+     * case the entry is read into a heap buffer instead.
+     *
+     * @param fileName the exchange set file name
+     * @return the read-only buffer of the file contents
+     * @throws IOException for any errors while reading the file
+     */
+    public ByteBuffer map(String fileName) throws IOException {
+        final Path path = this.getPath(fileName);
+
+        // Map the files of the default file system
+        if(Objects.isNull(this.fileSystem)) {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        // Otherwise, read the entry into a buffer
+        final long size = Files.size(path);
+        if(size > Integer.MAX_VALUE) {
+            throw new IOException("Exchange set entry too large to be buffered: " + fileName);
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(path)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads the provided exchange set dataset file using the provided reader,
+     * which will normally be one of the product unmarshallers, such as the
+     * {@code S125Utils::unmarshallS125}. The dataset is streamed into the
+     * reader and the stream is closed afterwards.
+     *
+     * @param fileName the dataset file name
+     * @param reader the dataset reader
+     * @return the read dataset
+     * @param <T> the type of the read dataset
+     * @throws IOException for any errors while reading the dataset file
+     * @throws JAXBException for any errors while unmarshalling the dataset
+     */
+    public <T> T readDataset(String fileName, DatasetReader<T> reader) throws IOException, JAXBException {
+        try(InputStream in = this.openStream(fileName)) {
+            return reader.read(in);
+        }
+    }
+
+    /**
+     * Closes the exchange set, along with the underlying ZIP file system if
+     * the exchange set was opened from an archive.
+     *
+     * @throws IOException for any errors while closing the ZIP file system
+     */
+    @Override
+    public void close() throws IOException {
+        if(Objects.nonNull(this.fileSystem)) {
+            this.fileSystem.close();
+        }
+    }
+
+    /**
+     * The catalogue file names are relative to the exchange set root, but
+     * may be listed with leading separators or Windows style separators.
+     *
+     * @param fileName the file name to be normalised
+     * @return the normalised file name
+     */
+    private static String normaliseFileName(String fileName) {
+        String normalised = fileName.replace('\\', '/');
+        while(normalised.startsWith("/")) {
+            normalised = normalised.substring(1);
+        }
+        return normalised;
+    }
+
+    /**
+     * The Dataset Reader Interface.
+     * <p/>
+     * Reads a dataset object from the provided input stream.
+     *
+     * @param <T> the type of the read dataset
+     */
+    @FunctionalInterface
+    public interface DatasetReader<T> {
+        T read(InputStream in) throws IOException, JAXBException;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignature;
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignatureReference;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The S-100 Exchange Set Asynchronous Signature Provider Interface.
+ * <p/>
+ * This is an asynchronous variant of the S-100 exchange set signature provider,
+ * suitable for remote signers such as HSMs, where each signature request costs
+ * a round trip. When such a provider is used by the S-100 exchange catalogue
+ * builder, the signature requests of the dataset, support file and catalogue
+ * metadata are pipelined and sent in batches.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface S100ExchangeSetAsyncSignatureProvider extends S100ExchangeSetSignatureProvider {
+
+    /**
+     * The asynchronous signature generation interface. This provides the ID
+     * of the object to be signed, algorithm requested for the signature
+     * process and the payload to be signed, and returns a future that will
+     * complete with the generated signature.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the payload to be signed
+     * @return the future of the populated S-100 digital signature object
+     */
+    CompletableFuture<S100SEDigitalSignature> generateSignatureAsync(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload);
+
+    /**
+     * The batch signature generation interface. This allows a number of
+     * signature requests to be handled in a single call. The returned future
+     * should complete with the generated signatures, in the same order as the
+     * provided requests.
+     * <p/>
+     * By default, each request is handled individually by the asynchronous
+     * signature generation, so providers that support batch operations should
+     * override this function.
+     *
+     * @param requests the list of signature requests
+     * @return the future of the populated S-100 digital signature objects
+     */
+    default CompletableFuture<List<S100SEDigitalSignature>> generateSignatures(List<SignatureRequest> requests) {
+        final List<CompletableFuture<S100SEDigitalSignature>> futures = requests.stream()
+                .map(request -> this.generateSignatureAsync(request.objectId(), request.algorithm(), request.payload()))
+                .toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .toList());
+    }
+
+    /**
+     * The synchronous signature generation is implemented by waiting on the
+     * asynchronous operation.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the payload to be signed
+     * @return the populated S-100 digital signature object
+     */
+    @Override
+    default S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload) {
+        return this.generateSignatureAsync(objectId, algorithm, payload).join();
+    }
+
+    /**
+     * The S-100 Exchange Set Signature Request Record.
+     * <p/>
+     * A single entry of a batch signature operation.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the payload to be signed
+     */
+    record SignatureRequest(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload) {
+
+    }
+
+}
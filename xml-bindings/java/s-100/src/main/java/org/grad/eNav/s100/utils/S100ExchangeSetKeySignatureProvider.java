@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignature;
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignatureReference;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The S100 Exchange Set Key Signature Provider Class.
+ * <p/>
+ * A signature provider that signs the exchange set files with a private key,
+ * using the {@link Signature} algorithm that matches the requested S-100
+ * digital signature reference. Unlike the byte array based providers, the
+ * signature sessions of this provider feed every payload chunk straight into
+ * the {@link Signature} object, so the builders and packagers can sign files
+ * of any size, including ones larger than 2GB, without ever holding more than
+ * a single chunk in memory.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100ExchangeSetKeySignatureProvider implements S100ExchangeSetSignatureProvider {
+
+    // Class Variables
+    private final PrivateKey privateKey;
+    private final String certificateRef;
+    private final Function<Object, String> signatureIdGenerator;
+
+    /**
+     * Class Constructor. The generated signatures will be identified by the
+     * IDs of the objects being signed.
+     *
+     * @param privateKey the private key to sign with
+     * @param certificateRef the reference of the matching certificate
+     */
+    public S100ExchangeSetKeySignatureProvider(PrivateKey privateKey, String certificateRef) {
+        this(privateKey, certificateRef, String::valueOf);
+    }
+
+    /**
+     * Class Constructor.
+     *
+     * @param privateKey the private key to sign with
+     * @param certificateRef the reference of the matching certificate
+     * @param signatureIdGenerator the generator of the signature IDs, from the IDs of the objects being signed
+     */
+    public S100ExchangeSetKeySignatureProvider(PrivateKey privateKey, String certificateRef, Function<Object, String> signatureIdGenerator) {
+        this.privateKey = Objects.requireNonNull(privateKey, "The signing private key is required");
+        this.certificateRef = Objects.requireNonNull(certificateRef, "The signing certificate reference is required");
+        this.signatureIdGenerator = Objects.requireNonNull(signatureIdGenerator, "The signature ID generator is required");
+    }
+
+    /**
+     * Signs the provided payload as a whole, through a single chunk signature
+     * session.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the payload to be signed
+     * @return the populated S-100 digital signature object
+     */
+    @Override
+    public S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload) {
+        final SignatureSession session = this.openSignatureSession(objectId, algorithm);
+        session.update(ByteBuffer.wrap(payload));
+        return session.sign();
+    }
+
+    /**
+     * Opens a signature session that updates a {@link Signature} object,
+     * initialised with the private key of the provider, with every payload
+     * chunk it receives.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @return the signature session to be updated with the payload
+     */
+    @Override
+    public SignatureSession openSignatureSession(Object objectId, S100SEDigitalSignatureReference algorithm) {
+        final Signature signer;
+        try {
+            signer = Signature.getInstance(getSignatureAlgorithm(algorithm));
+            signer.initSign(this.privateKey);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return SignatureSession.forSignature(signer, value -> {
+            final S100SEDigitalSignature s100SEDigitalSignature = new S100SEDigitalSignature();
+            s100SEDigitalSignature.setId(this.signatureIdGenerator.apply(objectId));
+            s100SEDigitalSignature.setCertificateRef(this.certificateRef);
+            s100SEDigitalSignature.setValue(value);
+            return s100SEDigitalSignature;
+        });
+    }
+
+    /**
+     * Returns the name of the {@link Signature} algorithm that matches the
+     * provided S-100 digital signature reference. If no reference is
+     * provided, DSA is assumed, as per the S-100 default.
+     *
+     * @param reference the S-100 digital signature reference
+     * @return the matching signature algorithm name
+     * @throws NoSuchAlgorithmException if the reference is not supported
+     */
+    public static String getSignatureAlgorithm(S100SEDigitalSignatureReference reference) throws NoSuchAlgorithmException {
+        final String value = Optional.ofNullable(reference)
+                .orElse(S100SEDigitalSignatureReference.DSA)
+                .value();
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "dsa" -> "SHA256withDSA";
+            case "ecdsa-256-sha2" -> "SHA256withECDSA";
+            case "ecdsa-384-sha2" -> "SHA384withECDSA";
+            default -> throw new NoSuchAlgorithmException("Unsupported S-100 digital signature reference: " + value);
+        };
+    }
+
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.*;
+import jakarta.xml.bind.JAXBException;
+import org.grad.eNav.s100.metrics.BindingMetrics;
+import org.grad.eNav.s100.metrics.BindingMetricsRegistry;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The S100 Exchange Set Packager Class.
+ * <p/>
+ * This class packages a whole S-100 exchange set, either into a ZIP archive
+ * or a directory tree, in a single pass. Each dataset and support file is
+ * streamed into its destination while its SHA-256 digest and signature are
+ * computed on the same chunks, so the file contents are only read once. The
+ * discovery metadata of each file is then appended to the provided exchange
+ * catalogue builder, and the "CATALOG.XML" file is written last, once the
+ * {@link #finish()} function is called.
+ * <p/>
+ * Note that the ZIP archives are written using the Zip64 extensions whenever
+ * required, i.e. for entries or archives larger than 4GB, or for more than
+ * 65535 entries. This class is not thread-safe.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100ExchangeSetPackager implements Closeable {
+
+    /**
+     * The S-100 exchange set root directory.
+     */
+    public static final String ROOT_DIRECTORY = "S100_ROOT";
+
+    /**
+     * The S-100 exchange set catalogue file name.
+     */
+    public static final String CATALOGUE_FILE_NAME = "CATALOG.XML";
+
+    /**
+     * The digest algorithm used for the packaged files.
+     */
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
+    // Class Variables
+    private final S100ExchangeCatalogueBuilder catalogueBuilder;
+    private final S100ExchangeSetSignatureProvider signatureProvider;
+    private final EntryTarget entryTarget;
+    private final Map<String, byte[]> entryDigests;
+    private boolean finished;
+
+    /**
+     * Class Constructor.
+     *
+     * @param catalogueBuilder the exchange catalogue builder to append the metadata to
+     * @param signatureProvider the signature provider for the packaged files
+     * @param entryTarget the target to write the packaged entries to
+     */
+    private S100ExchangeSetPackager(S100ExchangeCatalogueBuilder catalogueBuilder,
+                                    S100ExchangeSetSignatureProvider signatureProvider,
+                                    EntryTarget entryTarget) {
+        this.catalogueBuilder = Objects.requireNonNull(catalogueBuilder, "The exchange catalogue builder is required");
+        this.signatureProvider = signatureProvider;
+        this.entryTarget = entryTarget;
+        this.entryDigests = new LinkedHashMap<>();
+        this.finished = false;
+    }
+
+    /**
+     * Creates a new packager that will write the exchange set as a ZIP
+     * archive into the provided output stream. The output stream will be
+     * closed when the packager is finished or closed.
+     *
+     * @param outputStream the output stream to write the ZIP archive to
+     * @param catalogueBuilder the exchange catalogue builder to append the metadata to
+     * @param signatureProvider the signature provider for the packaged files
+     * @return the S-100 exchange set packager
+     */
+    public static S100ExchangeSetPackager toZip(OutputStream outputStream,
+                                                S100ExchangeCatalogueBuilder catalogueBuilder,
+                                                S100ExchangeSetSignatureProvider signatureProvider) {
+        return new S100ExchangeSetPackager(catalogueBuilder, signatureProvider, new ZipEntryTarget(outputStream));
+    }
+
+    /**
+     * Creates a new packager that will write the exchange set as a directory
+     * tree under the provided directory.
+     *
+     * @param directory the directory to write the exchange set to
+     * @param catalogueBuilder the exchange catalogue builder to append the metadata to
+     * @param signatureProvider the signature provider for the packaged files
+     * @return the S-100 exchange set packager
+     */
+    public static S100ExchangeSetPackager toDirectory(Path directory,
+                                                      S100ExchangeCatalogueBuilder catalogueBuilder,
+                                                      S100ExchangeSetSignatureProvider signatureProvider) {
+        return new S100ExchangeSetPackager(catalogueBuilder, signatureProvider, new DirectoryEntryTarget(directory));
+    }
+
+    /**
+     * Streams a dataset file into the exchange set, signing it on the way,
+     * and appends its discovery metadata to the exchange catalogue. The
+     * provided configurer can be used to populate the rest of the dataset
+     * discovery metadata information, while the file name and signature will
+     * be set by the packager.
+     *
+     * @param fileName the dataset file name, relative to the exchange set root
+     * @param content the dataset file content
+     * @param configurer the configurer of the dataset discovery metadata
+     * @return the S-100 exchange set packager
+     * @throws IOException for any errors while streaming the dataset file
+     */
+    public S100ExchangeSetPackager addDataset(String fileName,
+                                              InputStream content,
+                                              Consumer<S100DatasetDiscoveryMetadataBuilder> configurer) throws IOException {
+        // Configure the metadata builder
+        final S100DatasetDiscoveryMetadataBuilder builder = new S100DatasetDiscoveryMetadataBuilder(null);
+        Optional.ofNullable(configurer).ifPresent(c -> c.accept(builder));
+        builder.setFileName(fileName);
+
+        // Stream the file and pick up its signature
+        final S100SEDigitalSignature signature = this.writeEntry(fileName, content, builder.getSignatureReference());
+        if(Objects.nonNull(signature)) {
+            final S100DatasetDiscoveryMetadata.DigitalSignatureValue digitalSignatureValue = new S100DatasetDiscoveryMetadata.DigitalSignatureValue();
+            digitalSignatureValue.setS100SEDigitalSignature(new ObjectFactory().createS100SEDigitalSignature(signature));
+            builder.setDigitalSignatureValues(Collections.singletonList(digitalSignatureValue));
+        }
+
+        // And append the metadata to the catalogue
+        final S100DatasetDiscoveryMetadata metadata = builder.build((byte[]) null);
+        this.catalogueBuilder.addDatasetMetadata(b -> metadata);
+        return this;
+    }
+
+    /**
+     * Streams a dataset file from the provided path into the exchange set.
+     *
+     * @param fileName the dataset file name, relative to the exchange set root
+     * @param content the path of the dataset file
+     * @param configurer the configurer of the dataset discovery metadata
+     * @return the S-100 exchange set packager
+     * @throws IOException for any errors while streaming the dataset file
+     */
+    public S100ExchangeSetPackager addDataset(String fileName,
+                                              Path content,
+                                              Consumer<S100DatasetDiscoveryMetadataBuilder> configurer) throws IOException {
+        try(InputStream in = Files.newInputStream(content)) {
+            return this.addDataset(fileName, in, configurer);
+        }
+    }
+
+    /**
+     * Streams a support file into the exchange set, signing it on the way,
+     * and appends its discovery metadata to the exchange catalogue. The
+     * provided configurer can be used to populate the rest of the support
+     * file discovery metadata information, while the file name and signature
+     * will be set by the packager.
+     *
+     * @param fileName the support file name, relative to the exchange set root
+     * @param content the support file content
+     * @param configurer the configurer of the support file discovery metadata
+     * @return the S-100 exchange set packager
+     * @throws IOException for any errors while streaming the support file
+     */
+    public S100ExchangeSetPackager addSupportFile(String fileName,
+                                                  InputStream content,
+                                                  Consumer<S100SupportFileDiscoveryMetadataBuilder> configurer) throws IOException {
+        // Configure the metadata builder
+        final S100SupportFileDiscoveryMetadataBuilder builder = new S100SupportFileDiscoveryMetadataBuilder(null);
+        Optional.ofNullable(configurer).ifPresent(c -> c.accept(builder));
+        builder.setFileName(fileName);
+
+        // Stream the file and pick up its signature
+        final S100SEDigitalSignature signature = this.writeEntry(fileName, content, builder.getSignatureReference());
+        if(Objects.nonNull(signature)) {
+            final S100SupportFileDiscoveryMetadata.DigitalSignatureValue digitalSignatureValue = new S100SupportFileDiscoveryMetadata.DigitalSignatureValue();
+            digitalSignatureValue.setS100SEDigitalSignature(new ObjectFactory().createS100SEDigitalSignature(signature));
+            builder.setDigitalSignatureValues(Collections.singletonList(digitalSignatureValue));
+        }
+
+        // And append the metadata to the catalogue
+        final S100SupportFileDiscoveryMetadata metadata = builder.build((byte[]) null);
+        this.catalogueBuilder.addSupportFileMetadata(b -> metadata);
+        return this;
+    }
+
+    /**
+     * Streams a support file from the provided path into the exchange set.
+     *
+     * @param fileName the support file name, relative to the exchange set root
+     * @param content the path of the support file
+     * @param configurer the configurer of the support file discovery metadata
+     * @return the S-100 exchange set packager
+     * @throws IOException for any errors while streaming the support file
+     */
+    public S100ExchangeSetPackager addSupportFile(String fileName,
+                                                  Path content,
+                                                  Consumer<S100SupportFileDiscoveryMetadataBuilder> configurer) throws IOException {
+        try(InputStream in = Files.newInputStream(content)) {
+            return this.addSupportFile(fileName, in, configurer);
+        }
+    }
+
+    /**
+     * Returns the SHA-256 digests of all the files packaged so far, indexed
+     * by their file names, in the order they were packaged.
+     *
+     * @return the digests of the packaged files
+     */
+    public Map<String, byte[]> getEntryDigests() {
+        return Collections.unmodifiableMap(this.entryDigests);
+    }
+
+    /**
+     * Builds the exchange set catalogue, writes it as the last entry of the
+     * exchange set and closes the packager.
+     *
+     * @return the exchange set catalogue written
+     * @throws IOException for any errors while writing the catalogue file
+     * @throws JAXBException for any errors while marshalling the catalogue
+     * @throws CertificateEncodingException for any errors while encoding the catalogue certificates
+     */
+    public S100ExchangeCatalogue finish() throws IOException, JAXBException, CertificateEncodingException {
+        // Sanity Check
+        if(this.finished) {
+            throw new IllegalStateException("The exchange set has already been finished");
+        }
+
+        // Build and marshall the catalogue
+        final S100ExchangeCatalogue exchangeCatalogue = this.catalogueBuilder.build();
+        final byte[] catalogue = S100ExchangeSetUtils.marshalS100ExchangeSetCatalogue(exchangeCatalogue)
+                .getBytes(StandardCharsets.UTF_8);
+
+        // Write it as the last entry
+        try(OutputStream out = this.entryTarget.open(ROOT_DIRECTORY + "/" + CATALOGUE_FILE_NAME)) {
+            out.write(catalogue);
+        }
+
+        // And close the packager
+        this.close();
+        return exchangeCatalogue;
+    }
+
+    /**
+     * Closes the packager and the underlying target. Note that if the
+     * packager has not been finished, the exchange set catalogue will not
+     * be written.
+     *
+     * @throws IOException for any errors while closing the underlying target
+     */
+    @Override
+    public void close() throws IOException {
+        if(!this.finished) {
+            this.finished = true;
+            this.entryTarget.close();
+        }
+    }
+
+    /**
+     * Streams the provided content into a new entry of the exchange set,
+     * feeding every chunk into the digest and the signature session as well.
+     *
+     * @param fileName the file name, relative to the exchange set root
+     * @param content the file content
+     * @param algorithm the signature algorithm to be used
+     * @return the generated signature, or null if no signature provider is available
+     * @throws IOException for any errors while streaming the file
+     */
+    private S100SEDigitalSignature writeEntry(String fileName,
+                                              InputStream content,
+                                              S100SEDigitalSignatureReference algorithm) throws IOException {
+        // Sanity Check
+        if(this.finished) {
+            throw new IllegalStateException("The exchange set has already been finished");
+        }
+        if(this.entryDigests.containsKey(fileName)) {
+            throw new IllegalArgumentException("Duplicate exchange set file name: " + fileName);
+        }
+
+        // Initialise the digest and signature session
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+        final MessageDigest digest = newDigest();
+        final S100ExchangeSetSignatureProvider.SignatureSession session = Objects.nonNull(this.signatureProvider) ?
+                this.signatureProvider.openSignatureSession(fileName, algorithm) :
+                null;
+
+        // Stream the content in chunks
+        final byte[] buffer = new byte[S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE];
+        try(OutputStream out = this.entryTarget.open(ROOT_DIRECTORY + "/" + fileName)) {
+            int read;
+            while((read = content.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                digest.update(buffer, 0, read);
+                if(Objects.nonNull(session)) {
+                    session.update(ByteBuffer.wrap(buffer, 0, read));
+                }
+            }
+        }
+
+        // Keep the digest and generate the signature
+        this.entryDigests.put(fileName, digest.digest());
+        if(Objects.isNull(session)) {
+            return null;
+        }
+        final S100SEDigitalSignature signature = session.sign();
+
+        // Record the signature metrics and return the signature
+        metrics.recordLatency(S100ExchangeSetUtils.PRODUCT, BindingMetrics.SIGNATURE, startTime);
+        metrics.incrementCounter(S100ExchangeSetUtils.PRODUCT, BindingMetrics.SIGNATURES, 1);
+        return signature;
+    }
+
+    /**
+     * Creates a new message digest for the packaged files.
+     *
+     * @return the new message digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on all Java platforms
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    //========================================================================//
+    //                       Exchange Set Entry Targets                       //
+    // ---------------------------------------------------------------------- //
+    // The packager can write the exchange set entries either into a ZIP      //
+    // archive or a directory tree, through the following target interface.   //
+    //========================================================================//
+    private interface EntryTarget extends Closeable {
+        OutputStream open(String name) throws IOException;
+    }
+
+    private static class ZipEntryTarget implements EntryTarget {
+
+        // Class Variables
+        private final ZipOutputStream zipOutputStream;
+
+        ZipEntryTarget(OutputStream outputStream) {
+            this.zipOutputStream = new ZipOutputStream(new BufferedOutputStream(outputStream));
+        }
+
+        @Override
+        public OutputStream open(String name) throws IOException {
+            this.zipOutputStream.putNextEntry(new ZipEntry(name));
+            return new FilterOutputStream(this.zipOutputStream) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    this.out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    zipOutputStream.closeEntry();
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.zipOutputStream.close();
+        }
+    }
+
+    private static class DirectoryEntryTarget implements EntryTarget {
+
+        // Class Variables
+        private final Path directory;
+
+        DirectoryEntryTarget(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public OutputStream open(String name) throws IOException {
+            final Path file = this.directory.resolve(name).normalize();
+            if(!file.startsWith(this.directory.normalize())) {
+                throw new IOException("Exchange set entry outside the target directory: " + name);
+            }
+            Files.createDirectories(file.getParent());
+            return new BufferedOutputStream(Files.newOutputStream(file));
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+    //========================================================================//
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignature;
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignatureReference;
+import org.grad.eNav.s100.utils.S100ExchangeSetAsyncSignatureProvider.SignatureRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The S-100 Exchange Set Signature Pipeline Class.
+ * <p/>
+ * This is a synchronous signature provider used internally by the S-100
+ * exchange catalogue builder, to pipeline the signature requests of the
+ * metadata builders through an asynchronous signature provider. Each request
+ * immediately returns an empty signature object, which is populated once the
+ * batch it was sent with completes. Requests are grouped in batches and the
+ * number of signatures in flight is bounded, so that the remote signer does
+ * not get flooded.
+ * <p/>
+ * The {@link #await()} function should always be called before the returned
+ * signature objects are used.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+class S100ExchangeSetSignaturePipeline implements S100ExchangeSetSignatureProvider {
+
+    // Class Variables
+    private final S100ExchangeSetAsyncSignatureProvider signatureProvider;
+    private final int batchSize;
+    private final Semaphore signaturesInFlight;
+    private final List<SignatureRequest> pendingRequests;
+    private final List<S100SEDigitalSignature> pendingSignatures;
+    private final List<CompletableFuture<Void>> dispatchedBatches;
+
+    /**
+     * Class Constructor.
+     *
+     * @param signatureProvider the asynchronous signature provider
+     * @param maxSignaturesInFlight the maximum number of signatures in flight
+     * @param batchSize the number of signature requests per batch
+     */
+    S100ExchangeSetSignaturePipeline(S100ExchangeSetAsyncSignatureProvider signatureProvider, int maxSignaturesInFlight, int batchSize) {
+        if(maxSignaturesInFlight < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The signatures in flight and batch size should be positive");
+        }
+        this.signatureProvider = signatureProvider;
+        this.batchSize = Math.min(batchSize, maxSignaturesInFlight);
+        this.signaturesInFlight = new Semaphore(maxSignaturesInFlight);
+        this.pendingRequests = new ArrayList<>();
+        this.pendingSignatures = new ArrayList<>();
+        this.dispatchedBatches = new ArrayList<>();
+    }
+
+    /**
+     * Queues the signature request in the current batch and returns the
+     * signature object that will be populated once the batch completes.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the payload to be signed
+     * @return the S-100 digital signature object to be populated
+     */
+    @Override
+    public synchronized S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload) {
+        final S100SEDigitalSignature signature = new S100SEDigitalSignature();
+        this.pendingRequests.add(new SignatureRequest(objectId, algorithm, payload));
+        this.pendingSignatures.add(signature);
+
+        // Dispatch the batch when full
+        if(this.pendingRequests.size() >= this.batchSize) {
+            this.flush();
+        }
+
+        return signature;
+    }
+
+    /**
+     * Dispatches the current batch of signature requests, blocking while the
+     * maximum number of signatures is already in flight.
+     */
+    synchronized void flush() {
+        // Nothing to do for empty batches
+        if(this.pendingRequests.isEmpty()) {
+            return;
+        }
+
+        // Take over the pending batch
+        final List<SignatureRequest> requests = List.copyOf(this.pendingRequests);
+        final List<S100SEDigitalSignature> signatures = List.copyOf(this.pendingSignatures);
+        this.pendingRequests.clear();
+        this.pendingSignatures.clear();
+
+        // Wait until the batch can be sent
+        this.signaturesInFlight.acquireUninterruptibly(requests.size());
+        final CompletableFuture<List<S100SEDigitalSignature>> batch;
+        try {
+            batch = this.signatureProvider.generateSignatures(requests);
+        } catch (RuntimeException ex) {
+            this.signaturesInFlight.release(requests.size());
+            throw ex;
+        }
+
+        // Populate the returned signature objects once completed
+        this.dispatchedBatches.add(batch
+                .whenComplete((result, ex) -> this.signaturesInFlight.release(requests.size()))
+                .thenAccept(result -> {
+                    if(result.size() != signatures.size()) {
+                        throw new IllegalStateException(String.format(
+                                "Expected %d signatures from the provider but received %d",
+                                signatures.size(), result.size()));
+                    }
+                    for(int i = 0; i < signatures.size(); i++) {
+                        signatures.get(i).setId(result.get(i).getId());
+                        signatures.get(i).setCertificateRef(result.get(i).getCertificateRef());
+                        signatures.get(i).setValue(result.get(i).getValue());
+                    }
+                }));
+    }
+
+    /**
+     * Dispatches any remaining signature requests and waits for all batches
+     * to complete.
+     *
+     * @throws java.util.concurrent.CompletionException if any of the signature batches failed
+     */
+    void await() {
+        final List<CompletableFuture<Void>> batches;
+        synchronized (this) {
+            this.flush();
+            batches = List.copyOf(this.dispatchedBatches);
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+    }
+
+}
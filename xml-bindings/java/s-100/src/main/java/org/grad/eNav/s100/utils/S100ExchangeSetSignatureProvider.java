@@ -19,11 +19,34 @@ package org.grad.eNav.s100.utils;
 import _int.iho.s100.catalog._5_2.S100SEDigitalSignature;
 import _int.iho.s100.catalog._5_2.S100SEDigitalSignatureReference;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.function.Function;
+
 /**
  * The S-100 Exchange Set Signature Provider Interface.
  * <p/>
  * This interface is utilised by the S-100 Exchange Set builders to generate
  * signatures while building the exchange set and its metadata.
+ * <p/>
+ * Providers that can hash their input incrementally should override the
+ * {@link #openSignatureSession(Object, S100SEDigitalSignatureReference)}
+ * function, in which case large files are signed in fixed-size chunks. The
+ * {@link S100ExchangeSetKeySignatureProvider} does so for private key based
+ * signatures, while other {@link java.security.Signature} based providers can
+ * use the {@link SignatureSession#forSignature(Signature, Function)} sessions.
+ * <p/>
+ * Providers implementing only the byte array based signature generation fall
+ * back to the {@link SignatureSession#buffering(S100ExchangeSetSignatureProvider, Object, S100SEDigitalSignatureReference)}
+ * legacy adapter, which holds the whole payload in memory and is therefore
+ * limited to payloads smaller than 2GB.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
@@ -42,4 +65,171 @@ public interface S100ExchangeSetSignatureProvider {
      */
     S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload);
 
+    /**
+     * The incremental signature generation interface. This provides a
+     * signature session for the object to be signed, which will then be
+     * updated with the payload chunk by chunk before the signature is
+     * generated.
+     * <p/>
+     * By default, the legacy {@link SignatureSession#buffering(S100ExchangeSetSignatureProvider, Object, S100SEDigitalSignatureReference)}
+     * adapter is used, which buffers the payload chunks in memory and signs
+     * them using the byte array based signature generation, once the session
+     * is completed. Providers that can process the payload incrementally
+     * should override this function.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @return the signature session to be updated with the payload
+     */
+    default SignatureSession openSignatureSession(Object objectId, S100SEDigitalSignatureReference algorithm) {
+        return SignatureSession.buffering(this, objectId, algorithm);
+    }
+
+    /**
+     * The streaming signature generation interface. The payload to be signed
+     * is read from the provided channel in fixed-size chunks, which are fed
+     * into a signature session. Note that the channel will be read until its
+     * end, but it will not be closed.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the channel to read the payload to be signed from
+     * @return the populated S-100 digital signature object
+     * @throws IOException for any errors while reading the payload channel
+     */
+    default S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, ReadableByteChannel payload) throws IOException {
+        final SignatureSession session = this.openSignatureSession(objectId, algorithm);
+        final ByteBuffer chunk = ByteBuffer.allocate(SignatureSession.CHUNK_SIZE);
+        while(payload.read(chunk) >= 0) {
+            chunk.flip();
+            session.update(chunk);
+            chunk.clear();
+        }
+        return session.sign();
+    }
+
+    /**
+     * The file based signature generation interface. The payload to be signed
+     * is streamed from the provided file path, so that large dataset and
+     * support files do not have to be loaded in memory as a whole.
+     *
+     * @param objectId the identifier of the object to be signed
+     * @param algorithm the algorithm to be used
+     * @param payload the path of the file to be signed
+     * @return the populated S-100 digital signature object
+     * @throws IOException for any errors while reading the payload file
+     */
+    default S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, Path payload) throws IOException {
+        try(FileChannel channel = FileChannel.open(payload, StandardOpenOption.READ)) {
+            return this.generateSignature(objectId, algorithm, channel);
+        }
+    }
+
+    /**
+     * The S-100 Exchange Set Signature Session Interface.
+     * <p/>
+     * A signature session receives the payload to be signed incrementally,
+     * through a series of updates, and generates the signature once the whole
+     * payload has been consumed.
+     */
+    interface SignatureSession {
+
+        /**
+         * The size of the chunks used when streaming payloads into a session.
+         */
+        int CHUNK_SIZE = 64 * 1024;
+
+        /**
+         * The maximum size of the payloads buffered by the legacy adapter,
+         * i.e. the maximum size of a Java array.
+         */
+        int MAX_BUFFERED_SIZE = Integer.MAX_VALUE - 8;
+
+        /**
+         * Updates the session with the next chunk of the payload. All the
+         * remaining bytes of the provided buffer will be consumed.
+         *
+         * @param chunk the next chunk of the payload
+         */
+        void update(ByteBuffer chunk);
+
+        /**
+         * Completes the session and generates the signature of the whole
+         * payload provided.
+         *
+         * @return the populated S-100 digital signature object
+         */
+        S100SEDigitalSignature sign();
+
+        /**
+         * Creates a signature session that updates the provided signature
+         * object, already initialised for signing, with every payload chunk,
+         * so that only a single chunk is ever held in memory.
+         *
+         * @param signer the signature object initialised for signing
+         * @param signatureFactory the factory of the S-100 digital signature objects from the signature values
+         * @return the chunked signature session
+         */
+        static SignatureSession forSignature(Signature signer, Function<byte[], S100SEDigitalSignature> signatureFactory) {
+            return new SignatureSession() {
+                @Override
+                public void update(ByteBuffer chunk) {
+                    try {
+                        signer.update(chunk);
+                    } catch (SignatureException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+
+                @Override
+                public S100SEDigitalSignature sign() {
+                    try {
+                        return signatureFactory.apply(signer.sign());
+                    } catch (SignatureException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            };
+        }
+
+        /**
+         * The legacy adapter for the providers that only implement the byte
+         * array based signature generation. The payload chunks are buffered
+         * in memory and signed as a whole once the session is completed, so
+         * this adapter should only be used for small payloads; payloads of
+         * 2GB or more cannot be buffered at all and are rejected.
+         *
+         * @param provider the byte array based signature provider
+         * @param objectId the identifier of the object to be signed
+         * @param algorithm the algorithm to be used
+         * @return the buffering signature session
+         */
+        static SignatureSession buffering(S100ExchangeSetSignatureProvider provider, Object objectId, S100SEDigitalSignatureReference algorithm) {
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            return new SignatureSession() {
+                @Override
+                public void update(ByteBuffer chunk) {
+                    // Sanity Check
+                    if((long) payload.size() + chunk.remaining() > MAX_BUFFERED_SIZE) {
+                        throw new IllegalStateException("The payload of " + objectId + " is too large to be buffered, a streaming signature provider is required");
+                    }
+                    if(chunk.hasArray()) {
+                        payload.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+                        chunk.position(chunk.limit());
+                    } else {
+                        final byte[] bytes = new byte[chunk.remaining()];
+                        chunk.get(bytes);
+                        payload.writeBytes(bytes);
+                    }
+                }
+
+                @Override
+                public S100SEDigitalSignature sign() {
+                    return provider.generateSignature(objectId, algorithm, payload.toByteArray());
+                }
+            };
+        }
+
+    }
+
 }
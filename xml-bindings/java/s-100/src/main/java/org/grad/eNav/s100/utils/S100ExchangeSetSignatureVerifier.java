@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.*;
+import jakarta.xml.bind.JAXBElement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.CertificateException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The S100 Exchange Set Signature Verifier Class.
+ * <p/>
+ * This class verifies the digital signatures of the dataset and support
+ * files listed in an S-100 exchange set catalogue. The certificates are
+ * resolved through the signature certificate references from the
+ * certificate containers of the catalogue itself, and parsed through the
+ * shared certificate cache of the {@link S100ExchangeSetUtils}, so that they
+ * can be reused across files, exchange sets and catalogue builders.
+ * <p/>
+ * The files are verified in parallel, using the provided executor, and each
+ * file is streamed only once, even when it carries multiple signatures.
+ * Note that this class only verifies the signatures against the catalogue
+ * certificates; validating the certificates themselves against the scheme
+ * administrator is the responsibility of the caller.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100ExchangeSetSignatureVerifier {
+
+    // Class Variables
+    private final Executor executor;
+
+    /**
+     * Class Constructor. The files will be verified in parallel using the
+     * common fork-join pool.
+     */
+    public S100ExchangeSetSignatureVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Class Constructor.
+     *
+     * @param executor the executor to verify the files with
+     */
+    public S100ExchangeSetSignatureVerifier(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "The verification executor is required");
+    }
+
+    /**
+     * Verifies all the dataset and support file signatures of the provided
+     * exchange set.
+     *
+     * @param exchangeSet the exchange set to be verified
+     * @return the verification results, in the catalogue order
+     */
+    public List<VerificationResult> verify(S100ExchangeSet exchangeSet) {
+        return this.verify(exchangeSet.getCatalogue(), exchangeSet::openStream);
+    }
+
+    /**
+     * Verifies all the dataset and support file signatures listed in the
+     * provided exchange set catalogue, reading the files through the
+     * provided file resolver.
+     *
+     * @param catalogue the exchange set catalogue
+     * @param fileResolver the resolver of the exchange set files
+     * @return the verification results, in the catalogue order
+     */
+    public List<VerificationResult> verify(S100ExchangeCatalogue catalogue, FileResolver fileResolver) {
+        // Index the catalogue certificates
+        final Map<String, byte[]> certificates = new HashMap<>();
+        Optional.ofNullable(catalogue.getCertificates())
+                .orElse(Collections.emptyList())
+                .stream()
+                .map(S100SECertificateContainerType::getCertificates)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(certificate -> Objects.nonNull(certificate.getId()) && Objects.nonNull(certificate.getValue()))
+                .forEach(certificate -> certificates.putIfAbsent(certificate.getId(), certificate.getValue()));
+
+        // Collect the signed files
+        final List<SignedFile> signedFiles = new ArrayList<>();
+        Optional.ofNullable(catalogue.getDatasetDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.DatasetDiscoveryMetadata::getS100DatasetDiscoveryMetadatas)
+                .orElse(Collections.emptyList())
+                .forEach(metadata -> signedFiles.add(new SignedFile(
+                        metadata.getFileName(),
+                        Optional.ofNullable(metadata.getDigitalSignatureReference())
+                                .map(S100SEDigitalSignatureReferencePropertyType::getValue)
+                                .orElse(null),
+                        metadata.getDigitalSignatureValues()
+                                .stream()
+                                .map(S100DatasetDiscoveryMetadata.DigitalSignatureValue::getS100SEDigitalSignature)
+                                .filter(Objects::nonNull)
+                                .map(JAXBElement::getValue)
+                                .toList())));
+        Optional.ofNullable(catalogue.getSupportFileDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.SupportFileDiscoveryMetadata::getS100SupportFileDiscoveryMetadatas)
+                .orElse(Collections.emptyList())
+                .forEach(metadata -> signedFiles.add(new SignedFile(
+                        metadata.getFileName(),
+                        Optional.ofNullable(metadata.getDigitalSignatureReference())
+                                .map(S100SEDigitalSignatureReferencePropertyType::getValue)
+                                .orElse(null),
+                        metadata.getDigitalSignatureValues()
+                                .stream()
+                                .map(S100SupportFileDiscoveryMetadata.DigitalSignatureValue::getS100SEDigitalSignature)
+                                .filter(Objects::nonNull)
+                                .map(JAXBElement::getValue)
+                                .toList())));
+
+        // Verify all files in parallel
+        final List<CompletableFuture<List<VerificationResult>>> futures = signedFiles.stream()
+                .map(signedFile -> CompletableFuture.supplyAsync(() -> this.verifyFile(signedFile, certificates, fileResolver), this.executor))
+                .toList();
+
+        // And return the combined results in order
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Verifies all the signatures of a single file, streaming the file
+     * contents once into all the signature verifiers.
+     *
+     * @param signedFile the signed file to be verified
+     * @param certificates the catalogue certificates indexed by their IDs
+     * @param fileResolver the resolver of the exchange set files
+     * @return the verification results of the file signatures
+     */
+    protected List<VerificationResult> verifyFile(SignedFile signedFile, Map<String, byte[]> certificates, FileResolver fileResolver) {
+        // Sanity Check
+        if(signedFile.signatures().isEmpty()) {
+            return Collections.singletonList(new VerificationResult(signedFile.fileName(), null, false, "No signature found"));
+        }
+
+        // Initialise a verifier per signature
+        final Map<S100SEDigitalSignature, Signature> verifiers = new LinkedHashMap<>();
+        final Map<S100SEDigitalSignature, VerificationResult> results = new LinkedHashMap<>();
+        for(S100SEDigitalSignature signature : signedFile.signatures()) {
+            try {
+                final Signature verifier = Signature.getInstance(this.getSignatureAlgorithm(signedFile.algorithm()));
+                verifier.initVerify(this.resolvePublicKey(signature.getCertificateRef(), certificates));
+                verifiers.put(signature, verifier);
+            } catch (GeneralSecurityException | RuntimeException ex) {
+                results.put(signature, new VerificationResult(signedFile.fileName(), signature.getId(), false, ex.getMessage()));
+            }
+        }
+
+        // Stream the file once through all verifiers
+        if(!verifiers.isEmpty()) {
+            try(InputStream in = fileResolver.open(signedFile.fileName())) {
+                final byte[] buffer = new byte[S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE];
+                int read;
+                while((read = in.read(buffer)) >= 0) {
+                    for(Signature verifier : verifiers.values()) {
+                        verifier.update(buffer, 0, read);
+                    }
+                }
+                for(Map.Entry<S100SEDigitalSignature, Signature> entry : verifiers.entrySet()) {
+                    final boolean valid = Objects.nonNull(entry.getKey().getValue()) && entry.getValue().verify(entry.getKey().getValue());
+                    results.put(entry.getKey(), new VerificationResult(signedFile.fileName(), entry.getKey().getId(), valid, valid ? null : "Invalid signature"));
+                }
+            } catch (IOException | GeneralSecurityException ex) {
+                verifiers.keySet().forEach(signature -> results.put(signature, new VerificationResult(
+                        signedFile.fileName(), signature.getId(), false, ex.getMessage())));
+            }
+        }
+
+        // And return the results in the signatures order
+        return signedFile.signatures()
+                .stream()
+                .map(results::get)
+                .toList();
+    }
+
+    /**
+     * Resolves the public key of the referenced catalogue certificate. The
+     * certificates are parsed through the shared certificate cache, so that
+     * the same certificate is only parsed once.
+     *
+     * @param certificateRef the certificate reference
+     * @param certificates the catalogue certificates indexed by their IDs
+     * @return the public key of the referenced certificate
+     * @throws CertificateException if the certificate is missing or invalid
+     */
+    protected PublicKey resolvePublicKey(String certificateRef, Map<String, byte[]> certificates) throws CertificateException {
+        final byte[] certificate = Optional.ofNullable(certificateRef)
+                .map(certificates::get)
+                .orElseThrow(() -> new CertificateException("Certificate not found in the catalogue: " + certificateRef));
+
+        // Parse the certificate, unless already cached
+        return S100ExchangeSetUtils.getCertFromPem(new String(certificate, StandardCharsets.US_ASCII))
+                .getPublicKey();
+    }
+
+    /**
+     * Translates the S-100 digital signature reference into the Java
+     * signature algorithm name. If no reference is provided, DSA is assumed,
+     * in line with the S-100 metadata builders.
+     *
+     * @param reference the S-100 digital signature reference
+     * @return the Java signature algorithm name
+     * @throws NoSuchAlgorithmException if the reference is not supported
+     */
+    protected String getSignatureAlgorithm(S100SEDigitalSignatureReference reference) throws NoSuchAlgorithmException {
+        return S100ExchangeSetKeySignatureProvider.getSignatureAlgorithm(reference);
+    }
+
+    /**
+     * The File Resolver Interface.
+     * <p/>
+     * Opens the contents of an exchange set file, based on its catalogue
+     * file name.
+     */
+    @FunctionalInterface
+    public interface FileResolver {
+        InputStream open(String fileName) throws IOException;
+    }
+
+    /**
+     * The Signed File Record.
+     *
+     * @param fileName the catalogue file name
+     * @param algorithm the digital signature reference of the file
+     * @param signatures the digital signatures of the file
+     */
+    protected record SignedFile(String fileName, S100SEDigitalSignatureReference algorithm, List<S100SEDigitalSignature> signatures) {
+
+    }
+
+    /**
+     * The Verification Result Record.
+     *
+     * @param fileName the catalogue file name
+     * @param signatureId the ID of the verified signature
+     * @param valid whether the signature is valid
+     * @param message the reason of the verification failure, if any
+     */
+    public record VerificationResult(String fileName, String signatureId, boolean valid, String message) {
+
+    }
+
+}
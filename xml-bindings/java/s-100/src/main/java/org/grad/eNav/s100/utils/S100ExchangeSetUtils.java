@@ -22,6 +22,10 @@ import _int.iho.s100.catalog._5_2.S100ExchangeCatalogue;
 import _int.iho.s100.catalog._5_2.S100GeographicBoundingBoxType;
 import jakarta.xml.bind.*;
 import net.opengis.gml._3.*;
+import org.grad.eNav.s100.events.S100MarshalEvent;
+import org.grad.eNav.s100.events.S100UnmarshalEvent;
+import org.grad.eNav.s100.metrics.BindingMetrics;
+import org.grad.eNav.s100.metrics.BindingMetricsRegistry;
 import org.iso.standards.iso._19115.__3.gco._1.CharacterStringPropertyType;
 import org.iso.standards.iso._19115.__3.gco._1.CodeListValueType;
 import org.iso.standards.iso._19115.__3.gco._1.DecimalPropertyType;
@@ -35,15 +39,19 @@ import org.locationtech.jts.geom.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.Boolean;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -56,6 +64,16 @@ import java.util.stream.Stream;
  */
 public class S100ExchangeSetUtils {
 
+    /**
+     * The shared cache of the parsed certificates and PEM representations.
+     */
+    private static final S100CertificateCache CERTIFICATE_CACHE = new S100CertificateCache();
+
+    /**
+     * The product name reported in the monitoring events.
+     */
+    public static final String PRODUCT = "S-100";
+
     /**
      * The Language Code namespace/list for use in the language codes.
      */
@@ -188,6 +206,10 @@ public class S100ExchangeSetUtils {
             return null;
         }
 
+        // Start timing the conversion
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // Create the geometry envelope
         final Envelope envelope = new Envelope();
         for(Coordinate coordinate : geometry.getCoordinates()) {
@@ -203,6 +225,9 @@ public class S100ExchangeSetUtils {
         boundingBoxType.setSouthBoundLatitude(createDecimalPropertyType(BigDecimal.valueOf(envelope.getMinY())));
         boundingBoxType.setNorthBoundLatitude(createDecimalPropertyType(BigDecimal.valueOf(envelope.getMaxY())));
 
+        // Record the conversion metrics
+        metrics.recordLatency(PRODUCT, BindingMetrics.CONVERT_GEOMETRY, startTime);
+
         // And return the result
         return boundingBoxType;
     }
@@ -220,6 +245,10 @@ public class S100ExchangeSetUtils {
             return null;
         }
 
+        // Start timing the conversion
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // Create the list of S-100 data coverage objects
         final List<S100DataCoverage> dataCoverages = new ArrayList<>();
 
@@ -254,10 +283,24 @@ public class S100ExchangeSetUtils {
             dataCoverages.add(dataCoverage);
         }
 
+        // Record the conversion metrics
+        metrics.recordLatency(PRODUCT, BindingMetrics.CONVERT_GEOMETRY, startTime);
+
         // Finally return the populated list
         return dataCoverages;
     }
 
+    /**
+     * Creates the JAXB context of the S100 Exchange Set Catalogue, including
+     * the ISO 19115-3 metadata types, in the background, so that it is ready
+     * by the time the first catalogue is marshalled or unmarshalled.
+     *
+     * @return a future completed once the JAXB context has been created
+     */
+    public static CompletableFuture<Void> prewarm() {
+        return S100JaxbContexts.prewarmPackages(S100ExchangeCatalogue.class);
+    }
+
     /**
      * Overloading the S100ExchangeSet marshalling operation to easily perform
      * the task with the formatting turned on by default.
@@ -280,8 +323,14 @@ public class S100ExchangeSetUtils {
      * @throws JAXBException for errors in the marshalling operation
      */
     public static String marshalS100ExchangeSetCatalogue(S100ExchangeCatalogue s100ExchangeCatalogue, Boolean format) throws JAXBException {
+        // Start monitoring the operation
+        final S100MarshalEvent event = new S100MarshalEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // Create the JAXB objects
-        JAXBContext jaxbContext = JAXBContext.newInstance(S100ExchangeCatalogue.class.getPackageName(), S100ExchangeCatalogue.class.getClassLoader());
+        JAXBContext jaxbContext = S100JaxbContexts.getPackageContext(S100ExchangeCatalogue.class);
         Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
         jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, format);
 
@@ -289,6 +338,21 @@ public class S100ExchangeSetUtils {
         ByteArrayOutputStream xmlStream = new ByteArrayOutputStream();
         jaxbMarshaller.marshal(s100ExchangeCatalogue, xmlStream);
 
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(PRODUCT, BindingMetrics.MARSHAL, startTime);
+        metrics.incrementCounter(PRODUCT, BindingMetrics.MARSHALLED_BYTES, xmlStream.size());
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setProduct(PRODUCT)
+                    .setByteSize(xmlStream.size())
+                    .setMemberCount(getDiscoveryMetadataCount(s100ExchangeCatalogue))
+                    .commit();
+        }
+
         // Return the XML string
         return xmlStream.toString();
     }
@@ -303,15 +367,96 @@ public class S100ExchangeSetUtils {
      * @throws JAXBException for errors in the unmarshalling operation
      */
     public static S100ExchangeCatalogue unmarshallS100ExchangeSetCatalogue(String s100ExchangeCatalogue) throws JAXBException {
+        // Transform the S100 Exchange Set Catalogue context into an input stream
+        return unmarshallS100ExchangeSetCatalogue(new ByteArrayInputStream(s100ExchangeCatalogue.getBytes()));
+    }
+
+    /**
+     * A streaming variant of the S100 Exchange Set Catalogue unmarshalling
+     * operation, which reads the XML content directly from the provided input
+     * stream, e.g. the "CATALOG.XML" file of an exchange set.
+     *
+     * @param s100ExchangeCatalogue the S100 Exchange Set Catalogue XML input stream
+     * @return The unmarshalled 100 Exchange Set Catalogue object
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static S100ExchangeCatalogue unmarshallS100ExchangeSetCatalogue(InputStream s100ExchangeCatalogue) throws JAXBException {
+        // Start monitoring the operation
+        final S100UnmarshalEvent event = new S100UnmarshalEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // Create the JAXB objects
-        JAXBContext jaxbContext = JAXBContext.newInstance(S100ExchangeCatalogue.class.getPackageName(), S100ExchangeCatalogue.class.getClassLoader());
+        JAXBContext jaxbContext = S100JaxbContexts.getPackageContext(S100ExchangeCatalogue.class);
         Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
 
-        // Transform the S100 Exchange Set Catalogue context into an input stream
-        ByteArrayInputStream is = new ByteArrayInputStream(s100ExchangeCatalogue.getBytes());
-
         // And translate
-        return (S100ExchangeCatalogue) JAXBIntrospector.getValue(jaxbUnmarshaller.unmarshal(is));
+        final S100ExchangeCatalogue catalogue = (S100ExchangeCatalogue) JAXBIntrospector.getValue(jaxbUnmarshaller.unmarshal(event.track(s100ExchangeCatalogue)));
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(PRODUCT, BindingMetrics.UNMARSHAL, startTime);
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setProduct(PRODUCT)
+                    .setMemberCount(getDiscoveryMetadataCount(catalogue))
+                    .commit();
+        }
+
+        // And return the catalogue
+        return catalogue;
+    }
+
+    /**
+     * Counts the total number of dataset, support file and catalogue
+     * discovery metadata entries of the provided exchange set catalogue.
+     *
+     * @param s100ExchangeCatalogue the S100 Exchange Set Catalogue object
+     * @return the total number of discovery metadata entries
+     */
+    public static int getDiscoveryMetadataCount(S100ExchangeCatalogue s100ExchangeCatalogue) {
+        // Sanity Check
+        if(Objects.isNull(s100ExchangeCatalogue)) {
+            return 0;
+        }
+
+        return Optional.ofNullable(s100ExchangeCatalogue.getDatasetDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.DatasetDiscoveryMetadata::getS100DatasetDiscoveryMetadatas)
+                .map(List::size)
+                .orElse(0)
+                + Optional.ofNullable(s100ExchangeCatalogue.getSupportFileDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.SupportFileDiscoveryMetadata::getS100SupportFileDiscoveryMetadatas)
+                .map(List::size)
+                .orElse(0)
+                + Optional.ofNullable(s100ExchangeCatalogue.getCatalogueDiscoveryMetadata())
+                .map(S100ExchangeCatalogue.CatalogueDiscoveryMetadata::getS100CatalogueDiscoveryMetadatas)
+                .map(List::size)
+                .orElse(0);
+    }
+
+    /**
+     * A helper function to safely retrieve the size of the provided file,
+     * e.g. for monitoring purposes. If the size cannot be determined, zero
+     * will be returned instead.
+     *
+     * @param path the path of the file
+     * @return the size of the file in bytes
+     */
+    public static long getFileSize(Path path) {
+        // Sanity Check
+        if(Objects.isNull(path)) {
+            return 0;
+        }
+
+        try {
+            return Files.size(path);
+        } catch (IOException ex) {
+            return 0;
+        }
     }
 
     /**
@@ -323,7 +468,7 @@ public class S100ExchangeSetUtils {
      * @throws CertificateEncodingException if the provided PEM file is invalid
      */
     public static byte[] getPemFromCert(X509Certificate cert) throws CertificateEncodingException {
-        return Base64.getEncoder().encode(cert.getEncoded());
+        return CERTIFICATE_CACHE.getPem(cert);
     }
 
     /**
@@ -335,12 +480,18 @@ public class S100ExchangeSetUtils {
      * @throws CertificateException if the provided PEM file is invalid
      */
     public static X509Certificate getCertFromPem(String certificatePem) throws CertificateException {
-        // First decode the Base64 encoded PEM format
-        final byte[] decodedPem = Base64.getDecoder().decode(certificatePem);
+        return CERTIFICATE_CACHE.getCertificate(certificatePem);
+    }
 
-        // Then reconstruct the X509Certificate object
-        return (X509Certificate) CertificateFactory.getInstance("X.509")
-                .generateCertificate(new ByteArrayInputStream(decodedPem));
+    /**
+     * Returns the shared certificate cache used when translating between the
+     * X.509 certificates and their PEM representations, e.g. to inspect its
+     * hit/miss statistics.
+     *
+     * @return the shared certificate cache
+     */
+    public static S100CertificateCache getCertificateCache() {
+        return CERTIFICATE_CACHE;
     }
 
     /**
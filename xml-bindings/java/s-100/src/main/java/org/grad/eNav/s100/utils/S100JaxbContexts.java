@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The S100 JAXB Contexts Class.
+ * <p/>
+ * A static cache of the JAXB contexts used by the S-100 bindings. Creating a
+ * JAXB context for the large generated packages, i.e. the GML profile, the
+ * S-100 base types, the product schemas and the ISO 19115-3 types of the
+ * exchange set catalogue, takes several seconds, so each context is only
+ * created once and then shared, since the JAXB contexts are thread-safe.
+ * <p/>
+ * The class loader of the bound classes is only bound while a context is
+ * being created, which is when JAXB uses it to locate its implementation.
+ * The marshallers and unmarshallers of the created contexts do not depend on
+ * the context class loader, so callers do not have to change it around each
+ * operation, which is also safe for virtual threads sharing their carriers.
+ * <p/>
+ * Applications with strict startup requirements, e.g. serverless functions,
+ * can also pre-warm the contexts in the background during their startup, so
+ * that the first marshalling operation does not have to wait for them, e.g.:
+ * <pre>
+ *     S125Utils.prewarm();
+ * </pre>
+ * The cached contexts are held per bound class, so they do not prevent the
+ * class loaders of the bindings from being unloaded.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100JaxbContexts {
+
+    /**
+     * The JAXB contexts created for the bound classes.
+     */
+    private static final ClassValue<ContextHolder> CLASS_CONTEXTS = new ClassValue<>() {
+        @Override
+        protected ContextHolder computeValue(Class<?> type) {
+            return new ContextHolder(() -> JAXBContext.newInstance(type));
+        }
+    };
+
+    /**
+     * The JAXB contexts created for the packages of the bound classes.
+     */
+    private static final ClassValue<ContextHolder> PACKAGE_CONTEXTS = new ClassValue<>() {
+        @Override
+        protected ContextHolder computeValue(Class<?> type) {
+            return new ContextHolder(() -> JAXBContext.newInstance(type.getPackageName(), type.getClassLoader()));
+        }
+    };
+
+    /**
+     * The executor of the pre-warming operations, which runs each one on a
+     * new daemon thread, so that it does not prevent the JVM from exiting.
+     */
+    private static final Executor PREWARM_EXECUTOR = command -> Thread.ofPlatform()
+            .name("s100-jaxb-prewarm")
+            .daemon(true)
+            .start(command);
+
+    /**
+     * The S100 JAXB contexts is a static utility class.
+     */
+    private S100JaxbContexts() {
+
+    }
+
+    /**
+     * Returns the JAXB context of the provided bound class, e.g. the dataset
+     * class of a product, creating it on first use. If the context is already
+     * being created, e.g. by a pre-warming operation, the current thread will
+     * wait for it instead.
+     *
+     * @param type the bound class
+     * @return the JAXB context of the bound class
+     * @throws JAXBException for errors while creating the context
+     */
+    public static JAXBContext getContext(Class<?> type) throws JAXBException {
+        return CLASS_CONTEXTS.get(type).get(type.getClassLoader());
+    }
+
+    /**
+     * Returns the JAXB context of the package of the provided bound class,
+     * including all the classes of its object factory, e.g. the exchange set
+     * catalogue ones, creating it on first use.
+     *
+     * @param type a bound class of the package
+     * @return the JAXB context of the package
+     * @throws JAXBException for errors while creating the context
+     */
+    public static JAXBContext getPackageContext(Class<?> type) throws JAXBException {
+        return PACKAGE_CONTEXTS.get(type).get(type.getClassLoader());
+    }
+
+    /**
+     * Creates the JAXB contexts of the provided bound classes in the
+     * background, each on its own daemon thread, so that they are ready by
+     * the time the first marshalling or unmarshalling operation is performed.
+     *
+     * @param types the bound classes
+     * @return a future completed once all the contexts have been created
+     */
+    public static CompletableFuture<Void> prewarm(Class<?>... types) {
+        return CompletableFuture.allOf(Arrays.stream(types)
+                .map(type -> CompletableFuture.runAsync(() -> prewarm(CLASS_CONTEXTS.get(type), type), PREWARM_EXECUTOR))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Creates the JAXB contexts of the packages of the provided bound classes
+     * in the background, each on its own daemon thread.
+     *
+     * @param types a bound class of each package
+     * @return a future completed once all the contexts have been created
+     */
+    public static CompletableFuture<Void> prewarmPackages(Class<?>... types) {
+        return CompletableFuture.allOf(Arrays.stream(types)
+                .map(type -> CompletableFuture.runAsync(() -> prewarm(PACKAGE_CONTEXTS.get(type), type), PREWARM_EXECUTOR))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Creates the JAXB contexts of the provided classes and waits for them.
+     * This is mainly used as the training run of the AppCDS class list
+     * generation, where the classes loaded while creating the contexts are
+     * recorded, e.g.:
+     * <pre>
+     *     java -XX:DumpLoadedClassList=classes.lst -cp ... org.grad.eNav.s100.utils.S100JaxbContexts _int.iho.s_125.gml.cs0._1.impl.DatasetImpl
+     * </pre>
+     * Class names prefixed with "package:" select the package context of the
+     * class instead.
+     *
+     * @param args the names of the bound classes
+     * @throws ClassNotFoundException if any of the classes is not found
+     * @throws JAXBException for errors while creating the contexts
+     */
+    public static void main(String[] args) throws ClassNotFoundException, JAXBException {
+        for(String arg : args) {
+            if(arg.startsWith("package:")) {
+                getPackageContext(Class.forName(arg.substring("package:".length())));
+            } else {
+                getContext(Class.forName(arg));
+            }
+        }
+    }
+
+    /**
+     * Creates the provided context on the current pre-warming thread,
+     * rethrowing any errors as completion exceptions.
+     *
+     * @param holder the holder of the context
+     * @param type the bound class of the context
+     */
+    private static void prewarm(ContextHolder holder, Class<?> type) {
+        try {
+            holder.get(type.getClassLoader());
+        } catch (JAXBException ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+    /**
+     * The factory of a JAXB context.
+     */
+    @FunctionalInterface
+    private interface ContextFactory {
+        JAXBContext create() throws JAXBException;
+    }
+
+    /**
+     * The holder of a lazily created JAXB context. Failed creations are not
+     * cached, so they will be retried on the next access. A lock is used
+     * rather than a synchronized block, so that virtual threads waiting for
+     * the context do not pin their carrier threads.
+     */
+    private static final class ContextHolder {
+
+        // Class Variables
+        private final ContextFactory factory;
+        private final ReentrantLock lock;
+        private volatile JAXBContext context;
+
+        /**
+         * The Context Holder Constructor.
+         *
+         * @param factory the factory of the JAXB context
+         */
+        ContextHolder(ContextFactory factory) {
+            this.factory = factory;
+            this.lock = new ReentrantLock();
+        }
+
+        /**
+         * Returns the JAXB context, creating it if required with the provided
+         * class loader as the context class loader, which JAXB uses to locate
+         * its implementation.
+         *
+         * @param classLoader the class loader of the bound classes
+         * @return the JAXB context
+         * @throws JAXBException for errors while creating the context
+         */
+        JAXBContext get(ClassLoader classLoader) throws JAXBException {
+            JAXBContext current = this.context;
+            if(Objects.isNull(current)) {
+                this.lock.lock();
+                try {
+                    current = this.context;
+                    if(Objects.isNull(current)) {
+                        final Thread thread = Thread.currentThread();
+                        final ClassLoader originalClassLoader = thread.getContextClassLoader();
+                        thread.setContextClassLoader(classLoader);
+                        try {
+                            current = this.factory.create();
+                            this.context = current;
+                        } finally {
+                            thread.setContextClassLoader(originalClassLoader);
+                        }
+                    }
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+            return current;
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The S100 JAXB Pool Class.
+ * <p/>
+ * A bounded pool of the JAXB marshallers and unmarshallers of a bound class,
+ * created from its shared context in the {@link S100JaxbContexts}. The JAXB
+ * marshallers and unmarshallers are not thread-safe, but they can be reused
+ * sequentially, which avoids initialising them for each operation, e.g. when
+ * processing bursts of small datasets.
+ * <p/>
+ * The pool does not depend on the calling threads, so it can also be used by
+ * virtual threads, where thread-local caches would never be reused. An empty
+ * pool creates new instances on demand, and the released instances are only
+ * kept up to the pool capacity. Instances should only be released after a
+ * successful operation, so that any instances left in an inconsistent state
+ * by a failure are discarded.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class S100JaxbPool {
+
+    /**
+     * The default capacity of the pool.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    // Class Variables
+    private final Class<?> type;
+    private final BlockingQueue<Marshaller> marshallers;
+    private final BlockingQueue<Unmarshaller> unmarshallers;
+
+    /**
+     * The S100 JAXB Pool Constructor, using the default pool capacity.
+     *
+     * @param type the bound class
+     */
+    public S100JaxbPool(Class<?> type) {
+        this(type, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The S100 JAXB Pool Constructor.
+     *
+     * @param type the bound class
+     * @param capacity the maximum number of the pooled marshallers and unmarshallers each
+     */
+    public S100JaxbPool(Class<?> type, int capacity) {
+        // Sanity Check
+        if(capacity < 1) {
+            throw new IllegalArgumentException("The JAXB pool capacity must be positive");
+        }
+
+        this.type = Objects.requireNonNull(type, "The bound class is required");
+        this.marshallers = new ArrayBlockingQueue<>(capacity);
+        this.unmarshallers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Acquires a marshaller from the pool, or creates a new one if the pool
+     * is empty.
+     *
+     * @return the marshaller
+     * @throws JAXBException for errors while creating the marshaller
+     */
+    public Marshaller acquireMarshaller() throws JAXBException {
+        final Marshaller marshaller = this.marshallers.poll();
+        return Objects.nonNull(marshaller) ? marshaller : S100JaxbContexts.getContext(this.type).createMarshaller();
+    }
+
+    /**
+     * Releases a marshaller back to the pool, unless the pool is full.
+     *
+     * @param marshaller the marshaller
+     */
+    public void releaseMarshaller(Marshaller marshaller) {
+        if(Objects.nonNull(marshaller)) {
+            this.marshallers.offer(marshaller);
+        }
+    }
+
+    /**
+     * Acquires an unmarshaller from the pool, or creates a new one if the
+     * pool is empty.
+     *
+     * @return the unmarshaller
+     * @throws JAXBException for errors while creating the unmarshaller
+     */
+    public Unmarshaller acquireUnmarshaller() throws JAXBException {
+        final Unmarshaller unmarshaller = this.unmarshallers.poll();
+        return Objects.nonNull(unmarshaller) ? unmarshaller : S100JaxbContexts.getContext(this.type).createUnmarshaller();
+    }
+
+    /**
+     * Releases an unmarshaller back to the pool, unless the pool is full.
+     *
+     * @param unmarshaller the unmarshaller
+     */
+    public void releaseUnmarshaller(Unmarshaller unmarshaller) {
+        if(Objects.nonNull(unmarshaller)) {
+            this.unmarshallers.offer(unmarshaller);
+        }
+    }
+
+    /**
+     * Returns the number of the marshallers currently pooled.
+     *
+     * @return the number of the pooled marshallers
+     */
+    public int getPooledMarshallers() {
+        return this.marshallers.size();
+    }
+
+    /**
+     * Returns the number of the unmarshallers currently pooled.
+     *
+     * @return the number of the pooled unmarshallers
+     */
+    public int getPooledUnmarshallers() {
+        return this.unmarshallers.size();
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import java.util.Objects;
+
+/**
+ * The S100 Reference Record.
+ * <p/>
+ * A resolved {@code xlink:href} reference of a dataset member, e.g. the
+ * peers of an AtoN aggregation or the status part of an AtoN, to the member
+ * with the matching {@code gml:id}. The target is null if the reference is
+ * dangling, i.e. if no such member exists in the dataset.
+ *
+ * @param source the referencing member
+ * @param property the name of the referencing property
+ * @param href the referenced {@code xlink:href}
+ * @param target the referenced member, or null if dangling
+ * @param <T> the type of the dataset members
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record S100Reference<T>(T source, String property, String href, T target) {
+
+    /**
+     * Returns whether the reference is dangling, i.e. whether the referenced
+     * member could not be found.
+     *
+     * @return whether the reference is dangling
+     */
+    public boolean isDangling() {
+        return Objects.isNull(this.target);
+    }
+
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The S100 Reference Resolver Class.
+ * <p/>
+ * Resolves the {@code xlink:href} references between the members of a
+ * dataset, e.g. the peers of the AtoN aggregations and associations or the
+ * status parts of the AtoNs, to the members with the matching
+ * {@code gml:id}. The members are indexed by their identifiers once, so
+ * that every reference is resolved through a single hash lookup instead of
+ * a search through all the dataset members, and all the references of a
+ * dataset can be resolved in bulk, reporting the dangling ones. Further
+ * members can be indexed as they are added to the dataset, so that the
+ * index does not have to be rebuilt.
+ * <p/>
+ * Both the {@code "#ID001"} and the {@code "ID001"} forms of the local
+ * references are supported, while references to other documents, e.g.
+ * {@code "other.gml#ID001"}, cannot be resolved and are reported as
+ * dangling. Like the datasets themselves, the resolver should not be
+ * modified concurrently.
+ *
+ * @param <T> the type of the dataset members
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class S100ReferenceResolver<T> {
+
+    // Class Variables
+    private final Function<? super T, String> idExtractor;
+    private final ReferenceExtractor<? super T> referenceExtractor;
+    private final Map<String, T> identifiers;
+    private final Set<T> indexed;
+    private final List<T> members;
+
+    /**
+     * Class Constructor.
+     *
+     * @param idExtractor the extractor of the member identifiers
+     * @param referenceExtractor the extractor of the member references
+     */
+    public S100ReferenceResolver(Function<? super T, String> idExtractor, ReferenceExtractor<? super T> referenceExtractor) {
+        this.idExtractor = Objects.requireNonNull(idExtractor, "The member identifier extractor is required");
+        this.referenceExtractor = Objects.requireNonNull(referenceExtractor, "The member reference extractor is required");
+        this.identifiers = new HashMap<>();
+        this.indexed = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.members = new ArrayList<>();
+    }
+
+    /**
+     * Creates a resolver for the members of the generated bindings, whose
+     * references are held by properties of the provided reference type,
+     * e.g. the GML {@code ReferenceType}, either directly or in lists. The
+     * reference properties of each member class are discovered once through
+     * its getters and then reused.
+     *
+     * @param idExtractor the extractor of the member identifiers
+     * @param referenceType the type of the reference properties
+     * @param hrefExtractor the extractor of the reference hrefs
+     * @return the reference resolver
+     * @param <T> the type of the dataset members
+     * @param <R> the type of the reference properties
+     */
+    public static <T, R> S100ReferenceResolver<T> forReferenceType(Function<? super T, String> idExtractor,
+                                                                  Class<R> referenceType,
+                                                                  Function<? super R, String> hrefExtractor) {
+        return new S100ReferenceResolver<>(idExtractor, new BeanReferenceExtractor<>(referenceType, hrefExtractor));
+    }
+
+    /**
+     * Indexes the provided member, replacing any previously indexed member
+     * with the same identifier as the target of the references.
+     *
+     * @param member the member to be indexed
+     * @return the reference resolver
+     */
+    public S100ReferenceResolver<T> index(T member) {
+        // Sanity Check
+        if(Objects.isNull(member) || !this.indexed.add(member)) {
+            return this;
+        }
+
+        this.members.add(member);
+        Optional.ofNullable(this.idExtractor.apply(member))
+                .filter(id -> !id.isBlank())
+                .ifPresent(id -> this.identifiers.put(id, member));
+        return this;
+    }
+
+    /**
+     * Indexes all the provided members.
+     *
+     * @param members the members to be indexed
+     * @return the reference resolver
+     */
+    public S100ReferenceResolver<T> indexAll(Collection<? extends T> members) {
+        Optional.ofNullable(members).ifPresent(entries -> entries.forEach(this::index));
+        return this;
+    }
+
+    /**
+     * Returns the number of the indexed members.
+     *
+     * @return the number of the indexed members
+     */
+    public int size() {
+        return this.members.size();
+    }
+
+    /**
+     * Resolves the provided reference to the indexed member with the
+     * matching identifier.
+     *
+     * @param href the reference to be resolved, e.g. "#ID001"
+     * @return the referenced member, or null if not found
+     */
+    public T resolve(String href) {
+        return Optional.ofNullable(toIdentifier(href))
+                .map(this.identifiers::get)
+                .orElse(null);
+    }
+
+    /**
+     * Resolves all the references of the provided member.
+     *
+     * @param member the referencing member
+     * @return the resolved references of the member
+     */
+    public List<S100Reference<T>> getReferences(T member) {
+        // Sanity Check
+        if(Objects.isNull(member)) {
+            return Collections.emptyList();
+        }
+
+        final List<S100Reference<T>> references = new ArrayList<>();
+        this.referenceExtractor.extract(member).forEach((property, hrefs) -> hrefs.stream()
+                .filter(Objects::nonNull)
+                .map(href -> new S100Reference<>(member, property, href, this.resolve(href)))
+                .forEach(references::add));
+        return references;
+    }
+
+    /**
+     * Resolves all the references of the indexed members in bulk, in the
+     * order the members were indexed.
+     *
+     * @return the resolved references of all the members
+     */
+    public List<S100Reference<T>> resolveAll() {
+        return this.members.stream()
+                .map(this::getReferences)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Returns the dangling references of the indexed members, i.e. the
+     * references whose members could not be found.
+     *
+     * @return the dangling references
+     */
+    public List<S100Reference<T>> getDanglingReferences() {
+        return this.resolveAll()
+                .stream()
+                .filter(S100Reference::isDangling)
+                .toList();
+    }
+
+    /**
+     * Translates a local reference into the identifier of the referenced
+     * member, i.e. by removing the leading hash of the "#ID001" form.
+     *
+     * @param href the reference
+     * @return the referenced identifier, or null for missing or external references
+     */
+    static String toIdentifier(String href) {
+        // Sanity Check
+        if(Objects.isNull(href) || href.isBlank()) {
+            return null;
+        }
+
+        final String trimmed = href.trim();
+        final int fragment = trimmed.indexOf('#');
+        if(fragment > 0) {
+            return null;
+        }
+        return fragment == 0 ? (trimmed.length() > 1 ? trimmed.substring(1) : null) : trimmed;
+    }
+
+    /**
+     * The Reference Extractor Interface.
+     * <p/>
+     * Extracts the references of a dataset member, keyed by the names of
+     * their properties.
+     *
+     * @param <T> the type of the dataset members
+     */
+    @FunctionalInterface
+    public interface ReferenceExtractor<T> {
+
+        /**
+         * Extracts the references of the provided member.
+         *
+         * @param member the member
+         * @return the reference hrefs, keyed by the names of their properties
+         */
+        Map<String, List<String>> extract(T member);
+
+    }
+
+    /**
+     * The Bean Reference Extractor Class.
+     * <p/>
+     * Extracts the references of the members through the getters of their
+     * properties of a given reference type, either single-valued or lists.
+     *
+     * @param <R> the type of the reference properties
+     */
+    private static final class BeanReferenceExtractor<R> implements ReferenceExtractor<Object> {
+
+        // Class Variables
+        private final Class<R> referenceType;
+        private final Function<? super R, String> hrefExtractor;
+        private final Map<Class<?>, List<ReferenceProperty>> properties;
+
+        /**
+         * The Bean Reference Extractor Constructor.
+         *
+         * @param referenceType the type of the reference properties
+         * @param hrefExtractor the extractor of the reference hrefs
+         */
+        BeanReferenceExtractor(Class<R> referenceType, Function<? super R, String> hrefExtractor) {
+            this.referenceType = Objects.requireNonNull(referenceType, "The reference type is required");
+            this.hrefExtractor = Objects.requireNonNull(hrefExtractor, "The reference href extractor is required");
+            this.properties = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Extracts the references of the provided member through its
+         * reference properties.
+         *
+         * @param member the member
+         * @return the reference hrefs, keyed by the names of their properties
+         */
+        @Override
+        public Map<String, List<String>> extract(Object member) {
+            final Map<String, List<String>> references = new LinkedHashMap<>();
+            for(ReferenceProperty property : this.properties.computeIfAbsent(member.getClass(), this::findProperties)) {
+                final Object value;
+                try {
+                    value = property.getter().invoke(member);
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    continue;
+                }
+
+                // Collect the hrefs of the property values
+                final List<String> hrefs = (value instanceof Collection<?> items ? items.stream() : Optional.ofNullable(value).stream())
+                        .filter(this.referenceType::isInstance)
+                        .map(this.referenceType::cast)
+                        .map(this.hrefExtractor)
+                        .filter(Objects::nonNull)
+                        .toList();
+                if(!hrefs.isEmpty()) {
+                    references.put(property.name(), hrefs);
+                }
+            }
+            return references;
+        }
+
+        /**
+         * Finds the reference properties of the provided member class.
+         *
+         * @param type the member class
+         * @return the reference properties
+         */
+        private List<ReferenceProperty> findProperties(Class<?> type) {
+            final PropertyDescriptor[] descriptors;
+            try {
+                descriptors = Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors();
+            } catch (IntrospectionException ex) {
+                return Collections.emptyList();
+            }
+            return Arrays.stream(descriptors)
+                    .filter(descriptor -> Objects.nonNull(descriptor.getReadMethod()))
+                    .filter(descriptor -> this.referenceType.isAssignableFrom(descriptor.getPropertyType())
+                            || this.isReferenceList(descriptor.getReadMethod()))
+                    .map(descriptor -> new ReferenceProperty(descriptor.getName(), descriptor.getReadMethod()))
+                    .toList();
+        }
+
+        /**
+         * Checks whether the provided getter returns a list of references.
+         *
+         * @param getter the property getter
+         * @return whether the getter returns a list of references
+         */
+        private boolean isReferenceList(Method getter) {
+            if(!Collection.class.isAssignableFrom(getter.getReturnType())
+                    || !(getter.getGenericReturnType() instanceof ParameterizedType parameterizedType)) {
+                return false;
+            }
+            Type itemType = parameterizedType.getActualTypeArguments()[0];
+            if(itemType instanceof WildcardType wildcardType) {
+                itemType = wildcardType.getUpperBounds()[0];
+            }
+            return itemType instanceof Class<?> itemClass && this.referenceType.isAssignableFrom(itemClass);
+        }
+
+    }
+
+    /**
+     * The Reference Property Record.
+     *
+     * @param name the property name
+     * @param getter the property getter
+     */
+    private record ReferenceProperty(String name, Method getter) {
+    }
+
+}
@@ -16,10 +16,21 @@
 
 package org.grad.eNav.s100.utils;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 /**
  * The Specific Jar Class-Loader Utility
@@ -27,11 +38,33 @@ import java.net.URLClassLoader;
  * This utility allows us to load the resources from only specific JAR. This
  * might be useful fow loading the S-100 GML files from given libraries included
  * in the source-code dependencies.
+ * <p/>
+ * On first use, the entries of the jar are indexed in memory, so that the
+ * resource lookups do not have to scan the jar. Since the loader keeps the
+ * jar file open until it is closed, long-running applications should obtain
+ * the loaders through the {@link SpecificJarClassLoaderRegistry}, which shares
+ * a single loader per jar and closes it once it is no longer used.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 public class SpecificJarClassLoader extends URLClassLoader {
 
+    /**
+     * The jar file URLs of the classes, derived once per class.
+     */
+    private static final ClassValue<URL> JAR_FILE_URLS = new ClassValue<>() {
+        @Override
+        protected URL computeValue(Class<?> type) {
+            return byGetResource(type);
+        }
+    };
+
+    // Class Variables
+    private final URL jarFileUrl;
+    private final ReentrantLock lock;
+    private volatile JarIndex index;
+    private volatile boolean closed;
+
     /**
      * Instantiates a new specific jar class-loader for a jar URL.
      *
@@ -39,6 +72,8 @@ public class SpecificJarClassLoader extends URLClassLoader {
      */
     public SpecificJarClassLoader(URL jarFileUrl) {
         super(new URL[]{jarFileUrl});
+        this.jarFileUrl = jarFileUrl;
+        this.lock = new ReentrantLock();
     }
 
     /**
@@ -48,33 +83,127 @@ public class SpecificJarClassLoader extends URLClassLoader {
      * @param clazz the clazz
      */
     public SpecificJarClassLoader(Class<?> clazz) {
-        super(new URL[]{byGetResource(clazz)});
+        this(getJarFileUrl(clazz));
     }
 
     /**
-     * Overriding the fineResource URLClassLoader function.
+     * Returns the URL of the jar file this class-loader loads the resources
+     * from.
+     *
+     * @return the jar file URL
+     */
+    public URL getJarFileUrl() {
+        return this.jarFileUrl;
+    }
+
+    /**
+     * Overriding the fineResource URLClassLoader function. If the jar is
+     * available as a local file, the resource is looked up in the index of
+     * its entries.
      *
      * @param name the resource name
      * @return the resource URL
      */
     @Override
     public URL findResource(String name) {
-        // Only search for resources within the specific JAR file
-        return super.findResource(name);
+        final JarIndex jarIndex = this.getIndex();
+        if(Objects.isNull(jarIndex)) {
+            // Only search for resources within the specific JAR file
+            return this.closed ? null : super.findResource(name);
+        }
+        return jarIndex.entries.containsKey(name) ? jarIndex.toUrl(name) : null;
     }
 
     /**
-     * Overriding the getResourceAsStream URLClassLoader function.
+     * Overriding the getResourceAsStream URLClassLoader function. If the jar
+     * is available as a local file and includes the resource, the resource
+     * is read directly from the jar, otherwise the lookup is delegated to the
+     * standard class-loader mechanism.
      *
      * @param name the resource name
      * @return the resource input stream
      */
     @Override
     public InputStream getResourceAsStream(String name) {
-        // Only load resources from the specific JAR file
+        final JarIndex jarIndex = this.getIndex();
+        final JarEntry entry = Objects.nonNull(jarIndex) ? jarIndex.entries.get(name) : null;
+        if(Objects.nonNull(entry)) {
+            try {
+                // Only load resources from the specific JAR file
+                return jarIndex.jarFile.getInputStream(entry);
+            } catch (IOException ex) {
+                return null;
+            }
+        }
         return super.getResourceAsStream(name);
     }
 
+    /**
+     * Closes the class-loader, along with the indexed jar file. Any streams
+     * opened through the class-loader are closed as well.
+     *
+     * @throws IOException for errors while closing the jar file
+     */
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            if(Objects.nonNull(this.index)) {
+                this.index.jarFile.close();
+                this.index = null;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        super.close();
+    }
+
+    /**
+     * Returns whether the class-loader has been closed.
+     *
+     * @return whether the class-loader has been closed
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Returns the index of the jar entries, building it on first use. If the
+     * jar is not available as a local file, or the class-loader has been
+     * closed, no index is returned.
+     *
+     * @return the index of the jar entries
+     */
+    private JarIndex getIndex() {
+        JarIndex jarIndex = this.index;
+        if(Objects.isNull(jarIndex) && !this.closed && "file".equals(this.jarFileUrl.getProtocol())) {
+            this.lock.lock();
+            try {
+                // Check again, in case another thread got here first
+                if(Objects.isNull(this.index) && !this.closed) {
+                    this.index = new JarIndex(this.jarFileUrl);
+                }
+                jarIndex = this.index;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        return jarIndex;
+    }
+
+    /**
+     * Returns the URL of the jar which includes the definition of the
+     * provided class. The URL is only derived once per class and then
+     * reused.
+     *
+     * @param clazz the class that points to a specific jar
+     * @return the URL of the jar that includes the specified class
+     */
+    static URL getJarFileUrl(Class<?> clazz) {
+        return JAR_FILE_URLS.get(clazz);
+    }
+
     /**
      * This static function allows us to pick up the jar which includes the
      * definition of the provided class. This will then enable us to only load
@@ -84,20 +213,65 @@ public class SpecificJarClassLoader extends URLClassLoader {
      * @return the URL of the jar that includes the specified class
      */
     private static URL byGetResource(Class<?> clazz) {
-        URL classResource = clazz.getResource(clazz.getSimpleName() + ".class");
+        URL classResource = clazz.getResource(clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class");
         if (classResource == null) {
             throw new RuntimeException("class resource is null");
         }
-        String url = classResource.toString();
-        if (url.startsWith("jar:file:")) {
-            // extract 'file:......jarName.jar' part from the url string
-            String path = url.replaceAll("^jar:(file:.*[.]jar)!/.*", "$1");
-            try {
-                return new URI(path).toURL();
-            } catch (Exception e) {
-                throw new RuntimeException("Invalid Jar File URL String");
+        try {
+            // The jar connection parses the jar file URL without opening it
+            if (classResource.openConnection() instanceof JarURLConnection jarURLConnection) {
+                return jarURLConnection.getJarFileURL();
             }
+        } catch (IOException ex) {
+            throw new RuntimeException("Invalid Jar File URL String", ex);
         }
         throw new RuntimeException("Invalid Jar File URL String");
     }
+
+    /**
+     * The Jar Index Class.
+     * <p/>
+     * Holds the open jar file of the class-loader along with an index of its
+     * entries by name.
+     */
+    private static final class JarIndex {
+
+        // Class Variables
+        private final JarFile jarFile;
+        private final String baseUrl;
+        private final Map<String, JarEntry> entries;
+
+        /**
+         * Opens and indexes the jar file of the provided URL.
+         *
+         * @param jarFileUrl the jar file URL
+         */
+        JarIndex(URL jarFileUrl) {
+            try {
+                this.jarFile = new JarFile(Path.of(jarFileUrl.toURI()).toFile());
+                this.baseUrl = "jar:" + jarFileUrl.toURI().toASCIIString() + "!/";
+                this.entries = new HashMap<>();
+                this.jarFile.stream().forEach(entry -> this.entries.put(entry.getName(), entry));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } catch (URISyntaxException ex) {
+                throw new IllegalArgumentException("Invalid Jar File URL String", ex);
+            }
+        }
+
+        /**
+         * Returns the URL of the provided jar entry.
+         *
+         * @param name the entry name
+         * @return the entry URL
+         */
+        URL toUrl(String name) {
+            try {
+                return URI.create(this.baseUrl + new URI(null, null, name, null).getRawPath()).toURL();
+            } catch (IOException | URISyntaxException ex) {
+                return null;
+            }
+        }
+
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Specific Jar Class-Loader Registry Class.
+ * <p/>
+ * Shares a single {@link SpecificJarClassLoader} per jar, so that loading the
+ * S-100 GML resources from many product jars does not keep opening the same
+ * jar files. The loaders are reference counted; each one acquired through the
+ * registry should be released once it is no longer needed, and it will be
+ * closed when its last user releases it, e.g.:
+ * <pre>
+ *     final SpecificJarClassLoader loader = SpecificJarClassLoaderRegistry.acquire(S125Utils.class);
+ *     try {
+ *         ...
+ *     } finally {
+ *         SpecificJarClassLoaderRegistry.release(loader);
+ *     }
+ * </pre>
+ * The shared loaders should not be closed directly, since other users might
+ * still be using them.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class SpecificJarClassLoaderRegistry {
+
+    /**
+     * The registered class-loaders by jar file URI.
+     */
+    private static final Map<URI, Registration> LOADERS = new ConcurrentHashMap<>();
+
+    /**
+     * The specific jar class-loader registry is a static utility class.
+     */
+    private SpecificJarClassLoaderRegistry() {
+
+    }
+
+    /**
+     * Acquires the shared class-loader of the jar which includes the
+     * definition of the provided class, creating it if required.
+     *
+     * @param clazz the class that points to a specific jar
+     * @return the shared class-loader of the jar
+     */
+    public static SpecificJarClassLoader acquire(Class<?> clazz) {
+        return acquire(SpecificJarClassLoader.getJarFileUrl(clazz));
+    }
+
+    /**
+     * Acquires the shared class-loader of the provided jar URL, creating it
+     * if required.
+     *
+     * @param jarFileUrl the jar file url
+     * @return the shared class-loader of the jar
+     */
+    public static SpecificJarClassLoader acquire(URL jarFileUrl) {
+        return LOADERS.compute(toKey(jarFileUrl), (key, registration) -> {
+            final Registration current = Objects.nonNull(registration) ? registration : new Registration(new SpecificJarClassLoader(jarFileUrl));
+            current.references++;
+            return current;
+        }).loader;
+    }
+
+    /**
+     * Releases a class-loader acquired through the registry. Once all its
+     * users have released it, the class-loader is removed from the registry
+     * and closed.
+     *
+     * @param loader the class-loader to be released
+     */
+    public static void release(SpecificJarClassLoader loader) {
+        // Sanity Check
+        if(Objects.isNull(loader)) {
+            return;
+        }
+
+        final URI key = toKey(loader.getJarFileUrl());
+        final boolean[] unused = new boolean[1];
+        LOADERS.computeIfPresent(key, (k, registration) -> {
+            // Ignore loaders that are no longer registered
+            if(registration.loader != loader) {
+                return registration;
+            }
+            unused[0] = --registration.references <= 0;
+            return unused[0] ? null : registration;
+        });
+
+        // Close the loader outside the registry update
+        if(unused[0]) {
+            close(loader);
+        }
+    }
+
+    /**
+     * Closes all the registered class-loaders and clears the registry, e.g.
+     * during the shutdown of the application.
+     */
+    public static void releaseAll() {
+        final List<SpecificJarClassLoader> loaders = new ArrayList<>();
+        LOADERS.keySet().forEach(key -> LOADERS.computeIfPresent(key, (k, registration) -> {
+            loaders.add(registration.loader);
+            return null;
+        }));
+        loaders.forEach(SpecificJarClassLoaderRegistry::close);
+    }
+
+    /**
+     * Returns the number of the class-loaders currently registered.
+     *
+     * @return the number of the registered class-loaders
+     */
+    public static int size() {
+        return LOADERS.size();
+    }
+
+    /**
+     * Closes the provided class-loader.
+     *
+     * @param loader the class-loader to be closed
+     */
+    private static void close(SpecificJarClassLoader loader) {
+        try {
+            loader.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the registry key of the provided jar file URL. The URI is used
+     * instead of the URL, since the URL equality might require resolving the
+     * host names.
+     *
+     * @param jarFileUrl the jar file url
+     * @return the registry key
+     */
+    private static URI toKey(URL jarFileUrl) {
+        try {
+            return jarFileUrl.toURI().normalize();
+        } catch (URISyntaxException ex) {
+            throw new IllegalArgumentException("Invalid Jar File URL String", ex);
+        }
+    }
+
+    /**
+     * The Registration Class.
+     * <p/>
+     * Holds a registered class-loader along with the number of its users.
+     * It is only updated within the registry map operations.
+     */
+    private static final class Registration {
+
+        // Class Variables
+        private final SpecificJarClassLoader loader;
+        private int references;
+
+        /**
+         * Instantiates a new registration for the provided class-loader.
+         *
+         * @param loader the registered class-loader
+         */
+        Registration(SpecificJarClassLoader loader) {
+            this.loader = loader;
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.enums;
+
+import org.iso.standards.iso._19115.__3.gco._1.CodeListValueType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeListValueTypeProviderTest {
+
+    // Test Variables
+    private List<Class<? extends CodeListValueTypeProvider>> codeLists;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.codeLists = List.of(MaintenanceFrequency.class, PointOfContact.class, RoleCode.class,
+                SecurityClassification.class, TelephoneType.class);
+    }
+
+    /**
+     * Test that the code list value type objects of the enum constants are
+     * newly created on every call, and populated correctly.
+     */
+    @Test
+    void testGetCodeListValueType() {
+        for(Class<? extends CodeListValueTypeProvider> codeList : this.codeLists) {
+            for(CodeListValueTypeProvider constant : codeList.getEnumConstants()) {
+                final CodeListValueType codeListValueType = constant.getCodeListValueType();
+                assertNotSame(codeListValueType, constant.getCodeListValueType());
+                assertEquals(constant.getList(), codeListValueType.getCodeList());
+                assertNull(codeListValueType.getCodeSpace());
+                assertEquals(constant.getCode(), codeListValueType.getCodeListValue());
+                assertEquals(constant.getValue(), codeListValueType.getValue());
+            }
+        }
+
+        // Modifying a new object should not affect the others
+        final CodeListValueType codeListValueType = RoleCode.OWNER.getCodeListValueType();
+        codeListValueType.setValue("modified");
+        assertEquals("owner", RoleCode.OWNER.getCodeListValueType().getValue());
+        assertEquals("owner", RoleCode.OWNER.getSharedCodeListValueType().getValue());
+    }
+
+    /**
+     * Test that the shared code list value type objects of the enum
+     * constants are created once and then shared, while still being
+     * populated like the new ones.
+     */
+    @Test
+    void testGetSharedCodeListValueType() {
+        for(Class<? extends CodeListValueTypeProvider> codeList : this.codeLists) {
+            for(CodeListValueTypeProvider constant : codeList.getEnumConstants()) {
+                final CodeListValueType codeListValueType = constant.getSharedCodeListValueType();
+                assertSame(codeListValueType, constant.getSharedCodeListValueType());
+                assertNotSame(codeListValueType, constant.getCodeListValueType());
+                assertEquals(constant.getList(), codeListValueType.getCodeList());
+                assertNull(codeListValueType.getCodeSpace());
+                assertEquals(constant.getCode(), codeListValueType.getCodeListValue());
+                assertEquals(constant.getValue(), codeListValueType.getValue());
+            }
+        }
+        assertNotSame(RoleCode.OWNER.getSharedCodeListValueType(), RoleCode.USER.getSharedCodeListValueType());
+    }
+
+    /**
+     * Test that the enum constants can be looked up by their codes, as well
+     * as by the code list value type objects carrying them.
+     */
+    @Test
+    void testFromCode() {
+        for(RoleCode roleCode : RoleCode.values()) {
+            assertSame(roleCode, CodeListValueTypeProvider.fromCode(RoleCode.class, roleCode.getCode()));
+            assertSame(roleCode, CodeListValueTypeProvider.fromCodeListValueType(RoleCode.class, roleCode.getCodeListValueType()));
+        }
+        for(MaintenanceFrequency maintenanceFrequency : MaintenanceFrequency.values()) {
+            assertSame(maintenanceFrequency, CodeListValueTypeProvider.fromCode(MaintenanceFrequency.class, maintenanceFrequency.getCode()));
+        }
+        assertSame(SecurityClassification.CONFIDENTIAL, CodeListValueTypeProvider.fromCode(SecurityClassification.class, "3"));
+        assertSame(TelephoneType.FAX, CodeListValueTypeProvider.fromCode(TelephoneType.class, "fax"));
+    }
+
+    /**
+     * Test that the lookups of unknown or missing codes return null.
+     */
+    @Test
+    void testFromCodeUnknown() {
+        assertNull(CodeListValueTypeProvider.fromCode(RoleCode.class, "unknown"));
+        assertNull(CodeListValueTypeProvider.fromCode(SecurityClassification.class, "confidential"));
+        assertNull(CodeListValueTypeProvider.fromCode(RoleCode.class, null));
+        assertNull(CodeListValueTypeProvider.fromCode(null, "owner"));
+        assertNull(CodeListValueTypeProvider.fromCodeListValueType(RoleCode.class, null));
+        assertNull(CodeListValueTypeProvider.fromCodeListValueType(RoleCode.class, new CodeListValueType()));
+    }
+
+}
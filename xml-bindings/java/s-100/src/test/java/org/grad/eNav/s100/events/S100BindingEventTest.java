@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100BindingEventTest {
+
+    // Test Variables
+    private byte[] payload;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.payload = new byte[1000];
+    }
+
+    /**
+     * Test that when no recording is enabled, the tracked input streams and
+     * channels are returned as they are, so that no overhead is introduced.
+     */
+    @Test
+    void testTrackDisabled() {
+        final InputStream in = new ByteArrayInputStream(this.payload);
+        final ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(this.payload));
+        final S100UnmarshalEvent event = new S100UnmarshalEvent();
+
+        assertFalse(event.isEnabled());
+        assertSame(in, event.track(in));
+        assertSame(channel, event.track(channel));
+        assertNull(event.track((InputStream) null));
+    }
+
+    /**
+     * Test that when a recording is enabled, the bytes read from the tracked
+     * input streams and channels are accumulated in the event byte size.
+     */
+    @Test
+    void testTrackEnabled() throws IOException {
+        try(Recording recording = new Recording()) {
+            recording.enable(S100UnmarshalEvent.class);
+            recording.start();
+
+            // Track an input stream
+            final S100UnmarshalEvent streamEvent = new S100UnmarshalEvent();
+            try(InputStream in = streamEvent.track(new ByteArrayInputStream(this.payload))) {
+                assertEquals(0, in.read());
+                assertEquals(9, in.skip(9));
+                in.readAllBytes();
+            }
+            assertEquals(this.payload.length, streamEvent.getByteSize());
+
+            // Track a channel
+            final S100UnmarshalEvent channelEvent = new S100UnmarshalEvent();
+            try(ReadableByteChannel channel = channelEvent.track(Channels.newChannel(new ByteArrayInputStream(this.payload)))) {
+                final ByteBuffer buffer = ByteBuffer.allocate(64);
+                while(channel.read(buffer) >= 0) {
+                    buffer.clear();
+                }
+            }
+            assertEquals(this.payload.length, channelEvent.getByteSize());
+        }
+    }
+
+    /**
+     * Test that the committed events carry the product, byte size, member
+     * count, duration and thread information.
+     */
+    @Test
+    void testEventRecorded(@TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("events.jfr");
+        try(Recording recording = new Recording()) {
+            recording.enable(S100MarshalEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            final S100MarshalEvent event = new S100MarshalEvent();
+            event.begin();
+            if(event.shouldCommit()) {
+                event.setProduct("S-125")
+                        .setByteSize(this.payload.length)
+                        .setMemberCount(3)
+                        .commit();
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        assertEquals("org.grad.eNav.s100.Marshal", events.getFirst().getEventType().getName());
+        assertEquals("S-125", events.getFirst().getString("product"));
+        assertEquals(this.payload.length, events.getFirst().getLong("byteSize"));
+        assertEquals(3, events.getFirst().getInt("memberCount"));
+        assertNotNull(events.getFirst().getDuration());
+        assertEquals(Thread.currentThread().getName(), events.getFirst().getThread().getJavaName());
+    }
+
+}
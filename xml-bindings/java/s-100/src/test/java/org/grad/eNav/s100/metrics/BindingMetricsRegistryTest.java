@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grad.eNav.s100.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingMetricsRegistryTest {
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        BindingMetricsRegistry.setInstance(null);
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        BindingMetricsRegistry.setInstance(null);
+    }
+
+    /**
+     * Test that if no binding metrics implementation has been discovered, the
+     * no-op implementation is used by default.
+     */
+    @Test
+    void testDefaultInstance() {
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+
+        assertSame(NoOpBindingMetrics.INSTANCE, metrics);
+        assertSame(metrics, BindingMetricsRegistry.getInstance());
+        assertFalse(metrics.isEnabled());
+        assertEquals(0, metrics.startTimer());
+    }
+
+    /**
+     * Test that a binding metrics implementation can be registered
+     * programmatically and that it is used until it is cleared.
+     */
+    @Test
+    void testSetInstance() {
+        final InMemoryBindingMetrics metrics = new InMemoryBindingMetrics();
+        BindingMetricsRegistry.setInstance(metrics);
+        assertSame(metrics, BindingMetricsRegistry.getInstance());
+
+        BindingMetricsRegistry.setInstance(null);
+        assertSame(NoOpBindingMetrics.INSTANCE, BindingMetricsRegistry.getInstance());
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grad.eNav.s100.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryBindingMetricsTest {
+
+    // Test Variables
+    private InMemoryBindingMetrics metrics;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.metrics = new InMemoryBindingMetrics();
+    }
+
+    /**
+     * Test that the recorded latencies are kept per product and operation,
+     * and that they also increment the operation counters.
+     */
+    @Test
+    void testRecordLatency() {
+        assertTrue(this.metrics.isEnabled());
+        final long startTime = this.metrics.startTimer();
+        this.metrics.recordLatency("S-125", BindingMetrics.MARSHAL, startTime);
+        this.metrics.recordLatency("S-125", BindingMetrics.MARSHAL, startTime);
+
+        assertEquals(2, this.metrics.getCounter("S-125", BindingMetrics.MARSHAL));
+        assertEquals(0, this.metrics.getCounter("S-201", BindingMetrics.MARSHAL));
+        assertTrue(this.metrics.getLatencyHistogram("S-125", BindingMetrics.MARSHAL).isPresent());
+        assertEquals(2, this.metrics.getLatencyHistogram("S-125", BindingMetrics.MARSHAL).get().getCount());
+        assertFalse(this.metrics.getLatencyHistogram("S-201", BindingMetrics.MARSHAL).isPresent());
+    }
+
+    /**
+     * Test that the counters are incremented per product and name.
+     */
+    @Test
+    void testIncrementCounter() {
+        this.metrics.incrementCounter("S-125", BindingMetrics.ROUTED_MEMBERS, 10);
+        this.metrics.incrementCounter("S-125", BindingMetrics.ROUTED_MEMBERS, 5);
+        this.metrics.incrementCounter("S-201", BindingMetrics.ROUTED_MEMBERS, 1);
+
+        assertEquals(15, this.metrics.getCounter("S-125", BindingMetrics.ROUTED_MEMBERS));
+        assertEquals(1, this.metrics.getCounter("S-201", BindingMetrics.ROUTED_MEMBERS));
+        assertEquals(Map.of("S-125/members.routed", 15L, "S-201/members.routed", 1L), this.metrics.getCounters());
+    }
+
+    /**
+     * Test that the metrics can be reset.
+     */
+    @Test
+    void testReset() {
+        this.metrics.incrementCounter("S-125", BindingMetrics.SIGNATURES, 1);
+        this.metrics.recordLatency("S-125", BindingMetrics.SIGNATURE, this.metrics.startTimer());
+        this.metrics.reset();
+
+        assertTrue(this.metrics.getCounters().isEmpty());
+        assertFalse(this.metrics.getLatencyHistogram("S-125", BindingMetrics.SIGNATURE).isPresent());
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grad.eNav.s100.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    // Test Variables
+    private LatencyHistogram histogram;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Test that an empty histogram reports zero values.
+     */
+    @Test
+    void testEmpty() {
+        assertEquals(0, this.histogram.getCount());
+        assertEquals(0, this.histogram.getMin());
+        assertEquals(0, this.histogram.getMax());
+        assertEquals(0, this.histogram.getMean());
+        assertEquals(0, this.histogram.getValueAtPercentile(50));
+    }
+
+    /**
+     * Test that the recorded values are reported correctly, with the
+     * percentiles being within the histogram precision.
+     */
+    @Test
+    void testRecord() {
+        IntStream.rangeClosed(1, 10000).forEach(i -> this.histogram.record(i * 1000L));
+
+        assertEquals(10000, this.histogram.getCount());
+        assertEquals(1000, this.histogram.getMin());
+        assertEquals(10000000, this.histogram.getMax());
+        assertEquals(5000500, this.histogram.getMean(), 0.001);
+        assertEquals(5000000, this.histogram.getValueAtPercentile(50), 5000000 * 0.02);
+        assertEquals(9900000, this.histogram.getValueAtPercentile(99), 9900000 * 0.02);
+        assertEquals(10000000, this.histogram.getValueAtPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> this.histogram.getValueAtPercentile(101));
+    }
+
+    /**
+     * Test that the small values are recorded exactly, while the negative
+     * values are recorded as zero.
+     */
+    @Test
+    void testRecordSmallValues() {
+        this.histogram.record(-5);
+        this.histogram.record(3);
+        this.histogram.record(100);
+
+        assertEquals(0, this.histogram.getMin());
+        assertEquals(0, this.histogram.getValueAtPercentile(10));
+        assertEquals(3, this.histogram.getValueAtPercentile(50));
+        assertEquals(100, this.histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Test that the bucket indexes cover the whole range of long values and
+     * that each value falls within its bucket.
+     */
+    @Test
+    void testBucketIndex() {
+        assertEquals(0, LatencyHistogram.getBucketIndex(0));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.getHighestEquivalentValue(LatencyHistogram.BUCKET_COUNT - 1));
+        for(long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            final int index = LatencyHistogram.getBucketIndex(value);
+            assertTrue(LatencyHistogram.getHighestEquivalentValue(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.getHighestEquivalentValue(index - 1) < value);
+        }
+    }
+
+    /**
+     * Test that the histogram can be reset.
+     */
+    @Test
+    void testReset() {
+        this.histogram.record(1000);
+        this.histogram.reset();
+
+        assertEquals(0, this.histogram.getCount());
+        assertEquals(0, this.histogram.getValueAtPercentile(100));
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.query;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100DatasetQueryTest {
+
+    // Test Variables
+    private List<TestAton> atons;
+    private S100DatasetIndex<TestAton> index;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        final Random random = new Random(42);
+        this.atons = new ArrayList<>();
+        for(int i = 0; i < 5000; i++) {
+            final double latitude = 50 + random.nextDouble() * 10;
+            final double longitude = -5 + random.nextDouble() * 10;
+            final LocalDate start = i % 5 == 0 ? null : LocalDate.of(2000, 1, 1).plusDays(random.nextInt(10000));
+            final LocalDate end = i % 7 == 0 || start == null ? null : start.plusDays(random.nextInt(2000));
+            this.atons.add(new TestAton(
+                    "ID" + i,
+                    i % 3 == 0 ? new TestLight() : new TestBuoy(),
+                    i % 4 == 0 ? TestStatus.CONFIRMED : TestStatus.TEMPORARY,
+                    i % 2 == 0 ? List.of("red", "white") : List.of("green"),
+                    i % 11 == 0 ? null : S100BoundingBox.ofPoint(latitude, longitude),
+                    new S100ValidityPeriod(start, end)));
+        }
+        this.index = S100DatasetIndex.of(this.atons, TestAton::getEnvelope, TestAton::getValidity);
+    }
+
+    /**
+     * Test that the members can be filtered by their types and attributes,
+     * without using any indices.
+     */
+    @Test
+    void testTypesAndAttributes() {
+        final S100DatasetQuery<TestAton> query = new S100DatasetQuery<TestAton>()
+                .addPredicate(aton -> aton.getKind() instanceof TestLight)
+                .addAttribute("status", "Confirmed")
+                .addAttribute("colour", "red", "yellow");
+
+        assertTrue(query.plan(this.index).isFullScan());
+        assertEquals(this.bruteForce(aton -> aton.getKind() instanceof TestLight
+                        && aton.getStatus() == TestStatus.CONFIRMED
+                        && aton.getColours().contains("red")),
+                query.execute(this.index).toList());
+
+        // The enumerated attributes also match their constant names and values
+        assertEquals(this.bruteForce(aton -> aton.getStatus() == TestStatus.TEMPORARY),
+                new S100DatasetQuery<TestAton>().addAttribute("status", "TEMPORARY").execute(this.index).toList());
+        assertEquals(this.bruteForce(aton -> aton.getStatus() == TestStatus.TEMPORARY),
+                new S100DatasetQuery<TestAton>().addAttribute("status", TestStatus.TEMPORARY).execute(this.index).toList());
+        assertTrue(new S100DatasetQuery<TestAton>().addAttribute("unknown", "value").execute(this.index).toList().isEmpty());
+    }
+
+    /**
+     * Test that the member types include their subtypes.
+     */
+    @Test
+    void testTypes() {
+        final S100DatasetIndex<Object> kinds = S100DatasetIndex.of(this.atons.stream().map(TestAton::getKind).toList());
+
+        assertEquals(1667, new S100DatasetQuery<>().setTypes(TestLight.class).execute(kinds).count());
+        assertEquals(5000, new S100DatasetQuery<>().setTypes(TestKind.class).execute(kinds).count());
+        assertEquals(5000, new S100DatasetQuery<>().setTypes(TestLight.class, TestBuoy.class).execute(kinds).count());
+    }
+
+    /**
+     * Test that the bounding box predicate is answered through the spatial
+     * index, producing the same results as a full scan.
+     */
+    @Test
+    void testBoundingBox() {
+        final S100BoundingBox boundingBox = new S100BoundingBox(52, -1, 53, 1);
+        final S100DatasetQuery<TestAton> query = new S100DatasetQuery<TestAton>().setBoundingBox(boundingBox);
+
+        final S100QueryPlan plan = query.plan(this.index);
+        assertTrue(plan.spatialIndex());
+        assertFalse(plan.temporalIndex());
+        assertTrue(plan.candidates() < this.atons.size() / 10);
+        assertEquals(this.bruteForce(aton -> boundingBox.intersects(aton.getEnvelope())), query.execute(this.index).toList());
+
+        // Bounding boxes outside the dataset extent match nothing
+        assertEquals(0, new S100DatasetQuery<TestAton>().setBoundingBox(new S100BoundingBox(0, 0, 1, 1)).execute(this.index).count());
+    }
+
+    /**
+     * Test that the validity date predicate is answered through the temporal
+     * index, producing the same results as a full scan.
+     */
+    @Test
+    void testValidityDate() {
+        final LocalDate date = LocalDate.of(2010, 6, 1);
+        final S100DatasetQuery<TestAton> query = new S100DatasetQuery<TestAton>().setValidityDate(date);
+
+        final S100QueryPlan plan = query.plan(this.index);
+        assertFalse(plan.spatialIndex());
+        assertTrue(plan.temporalIndex());
+        assertTrue(plan.candidates() < this.atons.size());
+        assertEquals(this.bruteForce(aton -> aton.getValidity().includes(date)), query.execute(this.index).toList());
+    }
+
+    /**
+     * Test that all the predicates can be combined, with the large candidate
+     * sets being checked in parallel while keeping the member order.
+     */
+    @Test
+    void testCombinedInParallel() {
+        final S100BoundingBox boundingBox = new S100BoundingBox(51, -4, 58, 4);
+        final LocalDate date = LocalDate.of(2015, 1, 1);
+        final S100DatasetQuery<TestAton> query = new S100DatasetQuery<TestAton>()
+                .addAttribute("colour", "green")
+                .setBoundingBox(boundingBox)
+                .setValidityDate(date)
+                .setParallelThreshold(10);
+
+        final S100QueryPlan plan = query.plan(this.index);
+        assertTrue(plan.spatialIndex());
+        assertTrue(plan.temporalIndex());
+        assertTrue(plan.parallel());
+        assertTrue(query.execute(this.index).isParallel());
+        assertEquals(this.bruteForce(aton -> aton.getColours().contains("green")
+                        && boundingBox.intersects(aton.getEnvelope())
+                        && aton.getValidity().includes(date)),
+                query.execute(this.index).toList());
+        assertFalse(query.setParallelThreshold(S100DatasetQuery.DEFAULT_PARALLEL_THRESHOLD).execute(this.index).isParallel());
+    }
+
+    /**
+     * Test that the results are evaluated lazily, as they are consumed.
+     */
+    @Test
+    void testLazyEvaluation() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final S100DatasetQuery<TestAton> query = new S100DatasetQuery<TestAton>()
+                .addPredicate(aton -> evaluations.incrementAndGet() > 0);
+
+        assertTrue(query.execute(this.index).findFirst().isPresent());
+        assertEquals(1, evaluations.get());
+    }
+
+    /**
+     * Test that the bounding box and validity date predicates require the
+     * corresponding indices.
+     */
+    @Test
+    void testMissingIndices() {
+        final S100DatasetIndex<TestAton> plainIndex = S100DatasetIndex.of(this.atons);
+
+        assertFalse(plainIndex.hasSpatialIndex());
+        assertFalse(plainIndex.hasTemporalIndex());
+        assertThrows(IllegalStateException.class, () -> new S100DatasetQuery<TestAton>()
+                .setBoundingBox(new S100BoundingBox(0, 0, 1, 1))
+                .execute(plainIndex));
+        assertThrows(IllegalStateException.class, () -> new S100DatasetQuery<TestAton>()
+                .setValidityDate(LocalDate.now())
+                .execute(plainIndex));
+        assertThrows(IllegalArgumentException.class, () -> new S100BoundingBox(1, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new S100ValidityPeriod(LocalDate.MAX, LocalDate.MIN));
+    }
+
+    /**
+     * Filters the test members with the provided predicate, in their
+     * original order.
+     *
+     * @param predicate the member predicate
+     * @return the matching members
+     */
+    private List<TestAton> bruteForce(Predicate<TestAton> predicate) {
+        return this.atons.stream().filter(predicate).toList();
+    }
+
+    enum TestStatus {
+        CONFIRMED("Confirmed"),
+        TEMPORARY("Temporary");
+
+        private final String value;
+
+        TestStatus(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return this.value;
+        }
+    }
+
+    interface TestKind {
+    }
+
+    static class TestLight implements TestKind {
+    }
+
+    static class TestBuoy implements TestKind {
+    }
+
+    public static class TestAton {
+        private final String id;
+        private final TestKind kind;
+        private final TestStatus status;
+        private final List<String> colours;
+        private final S100BoundingBox envelope;
+        private final S100ValidityPeriod validity;
+
+        TestAton(String id, TestKind kind, TestStatus status, List<String> colours, S100BoundingBox envelope, S100ValidityPeriod validity) {
+            this.id = id;
+            this.kind = kind;
+            this.status = status;
+            this.colours = colours;
+            this.envelope = envelope;
+            this.validity = validity;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public TestKind getKind() {
+            return this.kind;
+        }
+
+        public TestStatus getStatus() {
+            return this.status;
+        }
+
+        public List<String> getColours() {
+            return this.colours;
+        }
+
+        public S100BoundingBox getEnvelope() {
+            return this.envelope;
+        }
+
+        public S100ValidityPeriod getValidity() {
+            return this.validity;
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import org.grad.eNav.s100.stax.S100MemberPublisherTest.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100MemberFilterTest {
+
+    // Test Variables
+    private S100StaxCodec s100StaxCodec;
+    private String datasetXml;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws XMLStreamException {
+        this.s100StaxCodec = new S100StaxCodec(new TestBindings());
+
+        final TestDataset dataset = new TestDataset();
+        dataset.name = "Test Dataset";
+        dataset.members = new TestMembers();
+        for(int i = 0; i < 30; i++) {
+            final TestMember member = i % 3 == 0 ? new TestBeacon() : new TestBuoy();
+            member.id = "ID" + i;
+            dataset.members.members.add(member);
+        }
+        this.datasetXml = this.s100StaxCodec.marshal(dataset, false);
+    }
+
+    /**
+     * Test that the filter accepting all the members reads all of them.
+     */
+    @Test
+    void testAll() throws XMLStreamException {
+        final List<Object> members = this.readMembers(S100MemberFilter.ALL);
+
+        assertTrue(S100MemberFilter.ALL.isAll());
+        assertEquals(30, members.size());
+    }
+
+    /**
+     * Test that the members can be filtered by their types, while the
+     * supertypes of the member elements accept all of them.
+     */
+    @Test
+    void testOfTypes() throws XMLStreamException {
+        final List<Object> beacons = this.readMembers(S100MemberFilter.ofTypes(TestBeacon.class));
+        assertEquals(10, beacons.size());
+        assertTrue(beacons.stream().allMatch(TestBeacon.class::isInstance));
+        assertEquals("ID0", ((TestMember) beacons.getFirst()).id);
+        assertEquals("ID27", ((TestMember) beacons.getLast()).id);
+
+        final List<Object> members = this.readMembers(S100MemberFilter.ofTypes(TestMember.class));
+        assertEquals(30, members.size());
+
+        final List<Object> none = this.readMembers(S100MemberFilter.ofTypes(String.class));
+        assertTrue(none.isEmpty());
+    }
+
+    /**
+     * Test that the members can be filtered by their local or qualified
+     * element names.
+     */
+    @Test
+    void testOfNames() throws XMLStreamException {
+        final List<Object> buoys = this.readMembers(S100MemberFilter.ofNames("Buoy"));
+        assertEquals(20, buoys.size());
+        assertTrue(buoys.stream().allMatch(TestBuoy.class::isInstance));
+
+        final List<Object> beacons = this.readMembers(S100MemberFilter.ofNames(new QName(S100MemberPublisherTest.NAMESPACE, "Beacon").toString()));
+        assertEquals(10, beacons.size());
+        assertTrue(beacons.stream().allMatch(TestBeacon.class::isInstance));
+
+        final List<Object> none = this.readMembers(S100MemberFilter.ofNames("{http://www.example.org/other}Buoy"));
+        assertTrue(none.isEmpty());
+    }
+
+    /**
+     * Test that the member elements are matched against their declarations.
+     */
+    @Test
+    void testAcceptsElement() {
+        final QName buoy = new QName(S100MemberPublisherTest.NAMESPACE, "Buoy");
+
+        assertTrue(S100MemberFilter.ofTypes(TestBuoy.class).acceptsElement(buoy, TestBuoy.class));
+        assertTrue(S100MemberFilter.ofTypes(TestBuoy.class).acceptsElement(buoy, TestMember.class));
+        assertFalse(S100MemberFilter.ofTypes(TestBuoy.class).acceptsElement(buoy, TestBeacon.class));
+        assertTrue(S100MemberFilter.ofNames("Buoy").acceptsElement(buoy, Object.class));
+        assertFalse(S100MemberFilter.ofNames("Beacon").acceptsElement(buoy, TestBuoy.class));
+        assertFalse(S100MemberFilter.ofTypes(TestBuoy.class).accepts(new TestBeacon()));
+    }
+
+    /**
+     * Test that empty and null filters are rejected.
+     */
+    @Test
+    void testInvalidFilters() {
+        assertThrows(IllegalArgumentException.class, S100MemberFilter::ofTypes);
+        assertThrows(IllegalArgumentException.class, S100MemberFilter::ofNames);
+        assertThrows(IllegalArgumentException.class, () -> S100MemberFilter.ofTypes(TestBuoy.class, null));
+        assertThrows(NullPointerException.class, () -> this.s100StaxCodec.openMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)), TestMembers.class, null));
+    }
+
+    /**
+     * Reads all the members of the test dataset accepted by the provided
+     * filter.
+     *
+     * @param filter the member filter
+     * @return the accepted members
+     * @throws XMLStreamException for errors while reading the members
+     */
+    private List<Object> readMembers(S100MemberFilter filter) throws XMLStreamException {
+        final List<Object> members = new ArrayList<>();
+        try(S100StaxCodec.MemberReader reader = this.s100StaxCodec.openMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)), TestMembers.class, filter)) {
+            for(Object member = reader.next(); member != null; member = reader.next()) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import org.grad.eNav.s100.stax.S100MemberPublisherTest.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100MemberProjectionTest {
+
+    // Test Variables
+    private S100StaxCodec s100StaxCodec;
+    private String datasetXml;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws XMLStreamException {
+        this.s100StaxCodec = new S100StaxCodec(new TestBindings());
+
+        final TestDataset dataset = new TestDataset();
+        dataset.name = "Test Dataset";
+        dataset.members = new TestMembers();
+        for(int i = 0; i < 30; i++) {
+            final TestMember member = i % 3 == 0 ? new TestBeacon() : new TestBuoy();
+            member.id = "ID" + i;
+            if(member instanceof TestBuoy buoy) {
+                buoy.buoyMembers.add("A" + i);
+                buoy.buoyMembers.add("B" + i);
+            }
+            dataset.members.members.add(member);
+        }
+        this.datasetXml = this.s100StaxCodec.marshal(dataset, true);
+    }
+
+    /**
+     * Test that the members are projected in their document order, with all
+     * the values of the projected elements and attributes.
+     */
+    @Test
+    void testProjectMembers() throws XMLStreamException {
+        final List<S100ProjectedMember> members = this.projectMembers(S100MemberFilter.ALL, S100MemberProjection.of("member", "@id"));
+
+        assertEquals(30, members.size());
+        for(int i = 0; i < members.size(); i++) {
+            final S100ProjectedMember member = members.get(i);
+            assertEquals("ID" + i, member.id());
+            assertEquals("ID" + i, member.getValue("@id"));
+            if(i % 3 == 0) {
+                assertEquals("Beacon", member.featureType());
+                assertTrue(member.getValues("member").isEmpty());
+                assertNull(member.getValue("member"));
+            } else {
+                assertEquals("Buoy", member.featureType());
+                assertEquals(List.of("A" + i, "B" + i), member.getValues("member"));
+            }
+        }
+    }
+
+    /**
+     * Test that the projection can be combined with the member filters.
+     */
+    @Test
+    void testProjectFilteredMembers() throws XMLStreamException {
+        final List<S100ProjectedMember> buoys = this.projectMembers(S100MemberFilter.ofTypes(TestBuoy.class), S100MemberProjection.of("member"));
+        assertEquals(20, buoys.size());
+        assertTrue(buoys.stream().allMatch(member -> member.featureType().equals("Buoy")));
+
+        final List<S100ProjectedMember> beacons = this.projectMembers(S100MemberFilter.ofNames("Beacon"), S100MemberProjection.of("member"));
+        assertEquals(10, beacons.size());
+        assertTrue(beacons.stream().allMatch(member -> member.values().isEmpty()));
+    }
+
+    /**
+     * Test that the paths outside the projection are not collected.
+     */
+    @Test
+    void testUnknownPaths() throws XMLStreamException {
+        final List<S100ProjectedMember> members = this.projectMembers(S100MemberFilter.ALL, S100MemberProjection.of("member/unknown", "unknown/@id"));
+
+        assertEquals(30, members.size());
+        assertTrue(members.stream().allMatch(member -> member.values().isEmpty()));
+    }
+
+    /**
+     * Test that the invalid projections are rejected.
+     */
+    @Test
+    void testInvalidProjections() {
+        assertThrows(IllegalArgumentException.class, S100MemberProjection::of);
+        assertThrows(IllegalArgumentException.class, () -> S100MemberProjection.of(" "));
+        assertThrows(IllegalArgumentException.class, () -> S100MemberProjection.of("/member"));
+        assertThrows(IllegalArgumentException.class, () -> S100MemberProjection.of("member/"));
+        assertThrows(IllegalArgumentException.class, () -> S100MemberProjection.of("@id/member"));
+        assertThrows(NullPointerException.class, () -> this.s100StaxCodec.openProjections(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)), TestMembers.class, S100MemberFilter.ALL, null));
+    }
+
+    /**
+     * Projects all the members of the test dataset accepted by the provided
+     * filter.
+     *
+     * @param filter the member filter
+     * @param projection the member projection
+     * @return the projected members
+     * @throws XMLStreamException for errors while reading the members
+     */
+    private List<S100ProjectedMember> projectMembers(S100MemberFilter filter, S100MemberProjection projection) throws XMLStreamException {
+        final List<S100ProjectedMember> members = new ArrayList<>();
+        try(S100StaxCodec.ProjectionReader reader = this.s100StaxCodec.openProjections(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)), TestMembers.class, filter, projection)) {
+            for(S100ProjectedMember member = reader.next(); member != null; member = reader.next()) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import org.grad.eNav.s100.stax.S100StaxCodecTest.TestBinding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100MemberPublisherTest {
+
+    /**
+     * The namespace of the test classes.
+     */
+    static final String NAMESPACE = "http://www.example.org/members";
+
+    // Test Variables
+    private S100StaxCodec s100StaxCodec;
+    private String datasetXml;
+    private ReadableByteChannel channel;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws XMLStreamException {
+        this.s100StaxCodec = new S100StaxCodec(new TestBindings());
+
+        final TestDataset dataset = new TestDataset();
+        dataset.name = "Test Dataset";
+        dataset.members = new TestMembers();
+        for(int i = 0; i < 100; i++) {
+            final TestMember member = i % 3 == 0 ? new TestBeacon() : new TestBuoy();
+            member.id = "ID" + i;
+            if(member instanceof TestBuoy buoy) {
+                buoy.buoyMembers.add(member.id);
+            }
+            dataset.members.members.add(member);
+        }
+        this.datasetXml = this.s100StaxCodec.marshal(dataset, true);
+        this.channel = Channels.newChannel(new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Test that all the members are published in their document order, and
+     * that the channel is closed on completion.
+     */
+    @Test
+    void testPublishAll() throws InterruptedException {
+        final TestSubscriber<TestMember> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        new S100MemberPublisher<>(this.s100StaxCodec, this.channel, TestMembers.class, TestMember.class).subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertEquals(100, subscriber.items.size());
+        assertEquals(this.expectedIds(100), subscriber.items.stream().map(member -> member.id).toList());
+        assertFalse(this.channel.isOpen());
+    }
+
+    /**
+     * Test that the members are only published as they are requested, and
+     * that the subscription can be cancelled partway through the dataset.
+     */
+    @Test
+    void testBackpressureAndCancel() throws InterruptedException {
+        final TestSubscriber<TestMember> subscriber = new TestSubscriber<>(0);
+        new S100MemberPublisher<>(this.s100StaxCodec, this.channel, TestMembers.class, TestMember.class).subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        assertTrue(subscriber.awaitItems(5));
+        Thread.sleep(100);
+        assertEquals(5, subscriber.items.size());
+
+        subscriber.subscription.request(3);
+        assertTrue(subscriber.awaitItems(8));
+        subscriber.subscription.cancel();
+        Thread.sleep(100);
+
+        assertEquals(this.expectedIds(8), subscriber.items.stream().map(member -> member.id).toList());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+        assertFalse(this.channel.isOpen());
+    }
+
+    /**
+     * Test that only the members of the requested type are published.
+     */
+    @Test
+    void testPublishMemberType() throws InterruptedException {
+        final TestSubscriber<TestBuoy> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        new S100MemberPublisher<>(this.s100StaxCodec, this.channel, TestMembers.class, TestBuoy.class).subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed);
+        assertEquals(66, subscriber.items.size());
+        assertTrue(subscriber.items.stream().allMatch(buoy -> buoy.buoyMembers.equals(List.of(buoy.id))));
+    }
+
+    /**
+     * Test that only the members accepted by the member filter are parsed
+     * and published.
+     */
+    @Test
+    void testPublishFiltered() throws InterruptedException {
+        final TestSubscriber<TestMember> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        new S100MemberPublisher<>(this.s100StaxCodec, this.channel, TestMembers.class, TestMember.class,
+                S100MemberFilter.ofNames("Beacon"), S100MemberPublisher.VIRTUAL_THREAD_EXECUTOR).subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed);
+        assertEquals(34, subscriber.items.size());
+        assertTrue(subscriber.items.stream().allMatch(TestBeacon.class::isInstance));
+        assertFalse(this.channel.isOpen());
+    }
+
+    /**
+     * Test that only a single subscriber is accepted.
+     */
+    @Test
+    void testSingleSubscriber() throws InterruptedException {
+        final S100MemberPublisher<TestMember> publisher = new S100MemberPublisher<>(this.s100StaxCodec, this.channel, TestMembers.class, TestMember.class);
+        publisher.subscribe(new TestSubscriber<>(0));
+
+        final TestSubscriber<TestMember> subscriber = new TestSubscriber<>(1);
+        publisher.subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+    }
+
+    /**
+     * Test that non-positive requests fail the subscription.
+     */
+    @Test
+    void testInvalidRequest() throws InterruptedException {
+        final TestSubscriber<TestMember> subscriber = new TestSubscriber<>(0);
+        new S100MemberPublisher<>(this.s100StaxCodec, this.channel, TestMembers.class, TestMember.class).subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertFalse(this.channel.isOpen());
+    }
+
+    /**
+     * Test that the parsing errors are published after the members read so
+     * far.
+     */
+    @Test
+    void testMalformedDataset() throws InterruptedException {
+        final String malformedXml = this.datasetXml.substring(0, this.datasetXml.indexOf("ID50\""));
+        final ReadableByteChannel malformedChannel = Channels.newChannel(new ByteArrayInputStream(malformedXml.getBytes(StandardCharsets.UTF_8)));
+        final TestSubscriber<TestMember> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        new S100MemberPublisher<>(this.s100StaxCodec, malformedChannel, TestMembers.class, TestMember.class).subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        assertInstanceOf(XMLStreamException.class, subscriber.error);
+        assertEquals(this.expectedIds(50), subscriber.items.stream().map(member -> member.id).toList());
+    }
+
+    /**
+     * Returns the IDs of the first members, in their document order.
+     *
+     * @param count the number of members
+     * @return the member IDs
+     */
+    private List<String> expectedIds(int count) {
+        final List<String> ids = new ArrayList<>();
+        for(int i = 0; i < count; i++) {
+            ids.add("ID" + i);
+        }
+        return ids;
+    }
+
+    /**
+     * A subscriber collecting all the published items.
+     *
+     * @param <T> the type of the items
+     */
+    static class TestSubscriber<T> implements Flow.Subscriber<T> {
+        final long initialRequest;
+        final List<T> items = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        boolean awaitItems(int count) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + 30000;
+            while(this.items.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            return this.items.size() >= count;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if(this.initialRequest > 0) {
+                subscription.request(this.initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            this.items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+            this.terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+            this.terminated.countDown();
+        }
+    }
+
+    /**
+     * The test binding provider, as generated by the {@code -Xstax-codec}
+     * XJC plugin for the package of the test classes.
+     */
+    static class TestBindings implements S100StaxBindingProvider {
+        @Override
+        public List<S100StaxBinding<?>> getBindings() {
+            return List.of(TestMember.StaxBinding.INSTANCE, TestBuoy.StaxBinding.INSTANCE, TestBeacon.StaxBinding.INSTANCE,
+                    TestMembers.StaxBinding.INSTANCE, TestDataset.StaxBinding.INSTANCE);
+        }
+
+        @Override
+        public List<S100StaxEnumBinding<?>> getEnumBindings() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Map<QName, Class<?>> getElementDecls() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public List<String> getNamespaces() {
+            return List.of(NAMESPACE);
+        }
+
+        @Override
+        public List<S100StaxBindingProvider> getDependencies() {
+            return Collections.emptyList();
+        }
+    }
+
+    static abstract class TestMember {
+        String id;
+
+        static final class StaxBinding extends TestBinding<TestMember> {
+            static final QName ID_NAME = new QName(NAMESPACE, "id");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestMember.class, new QName(NAMESPACE, "MemberType"), null, Collections.emptyMap());
+            }
+
+            @Override
+            public TestMember newInstance() {
+                throw new IllegalStateException("TestMember is abstract");
+            }
+
+            @Override
+            public QName getIdName() {
+                return ID_NAME;
+            }
+
+            @Override
+            public String getId(TestMember value) {
+                return value.id;
+            }
+
+            @Override
+            public void writeAttributes(S100StaxWriter writer, TestMember value) throws XMLStreamException {
+                if(value.id != null) {
+                    writer.writeAttribute(ID_NAME, writer.print(value.id));
+                }
+            }
+
+            @Override
+            public boolean readAttribute(S100StaxReader reader, TestMember target, QName name, String value) throws XMLStreamException {
+                if(ID_NAME.equals(name)) {
+                    target.id = reader.parse(value, String.class);
+                    reader.registerId(target.id, target);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    static class TestBuoy extends TestMember {
+        List<String> buoyMembers = new ArrayList<>();
+
+        static final class StaxBinding extends TestBinding<TestBuoy> {
+            static final QName MEMBER_NAME = new QName(NAMESPACE, "member");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestBuoy.class, new QName(NAMESPACE, "BuoyType"), null, Map.of(MEMBER_NAME, String.class));
+            }
+
+            @Override
+            public TestBuoy newInstance() {
+                return new TestBuoy();
+            }
+
+            @Override
+            public QName getIdName() {
+                return TestMember.StaxBinding.INSTANCE.getIdName();
+            }
+
+            @Override
+            public String getId(TestBuoy value) {
+                return TestMember.StaxBinding.INSTANCE.getId(value);
+            }
+
+            @Override
+            public void writeAttributes(S100StaxWriter writer, TestBuoy value) throws XMLStreamException {
+                TestMember.StaxBinding.INSTANCE.writeAttributes(writer, value);
+            }
+
+            @Override
+            public void writeContent(S100StaxWriter writer, TestBuoy value) throws XMLStreamException {
+                if(value.buoyMembers != null) {
+                    for(String buoyMember : value.buoyMembers) {
+                        writer.writeSimple(MEMBER_NAME, buoyMember);
+                    }
+                }
+            }
+
+            @Override
+            public boolean readAttribute(S100StaxReader reader, TestBuoy target, QName name, String value) throws XMLStreamException {
+                return TestMember.StaxBinding.INSTANCE.readAttribute(reader, target, name, value);
+            }
+
+            @Override
+            public boolean readElement(S100StaxReader reader, TestBuoy target, QName name) throws XMLStreamException {
+                if(MEMBER_NAME.equals(name)) {
+                    if(target.buoyMembers == null) {
+                        target.buoyMembers = new ArrayList<>();
+                    }
+                    target.buoyMembers.add(reader.read(String.class));
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    static class TestBeacon extends TestMember {
+        static final class StaxBinding extends TestBinding<TestBeacon> {
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestBeacon.class, new QName(NAMESPACE, "BeaconType"), null, Collections.emptyMap());
+            }
+
+            @Override
+            public TestBeacon newInstance() {
+                return new TestBeacon();
+            }
+
+            @Override
+            public QName getIdName() {
+                return TestMember.StaxBinding.INSTANCE.getIdName();
+            }
+
+            @Override
+            public String getId(TestBeacon value) {
+                return TestMember.StaxBinding.INSTANCE.getId(value);
+            }
+
+            @Override
+            public void writeAttributes(S100StaxWriter writer, TestBeacon value) throws XMLStreamException {
+                TestMember.StaxBinding.INSTANCE.writeAttributes(writer, value);
+            }
+
+            @Override
+            public boolean readAttribute(S100StaxReader reader, TestBeacon target, QName name, String value) throws XMLStreamException {
+                return TestMember.StaxBinding.INSTANCE.readAttribute(reader, target, name, value);
+            }
+        }
+    }
+
+    static class TestMembers {
+        List<TestMember> members = new ArrayList<>();
+
+        static final class StaxBinding extends TestBinding<TestMembers> {
+            static final QName BUOY_NAME = new QName(NAMESPACE, "Buoy");
+            static final QName BEACON_NAME = new QName(NAMESPACE, "Beacon");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestMembers.class, new QName(NAMESPACE, "MembersType"), null, Map.of(BUOY_NAME, TestBuoy.class, BEACON_NAME, TestBeacon.class));
+            }
+
+            @Override
+            public TestMembers newInstance() {
+                return new TestMembers();
+            }
+
+            @Override
+            public void writeContent(S100StaxWriter writer, TestMembers value) throws XMLStreamException {
+                if(value.members != null) {
+                    for(TestMember member : value.members) {
+                        if(member instanceof TestBuoy) {
+                            writer.writeObject(BUOY_NAME, member, TestBuoy.StaxBinding.INSTANCE);
+                        } else if(member instanceof TestBeacon) {
+                            writer.writeObject(BEACON_NAME, member, TestBeacon.StaxBinding.INSTANCE);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public boolean readElement(S100StaxReader reader, TestMembers target, QName name) throws XMLStreamException {
+                switch(name.getLocalPart()) {
+                    case "Buoy":
+                        if(BUOY_NAME.equals(name)) {
+                            if(target.members == null) {
+                                target.members = new ArrayList<>();
+                            }
+                            target.members.add(reader.read(TestBuoy.StaxBinding.INSTANCE));
+                            return true;
+                        }
+                        break;
+                    case "Beacon":
+                        if(BEACON_NAME.equals(name)) {
+                            if(target.members == null) {
+                                target.members = new ArrayList<>();
+                            }
+                            target.members.add(reader.read(TestBeacon.StaxBinding.INSTANCE));
+                            return true;
+                        }
+                        break;
+                }
+                return false;
+            }
+        }
+    }
+
+    static class TestDataset {
+        String name;
+        TestMembers members;
+
+        static final class StaxBinding extends TestBinding<TestDataset> {
+            static final QName NAME_NAME = new QName(NAMESPACE, "name");
+            static final QName MEMBERS_NAME = new QName(NAMESPACE, "members");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestDataset.class, new QName(NAMESPACE, "DatasetType"), new QName(NAMESPACE, "Dataset"), Map.of(NAME_NAME, String.class, MEMBERS_NAME, TestMembers.class));
+            }
+
+            @Override
+            public TestDataset newInstance() {
+                return new TestDataset();
+            }
+
+            @Override
+            public void writeContent(S100StaxWriter writer, TestDataset value) throws XMLStreamException {
+                if(value.name != null) {
+                    writer.writeSimple(NAME_NAME, value.name);
+                }
+                if(value.members != null) {
+                    writer.writeObject(MEMBERS_NAME, value.members, TestMembers.StaxBinding.INSTANCE);
+                }
+            }
+
+            @Override
+            public boolean readElement(S100StaxReader reader, TestDataset target, QName name) throws XMLStreamException {
+                switch(name.getLocalPart()) {
+                    case "name":
+                        if(NAME_NAME.equals(name)) {
+                            target.name = reader.read(String.class);
+                            return true;
+                        }
+                        break;
+                    case "members":
+                        if(MEMBERS_NAME.equals(name)) {
+                            target.members = reader.read(TestMembers.StaxBinding.INSTANCE);
+                            return true;
+                        }
+                        break;
+                }
+                return false;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.stax;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100StaxCodecTest {
+
+    /**
+     * The namespace of the test classes.
+     */
+    static final String NAMESPACE = "http://www.example.org/test";
+
+    /**
+     * The namespace prefix of the test classes, declared in the package info.
+     */
+    static final String PREFIX = "tst";
+
+    // Test Variables
+    private S100StaxCodec s100StaxCodec;
+    private TestFeature feature;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.s100StaxCodec = new S100StaxCodec(new TestBindings());
+
+        final TestPoint point = new TestPoint();
+        point.id = "P1";
+        point.pos = new ArrayList<>(List.of(51.89, 1.42));
+
+        this.feature = new TestFeature();
+        this.feature.id = "F1";
+        this.feature.name = "A & <test>";
+        this.feature.statuses = new ArrayList<>(List.of(TestStatus.PERMANENT, TestStatus.NOT_IN_USE));
+        this.feature.range = new BigDecimal("1.50");
+        this.feature.geometry = point;
+        this.feature.reference = point;
+    }
+
+    /**
+     * Test that the marshalled objects can be unmarshalled back into
+     * equivalent ones, and marshalled again into the same XML.
+     */
+    @Test
+    void testRoundTrip() throws XMLStreamException {
+        final String xml = this.s100StaxCodec.marshal(this.feature, true);
+        final TestFeature result = this.s100StaxCodec.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), TestFeature.class);
+
+        assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"));
+        assertEquals(this.feature.id, result.id);
+        assertEquals(this.feature.name, result.name);
+        assertEquals(this.feature.statuses, result.statuses);
+        assertEquals(this.feature.range, result.range);
+        assertEquals(xml, this.s100StaxCodec.marshal(result, true));
+    }
+
+    /**
+     * Test that the namespaces are written with the prefixes declared in the
+     * package info of the bound classes, as in JAXB, rather than with
+     * generated prefixes.
+     */
+    @Test
+    void testNamespacePrefixes() throws XMLStreamException {
+        final String xml = this.s100StaxCodec.marshal(this.feature, false);
+
+        assertTrue(xml.contains("<" + PREFIX + ":Feature "));
+        assertTrue(xml.contains("xmlns:" + PREFIX + "=\"" + NAMESPACE + "\""));
+        assertTrue(xml.contains("<" + PREFIX + ":name>"));
+        assertFalse(xml.contains("xmlns:ns1="));
+    }
+
+    /**
+     * Test that the enum values are written using their XML enum values.
+     */
+    @Test
+    void testEnumValues() throws XMLStreamException {
+        final String xml = this.s100StaxCodec.marshal(this.feature, false);
+
+        assertTrue(xml.contains(">permanent<"));
+        assertTrue(xml.contains(">not in use<"));
+    }
+
+    /**
+     * Test that subtypes of the declared element types are written with
+     * their xsi:type and read back into the same subtype.
+     */
+    @Test
+    void testXsiType() throws XMLStreamException {
+        final String xml = this.s100StaxCodec.marshal(this.feature, false);
+        final TestFeature result = this.s100StaxCodec.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), TestFeature.class);
+
+        assertTrue(xml.contains(":type=\""));
+        final TestPoint point = assertInstanceOf(TestPoint.class, result.geometry);
+        assertEquals(List.of(51.89, 1.42), point.pos);
+    }
+
+    /**
+     * Test that the ID references are resolved into the referenced objects.
+     */
+    @Test
+    void testIdReferences() throws XMLStreamException {
+        final String xml = this.s100StaxCodec.marshal(this.feature, false);
+        final TestFeature result = this.s100StaxCodec.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), TestFeature.class);
+
+        assertTrue(xml.contains(">P1</"));
+        assertSame(result.geometry, result.reference);
+    }
+
+    /**
+     * Test that unknown elements are skipped during the unmarshalling
+     * operation, as in JAXB.
+     */
+    @Test
+    void testUnknownElements() throws XMLStreamException {
+        final String xml = this.s100StaxCodec.marshal(this.feature, false)
+                .replaceFirst("(</(\\w+):name>)", "$1<$2:unknown><$2:child>value</$2:child></$2:unknown>");
+        final TestFeature result = this.s100StaxCodec.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), TestFeature.class);
+
+        assertEquals(this.feature.name, result.name);
+        assertEquals(this.feature.statuses, result.statuses);
+    }
+
+    /**
+     * Test that objects not bound to a root element cannot be marshalled.
+     */
+    @Test
+    void testMarshalUnbound() {
+        assertThrows(XMLStreamException.class, () -> this.s100StaxCodec.marshal(new TestPoint(), false));
+    }
+
+    /**
+     * Test that documents with an external entity are rejected.
+     */
+    @Test
+    void testExternalEntity() {
+        final String xml = "<?xml version=\"1.0\"?><!DOCTYPE feature [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                + "<test:Feature xmlns:test=\"" + NAMESPACE + "\"><test:name>&xxe;</test:name></test:Feature>";
+
+        assertThrows(XMLStreamException.class, () -> this.s100StaxCodec.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), TestFeature.class));
+    }
+
+    /**
+     * The test binding provider, as generated by the {@code -Xstax-codec}
+     * XJC plugin for the package of the test classes.
+     */
+    static class TestBindings implements S100StaxBindingProvider {
+        @Override
+        public List<S100StaxBinding<?>> getBindings() {
+            return List.of(TestGeometry.StaxBinding.INSTANCE, TestPoint.StaxBinding.INSTANCE, TestFeature.StaxBinding.INSTANCE);
+        }
+
+        @Override
+        public List<S100StaxEnumBinding<?>> getEnumBindings() {
+            return List.of(TestStatus.StaxBinding.INSTANCE);
+        }
+
+        @Override
+        public Map<QName, Class<?>> getElementDecls() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public List<String> getNamespaces() {
+            return List.of(NAMESPACE);
+        }
+
+        @Override
+        public List<S100StaxBindingProvider> getDependencies() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * The base of the test class bindings, with the defaults of the
+     * generated bindings for the classes without the respective properties.
+     *
+     * @param <T> the bound test class
+     */
+    static abstract class TestBinding<T> implements S100StaxBinding<T> {
+        private final Class<T> type;
+        private final QName typeName;
+        private final QName elementName;
+        private final Map<QName, Class<?>> elementTypes;
+
+        TestBinding(Class<T> type, QName typeName, QName elementName, Map<QName, Class<?>> elementTypes) {
+            this.type = type;
+            this.typeName = typeName;
+            this.elementName = elementName;
+            this.elementTypes = elementTypes;
+        }
+
+        @Override
+        public Class<T> getType() {
+            return this.type;
+        }
+
+        @Override
+        public Class<? super T> getExposedType() {
+            return this.type;
+        }
+
+        @Override
+        public QName getTypeName() {
+            return this.typeName;
+        }
+
+        @Override
+        public QName getElementName() {
+            return this.elementName;
+        }
+
+        @Override
+        public Map<QName, Class<?>> getElementTypes() {
+            return this.elementTypes;
+        }
+
+        @Override
+        public QName getIdName() {
+            return null;
+        }
+
+        @Override
+        public String getId(T value) {
+            return null;
+        }
+
+        @Override
+        public void writeAttributes(S100StaxWriter writer, T value) throws XMLStreamException {
+        }
+
+        @Override
+        public void writeContent(S100StaxWriter writer, T value) throws XMLStreamException {
+        }
+
+        @Override
+        public boolean readAttribute(S100StaxReader reader, T target, QName name, String value) throws XMLStreamException {
+            return false;
+        }
+
+        @Override
+        public boolean readAnyAttribute(S100StaxReader reader, T target, QName name, String value) {
+            return false;
+        }
+
+        @Override
+        public boolean readElement(S100StaxReader reader, T target, QName name) throws XMLStreamException {
+            return false;
+        }
+
+        @Override
+        public boolean readAnyElement(S100StaxReader reader, T target) throws XMLStreamException {
+            return false;
+        }
+
+        @Override
+        public boolean hasValue() {
+            return false;
+        }
+
+        @Override
+        public void readValue(S100StaxReader reader, T target, String text) throws XMLStreamException {
+        }
+
+        @Override
+        public void setReference(T target, QName name, Object value) {
+        }
+    }
+
+    /**
+     * The test feature status enum.
+     */
+    enum TestStatus {
+        PERMANENT("permanent"),
+        NOT_IN_USE("not in use");
+
+        private final String value;
+
+        TestStatus(String value) {
+            this.value = value;
+        }
+
+        String value() {
+            return this.value;
+        }
+
+        static TestStatus fromValue(String value) {
+            for(TestStatus constant : TestStatus.values()) {
+                if(constant.value.equals(value)) {
+                    return constant;
+                }
+            }
+            throw new IllegalArgumentException(value);
+        }
+
+        static final class StaxBinding implements S100StaxEnumBinding<TestStatus> {
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            @Override
+            public Class<TestStatus> getType() {
+                return TestStatus.class;
+            }
+
+            @Override
+            public Class<?> getValueType() {
+                return String.class;
+            }
+
+            @Override
+            public TestStatus fromValue(Object value) {
+                return TestStatus.fromValue((String) value);
+            }
+
+            @Override
+            public Object toValue(TestStatus value) {
+                return value.value();
+            }
+        }
+    }
+
+    /**
+     * The abstract test geometry class.
+     */
+    static abstract class TestGeometry {
+        String id;
+
+        static final class StaxBinding extends TestBinding<TestGeometry> {
+            static final QName ID_NAME = new QName(NAMESPACE, "id");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestGeometry.class, new QName(NAMESPACE, "AbstractGeometryType"), null, Collections.emptyMap());
+            }
+
+            @Override
+            public TestGeometry newInstance() {
+                throw new IllegalStateException("TestGeometry is abstract");
+            }
+
+            @Override
+            public QName getIdName() {
+                return ID_NAME;
+            }
+
+            @Override
+            public String getId(TestGeometry value) {
+                return value.id;
+            }
+
+            @Override
+            public void writeAttributes(S100StaxWriter writer, TestGeometry value) throws XMLStreamException {
+                if(value.id != null) {
+                    writer.writeAttribute(ID_NAME, writer.print(value.id));
+                }
+            }
+
+            @Override
+            public boolean readAttribute(S100StaxReader reader, TestGeometry target, QName name, String value) throws XMLStreamException {
+                if(ID_NAME.equals(name)) {
+                    target.id = reader.parse(value, String.class);
+                    reader.registerId(target.id, target);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The test point geometry class.
+     */
+    static class TestPoint extends TestGeometry {
+        List<Double> pos;
+
+        static final class StaxBinding extends TestBinding<TestPoint> {
+            static final QName POS_NAME = new QName(NAMESPACE, "pos");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestPoint.class, new QName(NAMESPACE, "PointType"), null, Map.of(POS_NAME, Double.class));
+            }
+
+            @Override
+            public TestPoint newInstance() {
+                return new TestPoint();
+            }
+
+            @Override
+            public QName getIdName() {
+                return TestGeometry.StaxBinding.INSTANCE.getIdName();
+            }
+
+            @Override
+            public String getId(TestPoint value) {
+                return TestGeometry.StaxBinding.INSTANCE.getId(value);
+            }
+
+            @Override
+            public void writeAttributes(S100StaxWriter writer, TestPoint value) throws XMLStreamException {
+                TestGeometry.StaxBinding.INSTANCE.writeAttributes(writer, value);
+            }
+
+            @Override
+            public void writeContent(S100StaxWriter writer, TestPoint value) throws XMLStreamException {
+                if(value.pos != null) {
+                    writer.writeSimple(POS_NAME, writer.printList(value.pos));
+                }
+            }
+
+            @Override
+            public boolean readAttribute(S100StaxReader reader, TestPoint target, QName name, String value) throws XMLStreamException {
+                return TestGeometry.StaxBinding.INSTANCE.readAttribute(reader, target, name, value);
+            }
+
+            @Override
+            public boolean readElement(S100StaxReader reader, TestPoint target, QName name) throws XMLStreamException {
+                if(POS_NAME.equals(name)) {
+                    target.pos = reader.readList(Double.class);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The test feature class.
+     */
+    static class TestFeature {
+        String id;
+        String name;
+        List<TestStatus> statuses;
+        BigDecimal range;
+        TestGeometry geometry;
+        Object reference;
+
+        static final class StaxBinding extends TestBinding<TestFeature> {
+            static final QName ID_NAME = new QName(NAMESPACE, "id");
+            static final QName NAME_NAME = new QName(NAMESPACE, "name");
+            static final QName STATUS_NAME = new QName(NAMESPACE, "status");
+            static final QName RANGE_NAME = new QName(NAMESPACE, "range");
+            static final QName GEOMETRY_NAME = new QName(NAMESPACE, "geometry");
+            static final QName REFERENCE_NAME = new QName(NAMESPACE, "reference");
+            static final StaxBinding INSTANCE = new StaxBinding();
+
+            StaxBinding() {
+                super(TestFeature.class, new QName(NAMESPACE, "FeatureType"), new QName(NAMESPACE, "Feature"), Map.of(
+                        NAME_NAME, String.class,
+                        STATUS_NAME, TestStatus.class,
+                        RANGE_NAME, BigDecimal.class,
+                        GEOMETRY_NAME, TestGeometry.class,
+                        REFERENCE_NAME, Object.class));
+            }
+
+            @Override
+            public TestFeature newInstance() {
+                return new TestFeature();
+            }
+
+            @Override
+            public QName getIdName() {
+                return ID_NAME;
+            }
+
+            @Override
+            public String getId(TestFeature value) {
+                return value.id;
+            }
+
+            @Override
+            public void writeAttributes(S100StaxWriter writer, TestFeature value) throws XMLStreamException {
+                if(value.id != null) {
+                    writer.writeAttribute(ID_NAME, writer.print(value.id));
+                }
+            }
+
+            @Override
+            public void writeContent(S100StaxWriter writer, TestFeature value) throws XMLStreamException {
+                if(value.name != null) {
+                    writer.writeSimple(NAME_NAME, value.name);
+                }
+                if(value.statuses != null) {
+                    for(TestStatus status : value.statuses) {
+                        writer.writeSimple(STATUS_NAME, status);
+                    }
+                }
+                if(value.range != null) {
+                    writer.writeSimple(RANGE_NAME, value.range);
+                }
+                if(value.geometry != null) {
+                    writer.writeObject(GEOMETRY_NAME, value.geometry, TestGeometry.StaxBinding.INSTANCE);
+                }
+                if(value.reference != null) {
+                    writer.writeSimple(REFERENCE_NAME, writer.printId(value.reference));
+                }
+            }
+
+            @Override
+            public boolean readAttribute(S100StaxReader reader, TestFeature target, QName name, String value) throws XMLStreamException {
+                if(ID_NAME.equals(name)) {
+                    target.id = reader.parse(value, String.class);
+                    reader.registerId(target.id, target);
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public boolean readElement(S100StaxReader reader, TestFeature target, QName name) throws XMLStreamException {
+                switch(name.getLocalPart()) {
+                    case "name":
+                        if(NAME_NAME.equals(name)) {
+                            target.name = reader.read(String.class);
+                            return true;
+                        }
+                        break;
+                    case "status":
+                        if(STATUS_NAME.equals(name)) {
+                            if(target.statuses == null) {
+                                target.statuses = new ArrayList<>();
+                            }
+                            target.statuses.add(reader.read(TestStatus.class));
+                            return true;
+                        }
+                        break;
+                    case "range":
+                        if(RANGE_NAME.equals(name)) {
+                            target.range = reader.read(BigDecimal.class);
+                            return true;
+                        }
+                        break;
+                    case "geometry":
+                        if(GEOMETRY_NAME.equals(name)) {
+                            target.geometry = reader.read(TestGeometry.StaxBinding.INSTANCE);
+                            return true;
+                        }
+                        break;
+                    case "reference":
+                        if(REFERENCE_NAME.equals(name)) {
+                            reader.reference(this, target, REFERENCE_NAME, reader.readText());
+                            return true;
+                        }
+                        break;
+                }
+                return false;
+            }
+
+            @Override
+            public void setReference(TestFeature target, QName name, Object value) {
+                if(REFERENCE_NAME.equals(name)) {
+                    target.reference = value;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The package info of the StAX test classes, declaring the namespace prefix
+ * of the test namespace, as the package infos generated by XJC do.
+ */
+@XmlSchema(namespace = S100StaxCodecTest.NAMESPACE, xmlns = {
+        @XmlNs(prefix = S100StaxCodecTest.PREFIX, namespaceURI = S100StaxCodecTest.NAMESPACE)
+})
+package org.grad.eNav.s100.stax;
+
+import jakarta.xml.bind.annotation.XmlNs;
+import jakarta.xml.bind.annotation.XmlSchema;
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100BatchOperationsTest {
+
+    // Test Variables
+    private List<Integer> items;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.items = IntStream.range(0, 500).boxed().toList();
+    }
+
+    /**
+     * Test that the batch results are returned in the input order, even
+     * though the items complete in a different one.
+     */
+    @Test
+    void testExecuteAll() {
+        final List<S100BatchResult<String>> results = S100BatchOperations.executeAll(this.items, item -> {
+            Thread.sleep((500 - item) % 7);
+            return "item-" + item;
+        });
+
+        assertEquals(this.items.size(), results.size());
+        for(int i = 0; i < results.size(); i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(i, results.get(i).index());
+            assertEquals("item-" + i, results.get(i).value());
+            assertNull(results.get(i).error());
+        }
+    }
+
+    /**
+     * Test that the failures of individual items are captured in their
+     * results without aborting the rest of the batch.
+     */
+    @Test
+    void testExecuteAllWithFailures() {
+        final List<S100BatchResult<Integer>> results = S100BatchOperations.executeAll(this.items, item -> {
+            if(item % 10 == 0) {
+                throw new IllegalStateException("Failed item " + item);
+            }
+            return item * 2;
+        });
+
+        assertEquals(this.items.size(), results.size());
+        for(S100BatchResult<Integer> result : results) {
+            if(result.index() % 10 == 0) {
+                assertFalse(result.isSuccess());
+                assertNull(result.value());
+                assertInstanceOf(IllegalStateException.class, result.error());
+                assertEquals("Failed item " + result.index(), result.error().getMessage());
+            } else {
+                assertTrue(result.isSuccess());
+                assertEquals(result.index() * 2, result.value().intValue());
+            }
+        }
+    }
+
+    /**
+     * Test that the batch items can be processed through a provided
+     * executor.
+     */
+    @Test
+    void testExecuteAllWithExecutor() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<S100BatchResult<String>> results = S100BatchOperations.executeAll(this.items, item -> Thread.currentThread().getName(), executor);
+
+            assertEquals(this.items.size(), results.size());
+            assertTrue(results.stream().allMatch(S100BatchResult::isSuccess));
+            assertTrue(results.stream().map(S100BatchResult::value).allMatch(name -> name.startsWith("pool-")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the virtual thread executor is used by default.
+     */
+    @Test
+    void testExecuteAllOnVirtualThreads() {
+        final List<S100BatchResult<Boolean>> results = S100BatchOperations.executeAll(this.items, item -> Thread.currentThread().isVirtual());
+
+        assertTrue(results.stream().allMatch(result -> Boolean.TRUE.equals(result.value())));
+    }
+
+    /**
+     * Test that empty and missing batches produce no results.
+     */
+    @Test
+    void testExecuteAllEmpty() {
+        assertTrue(S100BatchOperations.executeAll(List.<Integer>of(), item -> item).isEmpty());
+        assertTrue(S100BatchOperations.executeAll(null, item -> item).isEmpty());
+    }
+
+}
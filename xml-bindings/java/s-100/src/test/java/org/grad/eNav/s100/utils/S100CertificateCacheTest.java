@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100CertificateCacheTest {
+
+    // Test Variables
+    private S100CertificateCache s100CertificateCache;
+    private String certificatePem;
+    private String otherCertificatePem;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws IOException, GeneralSecurityException {
+        this.s100CertificateCache = new S100CertificateCache(1);
+
+        // Load the test certificate
+        final InputStream in = ClassLoader.getSystemResourceAsStream("test.pem");
+        assertNotNull(in);
+        this.certificatePem = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                .replaceAll("-----BEGIN CERTIFICATE-----","")
+                .replaceAll("-----END CERTIFICATE-----","")
+                .replaceAll(System.lineSeparator(),"")
+                .replaceAll("\n","")
+                .replaceAll("\r\n","");
+
+        // And the keystore one
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try(InputStream keyStoreIn = ClassLoader.getSystemResourceAsStream("test-keystore.p12")) {
+            assertNotNull(keyStoreIn);
+            keyStore.load(keyStoreIn, "password".toCharArray());
+        }
+        this.otherCertificatePem = Base64.getEncoder().encodeToString(keyStore.getCertificate("test").getEncoded());
+    }
+
+    /**
+     * Test that the same certificate is only parsed once, and that the cache
+     * statistics are updated accordingly.
+     */
+    @Test
+    void testGetCertificate() throws CertificateException {
+        final X509Certificate certificate = this.s100CertificateCache.getCertificate(this.certificatePem);
+        final X509Certificate cachedCertificate = this.s100CertificateCache.getCertificate(this.certificatePem);
+
+        assertNotNull(certificate);
+        assertSame(certificate, cachedCertificate);
+        assertEquals(1, this.s100CertificateCache.getStatistics().hits());
+        assertEquals(1, this.s100CertificateCache.getStatistics().misses());
+        assertEquals(0.5, this.s100CertificateCache.getStatistics().hitRatio());
+    }
+
+    /**
+     * Test that the PEM representations are cached, while a fresh copy is
+     * returned to every caller.
+     */
+    @Test
+    void testGetPem() throws CertificateException {
+        final X509Certificate certificate = this.s100CertificateCache.getCertificate(this.certificatePem);
+        final byte[] pem = this.s100CertificateCache.getPem(certificate);
+        pem[0] = 0;
+        final byte[] cachedPem = this.s100CertificateCache.getPem(certificate);
+
+        assertEquals(this.certificatePem, new String(cachedPem, StandardCharsets.US_ASCII));
+        assertNotSame(pem, cachedPem);
+        assertEquals(1, this.s100CertificateCache.getStatistics().hits());
+        assertEquals(2, this.s100CertificateCache.getStatistics().misses());
+    }
+
+    /**
+     * Test that the cache remains bounded by evicting the least recently
+     * used entries.
+     */
+    @Test
+    void testEviction() throws CertificateException {
+        this.s100CertificateCache.getCertificate(this.certificatePem);
+        this.s100CertificateCache.getCertificate(this.otherCertificatePem);
+        this.s100CertificateCache.getCertificate(this.certificatePem);
+
+        assertEquals(0, this.s100CertificateCache.getStatistics().hits());
+        assertEquals(3, this.s100CertificateCache.getStatistics().misses());
+        assertEquals(2, this.s100CertificateCache.getStatistics().evictions());
+        assertEquals(1, this.s100CertificateCache.getStatistics().size());
+
+        // Clearing should reset everything
+        this.s100CertificateCache.clear();
+        assertEquals(0, this.s100CertificateCache.getStatistics().misses());
+        assertEquals(0, this.s100CertificateCache.getStatistics().size());
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100DatasetCacheTest {
+
+    // Test Variables
+    private S100DatasetCache<String> s100DatasetCache;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.s100DatasetCache = new S100DatasetCache<>(100);
+    }
+
+    /**
+     * Test that the same dataset is only loaded once, and that the cache
+     * statistics are updated accordingly.
+     */
+    @Test
+    void testGet() throws JAXBException {
+        final AtomicInteger loads = new AtomicInteger();
+        final String dataset = this.s100DatasetCache.get("key", 10, () -> "dataset" + loads.incrementAndGet());
+        final String cachedDataset = this.s100DatasetCache.get("key", 10, () -> "dataset" + loads.incrementAndGet());
+
+        assertEquals("dataset1", dataset);
+        assertSame(dataset, cachedDataset);
+        assertEquals(1, loads.get());
+        assertEquals(1, this.s100DatasetCache.getStatistics().hits());
+        assertEquals(1, this.s100DatasetCache.getStatistics().misses());
+        assertEquals(0.5, this.s100DatasetCache.getStatistics().hitRatio());
+        assertEquals(1, this.s100DatasetCache.getStatistics().size());
+        assertEquals(10, this.s100DatasetCache.getStatistics().weight());
+        assertEquals(100, this.s100DatasetCache.getStatistics().maximumWeight());
+    }
+
+    /**
+     * Test that the least recently used datasets are evicted when the total
+     * weight exceeds the maximum one.
+     */
+    @Test
+    void testEviction() throws JAXBException {
+        this.s100DatasetCache.get("first", 40, () -> "first");
+        this.s100DatasetCache.get("second", 40, () -> "second");
+        this.s100DatasetCache.get("first", 40, () -> "first");
+        this.s100DatasetCache.get("third", 40, () -> "third");
+
+        assertEquals("first", this.s100DatasetCache.getIfPresent("first"));
+        assertNull(this.s100DatasetCache.getIfPresent("second"));
+        assertEquals("third", this.s100DatasetCache.getIfPresent("third"));
+        assertEquals(1, this.s100DatasetCache.getStatistics().evictions());
+        assertEquals(80, this.s100DatasetCache.getStatistics().weight());
+    }
+
+    /**
+     * Test that datasets heavier than the maximum weight are loaded but not
+     * cached.
+     */
+    @Test
+    void testGetTooHeavy() throws JAXBException {
+        assertEquals("heavy", this.s100DatasetCache.get("heavy", 101, () -> "heavy"));
+        assertNull(this.s100DatasetCache.getIfPresent("heavy"));
+        assertEquals(0, this.s100DatasetCache.getStatistics().weight());
+    }
+
+    /**
+     * Test that concurrent requests for the same missing dataset only trigger
+     * a single load.
+     */
+    @Test
+    void testGetConcurrently() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Future<String>> results = new ArrayList<>();
+        try(ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for(int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> this.s100DatasetCache.get("key", 10, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        latch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "dataset";
+                })));
+            }
+            Thread.sleep(100);
+            latch.countDown();
+            for(Future<String> result : results) {
+                assertEquals("dataset", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test that the load failures are propagated and not cached.
+     */
+    @Test
+    void testGetFailure() throws JAXBException {
+        assertThrows(JAXBException.class, () -> this.s100DatasetCache.get("key", 10, () -> {
+            throw new JAXBException("Invalid dataset");
+        }));
+        assertEquals("dataset", this.s100DatasetCache.get("key", 10, () -> "dataset"));
+    }
+
+    /**
+     * Test that the datasets can be invalidated and cleared.
+     */
+    @Test
+    void testInvalidateAndClear() throws JAXBException {
+        this.s100DatasetCache.get("first", 10, () -> "first");
+        this.s100DatasetCache.get("second", 10, () -> "second");
+
+        this.s100DatasetCache.invalidate("first");
+        assertNull(this.s100DatasetCache.getIfPresent("first"));
+        assertEquals(10, this.s100DatasetCache.getStatistics().weight());
+
+        this.s100DatasetCache.clear();
+        assertNull(this.s100DatasetCache.getIfPresent("second"));
+        assertEquals(0, this.s100DatasetCache.getStatistics().size());
+        assertEquals(0, this.s100DatasetCache.getStatistics().misses());
+    }
+
+    /**
+     * Test that the dataset keys are generated correctly.
+     */
+    @Test
+    void testKeys() {
+        assertEquals("id:DATASET/1/2", S100DatasetCache.datasetKey("DATASET", BigInteger.ONE, BigInteger.TWO));
+        assertEquals(S100DatasetCache.contentKey("dataset".getBytes(StandardCharsets.UTF_8)),
+                S100DatasetCache.contentKey("dataset".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(S100DatasetCache.contentKey("dataset".getBytes(StandardCharsets.UTF_8)),
+                S100DatasetCache.contentKey("other".getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
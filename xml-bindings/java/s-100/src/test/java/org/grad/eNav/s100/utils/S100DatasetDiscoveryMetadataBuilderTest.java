@@ -22,13 +22,22 @@ import org.grad.eNav.s100.enums.RoleCode;
 import org.grad.eNav.s100.enums.SecurityClassification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -251,6 +260,7 @@ class S100DatasetDiscoveryMetadataBuilderTest {
         assertNotNull(metadata.getProducingAgency().getCIResponsibility().getRole());
         assertNotNull(metadata.getProducingAgency().getCIResponsibility().getRole().getCIRoleCode());
         assertEquals(RoleCode.ORIGINATOR.getValue(), metadata.getProducingAgency().getCIResponsibility().getRole().getCIRoleCode().getValue());
+        assertNotSame(RoleCode.ORIGINATOR.getSharedCodeListValueType(), metadata.getProducingAgency().getCIResponsibility().getRole().getCIRoleCode());
 
         // Assess the maintenance information
         assertEquals("producerCode", metadata.getProducerCode());
@@ -274,6 +284,7 @@ class S100DatasetDiscoveryMetadataBuilderTest {
         assertNull(metadata.getResourceMaintenance().getMDMaintenanceInformation().getUserDefinedMaintenanceFrequency());
         assertNotNull(metadata.getResourceMaintenance().getMDMaintenanceInformation().getMaintenanceAndUpdateFrequency().getMDMaintenanceFrequencyCode());
         assertEquals(MaintenanceFrequency.CONTINUAL.getValue(), metadata.getResourceMaintenance().getMDMaintenanceInformation().getMaintenanceAndUpdateFrequency().getMDMaintenanceFrequencyCode().getValue());
+        assertNotSame(MaintenanceFrequency.CONTINUAL.getSharedCodeListValueType(), metadata.getResourceMaintenance().getMDMaintenanceInformation().getMaintenanceAndUpdateFrequency().getMDMaintenanceFrequencyCode());
 
         // Assess the signature
         assertNotNull(metadata.getDigitalSignatureReference());
@@ -288,4 +299,90 @@ class S100DatasetDiscoveryMetadataBuilderTest {
         assertEquals("signature".getBytes().length, metadata.getDigitalSignatureValues().get(0).getS100SEDigitalSignature().getValue().getValue().length);
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Test that the S-100 Exchange Set Dataset Discovery Metadata builder can
+     * sign a dataset file streamed from its path, providing the whole of the
+     * file contents to the signature provider, even if these span multiple
+     * chunks.
+     */
+    @Test
+    void testBuildFromPath(@TempDir Path tempDir) throws IOException {
+        // Create a dataset file larger than a single chunk
+        final byte[] payload = new byte[3 * S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE + 17];
+        new Random(0).nextBytes(payload);
+        final Path datasetFile = Files.write(tempDir.resolve("dataset.XML"), payload);
+
+        // Capture the payload provided to the signature provider
+        final AtomicReference<byte[]> signedPayload = new AtomicReference<>();
+        final S100DatasetDiscoveryMetadata metadata = new S100DatasetDiscoveryMetadataBuilder((id, algorithm, data) -> {
+            signedPayload.set(data);
+            S100SEDigitalSignature s100SEDigitalSignature = new S100SEDigitalSignature();
+            s100SEDigitalSignature.setId("sig");
+            s100SEDigitalSignature.setCertificateRef("ref");
+            s100SEDigitalSignature.setValue("signature".getBytes());
+            return s100SEDigitalSignature;
+        })
+                .setFileName("file:/dataset.XML")
+                .build(datasetFile);
+
+        // Assess the signature
+        assertNotNull(metadata);
+        assertArrayEquals(payload, signedPayload.get());
+        assertNotNull(metadata.getDigitalSignatureValues());
+        assertEquals(1, metadata.getDigitalSignatureValues().size());
+        assertEquals("signature".getBytes().length, metadata.getDigitalSignatureValues().get(0).getS100SEDigitalSignature().getValue().getValue().length);
+    }
+
+    /**
+     * Test that the S-100 Exchange Set Dataset Discovery Metadata builder will
+     * stream the dataset file payload in chunks through the signature session
+     * of the provider, when that has been overridden.
+     */
+    @Test
+    void testBuildFromChannel() throws IOException {
+        // Create a dataset payload larger than a single chunk
+        final byte[] payload = new byte[2 * S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE + 5];
+        new Random(0).nextBytes(payload);
+
+        // Use a provider that only counts the streamed bytes
+        final AtomicLong streamedBytes = new AtomicLong();
+        final S100ExchangeSetSignatureProvider streamingProvider = new S100ExchangeSetSignatureProvider() {
+            @Override
+            public S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] data) {
+                throw new UnsupportedOperationException("The payload should have been streamed");
+            }
+
+            @Override
+            public SignatureSession openSignatureSession(Object objectId, S100SEDigitalSignatureReference algorithm) {
+                return new SignatureSession() {
+                    @Override
+                    public void update(ByteBuffer chunk) {
+                        assertTrue(chunk.remaining() <= CHUNK_SIZE);
+                        streamedBytes.addAndGet(chunk.remaining());
+                        chunk.position(chunk.limit());
+                    }
+
+                    @Override
+                    public S100SEDigitalSignature sign() {
+                        S100SEDigitalSignature s100SEDigitalSignature = new S100SEDigitalSignature();
+                        s100SEDigitalSignature.setId("sig");
+                        s100SEDigitalSignature.setCertificateRef("ref");
+                        s100SEDigitalSignature.setValue("signature".getBytes());
+                        return s100SEDigitalSignature;
+                    }
+                };
+            }
+        };
+
+        // Build the metadata from a channel
+        final S100DatasetDiscoveryMetadata metadata = new S100DatasetDiscoveryMetadataBuilder(streamingProvider)
+                .setFileName("file:/dataset.XML")
+                .build(Channels.newChannel(new ByteArrayInputStream(payload)));
+
+        // Assess the signature
+        assertNotNull(metadata);
+        assertEquals(payload.length, streamedBytes.get());
+        assertEquals(1, metadata.getDigitalSignatureValues().size());
+    }
+}
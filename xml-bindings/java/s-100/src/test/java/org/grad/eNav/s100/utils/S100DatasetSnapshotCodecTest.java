@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100DatasetSnapshotCodecTest {
+
+    // Test Variables
+    private S100DatasetSnapshotCodec<TestDataset> codec;
+    private TestDataset dataset;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws Exception {
+        this.codec = new S100DatasetSnapshotCodec<>(TestDataset.class, "S-125", "org.grad.eNav.s100.utils.");
+
+        // Create a dataset with a few members
+        this.dataset = new TestDataset();
+        this.dataset.id = "TestDataset";
+        this.dataset.edition = new BigInteger("2");
+        this.dataset.range = new BigDecimal("-12.345");
+        this.dataset.issueDate = LocalDate.of(2024, 1, 2);
+        this.dataset.issueDateTime = LocalDateTime.of(2024, 1, 2, 10, 30);
+        this.dataset.calendar = DatatypeFactory.newInstance().newXMLGregorianCalendar("2024-01-02T10:30:00Z");
+        this.dataset.element = new JAXBElement<>(new QName("http://www.iho.int/S125/gml/cs0/1", "name", "S125"), String.class, null, "Test");
+        for(int i = 0; i < 3; i++) {
+            final TestMember member = new TestMember();
+            member.id = "ID00" + i;
+            member.status = i % 2 == 0 ? TestStatus.PERMANENT : TestStatus.TEMPORARY;
+            member.pos = new Double[]{51.8916667 + i, 1.4233333 - i};
+            member.heights = new double[]{i, -i};
+            member.count = -i;
+            member.flag = i % 2 == 0;
+            member.dataset = this.dataset;
+            this.dataset.members.add(member);
+        }
+        this.dataset.members.add(this.dataset.members.getFirst());
+    }
+
+    /**
+     * Test that we can write a dataset into a snapshot and read it back,
+     * including its shared references and cycles.
+     */
+    @Test
+    void testWriteAndRead() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, S100DatasetSnapshotCodec.hash("source".getBytes(StandardCharsets.UTF_8)), out);
+        final TestDataset result = this.codec.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert all information is correct
+        assertNotNull(result);
+        assertEquals(this.dataset.id, result.id);
+        assertEquals(this.dataset.edition, result.edition);
+        assertEquals(this.dataset.range, result.range);
+        assertEquals(this.dataset.issueDate, result.issueDate);
+        assertEquals(this.dataset.issueDateTime, result.issueDateTime);
+        assertEquals(this.dataset.calendar, result.calendar);
+        assertEquals(this.dataset.element.getName(), result.element.getName());
+        assertEquals(this.dataset.element.getDeclaredType(), result.element.getDeclaredType());
+        assertEquals(this.dataset.element.getValue(), result.element.getValue());
+        assertEquals(this.dataset.members.size(), result.members.size());
+        for(int i = 0; i < this.dataset.members.size(); i++) {
+            final TestMember member = this.dataset.members.get(i);
+            final TestMember resultMember = result.members.get(i);
+            assertEquals(member.id, resultMember.id);
+            assertEquals(member.status, resultMember.status);
+            assertArrayEquals(member.pos, resultMember.pos);
+            assertArrayEquals(member.heights, resultMember.heights);
+            assertEquals(member.count, resultMember.count);
+            assertEquals(member.flag, resultMember.flag);
+            assertSame(result, resultMember.dataset);
+        }
+        assertSame(result.members.getFirst(), result.members.getLast());
+    }
+
+    /**
+     * Test that the fields shadowed by subclasses are restored separately.
+     */
+    @Test
+    void testShadowedFields() throws IOException {
+        final TestExtendedMember member = new TestExtendedMember();
+        ((TestMember) member).id = "base";
+        member.id = "extended";
+        this.dataset.members.add(member);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, out);
+        final TestDataset result = this.codec.read(new ByteArrayInputStream(out.toByteArray()));
+
+        final TestExtendedMember resultMember = (TestExtendedMember) result.members.getLast();
+        assertEquals("base", ((TestMember) resultMember).id);
+        assertEquals("extended", resultMember.id);
+    }
+
+    /**
+     * Test that the snapshots generated from a different source are rejected
+     * as stale.
+     */
+    @Test
+    void testReadStale() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, S100DatasetSnapshotCodec.hash("source".getBytes(StandardCharsets.UTF_8)), out);
+
+        assertNotNull(this.codec.read(new ByteArrayInputStream(out.toByteArray()), S100DatasetSnapshotCodec.hash("source".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IOException.class, () -> this.codec.read(new ByteArrayInputStream(out.toByteArray()), S100DatasetSnapshotCodec.hash("other".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * Test that corrupted snapshots are rejected through their checksum.
+     */
+    @Test
+    void testReadCorrupted() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, out);
+        final byte[] snapshot = out.toByteArray();
+        snapshot[snapshot.length - 5] ^= 0x01;
+
+        assertThrows(IOException.class, () -> this.codec.read(new ByteArrayInputStream(snapshot)));
+    }
+
+    /**
+     * Test that snapshots declaring a negative payload length, or one larger
+     * than the remaining snapshot bytes, are rejected before being decoded.
+     */
+    @Test
+    void testReadInvalidLength() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, out);
+        final int lengthOffset = S100DatasetSnapshotCodec.MAGIC.length + 2 + 2 + "S-125".length() + 1;
+
+        // Declare a negative payload length
+        final byte[] negative = out.toByteArray();
+        ByteBuffer.wrap(negative).putInt(lengthOffset, -1);
+        assertTrue(assertThrows(IOException.class, () -> this.codec.read(new ByteArrayInputStream(negative)))
+                .getMessage().contains("length"));
+
+        // Declare a payload length beyond the end of the snapshot
+        final byte[] truncated = out.toByteArray();
+        final ByteBuffer buffer = ByteBuffer.wrap(truncated);
+        buffer.putInt(lengthOffset, buffer.getInt(lengthOffset) + 1);
+        assertTrue(assertThrows(IOException.class, () -> this.codec.read(new ByteArrayInputStream(truncated)))
+                .getMessage().contains("remaining"));
+
+        // And one that could never be buffered at all
+        ByteBuffer.wrap(truncated).putInt(lengthOffset, Integer.MAX_VALUE);
+        assertThrows(IOException.class, () -> this.codec.read(new ByteArrayInputStream(truncated)));
+    }
+
+    /**
+     * Test that snapshots of a different format version or product are
+     * rejected.
+     */
+    @Test
+    void testReadIncompatible() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, out);
+
+        // Change the format version
+        final byte[] snapshot = out.toByteArray();
+        snapshot[S100DatasetSnapshotCodec.MAGIC.length + 1]++;
+        assertThrows(IOException.class, () -> this.codec.read(new ByteArrayInputStream(snapshot)));
+
+        // And try a different product
+        final S100DatasetSnapshotCodec<TestDataset> otherCodec = new S100DatasetSnapshotCodec<>(TestDataset.class, "S-201", "org.grad.eNav.s100.utils.");
+        assertThrows(IOException.class, () -> otherCodec.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    /**
+     * Test that classes outside the allowed package prefix cannot be
+     * instantiated while reading a snapshot.
+     */
+    @Test
+    void testReadNotAllowedClasses() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.codec.write(this.dataset, out);
+
+        final S100DatasetSnapshotCodec<TestDataset> otherCodec = new S100DatasetSnapshotCodec<>(TestDataset.class, "S-125", "_int.iho.s_125.");
+        assertThrows(IOException.class, () -> otherCodec.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    /**
+     * Test that the datasets are loaded through their snapshots when these
+     * are up-to-date, and from their XML sources otherwise, even when the
+     * loader closes the XML source stream, as the SAX parsers do.
+     */
+    @Test
+    void testLoad(@TempDir Path directory) throws Exception {
+        final Path source = directory.resolve("dataset.xml");
+        final Path snapshot = directory.resolve("dataset.snapshot");
+        final AtomicInteger loads = new AtomicInteger();
+        final S100DatasetSnapshotCodec.DatasetLoader<TestDataset> loader = in -> {
+            // Parse through SAX, like JAXB, which closes the input at the end
+            try {
+                SAXParserFactory.newNSInstance().newSAXParser().parse(in, new DefaultHandler());
+            } catch (ParserConfigurationException | SAXException | IOException ex) {
+                throw new JAXBException(ex.getMessage(), ex);
+            }
+            loads.incrementAndGet();
+            return this.dataset;
+        };
+
+        // The first load should use the source and generate the snapshot
+        Files.writeString(source, "<Dataset/>");
+        assertSame(this.dataset, this.codec.load(source, snapshot, loader));
+        assertEquals(1, loads.get());
+        assertTrue(Files.exists(snapshot));
+
+        // The second load should use the snapshot
+        assertEquals(this.dataset.id, this.codec.load(source, snapshot, loader).id);
+        assertEquals(1, loads.get());
+
+        // A source change should invalidate the snapshot
+        Files.writeString(source, "<Dataset></Dataset>");
+        assertSame(this.dataset, this.codec.load(source, snapshot, loader));
+        assertEquals(2, loads.get());
+        assertEquals(this.dataset.id, this.codec.load(source, snapshot, loader).id);
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * A test dataset class.
+     */
+    static class TestDataset {
+        String id;
+        BigInteger edition;
+        BigDecimal range;
+        LocalDate issueDate;
+        LocalDateTime issueDateTime;
+        XMLGregorianCalendar calendar;
+        JAXBElement<String> element;
+        List<TestMember> members = new ArrayList<>();
+    }
+
+    /**
+     * A test dataset member class.
+     */
+    static class TestMember {
+        String id;
+        TestStatus status;
+        Double[] pos;
+        double[] heights;
+        int count;
+        boolean flag;
+        TestDataset dataset;
+    }
+
+    /**
+     * A test dataset member class shadowing a field of its parent.
+     */
+    static class TestExtendedMember extends TestMember {
+        String id;
+    }
+
+    /**
+     * A test dataset member status enum.
+     */
+    enum TestStatus {
+        PERMANENT,
+        TEMPORARY
+    }
+
+}
@@ -18,20 +18,33 @@ package org.grad.eNav.s100.utils;
 
 import _int.iho.s100.catalog._5_2.*;
 import jakarta.xml.bind.JAXBException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.grad.eNav.s100.enums.TelephoneType;
+import org.grad.eNav.s100.events.S100CatalogueBuildEvent;
+import org.grad.eNav.s100.events.S100MetadataBuildEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -259,4 +272,133 @@ class S100ExchangeCatalogueBuilderTest {
     }
 
 
-}
\ No newline at end of file
+    /**
+     * Test that when an asynchronous signature provider is used, the S-100
+     * Exchange Set Catalogue builder will pipeline the signature requests in
+     * batches, without exceeding the maximum number of signatures in flight,
+     * and that all metadata signatures get populated once built.
+     */
+    @Test
+    void testBuildWithAsyncSignatureProvider() throws JAXBException, CertificateEncodingException {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        // Create an asynchronous provider that signs in batches
+        final S100ExchangeSetAsyncSignatureProvider asyncSignatureProvider = new S100ExchangeSetAsyncSignatureProvider() {
+            @Override
+            public CompletableFuture<S100SEDigitalSignature> generateSignatureAsync(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload) {
+                fail("Individual signature requests should not be used");
+                return null;
+            }
+
+            @Override
+            public CompletableFuture<List<S100SEDigitalSignature>> generateSignatures(List<SignatureRequest> requests) {
+                batches.incrementAndGet();
+                maxInFlight.accumulateAndGet(inFlight.addAndGet(requests.size()), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    final List<S100SEDigitalSignature> signatures = requests.stream()
+                            .map(request -> {
+                                S100SEDigitalSignature s100SEDigitalSignature = new S100SEDigitalSignature();
+                                s100SEDigitalSignature.setId("sig-" + request.objectId());
+                                s100SEDigitalSignature.setCertificateRef("ref");
+                                s100SEDigitalSignature.setValue(request.payload());
+                                return s100SEDigitalSignature;
+                            })
+                            .toList();
+                    inFlight.addAndGet(-requests.size());
+                    return signatures;
+                }, executor);
+            }
+        };
+
+        // Build an exchange set catalogue with a number of signed files
+        final S100ExchangeCatalogueBuilder builder = new S100ExchangeCatalogueBuilder(asyncSignatureProvider)
+                .setLocales(Collections.emptyList())
+                .setSignatureBatchSize(2)
+                .setMaxSignaturesInFlight(4);
+        for(int i = 0; i < 5; i++) {
+            final String fileName = "file" + i;
+            builder.addDatasetMetadata(b -> b.setFileName(fileName).build(fileName.getBytes()));
+        }
+        builder.addCatalogueMetadata(b -> b.setFileName("catalogue").build("catalogue".getBytes()));
+        final S100ExchangeCatalogue exchangeCatalogue = builder.build();
+        executor.shutdown();
+
+        // Assert that the signatures were pipelined
+        assertEquals(3, batches.get());
+        assertTrue(maxInFlight.get() <= 4);
+
+        // Assert that all the signatures were populated
+        final List<S100DatasetDiscoveryMetadata> datasetDiscoveryMetadata = exchangeCatalogue.getDatasetDiscoveryMetadata().getS100DatasetDiscoveryMetadatas();
+        assertEquals(5, datasetDiscoveryMetadata.size());
+        for(int i = 0; i < 5; i++) {
+            final S100SEDigitalSignature signature = datasetDiscoveryMetadata.get(i).getDigitalSignatureValues().get(0).getS100SEDigitalSignature().getValue();
+            assertEquals("sig-file" + i, signature.getId());
+            assertEquals("ref", signature.getCertificateRef());
+            assertArrayEquals(("file" + i).getBytes(), signature.getValue());
+        }
+        final S100SEDigitalSignature catalogueSignature = exchangeCatalogue.getCatalogueDiscoveryMetadata().getS100CatalogueDiscoveryMetadatas().get(0).getDigitalSignatureValues().get(0).getS100SEDigitalSignature().getValue();
+        assertEquals("sig-catalogue", catalogueSignature.getId());
+        assertArrayEquals("catalogue".getBytes(), catalogueSignature.getValue());
+    }
+
+    /**
+     * Test that the S-100 Exchange Set Catalogue builder rejects signature
+     * pipelining settings that are not positive, since these would stall
+     * the asynchronous signature requests.
+     */
+    @Test
+    void testSignaturePipelineSettingsValidation() {
+        assertThrows(IllegalArgumentException.class, () -> this.s100ExchangeCatalogueBuilder.setMaxSignaturesInFlight(0));
+        assertThrows(IllegalArgumentException.class, () -> this.s100ExchangeCatalogueBuilder.setMaxSignaturesInFlight(-1));
+        assertThrows(IllegalArgumentException.class, () -> this.s100ExchangeCatalogueBuilder.setSignatureBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> this.s100ExchangeCatalogueBuilder.setSignatureBatchSize(-1));
+        assertSame(this.s100ExchangeCatalogueBuilder, this.s100ExchangeCatalogueBuilder.setMaxSignaturesInFlight(1));
+        assertSame(this.s100ExchangeCatalogueBuilder, this.s100ExchangeCatalogueBuilder.setSignatureBatchSize(1));
+    }
+
+    /**
+     * Test that the S-100 Exchange Set Catalogue builder and the metadata
+     * builders emit the appropriate JFR events, when these are enabled in a
+     * recording.
+     */
+    @Test
+    void testBuildEvents(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        final Path file = directory.resolve("events.jfr");
+        final byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        try(Recording recording = new Recording()) {
+            recording.enable(S100CatalogueBuildEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(S100MetadataBuildEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            this.s100ExchangeCatalogueBuilder
+                    .setLocales(Collections.emptyList())
+                    .addDatasetMetadata(builder -> builder.setFileName("dataset1.gml").build(payload))
+                    .addDatasetMetadata(builder -> builder.setFileName("dataset2.gml").build(payload))
+                    .addSupportFileMetadata(builder -> builder.setFileName("support.xml").build(payload))
+                    .build();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert the events were recorded correctly
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        final List<RecordedEvent> metadataEvents = events.stream()
+                .filter(event -> "org.grad.eNav.s100.MetadataBuild".equals(event.getEventType().getName()))
+                .toList();
+        final List<RecordedEvent> catalogueEvents = events.stream()
+                .filter(event -> "org.grad.eNav.s100.CatalogueBuild".equals(event.getEventType().getName()))
+                .toList();
+        assertEquals(3, metadataEvents.size());
+        assertEquals(2, metadataEvents.stream().filter(event -> "Dataset".equals(event.getString("metadataType"))).count());
+        assertEquals(1, metadataEvents.stream().filter(event -> "SupportFile".equals(event.getString("metadataType"))).count());
+        metadataEvents.forEach(event -> assertEquals(payload.length, event.getLong("byteSize")));
+        assertEquals(1, catalogueEvents.size());
+        assertEquals("S-100", catalogueEvents.getFirst().getString("product"));
+        assertEquals(3, catalogueEvents.getFirst().getInt("memberCount"));
+    }
+
+}
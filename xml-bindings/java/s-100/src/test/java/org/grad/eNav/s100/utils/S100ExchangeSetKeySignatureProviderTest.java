@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignature;
+import _int.iho.s100.catalog._5_2.S100SEDigitalSignatureReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.X509Certificate;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100ExchangeSetKeySignatureProviderTest {
+
+    // Test Variables
+    private PrivateKey privateKey;
+    private X509Certificate certificate;
+    private S100ExchangeSetKeySignatureProvider s100ExchangeSetKeySignatureProvider;
+    private byte[] payload;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws IOException, GeneralSecurityException {
+        // Load the test DSA key pair
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try(InputStream in = ClassLoader.getSystemResourceAsStream("test-keystore.p12")) {
+            assertNotNull(in);
+            keyStore.load(in, "password".toCharArray());
+        }
+        this.privateKey = (PrivateKey) keyStore.getKey("test", "password".toCharArray());
+        this.certificate = (X509Certificate) keyStore.getCertificate("test");
+
+        // Only allow the payloads to be streamed
+        this.s100ExchangeSetKeySignatureProvider = new S100ExchangeSetKeySignatureProvider(
+                this.privateKey, "CRT1", id -> "sig-" + id) {
+            @Override
+            public S100SEDigitalSignature generateSignature(Object objectId, S100SEDigitalSignatureReference algorithm, byte[] payload) {
+                throw new UnsupportedOperationException("The payload should have been streamed");
+            }
+        };
+
+        // Create a payload larger than a single chunk
+        this.payload = new byte[3 * S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE + 17];
+        new Random(0).nextBytes(this.payload);
+    }
+
+    /**
+     * Test that the payloads streamed from a channel are signed chunk by
+     * chunk, without being buffered as a whole, and that the generated
+     * signatures can be verified with the matching certificate.
+     */
+    @Test
+    void testGenerateSignatureFromChannel() throws IOException, GeneralSecurityException {
+        final S100SEDigitalSignature signature = this.s100ExchangeSetKeySignatureProvider.generateSignature(
+                "dataset.XML", S100SEDigitalSignatureReference.DSA, Channels.newChannel(new ByteArrayInputStream(this.payload)));
+
+        // Assess the signature
+        assertNotNull(signature);
+        assertEquals("sig-dataset.XML", signature.getId());
+        assertEquals("CRT1", signature.getCertificateRef());
+        assertTrue(this.verify(this.payload, signature.getValue()));
+    }
+
+    /**
+     * Test that the payloads streamed from a file path are signed chunk by
+     * chunk as well.
+     */
+    @Test
+    void testGenerateSignatureFromPath(@TempDir Path tempDir) throws IOException, GeneralSecurityException {
+        final Path datasetFile = Files.write(tempDir.resolve("dataset.XML"), this.payload);
+        final S100SEDigitalSignature signature = this.s100ExchangeSetKeySignatureProvider.generateSignature(
+                "dataset.XML", null, datasetFile);
+
+        // Assess the signature
+        assertNotNull(signature);
+        assertTrue(this.verify(this.payload, signature.getValue()));
+        assertFalse(this.verify(new byte[this.payload.length], signature.getValue()));
+    }
+
+    /**
+     * Test that the byte array based signature generation produces the
+     * same verifiable signatures as the streaming one.
+     */
+    @Test
+    void testGenerateSignatureFromBytes() throws GeneralSecurityException {
+        final S100SEDigitalSignature signature = new S100ExchangeSetKeySignatureProvider(this.privateKey, "CRT1")
+                .generateSignature("dataset.XML", S100SEDigitalSignatureReference.DSA, this.payload);
+
+        // Assess the signature
+        assertNotNull(signature);
+        assertEquals("dataset.XML", signature.getId());
+        assertTrue(this.verify(this.payload, signature.getValue()));
+    }
+
+    /**
+     * Test that the providers implementing only the byte array based
+     * signature generation still receive the whole of the payload, through
+     * the legacy buffering adapter.
+     */
+    @Test
+    void testBufferingSignatureSession() {
+        final AtomicReference<byte[]> signedPayload = new AtomicReference<>();
+        final S100ExchangeSetSignatureProvider provider = (id, algorithm, data) -> {
+            signedPayload.set(data);
+            return new S100SEDigitalSignature();
+        };
+
+        // Stream the payload in chunks, some of which are not array backed
+        final S100ExchangeSetSignatureProvider.SignatureSession session = provider.openSignatureSession("dataset.XML", null);
+        session.update(ByteBuffer.wrap(this.payload, 0, S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(this.payload.length - S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE);
+        direct.put(this.payload, S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE, direct.capacity()).flip();
+        session.update(direct);
+
+        // Assess the buffered payload
+        assertNotNull(session.sign());
+        assertArrayEquals(this.payload, signedPayload.get());
+        assertFalse(direct.hasRemaining());
+    }
+
+    /**
+     * Test that the S-100 digital signature references are translated into
+     * the matching signature algorithms, with DSA being the default.
+     */
+    @Test
+    void testGetSignatureAlgorithm() throws NoSuchAlgorithmException {
+        assertEquals("SHA256withDSA", S100ExchangeSetKeySignatureProvider.getSignatureAlgorithm(null));
+        assertEquals("SHA256withDSA", S100ExchangeSetKeySignatureProvider.getSignatureAlgorithm(S100SEDigitalSignatureReference.DSA));
+    }
+
+    /**
+     * Verifies the provided signature value against the provided payload,
+     * using the test certificate.
+     *
+     * @param payload the signed payload
+     * @param value the signature value
+     * @return whether the signature is valid
+     */
+    private boolean verify(byte[] payload, byte[] value) throws GeneralSecurityException {
+        final Signature verifier = Signature.getInstance("SHA256withDSA");
+        verifier.initVerify(this.certificate.getPublicKey());
+        verifier.update(payload);
+        return verifier.verify(value);
+    }
+
+}
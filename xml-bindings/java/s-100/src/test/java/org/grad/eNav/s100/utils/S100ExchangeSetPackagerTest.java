@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.*;
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100ExchangeSetPackagerTest {
+
+    // Test Variables
+    private S100ExchangeCatalogueBuilder s100ExchangeCatalogueBuilder;
+    private S100ExchangeSetSignatureProvider s100ExchangeSetSignatureProvider;
+    private byte[] dataset;
+    private byte[] supportFile;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        // Sign by simply echoing the payload
+        this.s100ExchangeSetSignatureProvider = (id, algorithm, payload) -> {
+            S100SEDigitalSignature s100SEDigitalSignature = new S100SEDigitalSignature();
+            s100SEDigitalSignature.setId(String.valueOf(id));
+            s100SEDigitalSignature.setCertificateRef("ref");
+            s100SEDigitalSignature.setValue(payload);
+            return s100SEDigitalSignature;
+        };
+        this.s100ExchangeCatalogueBuilder = new S100ExchangeCatalogueBuilder(this.s100ExchangeSetSignatureProvider)
+                .setIdentifier("identifier")
+                .setLocales(Collections.emptyList());
+
+        // Create a dataset larger than a single streaming chunk
+        this.dataset = new byte[3 * S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE + 17];
+        new Random(0).nextBytes(this.dataset);
+        this.supportFile = "support".getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test that the S-100 exchange set packager can stream the dataset and
+     * support files into a ZIP archive, signing them on the way, and write
+     * the exchange set catalogue as the last entry.
+     */
+    @Test
+    void testPackageToZip() throws IOException, JAXBException, CertificateEncodingException, NoSuchAlgorithmException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Package the exchange set
+        final S100ExchangeCatalogue exchangeCatalogue;
+        final Map<String, byte[]> digests;
+        try(S100ExchangeSetPackager packager = S100ExchangeSetPackager.toZip(out, this.s100ExchangeCatalogueBuilder, this.s100ExchangeSetSignatureProvider)) {
+            packager.addDataset("S-125/DATASET_FILES/dataset.gml", new ByteArrayInputStream(this.dataset), builder -> builder.setEditionNumber(BigInteger.ONE))
+                    .addSupportFile("S-125/SUPPORT_FILES/support.txt", new ByteArrayInputStream(this.supportFile), null);
+            digests = packager.getEntryDigests();
+            exchangeCatalogue = packager.finish();
+        }
+
+        // Read back the ZIP entries
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try(ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+
+        // Assert the entries and their order
+        assertEquals(List.of(
+                "S100_ROOT/S-125/DATASET_FILES/dataset.gml",
+                "S100_ROOT/S-125/SUPPORT_FILES/support.txt",
+                "S100_ROOT/CATALOG.XML"), new ArrayList<>(entries.keySet()));
+        assertArrayEquals(this.dataset, entries.get("S100_ROOT/S-125/DATASET_FILES/dataset.gml"));
+        assertArrayEquals(this.supportFile, entries.get("S100_ROOT/S-125/SUPPORT_FILES/support.txt"));
+
+        // Assert the digests
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(this.dataset), digests.get("S-125/DATASET_FILES/dataset.gml"));
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(this.supportFile), digests.get("S-125/SUPPORT_FILES/support.txt"));
+
+        // Assert the catalogue metadata and signatures
+        final S100DatasetDiscoveryMetadata datasetMetadata = exchangeCatalogue.getDatasetDiscoveryMetadata().getS100DatasetDiscoveryMetadatas().get(0);
+        assertEquals("S-125/DATASET_FILES/dataset.gml", datasetMetadata.getFileName());
+        assertEquals(BigInteger.ONE, datasetMetadata.getEditionNumber());
+        assertEquals(1, datasetMetadata.getDigitalSignatureValues().size());
+        assertArrayEquals(this.dataset, datasetMetadata.getDigitalSignatureValues().get(0).getS100SEDigitalSignature().getValue().getValue());
+        final S100SupportFileDiscoveryMetadata supportFileMetadata = exchangeCatalogue.getSupportFileDiscoveryMetadata().getS100SupportFileDiscoveryMetadatas().get(0);
+        assertEquals("S-125/SUPPORT_FILES/support.txt", supportFileMetadata.getFileName());
+        assertArrayEquals(this.supportFile, supportFileMetadata.getDigitalSignatureValues().get(0).getS100SEDigitalSignature().getValue().getValue());
+
+        // Assert the written catalogue matches the returned one
+        final S100ExchangeCatalogue writtenCatalogue = S100ExchangeSetUtils.unmarshallS100ExchangeSetCatalogue(
+                new String(entries.get("S100_ROOT/CATALOG.XML"), StandardCharsets.UTF_8));
+        assertEquals("identifier", writtenCatalogue.getIdentifier().getIdentifier());
+        assertEquals(1, writtenCatalogue.getDatasetDiscoveryMetadata().getS100DatasetDiscoveryMetadatas().size());
+        assertEquals(1, writtenCatalogue.getSupportFileDiscoveryMetadata().getS100SupportFileDiscoveryMetadatas().size());
+    }
+
+    /**
+     * Test that the S-100 exchange set packager can also write the exchange
+     * set as a directory tree.
+     */
+    @Test
+    void testPackageToDirectory(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        final Path source = directory.resolve("source.gml");
+        Files.write(source, this.dataset);
+        final Path target = directory.resolve("target");
+
+        // Package the exchange set
+        try(S100ExchangeSetPackager packager = S100ExchangeSetPackager.toDirectory(target, this.s100ExchangeCatalogueBuilder, null)) {
+            packager.addDataset("S-125/DATASET_FILES/dataset.gml", source, null);
+            packager.finish();
+        }
+
+        // Assert the written files
+        assertArrayEquals(this.dataset, Files.readAllBytes(target.resolve("S100_ROOT/S-125/DATASET_FILES/dataset.gml")));
+        assertTrue(Files.exists(target.resolve("S100_ROOT/CATALOG.XML")));
+    }
+
+    /**
+     * Test that the S-100 exchange set packager will not accept the same
+     * file twice, or any files after the catalogue has been written.
+     */
+    @Test
+    void testPackageInvalidEntries() throws IOException, JAXBException, CertificateEncodingException {
+        final S100ExchangeSetPackager packager = S100ExchangeSetPackager.toZip(new ByteArrayOutputStream(), this.s100ExchangeCatalogueBuilder, null);
+        packager.addDataset("dataset.gml", new ByteArrayInputStream(this.dataset), null);
+        assertThrows(IllegalArgumentException.class, () -> packager.addDataset("dataset.gml", new ByteArrayInputStream(this.dataset), null));
+        packager.finish();
+        assertThrows(IllegalStateException.class, () -> packager.addSupportFile("support.txt", new ByteArrayInputStream(this.supportFile), null));
+    }
+
+}
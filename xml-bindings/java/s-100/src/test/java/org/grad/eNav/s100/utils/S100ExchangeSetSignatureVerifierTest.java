@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100ExchangeSetSignatureVerifierTest {
+
+    // Test Variables
+    private PrivateKey privateKey;
+    private X509Certificate certificate;
+    private S100ExchangeSetSignatureProvider s100ExchangeSetSignatureProvider;
+    private byte[] dataset;
+    private byte[] supportFile;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws IOException, GeneralSecurityException {
+        // Load the test DSA key pair
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try(InputStream in = ClassLoader.getSystemResourceAsStream("test-keystore.p12")) {
+            assertNotNull(in);
+            keyStore.load(in, "password".toCharArray());
+        }
+        this.privateKey = (PrivateKey) keyStore.getKey("test", "password".toCharArray());
+        this.certificate = (X509Certificate) keyStore.getCertificate("test");
+
+        // Sign with the test private key, streaming the files in chunks
+        this.s100ExchangeSetSignatureProvider = new S100ExchangeSetKeySignatureProvider(this.privateKey, "CRT1", id -> "sig-" + id);
+
+        // Create the test files
+        this.dataset = new byte[3 * S100ExchangeSetSignatureProvider.SignatureSession.CHUNK_SIZE + 17];
+        new Random(0).nextBytes(this.dataset);
+        this.supportFile = "support".getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test that the signatures of a correctly signed exchange set will all
+     * be verified as valid, using the catalogue certificates.
+     */
+    @Test
+    void testVerify(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        this.createExchangeSet(directory, "CRT1");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try(S100ExchangeSet exchangeSet = S100ExchangeSet.open(directory)) {
+            final List<S100ExchangeSetSignatureVerifier.VerificationResult> results = new S100ExchangeSetSignatureVerifier(executor).verify(exchangeSet);
+
+            assertEquals(2, results.size());
+            assertEquals("S-125/DATASET_FILES/dataset.gml", results.get(0).fileName());
+            assertEquals("sig-S-125/DATASET_FILES/dataset.gml", results.get(0).signatureId());
+            assertTrue(results.get(0).valid());
+            assertNull(results.get(0).message());
+            assertEquals("S-125/SUPPORT_FILES/support.txt", results.get(1).fileName());
+            assertTrue(results.get(1).valid());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the signature of a file modified after signing will be
+     * reported as invalid, without affecting the rest of the files.
+     */
+    @Test
+    void testVerifyTamperedFile(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        this.createExchangeSet(directory, "CRT1");
+        this.dataset[0] ^= 0x01;
+        Files.write(directory.resolve("S100_ROOT/S-125/DATASET_FILES/dataset.gml"), this.dataset);
+
+        try(S100ExchangeSet exchangeSet = S100ExchangeSet.open(directory)) {
+            final List<S100ExchangeSetSignatureVerifier.VerificationResult> results = new S100ExchangeSetSignatureVerifier().verify(exchangeSet);
+
+            assertEquals(2, results.size());
+            assertFalse(results.get(0).valid());
+            assertEquals("Invalid signature", results.get(0).message());
+            assertTrue(results.get(1).valid());
+        }
+    }
+
+    /**
+     * Test that signatures referencing certificates that are not included in
+     * the catalogue, or files that are missing, will be reported as invalid.
+     */
+    @Test
+    void testVerifyMissingCertificateAndFile(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        this.createExchangeSet(directory, "OTHER");
+
+        try(S100ExchangeSet exchangeSet = S100ExchangeSet.open(directory)) {
+            final List<S100ExchangeSetSignatureVerifier.VerificationResult> results = new S100ExchangeSetSignatureVerifier().verify(exchangeSet);
+            assertEquals(2, results.size());
+            assertFalse(results.get(0).valid());
+            assertTrue(results.get(0).message().contains("CRT1"));
+
+            final List<S100ExchangeSetSignatureVerifier.VerificationResult> missingResults = new S100ExchangeSetSignatureVerifier().verify(
+                    exchangeSet.getCatalogue(),
+                    fileName -> { throw new IOException("Missing " + fileName); });
+            assertEquals(2, missingResults.size());
+            assertFalse(missingResults.get(0).valid());
+        }
+    }
+
+    /**
+     * Creates a signed test exchange set in the provided directory.
+     *
+     * @param directory the directory to create the exchange set in
+     * @param certificateId the catalogue ID of the signing certificate
+     */
+    private void createExchangeSet(Path directory, String certificateId) throws IOException, JAXBException, CertificateEncodingException {
+        final S100ExchangeCatalogueBuilder catalogueBuilder = new S100ExchangeCatalogueBuilder(this.s100ExchangeSetSignatureProvider)
+                .setIdentifier("identifier")
+                .setLocales(Collections.emptyList())
+                .setCertificates(Collections.singletonMap(certificateId, this.certificate));
+        try(S100ExchangeSetPackager packager = S100ExchangeSetPackager.toDirectory(directory, catalogueBuilder, this.s100ExchangeSetSignatureProvider)) {
+            packager.addDataset("S-125/DATASET_FILES/dataset.gml", new ByteArrayInputStream(this.dataset), null)
+                    .addSupportFile("S-125/SUPPORT_FILES/support.txt", new ByteArrayInputStream(this.supportFile), null)
+                    .finish();
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.cert.CertificateEncodingException;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100ExchangeSetTest {
+
+    // Test Variables
+    private byte[] dataset;
+    private byte[] supportFile;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.dataset = "<Dataset>dataset</Dataset>".getBytes(StandardCharsets.UTF_8);
+        this.supportFile = "support".getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test that an S-100 exchange set can be opened from a ZIP archive, with
+     * its catalogue parsed and its files accessed on demand.
+     */
+    @Test
+    void testOpenZip(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        final Path archive = directory.resolve("exchange-set.zip");
+        try(OutputStream out = Files.newOutputStream(archive);
+            S100ExchangeSetPackager packager = S100ExchangeSetPackager.toZip(out, this.newCatalogueBuilder(), null)) {
+            this.populate(packager);
+        }
+
+        try(S100ExchangeSet exchangeSet = S100ExchangeSet.open(archive)) {
+            this.assertExchangeSet(exchangeSet);
+        }
+    }
+
+    /**
+     * Test that an S-100 exchange set can be opened from a directory, with
+     * its catalogue parsed and its files accessed on demand.
+     */
+    @Test
+    void testOpenDirectory(@TempDir Path directory) throws IOException, JAXBException, CertificateEncodingException {
+        try(S100ExchangeSetPackager packager = S100ExchangeSetPackager.toDirectory(directory, this.newCatalogueBuilder(), null)) {
+            this.populate(packager);
+        }
+
+        // Open both from the base and the root directory
+        try(S100ExchangeSet exchangeSet = S100ExchangeSet.open(directory)) {
+            this.assertExchangeSet(exchangeSet);
+        }
+        try(S100ExchangeSet exchangeSet = S100ExchangeSet.open(directory.resolve(S100ExchangeSetPackager.ROOT_DIRECTORY))) {
+            this.assertExchangeSet(exchangeSet);
+        }
+    }
+
+    /**
+     * Test that opening a location without an exchange set catalogue will
+     * fail.
+     */
+    @Test
+    void testOpenNoCatalogue(@TempDir Path directory) {
+        assertThrows(NoSuchFileException.class, () -> S100ExchangeSet.open(directory));
+    }
+
+    /**
+     * Creates a new exchange catalogue builder for the tests.
+     *
+     * @return the exchange catalogue builder
+     */
+    private S100ExchangeCatalogueBuilder newCatalogueBuilder() {
+        return new S100ExchangeCatalogueBuilder(null)
+                .setIdentifier("identifier")
+                .setLocales(Collections.emptyList());
+    }
+
+    /**
+     * Populates the provided packager with the test files.
+     *
+     * @param packager the packager to be populated
+     */
+    private void populate(S100ExchangeSetPackager packager) throws IOException, JAXBException, CertificateEncodingException {
+        packager.addDataset("S-125/DATASET_FILES/dataset.gml", new ByteArrayInputStream(this.dataset), null)
+                .addSupportFile("S-125/SUPPORT_FILES/support.txt", new ByteArrayInputStream(this.supportFile), null)
+                .finish();
+    }
+
+    /**
+     * Asserts the contents of the opened test exchange set.
+     *
+     * @param exchangeSet the opened exchange set
+     */
+    private void assertExchangeSet(S100ExchangeSet exchangeSet) throws IOException, JAXBException {
+        // Assert the catalogue
+        assertEquals("identifier", exchangeSet.getCatalogue().getIdentifier().getIdentifier());
+        assertEquals(Set.of("S-125/DATASET_FILES/dataset.gml"), exchangeSet.getDatasetFileNames());
+        assertEquals(Set.of("S-125/SUPPORT_FILES/support.txt"), exchangeSet.getSupportFileNames());
+        assertTrue(exchangeSet.getDatasetMetadata("/S-125/DATASET_FILES/dataset.gml").isPresent());
+        assertTrue(exchangeSet.getSupportFileMetadata("S-125/SUPPORT_FILES/support.txt").isPresent());
+        assertFalse(exchangeSet.getDatasetMetadata("missing.gml").isPresent());
+
+        // Assert the file access
+        assertEquals(this.dataset.length, exchangeSet.size("S-125/DATASET_FILES/dataset.gml"));
+        try(SeekableByteChannel channel = exchangeSet.openChannel("S-125/DATASET_FILES/dataset.gml")) {
+            final ByteBuffer buffer = ByteBuffer.allocate(this.dataset.length);
+            while(buffer.hasRemaining() && channel.read(buffer) >= 0);
+            assertArrayEquals(this.dataset, buffer.array());
+        }
+        final ByteBuffer mapped = exchangeSet.map("S-125/SUPPORT_FILES/support.txt");
+        final byte[] mappedBytes = new byte[mapped.remaining()];
+        mapped.get(mappedBytes);
+        assertArrayEquals(this.supportFile, mappedBytes);
+        assertEquals("<Dataset>dataset</Dataset>", exchangeSet.readDataset("S-125/DATASET_FILES/dataset.gml",
+                in -> new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+
+        // Assert that files outside the exchange set cannot be accessed
+        assertThrows(NoSuchFileException.class, () -> exchangeSet.openStream("../outside.txt"));
+        assertThrows(NoSuchFileException.class, () -> exchangeSet.openStream("missing.gml"));
+    }
+
+}
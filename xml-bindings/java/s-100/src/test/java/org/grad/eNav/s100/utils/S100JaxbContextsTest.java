@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100ExchangeCatalogue;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100JaxbContextsTest {
+
+    /**
+     * Test that the JAXB contexts are only created once and then shared.
+     */
+    @Test
+    void testGetContext() throws JAXBException {
+        final JAXBContext context = S100JaxbContexts.getContext(S100ExchangeCatalogue.class);
+        final JAXBContext packageContext = S100JaxbContexts.getPackageContext(S100ExchangeCatalogue.class);
+
+        assertNotNull(context);
+        assertNotNull(packageContext);
+        assertSame(context, S100JaxbContexts.getContext(S100ExchangeCatalogue.class));
+        assertSame(packageContext, S100JaxbContexts.getPackageContext(S100ExchangeCatalogue.class));
+        assertNotSame(context, packageContext);
+    }
+
+    /**
+     * Test that the pre-warmed JAXB contexts are created in the background
+     * and then returned by the subsequent requests.
+     */
+    @Test
+    void testPrewarm() throws Exception {
+        final CompletableFuture<Void> prewarm = S100ExchangeSetUtils.prewarm();
+        final JAXBContext context = S100JaxbContexts.getPackageContext(S100ExchangeCatalogue.class);
+
+        prewarm.get(60, TimeUnit.SECONDS);
+        assertTrue(prewarm.isDone());
+        assertSame(context, S100JaxbContexts.getPackageContext(S100ExchangeCatalogue.class));
+    }
+
+    /**
+     * Test that the pre-warming failures are reported through the returned
+     * future and are not cached.
+     */
+    @Test
+    void testPrewarmFailure() {
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> S100JaxbContexts.prewarm(Unbound.class).get(60, TimeUnit.SECONDS));
+
+        assertInstanceOf(JAXBException.class, exception.getCause());
+        assertThrows(JAXBException.class, () -> S100JaxbContexts.getContext(Unbound.class));
+    }
+
+    /**
+     * An interface that cannot be bound by JAXB.
+     */
+    interface Unbound {
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import _int.iho.s100.catalog._5_2.S100ExchangeCatalogue;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100JaxbPoolTest {
+
+    // Test Variables
+    private S100JaxbPool pool;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        this.pool = new S100JaxbPool(S100ExchangeCatalogue.class, 1);
+    }
+
+    /**
+     * Test that the released marshallers are reused, up to the capacity of
+     * the pool.
+     */
+    @Test
+    void testMarshallers() throws JAXBException {
+        final Marshaller marshaller = this.pool.acquireMarshaller();
+        final Marshaller otherMarshaller = this.pool.acquireMarshaller();
+        assertNotSame(marshaller, otherMarshaller);
+        assertEquals(0, this.pool.getPooledMarshallers());
+
+        this.pool.releaseMarshaller(marshaller);
+        this.pool.releaseMarshaller(otherMarshaller);
+        assertEquals(1, this.pool.getPooledMarshallers());
+        assertSame(marshaller, this.pool.acquireMarshaller());
+    }
+
+    /**
+     * Test that the released unmarshallers are reused, up to the capacity of
+     * the pool.
+     */
+    @Test
+    void testUnmarshallers() throws JAXBException {
+        final Unmarshaller unmarshaller = this.pool.acquireUnmarshaller();
+        final Unmarshaller otherUnmarshaller = this.pool.acquireUnmarshaller();
+        assertNotSame(unmarshaller, otherUnmarshaller);
+        assertEquals(0, this.pool.getPooledUnmarshallers());
+
+        this.pool.releaseUnmarshaller(unmarshaller);
+        this.pool.releaseUnmarshaller(otherUnmarshaller);
+        assertEquals(1, this.pool.getPooledUnmarshallers());
+        assertSame(unmarshaller, this.pool.acquireUnmarshaller());
+    }
+
+    /**
+     * Test that the pool capacity must be positive.
+     */
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new S100JaxbPool(S100ExchangeCatalogue.class, 0));
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S100ReferenceResolverTest {
+
+    // Test Variables
+    private List<TestMember> members;
+    private S100ReferenceResolver<TestMember> resolver;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() {
+        // Create a chain of members, each referencing the previous one
+        this.members = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            final TestMember member = new TestMember("ID" + i);
+            if(i > 0) {
+                member.setStatuspart(new TestReference(i % 2 == 0 ? "#ID" + (i - 1) : "ID" + (i - 1)));
+            }
+            this.members.add(member);
+        }
+
+        // And an aggregation of the first members, with a dangling peer
+        final TestMember aggregation = new TestMember("AGG1");
+        IntStream.range(0, 3).forEach(i -> aggregation.getPeers().add(new TestReference("#ID" + i)));
+        aggregation.getPeers().add(new TestReference("#MISSING"));
+        this.members.add(aggregation);
+
+        this.resolver = S100ReferenceResolver.forReferenceType(TestMember::getId, TestReference.class, TestReference::getHref)
+                .indexAll(this.members);
+    }
+
+    /**
+     * Test that the local references are resolved in both their hash and
+     * plain forms, while missing and external ones are not.
+     */
+    @Test
+    void testResolve() {
+        assertEquals(this.members.size(), this.resolver.size());
+        assertSame(this.members.get(5), this.resolver.resolve("#ID5"));
+        assertSame(this.members.get(5), this.resolver.resolve("ID5"));
+        assertNull(this.resolver.resolve("#ID5000"));
+        assertNull(this.resolver.resolve("other.gml#ID5"));
+        assertNull(this.resolver.resolve("#"));
+        assertNull(this.resolver.resolve(null));
+    }
+
+    /**
+     * Test that all the references of the members are resolved in bulk,
+     * reporting the dangling ones.
+     */
+    @Test
+    void testResolveAll() {
+        final List<S100Reference<TestMember>> references = this.resolver.resolveAll();
+        assertEquals(999 + 4, references.size());
+        for(int i = 1; i < 1000; i++) {
+            final S100Reference<TestMember> reference = references.get(i - 1);
+            assertSame(this.members.get(i), reference.source());
+            assertEquals("statuspart", reference.property());
+            assertSame(this.members.get(i - 1), reference.target());
+        }
+
+        final List<S100Reference<TestMember>> aggregation = this.resolver.getReferences(this.members.getLast());
+        assertEquals(4, aggregation.size());
+        assertTrue(aggregation.stream().allMatch(reference -> "peers".equals(reference.property())));
+        assertSame(this.members.get(2), aggregation.get(2).target());
+
+        final List<S100Reference<TestMember>> dangling = this.resolver.getDanglingReferences();
+        assertEquals(1, dangling.size());
+        assertEquals("#MISSING", dangling.getFirst().href());
+        assertTrue(dangling.getFirst().isDangling());
+    }
+
+    /**
+     * Test that the index is kept up to date as new members are indexed,
+     * without indexing the same member twice.
+     */
+    @Test
+    void testIndexUpdates() {
+        final TestMember missing = new TestMember("MISSING");
+        this.resolver.index(missing).index(missing).indexAll(this.members);
+
+        assertEquals(this.members.size() + 1, this.resolver.size());
+        assertSame(missing, this.resolver.resolve("#MISSING"));
+        assertTrue(this.resolver.getDanglingReferences().isEmpty());
+    }
+
+    /**
+     * Test that custom reference extractors can also be used.
+     */
+    @Test
+    void testCustomExtractor() {
+        final S100ReferenceResolver<TestMember> custom = new S100ReferenceResolver<TestMember>(TestMember::getId,
+                member -> Map.of("parent", List.of("#ID0")))
+                .indexAll(this.members.subList(0, 2));
+
+        assertEquals(2, custom.resolveAll().size());
+        assertTrue(custom.resolveAll().stream().allMatch(reference -> reference.target() == this.members.getFirst()));
+    }
+
+    public static class TestReference {
+        private final String href;
+
+        TestReference(String href) {
+            this.href = href;
+        }
+
+        public String getHref() {
+            return this.href;
+        }
+    }
+
+    public static class TestMember {
+        private final String id;
+        private final List<TestReference> peers;
+        private TestReference statuspart;
+
+        TestMember(String id) {
+            this.id = id;
+            this.peers = new ArrayList<>();
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public TestReference getStatuspart() {
+            return this.statuspart;
+        }
+
+        public void setStatuspart(TestReference statuspart) {
+            this.statuspart = statuspart;
+        }
+
+        public List<TestReference> getPeers() {
+            return this.peers;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.s100.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecificJarClassLoaderRegistryTest {
+
+    // Test Variables
+    @TempDir
+    Path tempDir;
+    private URL jarFileUrl;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setup() throws IOException {
+        final Path jarFile = this.tempDir.resolve("product catalogue.jar");
+        try(OutputStream out = Files.newOutputStream(jarFile);
+            JarOutputStream jar = new JarOutputStream(out)) {
+            jar.putNextEntry(new JarEntry("xsd/"));
+            jar.closeEntry();
+            jar.putNextEntry(new JarEntry("xsd/S100.xsd"));
+            jar.write("<schema/>".getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+        }
+        this.jarFileUrl = jarFile.toUri().toURL();
+    }
+
+    /**
+     * Release any class-loaders left registered by the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        SpecificJarClassLoaderRegistry.releaseAll();
+    }
+
+    /**
+     * Test that the resources of the jar are found through its index.
+     */
+    @Test
+    void testFindResource() throws IOException {
+        final SpecificJarClassLoader loader = SpecificJarClassLoaderRegistry.acquire(this.jarFileUrl);
+
+        final URL resource = loader.findResource("xsd/S100.xsd");
+        assertNotNull(resource);
+        assertTrue(resource.toString().startsWith("jar:file:"));
+        assertTrue(resource.toString().endsWith(".jar!/xsd/S100.xsd"));
+        try(InputStream in = resource.openStream()) {
+            assertEquals("<schema/>", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertNull(loader.findResource("xsd/S125.xsd"));
+    }
+
+    /**
+     * Test that the resource streams are read directly from the jar.
+     */
+    @Test
+    void testGetResourceAsStream() throws IOException {
+        final SpecificJarClassLoader loader = SpecificJarClassLoaderRegistry.acquire(this.jarFileUrl);
+
+        try(InputStream in = loader.getResourceAsStream("xsd/S100.xsd")) {
+            assertNotNull(in);
+            assertEquals("<schema/>", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertNull(loader.getResourceAsStream("xsd/S125.xsd"));
+    }
+
+    /**
+     * Test that a single class-loader is shared per jar and that it is only
+     * closed once all its users have released it.
+     */
+    @Test
+    void testAcquireAndRelease() {
+        final SpecificJarClassLoader loader = SpecificJarClassLoaderRegistry.acquire(this.jarFileUrl);
+        assertSame(loader, SpecificJarClassLoaderRegistry.acquire(this.jarFileUrl));
+        assertEquals(1, SpecificJarClassLoaderRegistry.size());
+
+        SpecificJarClassLoaderRegistry.release(loader);
+        assertFalse(loader.isClosed());
+        assertNotNull(loader.getResourceAsStream("xsd/S100.xsd"));
+
+        SpecificJarClassLoaderRegistry.release(loader);
+        assertTrue(loader.isClosed());
+        assertNull(loader.findResource("xsd/S100.xsd"));
+        assertEquals(0, SpecificJarClassLoaderRegistry.size());
+
+        final SpecificJarClassLoader newLoader = SpecificJarClassLoaderRegistry.acquire(this.jarFileUrl);
+        assertNotSame(loader, newLoader);
+        assertNotNull(newLoader.findResource("xsd/S100.xsd"));
+    }
+
+    /**
+     * Test that the classes not included in jars are rejected.
+     */
+    @Test
+    void testAcquireNonJarClass() {
+        assertThrows(RuntimeException.class, () -> SpecificJarClassLoaderRegistry.acquire(SpecificJarClassLoaderRegistryTest.class));
+    }
+
+}
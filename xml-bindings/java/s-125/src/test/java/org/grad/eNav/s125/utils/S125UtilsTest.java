@@ -32,20 +32,61 @@ import _int.iho.s_125.gml.cs0._1.S100TruncatedDate;
 import _int.iho.s_125.gml.cs0._1.*;
 import _int.iho.s_125.gml.cs0._1.impl.*;
 import jakarta.xml.bind.JAXBException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.apache.commons.io.IOUtils;
+import org.grad.eNav.s100.events.S100MarshalEvent;
+import org.grad.eNav.s100.events.S100UnmarshalEvent;
+import org.grad.eNav.s100.metrics.BindingMetrics;
+import org.grad.eNav.s100.metrics.BindingMetricsRegistry;
+import org.grad.eNav.s100.metrics.InMemoryBindingMetrics;
+import org.grad.eNav.s100.query.S100BoundingBox;
+import org.grad.eNav.s100.query.S100DatasetIndex;
+import org.grad.eNav.s100.query.S100DatasetQuery;
+import org.grad.eNav.s100.stax.S100MemberFilter;
+import org.grad.eNav.s100.stax.S100MemberProjection;
+import org.grad.eNav.s100.stax.S100ProjectedMember;
+import org.grad.eNav.s100.stax.S100XmlEngine;
+import org.grad.eNav.s100.utils.S100BatchResult;
+import org.grad.eNav.s100.utils.S100DatasetCache;
+import org.grad.eNav.s100.utils.S100Reference;
+import org.grad.eNav.s100.utils.S100ReferenceResolver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
 
+import javax.xml.XMLConstants;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -188,6 +229,57 @@ class S125UtilsTest {
         return boundingShapeType;
     }
 
+    /**
+     * A helper function to list the elements, attributes and text values of
+     * an XML document, one element per line, with their prefixed names, so
+     * that the output of the two XML engines can be compared directly. Only
+     * the namespace declarations are skipped, since the engines may declare
+     * the same namespaces in a different order.
+     *
+     * @param xml       the XML document
+     * @return the elements, attributes and text values of the document
+     * @throws ParserConfigurationException if the XML parser cannot be created
+     * @throws SAXException if the XML document cannot be parsed
+     * @throws IOException if the XML document cannot be read
+     */
+    private String toComparableXml(String xml) throws ParserConfigurationException, SAXException, IOException {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Element root = factory.newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))
+                .getDocumentElement();
+
+        // Walk the document in order, listing each element on its own line
+        final StringBuilder result = new StringBuilder();
+        final Deque<Map.Entry<Node, Integer>> stack = new ArrayDeque<>();
+        stack.push(Map.entry(root, 0));
+        while(!stack.isEmpty()) {
+            final Map.Entry<Node, Integer> entry = stack.pop();
+            final Node node = entry.getKey();
+            if(node.getNodeType() == Node.TEXT_NODE) {
+                if(!node.getNodeValue().isBlank()) {
+                    result.append(" ".repeat(entry.getValue())).append('"').append(node.getNodeValue()).append("\"\n");
+                }
+                continue;
+            }
+            result.append(" ".repeat(entry.getValue())).append(node.getNodeName()).append(" {").append(node.getNamespaceURI()).append('}');
+            final NamedNodeMap attributes = node.getAttributes();
+            final SortedMap<String, String> sortedAttributes = new TreeMap<>();
+            for(int i = 0; i < attributes.getLength(); i++) {
+                final Node attribute = attributes.item(i);
+                if(!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                    sortedAttributes.put(attribute.getNodeName() + " {" + attribute.getNamespaceURI() + "}", attribute.getNodeValue());
+                }
+            }
+            sortedAttributes.forEach((name, value) -> result.append(' ').append(name).append("=\"").append(value).append('"'));
+            result.append('\n');
+            for(Node child = node.getLastChild(); Objects.nonNull(child); child = child.getPreviousSibling()) {
+                stack.push(Map.entry(child, entry.getValue() + 1));
+            }
+        }
+        return result.toString();
+    }
+
     /**
      * Test that we can create (marshall) and XML based on an S-125 Dataset type
      * object.
@@ -214,6 +306,89 @@ class S125UtilsTest {
         assertEquals(this.datasetXml, xml);
     }
 
+    /**
+     * Test that the S-125 JAXB context can be pre-warmed in the background
+     * and is then used by the marshalling operations.
+     *
+     * @throws Exception an exception thrown while pre-warming or marshalling
+     */
+    @Test
+    void testPrewarm() throws Exception {
+        S125Utils.prewarm().get(60, TimeUnit.SECONDS);
+
+        assertEquals(this.datasetXml, S125Utils.marshalS125(this.dataset));
+    }
+
+    /**
+     * Test that the S-125 marshalling and unmarshalling operations do not
+     * depend on, or modify, the context class loader of the calling thread,
+     * even when they fail.
+     *
+     * @throws JAXBException a JAXB exception thrown during the marshalling operations
+     */
+    @Test
+    void testContextClassLoaderUnchanged() throws JAXBException {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader originalClassLoader = thread.getContextClassLoader();
+        final ClassLoader isolatedClassLoader = new URLClassLoader(new URL[0], null);
+        thread.setContextClassLoader(isolatedClassLoader);
+        try {
+            assertEquals(this.datasetXml, S125Utils.marshalS125(this.dataset));
+            assertNotNull(S125Utils.unmarshallS125(this.datasetXml));
+            assertSame(isolatedClassLoader, thread.getContextClassLoader());
+
+            assertThrows(JAXBException.class, () -> S125Utils.unmarshallS125("<invalid"));
+            assertSame(isolatedClassLoader, thread.getContextClassLoader());
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    /**
+     * Test that we can marshall a batch of S-125 datasets concurrently, and
+     * that the results are returned in the input order.
+     */
+    @Test
+    void testMarshalAll() {
+        final List<S100BatchResult<String>> results = S125Utils.marshalAll(Collections.nCopies(200, this.dataset));
+
+        assertEquals(200, results.size());
+        for(int i = 0; i < results.size(); i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(i, results.get(i).index());
+            assertEquals(this.datasetXml, results.get(i).value());
+        }
+    }
+
+    /**
+     * Test that we can unmarshall a batch of S-125 XML datasets concurrently,
+     * and that the failures of individual datasets do not abort the rest of
+     * the batch.
+     */
+    @Test
+    void testUnmarshalAll() {
+        final List<InputStream> inputs = new ArrayList<>();
+        for(int i = 0; i < 200; i++) {
+            inputs.add(new ByteArrayInputStream((i % 50 == 0 ? "<invalid" : this.datasetXml).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<S100BatchResult<Dataset>> results = S125Utils.unmarshalAll(inputs, executor);
+        executor.shutdown();
+
+        assertEquals(200, results.size());
+        for(int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+            if(i % 50 == 0) {
+                assertFalse(results.get(i).isSuccess());
+                assertInstanceOf(JAXBException.class, results.get(i).error());
+            } else {
+                assertTrue(results.get(i).isSuccess());
+                assertEquals(this.dataset.getId(), results.get(i).value().getId());
+            }
+        }
+    }
+
     /**
      * Test that we can generate (unmarshall) an S-125 POJO based on a valid
      * XML S-125 dataset.
@@ -294,6 +469,244 @@ class S125UtilsTest {
         assertEquals(datasetMember.getVirtualAISAidToNavigationType(), resultMember.getVirtualAISAidToNavigationType());
     }
 
+    /**
+     * Test that we can generate (unmarshall) an S-125 POJO directly from an
+     * input stream of a valid XML S-125 dataset.
+     *
+     * @throws JAXBException a JAXB exception thrown during the unmarshalling operation
+     */
+    @Test
+    void testUnmarshalS125FromStream() throws JAXBException {
+        // Unmarshall it from the input stream
+        Dataset result = S125Utils.unmarshallS125(new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert all information is correct
+        assertNotNull(result);
+        assertEquals(this.dataset.getId(), result.getId());
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), S125Utils.getDatasetMembers(result).size());
+    }
+
+    /**
+     * Test that the JAXB-free StAX engine marshalls an S-125 Dataset into an
+     * XML representation equivalent to the JAXB one, i.e. one that JAXB reads
+     * back into the same dataset.
+     *
+     * @throws JAXBException a JAXB exception thrown during the marshalling operation
+     */
+    @Test
+    void testMarshalS125WithStax() throws JAXBException {
+        final String xml = S125Utils.marshalS125(this.dataset, Boolean.TRUE, S100XmlEngine.STAX);
+        assertNotNull(xml);
+
+        // Assert JAXB reads it back into the same dataset
+        final Dataset result = S125Utils.unmarshallS125(xml);
+        assertEquals(this.dataset.getId(), result.getId());
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), S125Utils.getDatasetMembers(result).size());
+        assertEquals(this.datasetXml, S125Utils.marshalS125(result));
+    }
+
+    /**
+     * Test that the JAXB-free StAX engine unmarshalls an S-125 XML dataset
+     * into an object equivalent to the JAXB one, and that it can also read
+     * back its own output.
+     *
+     * @throws JAXBException a JAXB exception thrown during the unmarshalling operation
+     */
+    @Test
+    void testUnmarshalS125WithStax() throws JAXBException {
+        final Dataset result = S125Utils.unmarshallS125(new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)), S100XmlEngine.STAX);
+
+        // Assert all information is correct
+        assertNotNull(result);
+        assertEquals(this.dataset.getId(), result.getId());
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), S125Utils.getDatasetMembers(result).size());
+        assertEquals(this.datasetXml, S125Utils.marshalS125(result));
+
+        // Assert the StAX round trip is lossless as well
+        final String staxXml = S125Utils.marshalS125(result, Boolean.TRUE, S100XmlEngine.STAX);
+        final Dataset staxResult = S125Utils.unmarshallS125(new ByteArrayInputStream(staxXml.getBytes(StandardCharsets.UTF_8)), S100XmlEngine.STAX);
+        assertEquals(staxXml, S125Utils.marshalS125(staxResult, Boolean.TRUE, S100XmlEngine.STAX));
+    }
+
+    /**
+     * Test that the JAXB-free StAX engine marshalls an S-125 Dataset into the
+     * same XML as JAXB, i.e. with the same elements, attributes and values,
+     * and with the same namespace prefixes.
+     *
+     * @throws Exception an exception thrown during the marshalling or parsing operations
+     */
+    @Test
+    void testMarshalS125WithStaxMatchesJaxb() throws Exception {
+        final String jaxbXml = S125Utils.marshalS125(this.dataset, Boolean.TRUE);
+        final String staxXml = S125Utils.marshalS125(this.dataset, Boolean.TRUE, S100XmlEngine.STAX);
+
+        assertEquals(this.toComparableXml(jaxbXml), this.toComparableXml(staxXml));
+        assertEquals(this.toComparableXml(this.datasetXml), this.toComparableXml(staxXml));
+    }
+
+    /**
+     * Test that the cached S-125 unmarshalling operations only unmarshall the
+     * same dataset content once.
+     *
+     * @throws JAXBException a JAXB exception thrown during the unmarshalling operation
+     */
+    @Test
+    void testUnmarshalS125Cached() throws JAXBException {
+        final S100DatasetCache<Dataset> cache = new S100DatasetCache<>();
+        final Dataset result = S125Utils.unmarshallS125(this.datasetXml, cache);
+        final Dataset cachedResult = S125Utils.unmarshallS125(this.datasetXml, cache);
+
+        // Assert the dataset was only unmarshalled once
+        assertNotNull(result);
+        assertEquals(this.dataset.getId(), result.getId());
+        assertSame(result, cachedResult);
+        assertEquals(0.5, cache.getStatistics().hitRatio());
+        assertEquals(this.datasetXml.getBytes().length, cache.getStatistics().weight());
+
+        // Assert that the datasets can also be cached by their identification
+        final String key = S100DatasetCache.datasetKey(this.dataset.getId(), BigInteger.ONE, BigInteger.ZERO);
+        final Dataset keyedResult = S125Utils.unmarshallS125(this.datasetXml, key, cache);
+        assertNotSame(result, keyedResult);
+        assertSame(keyedResult, S125Utils.unmarshallS125(this.datasetXml, key, cache));
+        assertEquals(2, cache.getStatistics().size());
+    }
+
+    /**
+     * Test that the S-125 marshalling and unmarshalling operations emit the
+     * appropriate JFR events, when these are enabled in a recording.
+     *
+     * @throws JAXBException a JAXB exception thrown during the marshalling operations
+     * @throws IOException for errors while reading the recording
+     */
+    @Test
+    void testS125Events(@TempDir Path directory) throws JAXBException, IOException {
+        final Path file = directory.resolve("events.jfr");
+        try(Recording recording = new Recording()) {
+            recording.enable(S100MarshalEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(S100UnmarshalEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            S125Utils.unmarshallS125(S125Utils.marshalS125(this.dataset, Boolean.FALSE));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert the events were recorded correctly
+        final Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file)
+                .stream()
+                .collect(Collectors.toMap(event -> event.getEventType().getName(), event -> event));
+        final int memberCount = S125Utils.getDatasetMembers(this.dataset).size();
+        final RecordedEvent marshalEvent = events.get("org.grad.eNav.s100.Marshal");
+        final RecordedEvent unmarshalEvent = events.get("org.grad.eNav.s100.Unmarshal");
+        assertNotNull(marshalEvent);
+        assertNotNull(unmarshalEvent);
+        assertEquals("S-125", marshalEvent.getString("product"));
+        assertEquals("S-125", unmarshalEvent.getString("product"));
+        assertEquals(memberCount, marshalEvent.getInt("memberCount"));
+        assertEquals(memberCount, unmarshalEvent.getInt("memberCount"));
+        assertTrue(marshalEvent.getLong("byteSize") > 0);
+        assertEquals(marshalEvent.getLong("byteSize"), unmarshalEvent.getLong("byteSize"));
+    }
+
+    /**
+     * Test that the S-125 utility operations report their latencies and
+     * counters to the registered binding metrics implementation.
+     *
+     * @throws JAXBException a JAXB exception thrown during the marshalling operations
+     */
+    @Test
+    void testS125Metrics() throws JAXBException {
+        final InMemoryBindingMetrics metrics = new InMemoryBindingMetrics();
+        BindingMetricsRegistry.setInstance(metrics);
+        try {
+            final String xml = S125Utils.marshalS125(this.dataset, Boolean.FALSE);
+            final Dataset result = S125Utils.unmarshallS125(xml);
+            final List<? extends AbstractGMLType> members = S125Utils.getDatasetMembers(result);
+            S125Utils.addDatasetMembers(new DatasetImpl(), members);
+
+            // Assert the metrics were recorded correctly
+            assertEquals(1, metrics.getCounter("S-125", BindingMetrics.MARSHAL));
+            assertEquals(1, metrics.getCounter("S-125", BindingMetrics.UNMARSHAL));
+            assertEquals(1, metrics.getCounter("S-125", BindingMetrics.GET_MEMBERS));
+            assertEquals(1, metrics.getCounter("S-125", BindingMetrics.ADD_MEMBERS));
+            assertEquals(xml.getBytes().length, metrics.getCounter("S-125", BindingMetrics.MARSHALLED_BYTES));
+            assertEquals(members.size(), metrics.getCounter("S-125", BindingMetrics.ROUTED_MEMBERS));
+            assertTrue(metrics.getLatencyHistogram("S-125", BindingMetrics.UNMARSHAL).isPresent());
+            assertTrue(metrics.getLatencyHistogram("S-125", BindingMetrics.UNMARSHAL).get().getMax() > 0);
+        } finally {
+            BindingMetricsRegistry.setInstance(null);
+        }
+    }
+
+    /**
+     * Test that we can write an S-125 dataset into a binary snapshot and read
+     * it back without losing any information.
+     *
+     * @throws JAXBException a JAXB exception thrown during the marshalling operation
+     * @throws IOException for errors while writing or reading the snapshot
+     */
+    @Test
+    void testS125Snapshot() throws JAXBException, IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        S125Utils.writeS125Snapshot(this.dataset, out);
+        final Dataset result = S125Utils.readS125Snapshot(new ByteArrayInputStream(out.toByteArray()));
+
+        // Assert all information is correct
+        assertNotNull(result);
+        assertEquals(this.dataset.getId(), result.getId());
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), S125Utils.getDatasetMembers(result).size());
+        assertEquals(this.datasetXml, S125Utils.marshalS125(result));
+    }
+
+    /**
+     * Test that corrupted S-125 dataset binary snapshots are detected and
+     * rejected through their checksum.
+     *
+     * @throws IOException for errors while writing the snapshot
+     */
+    @Test
+    void testS125SnapshotCorrupted() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        S125Utils.writeS125Snapshot(this.dataset, out);
+        final byte[] snapshot = out.toByteArray();
+        snapshot[snapshot.length - 1] ^= 0x01;
+
+        // Assert that the corrupted snapshot is rejected
+        assertThrows(IOException.class, () -> S125Utils.readS125Snapshot(new ByteArrayInputStream(snapshot)));
+    }
+
+    /**
+     * Test that the S-125 datasets can be loaded through their binary
+     * snapshots, which are refreshed whenever the XML source changes.
+     *
+     * @throws JAXBException a JAXB exception thrown during the unmarshalling operation
+     * @throws IOException for errors while accessing the files
+     */
+    @Test
+    void testLoadS125(@TempDir Path directory) throws JAXBException, IOException {
+        final Path source = directory.resolve("s125.xml");
+        final Path snapshot = directory.resolve("s125.snapshot");
+        Files.writeString(source, this.datasetXml);
+
+        // The first load should generate the snapshot
+        final Dataset result = S125Utils.loadS125(source, snapshot);
+        assertTrue(Files.exists(snapshot));
+        assertEquals(this.datasetXml, S125Utils.marshalS125(result));
+
+        // The second load should use the snapshot
+        final byte[] snapshotContent = Files.readAllBytes(snapshot);
+        assertEquals(this.datasetXml, S125Utils.marshalS125(S125Utils.loadS125(source, snapshot)));
+        assertArrayEquals(snapshotContent, Files.readAllBytes(snapshot));
+
+        // Changing the source should invalidate the stale snapshot
+        this.dataset.setId("UpdatedTestDataset");
+        final String updatedXml = S125Utils.marshalS125(this.dataset);
+        Files.writeString(source, updatedXml);
+        assertEquals("UpdatedTestDataset", S125Utils.loadS125(source, snapshot).getId());
+        assertFalse(Arrays.equals(snapshotContent, Files.readAllBytes(snapshot)));
+    }
+
     /**
      * Test that we can read directly the members of an S-125 dataset XMl
      * representation.
@@ -355,6 +768,126 @@ class S125UtilsTest {
         assertTrue(S125Utils.getDatasetMembers(new DatasetImpl()).isEmpty());
     }
 
+    /**
+     * This test checks that every member list of a dataset is read exactly
+     * once, including the radar reflectors and retroreflectors, as well as
+     * the sounding and vertical datums, whose lists were previously either
+     * omitted or read twice.
+     */
+    @Test
+    void testGetDatasetMembersAllLists() {
+        final Dataset dataset = new DatasetImpl();
+        final List<AbstractGMLType> entries = List.of(new RadarReflectorImpl(), new RetroreflectorImpl(),
+                new SoundingDatumImpl(), new VerticalDatumOfDataImpl());
+        S125Utils.addDatasetMembers(dataset, entries);
+
+        // Get the members back from the dataset
+        final List<? extends AbstractGMLType> members = S125Utils.getDatasetMembers(dataset);
+
+        // Assert that each member was returned exactly once
+        assertEquals(entries.size(), members.size());
+        for(AbstractGMLType entry : entries) {
+            assertEquals(1, members.stream().filter(member -> member == entry).count());
+        }
+    }
+
+    /**
+     * This test checks that the dataset members can be read selectively,
+     * by their types or element names, skipping all the other members.
+     *
+     * @throws JAXBException a JAXB exception thrown during the unmarshalling operation
+     */
+    @Test
+    void testGetDatasetMembersFiltered() throws JAXBException {
+        // Filter the members by their type
+        final List<? extends AbstractGMLType> typeMembers = S125Utils.getDatasetMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)),
+                S100MemberFilter.ofTypes(VirtualAISAidToNavigation.class));
+        assertEquals(1, typeMembers.size());
+        assertInstanceOf(VirtualAISAidToNavigation.class, typeMembers.getFirst());
+        assertEquals(this.vaton.getId(), typeMembers.getFirst().getId());
+
+        // Filter the members by their element name
+        final List<? extends AbstractGMLType> nameMembers = S125Utils.getDatasetMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)),
+                S100MemberFilter.ofNames("VirtualAISAidToNavigation"));
+        assertEquals(1, nameMembers.size());
+        assertInstanceOf(VirtualAISAidToNavigation.class, nameMembers.getFirst());
+
+        // And make sure the unfiltered read matches the dataset object
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), S125Utils.getDatasetMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)),
+                S100MemberFilter.ALL).size());
+    }
+
+    /**
+     * This test checks that the dataset members can be projected into
+     * lightweight records, only containing the requested paths.
+     *
+     * @throws JAXBException a JAXB exception thrown during the unmarshalling operation
+     */
+    @Test
+    void testProjectDatasetMembers() throws JAXBException {
+        final S100MemberProjection projection = S100MemberProjection.of("status", "featureName/name",
+                S100MemberProjection.POINT_GEOMETRY, "geometry/pointProperty/Point/@srsName");
+
+        // Project all the members
+        final List<S100ProjectedMember> members = S125Utils.projectDatasetMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)), projection);
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), members.size());
+
+        // Project the Virtual AIS AtoNs only and evaluate
+        final List<S100ProjectedMember> vatons = S125Utils.projectDatasetMembers(
+                new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8)),
+                S100MemberFilter.ofTypes(VirtualAISAidToNavigation.class),
+                projection);
+        assertEquals(1, vatons.size());
+        final S100ProjectedMember vaton = vatons.getFirst();
+        assertEquals(this.vaton.getId(), vaton.id());
+        assertEquals("VirtualAISAidToNavigation", vaton.featureType());
+        assertEquals("Confirmed", vaton.getValue("status"));
+        assertEquals(2, vaton.getValues("featureName/name").size());
+        assertEquals("Test AtoN for Cork Hole", vaton.getValue("featureName/name"));
+        assertEquals("51.8916667 1.4233333", vaton.getValue(S100MemberProjection.POINT_GEOMETRY));
+        assertEquals("EPSG:4326", vaton.getValue("geometry/pointProperty/Point/@srsName"));
+        assertNull(vaton.getValue("mMSICode"));
+    }
+
+    /**
+     * This test checks that the S125Utils can query the dataset members
+     * by their types, attributes, positions and validity periods, through
+     * the spatial and temporal indices of the dataset.
+     */
+    @Test
+    void testQueryDatasetMembers() {
+        final S100DatasetIndex<AbstractGMLType> index = S125Utils.indexDatasetMembers(this.dataset);
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), index.size());
+        assertTrue(index.hasSpatialIndex());
+        assertTrue(index.hasTemporalIndex());
+
+        // Query the confirmed Virtual AIS AtoNs around Cork Hole
+        final List<AbstractGMLType> vatons = S125Utils.queryDatasetMembers(this.dataset, new S100DatasetQuery<AbstractGMLType>()
+                        .setTypes(VirtualAISAidToNavigation.class)
+                        .addAttribute("status", "Confirmed")
+                        .setBoundingBox(new S100BoundingBox(51.5, 1.0, 52.0, 2.0))
+                        .setValidityDate(LocalDate.of(2020, 1, 1)))
+                .toList();
+        assertEquals(1, vatons.size());
+        assertEquals(this.vaton.getId(), vatons.getFirst().getId());
+
+        // Queries outside the AtoN extent or validity period match nothing
+        assertEquals(0, new S100DatasetQuery<AbstractGMLType>()
+                .setTypes(VirtualAISAidToNavigation.class)
+                .setBoundingBox(new S100BoundingBox(0, 0, 1, 1))
+                .execute(index)
+                .count());
+        assertEquals(0, new S100DatasetQuery<AbstractGMLType>()
+                .setTypes(VirtualAISAidToNavigation.class)
+                .setValidityDate(LocalDate.of(2100, 1, 1))
+                .execute(index)
+                .count());
+    }
+
     /**
      * This test checks that the S125Utils addDatasetMembers function to easily
      * add a member entry to the correct dataset list i.e. in the Virtual
@@ -386,6 +919,45 @@ class S125UtilsTest {
         S125Utils.addDatasetMembers(this.dataset, null);
     }
 
+    /**
+     * This test checks that the S125Utils can index the dataset members by
+     * their identifiers, resolve the references between them in bulk, and
+     * keep the index up to date as new members are added.
+     */
+    @Test
+    void testIndexDatasetReferences() {
+        final S100ReferenceResolver<AbstractGMLType> resolver = S125Utils.indexDatasetReferences(this.dataset);
+        assertEquals(2, resolver.size());
+        assertSame(this.vaton, resolver.resolve("ID001"));
+        assertSame(this.vaton, resolver.resolve("#ID001"));
+
+        // The status part of the Virtual AIS AtoN is resolved
+        final List<S100Reference<AbstractGMLType>> references = resolver.resolveAll();
+        assertEquals(1, references.size());
+        assertSame(this.vaton, references.getFirst().source());
+        assertEquals("statuspart", references.getFirst().property());
+        assertSame(this.vaton, references.getFirst().target());
+        assertTrue(resolver.getDanglingReferences().isEmpty());
+
+        // Add an AtoN referencing a status that is not yet in the dataset
+        final VirtualAISAidToNavigationImpl newVaton = new VirtualAISAidToNavigationImpl();
+        newVaton.setId("ID003");
+        final ReferenceTypeImpl statusRef = new ReferenceTypeImpl();
+        statusRef.setHref("#ID004");
+        newVaton.setStatuspart(statusRef);
+        S125Utils.addDatasetMembers(this.dataset, Collections.singletonList(newVaton), resolver);
+        assertEquals(1, resolver.getDanglingReferences().size());
+        assertEquals("#ID004", resolver.getDanglingReferences().getFirst().href());
+
+        // And then add the referenced status as well
+        final AtonStatusInformationImpl newStatus = new AtonStatusInformationImpl();
+        newStatus.setId("ID004");
+        S125Utils.addDatasetMembers(this.dataset, Collections.singletonList(newStatus), resolver);
+        assertTrue(resolver.getDanglingReferences().isEmpty());
+        assertSame(newStatus, resolver.getReferences(newVaton).getFirst().target());
+        assertEquals(4, S125Utils.getDatasetMembers(this.dataset).size());
+    }
+
     /**
      * Test that if invalid or null inputs are provided, the generation method
      * for the S-125 Aids to Navigation geometries list will return an empty
@@ -551,4 +1123,64 @@ class S125UtilsTest {
         assertEquals(now, S125Utils.localDateToS100TruncatedDate(now).getDate());
     }
 
-}
\ No newline at end of file
+    /**
+     * Test that the S-125 dataset members can be published incrementally
+     * from a channel, matching the ones retrieved from the dataset object.
+     *
+     * @throws Exception an exception thrown while publishing the members
+     */
+    @Test
+    void testPublishDatasetMembers() throws Exception {
+        final CompletableFuture<List<AbstractGMLType>> result = new CompletableFuture<>();
+        S125Utils.publishDatasetMembers(Channels.newChannel(new ByteArrayInputStream(this.datasetXml.getBytes(StandardCharsets.UTF_8))))
+                .subscribe(new Flow.Subscriber<>() {
+                    private final List<AbstractGMLType> members = new ArrayList<>();
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(AbstractGMLType member) {
+                        this.members.add(member);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        result.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        result.complete(this.members);
+                    }
+                });
+
+        final List<AbstractGMLType> members = result.get(60, TimeUnit.SECONDS);
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).stream().map(AbstractGMLType::getId).collect(Collectors.toSet()),
+                members.stream().map(AbstractGMLType::getId).collect(Collectors.toSet()));
+        assertEquals(S125Utils.getDatasetMembers(this.dataset).size(), members.size());
+    }
+
+    /**
+     * Test that the native-image reachability metadata of the S-125 bindings
+     * is generated and covers the generated dataset classes. The metadata is
+     * only generated by the "native-agent" build profile, which also enables
+     * this test.
+     *
+     * @throws IOException an IO exception thrown while reading the metadata
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "native-image.metadata", matches = "true")
+    void testNativeImageMetadata() throws IOException {
+        try(InputStream in = ClassLoader.getSystemResourceAsStream("META-INF/native-image/org.grad.eNav/S125/reflect-config.json")) {
+            assertNotNull(in);
+
+            final String reflectConfig = IOUtils.toString(in, StandardCharsets.UTF_8);
+            assertTrue(reflectConfig.contains("\"name\": \"_int.iho.s_125.gml.cs0._1.impl.DatasetImpl\""));
+            assertTrue(reflectConfig.contains("\"name\": \"_int.iho.s_125.gml.cs0._1.ObjectFactory\""));
+        }
+    }
+
+}
@@ -17,22 +17,60 @@
 package org.grad.eNav.s201.utils;
 
 import _int.iho.s_201.gml.cs0._2.*;
+import _int.iho.s_201.s_100.gml.base._5_2.PointProperty;
 import _int.iho.s_201.s_100.gml.base._5_2.S100SpatialAttributeType;
 import _int.iho.s_201.s_100.gml.base._5_2.impl.CurvePropertyImpl;
 import _int.iho.s_201.s_100.gml.base._5_2.impl.PointPropertyImpl;
 import _int.iho.s_201.s_100.gml.base._5_2.impl.SurfacePropertyImpl;
 import _int.iho.s_201.s_100.gml.profiles._5_2.AbstractGMLType;
+import _int.iho.s_201.s_100.gml.profiles._5_2.BoundingShapeType;
+import _int.iho.s_201.s_100.gml.profiles._5_2.ReferenceType;
 import _int.iho.s_201.gml.cs0._2.impl.*;
 import jakarta.xml.bind.*;
+import org.grad.eNav.s100.events.S100DatasetMembersEvent;
+import org.grad.eNav.s100.events.S100GeometryEvent;
+import org.grad.eNav.s100.events.S100MarshalEvent;
+import org.grad.eNav.s100.events.S100UnmarshalEvent;
+import org.grad.eNav.s100.metrics.BindingMetrics;
+import org.grad.eNav.s100.metrics.BindingMetricsRegistry;
+import org.grad.eNav.s100.query.S100BoundingBox;
+import org.grad.eNav.s100.query.S100DatasetIndex;
+import org.grad.eNav.s100.query.S100DatasetQuery;
+import org.grad.eNav.s100.query.S100ValidityPeriod;
+import org.grad.eNav.s100.stax.S100MemberFilter;
+import org.grad.eNav.s100.stax.S100MemberProjection;
+import org.grad.eNav.s100.stax.S100MemberPublisher;
+import org.grad.eNav.s100.stax.S100ProjectedMember;
+import org.grad.eNav.s100.stax.S100StaxCodec;
+import org.grad.eNav.s100.stax.S100XmlEngine;
+import org.grad.eNav.s100.utils.S100BatchOperations;
+import org.grad.eNav.s100.utils.S100BatchResult;
+import org.grad.eNav.s100.utils.S100DatasetCache;
+import org.grad.eNav.s100.utils.S100DatasetSnapshotCodec;
+import org.grad.eNav.s100.utils.S100JaxbContexts;
+import org.grad.eNav.s100.utils.S100JaxbPool;
+import org.grad.eNav.s100.utils.S100ReferenceResolver;
 
+import javax.xml.stream.XMLStreamException;
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -47,6 +85,40 @@ import java.util.stream.Stream;
  */
 public class S201Utils {
 
+    /**
+     * The binary snapshot codec of the S-201 datasets.
+     */
+    private static final S100DatasetSnapshotCodec<DatasetImpl> SNAPSHOT_CODEC = new S100DatasetSnapshotCodec<>(
+            DatasetImpl.class, GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, "_int.iho.s_201.");
+
+    /**
+     * The JAXB-free StAX codec of the S-201 datasets.
+     */
+    private static final S100StaxCodec STAX_CODEC = new S100StaxCodec(new StaxBindings());
+
+    /**
+     * The pool of the JAXB marshallers and unmarshallers of the S-201 datasets.
+     */
+    private static final S100JaxbPool JAXB_POOL = new S100JaxbPool(DatasetImpl.class);
+
+    /**
+     * The cache of the property getters of the S-201 dataset member classes.
+     */
+    private static final Map<Class<?>, Map<String, Optional<Method>>> MEMBER_PROPERTY_GETTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the JAXB context of the S-201 datasets in the background, so
+     * that it is ready by the time the first marshalling or unmarshalling
+     * operation is performed. This should be called as early as possible
+     * during the application startup, e.g. in the static initialiser of a
+     * serverless function handler.
+     *
+     * @return a future completed once the JAXB context has been created
+     */
+    public static CompletableFuture<Void> prewarm() {
+        return S100JaxbContexts.prewarm(DatasetImpl.class);
+    }
+
     /**
      * Overloading the S-201 marshalling operation to easily perform the task
      * with the formatting turned on by default.
@@ -69,22 +141,59 @@ public class S201Utils {
      * @throws JAXBException for errors in the marshalling operation
      */
     public static String marshalS201(Dataset dataset, Boolean format) throws JAXBException {
-        // Manipulate the class loader for the JAXBContext
-        final Thread thread = Thread.currentThread();
-        final ClassLoader originalClassLoader = thread.getContextClassLoader();
-        thread.setContextClassLoader(DatasetImpl.class.getClassLoader());
-        final JAXBContext jaxbContext = JAXBContext.newInstance(DatasetImpl.class);
+        return marshalS201(dataset, format, S100XmlEngine.JAXB);
+    }
 
-        // Create the JAXB Marshaller
-        Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-        jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, format);
+    /**
+     * Using the S-201 utilities we can marshall back an S-201 DatasetType
+     * object in its XML view, through the selected XML engine. The StAX
+     * engine does not require the JAXB runtime but produces an equivalent
+     * XML representation.
+     *
+     * @param dataset the S-201 Dataset object
+     * @param format whether to format the XML string
+     * @param engine the XML engine to be used
+     * @return the marshalled S-201 Dataset XML representation
+     * @throws JAXBException for errors in the marshalling operation
+     */
+    public static String marshalS201(Dataset dataset, Boolean format, S100XmlEngine engine) throws JAXBException {
+        // Start monitoring the operation
+        final S100MarshalEvent event = new S100MarshalEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
 
         // Transform the S-201 object to an output stream
         ByteArrayOutputStream xmlStream = new ByteArrayOutputStream();
-        jaxbMarshaller.marshal(dataset, xmlStream);
+        if(engine == S100XmlEngine.STAX) {
+            try {
+                STAX_CODEC.marshal(dataset, xmlStream, Boolean.TRUE.equals(format));
+            } catch (XMLStreamException ex) {
+                throw new JAXBException(ex);
+            }
+        } else {
+            // Acquire a pooled JAXB Marshaller of the shared context, which
+            // binds the class loader once, when the context is created
+            final Marshaller jaxbMarshaller = JAXB_POOL.acquireMarshaller();
+            jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, format);
+            jaxbMarshaller.marshal(dataset, xmlStream);
+            JAXB_POOL.releaseMarshaller(jaxbMarshaller);
+        }
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
 
-        // Replace the original context loader
-        thread.setContextClassLoader(originalClassLoader);
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.MARSHAL, startTime);
+        metrics.incrementCounter(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.MARSHALLED_BYTES, xmlStream.size());
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setByteSize(xmlStream.size())
+                    .setMemberCount((int) streamDatasetMembers(dataset).count())
+                    .commit();
+        }
 
         // Return the XML string
         return xmlStream.toString();
@@ -100,26 +209,202 @@ public class S201Utils {
      * @throws JAXBException for errors in the unmarshalling operation
      */
     public static Dataset unmarshallS201(String s201) throws JAXBException {
-        // Manipulate the class loader for the JAXBContext
-        final Thread thread = Thread.currentThread();
-        final ClassLoader originalClassLoader = thread.getContextClassLoader();
-        thread.setContextClassLoader(DatasetImpl.class.getClassLoader());
-        final JAXBContext jaxbContext = JAXBContext.newInstance(DatasetImpl.class);
+        return unmarshallS201(new ByteArrayInputStream(s201.getBytes()));
+    }
+
+    /**
+     * A streaming variant of the S-201 unmarshalling operation, which reads
+     * the XML content directly from the provided input stream, e.g. a dataset
+     * file entry of an exchange set, without loading it into a string first.
+     *
+     * @param s201 the input stream of the S-201 dataset XML representation
+     * @return The unmarshalled S-201 DatasetType object
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static Dataset unmarshallS201(InputStream s201) throws JAXBException {
+        return unmarshallS201(s201, S100XmlEngine.JAXB);
+    }
+
+    /**
+     * A streaming variant of the S-201 unmarshalling operation, which reads
+     * the XML content directly from the provided input stream through the
+     * selected XML engine. The StAX engine does not require the JAXB runtime
+     * but produces an equivalent dataset object.
+     *
+     * @param s201 the input stream of the S-201 dataset XML representation
+     * @param engine the XML engine to be used
+     * @return The unmarshalled S-201 DatasetType object
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static Dataset unmarshallS201(InputStream s201, S100XmlEngine engine) throws JAXBException {
+        // Start monitoring the operation
+        final S100UnmarshalEvent event = new S100UnmarshalEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
 
-        // Create the JAXB Unmarshaller
-        Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+        // Transform the S-201 input stream into a dataset
+        final Object value;
+        if(engine == S100XmlEngine.STAX) {
+            try {
+                value = STAX_CODEC.unmarshal(event.track(s201), DatasetImpl.class);
+            } catch (XMLStreamException ex) {
+                throw new JAXBException(ex);
+            }
+        } else {
+            // Acquire a pooled JAXB Unmarshaller of the shared context, which
+            // binds the class loader once, when the context is created
+            final Unmarshaller jaxbUnmarshaller = JAXB_POOL.acquireUnmarshaller();
+            value = JAXBIntrospector.getValue(jaxbUnmarshaller.unmarshal(event.track(s201)));
+            JAXB_POOL.releaseUnmarshaller(jaxbUnmarshaller);
+        }
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
 
-        // Transform the S-201 context into an input stream and then a dataset
-        final ByteArrayInputStream is = new ByteArrayInputStream(s201.getBytes());
-        final Object value = JAXBIntrospector.getValue(jaxbUnmarshaller.unmarshal(is));
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.UNMARSHAL, startTime);
 
-        // Replace the original context loader
-        thread.setContextClassLoader(originalClassLoader);
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount((int) streamDatasetMembers((Dataset) value).count())
+                    .commit();
+        }
 
         // And return the dataset
         return (Dataset) value;
     }
 
+    /**
+     * A cached variant of the S-201 unmarshalling operation, which only
+     * unmarshalls the provided XML content if a dataset with the same content
+     * hash is not already available in the provided cache. The datasets are
+     * weighted by the size of their XML representation.
+     *
+     * @param s201 the S-201 dataset XML representation
+     * @param cache the cache of the S-201 datasets
+     * @return The cached or unmarshalled S-201 DatasetType object
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static Dataset unmarshallS201(String s201, S100DatasetCache<Dataset> cache) throws JAXBException {
+        final byte[] content = s201.getBytes();
+        return cache.get(S100DatasetCache.contentKey(content), content.length, () -> unmarshallS201(new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * A cached variant of the S-201 unmarshalling operation, which only
+     * unmarshalls the provided XML content if a dataset with the same key,
+     * e.g. generated from its dataset ID, edition and update number, is not
+     * already available in the provided cache. The datasets are weighted by
+     * the size of their XML representation.
+     *
+     * @param s201 the S-201 dataset XML representation
+     * @param key the key of the S-201 dataset
+     * @param cache the cache of the S-201 datasets
+     * @return The cached or unmarshalled S-201 DatasetType object
+     * @throws JAXBException for errors in the unmarshalling operation
+     * @see S100DatasetCache#datasetKey(String, BigInteger, BigInteger)
+     */
+    public static Dataset unmarshallS201(String s201, String key, S100DatasetCache<Dataset> cache) throws JAXBException {
+        final byte[] content = s201.getBytes();
+        return cache.get(key, content.length, () -> unmarshallS201(new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * A batch variant of the S-201 marshalling operation, with the formatting
+     * turned on by default, which marshals all the provided datasets
+     * concurrently, each on its own virtual thread.
+     *
+     * @param datasets the S-201 Dataset objects
+     * @return the marshalling results, in the input order
+     */
+    public static List<S100BatchResult<String>> marshalAll(List<Dataset> datasets) {
+        return marshalAll(datasets, Boolean.TRUE, S100BatchOperations.VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * A batch variant of the S-201 marshalling operation, which marshals all
+     * the provided datasets concurrently, using the provided executor. The
+     * failure of a dataset is captured in its result and does not abort the
+     * rest of the batch.
+     *
+     * @param datasets the S-201 Dataset objects
+     * @param format whether to format the XML strings
+     * @param executor the executor to marshal the datasets with
+     * @return the marshalling results, in the input order
+     */
+    public static List<S100BatchResult<String>> marshalAll(List<Dataset> datasets, Boolean format, Executor executor) {
+        return S100BatchOperations.executeAll(datasets, dataset -> marshalS201(dataset, format), executor);
+    }
+
+    /**
+     * A batch variant of the S-201 unmarshalling operation, which unmarshals
+     * all the provided input streams concurrently, each on its own virtual
+     * thread, e.g. for bursts of small messages received by a gateway.
+     *
+     * @param s201s the input streams of the S-201 dataset XML representations
+     * @return the unmarshalling results, in the input order
+     */
+    public static List<S100BatchResult<Dataset>> unmarshalAll(List<InputStream> s201s) {
+        return unmarshalAll(s201s, S100BatchOperations.VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * A batch variant of the S-201 unmarshalling operation, which unmarshals
+     * all the provided input streams concurrently, using the provided
+     * executor. The failure of a stream is captured in its result and does
+     * not abort the rest of the batch. The input streams are not closed.
+     *
+     * @param s201s the input streams of the S-201 dataset XML representations
+     * @param executor the executor to unmarshal the streams with
+     * @return the unmarshalling results, in the input order
+     */
+    public static List<S100BatchResult<Dataset>> unmarshalAll(List<InputStream> s201s, Executor executor) {
+        return S100BatchOperations.executeAll(s201s, S201Utils::unmarshallS201, executor);
+    }
+
+    /**
+     * Writes a compact binary snapshot of the provided S-201 dataset into the
+     * output stream. The snapshot can be read back much faster than the XML
+     * representation of the dataset, but is only meant for caching purposes,
+     * e.g. to speed up the loading of large datasets.
+     *
+     * @param dataset the S-201 Dataset object
+     * @param out the output stream to write the snapshot to
+     * @throws IOException for errors while writing the snapshot
+     */
+    public static void writeS201Snapshot(Dataset dataset, OutputStream out) throws IOException {
+        SNAPSHOT_CODEC.write((DatasetImpl) dataset, out);
+    }
+
+    /**
+     * Reads an S-201 dataset from the provided binary snapshot input stream.
+     *
+     * @param in the input stream to read the snapshot from
+     * @return the S-201 Dataset object read from the snapshot
+     * @throws IOException for invalid or corrupted snapshots
+     */
+    public static Dataset readS201Snapshot(InputStream in) throws IOException {
+        return SNAPSHOT_CODEC.read(in);
+    }
+
+    /**
+     * Loads an S-201 dataset from the provided XML source file, using its
+     * binary snapshot file if that was generated from the same source. If the
+     * snapshot is missing, invalid or stale, the XML source will be
+     * unmarshalled instead and the snapshot will be refreshed.
+     *
+     * @param source the path of the S-201 dataset XML source file
+     * @param snapshot the path of the binary snapshot file
+     * @return the loaded S-201 Dataset object
+     * @throws IOException for errors while reading the XML source file
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static Dataset loadS201(Path source, Path snapshot) throws IOException, JAXBException {
+        return SNAPSHOT_CODEC.load(source, snapshot, in -> (DatasetImpl) S201Utils.unmarshallS201(in));
+    }
+
     /**
      * For easier access to a dataset members, this function will parse the
      * S-201 XML content of a dataset and returned the included objects.
@@ -132,6 +417,120 @@ public class S201Utils {
         return getDatasetMembers(S201Utils.unmarshallS201(s201));
     }
 
+    /**
+     * A selective variant of the dataset members retrieval, which reads the
+     * S-201 XML content through the StAX engine and only returns the
+     * members accepted by the provided filter, e.g. the members of specific
+     * types. The filter is pushed down to the parser, so the XML content of
+     * all the other members is skipped without building any objects. Since
+     * the members are read independently, any references between them are
+     * not resolved.
+     *
+     * @param s201 the input stream of the S-201 dataset XML representation
+     * @param filter the filter of the members to be read
+     * @return the list of the accepted dataset member entries as abstract feature types
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static List<? extends AbstractGMLType> getDatasetMembers(InputStream s201, S100MemberFilter filter) throws JAXBException {
+        // Start monitoring the operation
+        final S100DatasetMembersEvent event = new S100DatasetMembersEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
+        // Read the accepted dataset members
+        final List<AbstractGMLType> datasetMembers = new ArrayList<>();
+        try(S100StaxCodec.MemberReader reader = STAX_CODEC.openMembers(s201, Dataset.Members.class, filter)) {
+            for(Object member = reader.next(); Objects.nonNull(member); member = reader.next()) {
+                if(member instanceof AbstractGMLType abstractGMLType) {
+                    datasetMembers.add(abstractGMLType);
+                }
+            }
+        } catch (XMLStreamException ex) {
+            throw new JAXBException(ex);
+        }
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.GET_MEMBERS, startTime);
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setOperation("getDatasetMembers")
+                    .setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount(datasetMembers.size())
+                    .commit();
+        }
+
+        // And return the dataset members
+        return datasetMembers;
+    }
+
+    /**
+     * A projection variant of the dataset members retrieval, which reads the
+     * S-201 XML content through the StAX engine and decodes only the
+     * requested paths of each member into lightweight records, e.g. the
+     * geometries and a few attributes required for map rendering. None of the
+     * member objects are built, while the content outside the projected paths
+     * is skipped without being parsed.
+     *
+     * @param s201 the input stream of the S-201 dataset XML representation
+     * @param projection the projection of the members
+     * @return the list of all projected dataset member entries
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static List<S100ProjectedMember> projectDatasetMembers(InputStream s201, S100MemberProjection projection) throws JAXBException {
+        return projectDatasetMembers(s201, S100MemberFilter.ALL, projection);
+    }
+
+    /**
+     * A selective projection variant of the dataset members retrieval, which
+     * only projects the members accepted by the provided filter, skipping the
+     * XML content of all the other members.
+     *
+     * @param s201 the input stream of the S-201 dataset XML representation
+     * @param filter the filter of the members to be projected
+     * @param projection the projection of the members
+     * @return the list of the accepted projected dataset member entries
+     * @throws JAXBException for errors in the unmarshalling operation
+     */
+    public static List<S100ProjectedMember> projectDatasetMembers(InputStream s201, S100MemberFilter filter, S100MemberProjection projection) throws JAXBException {
+        // Start monitoring the operation
+        final S100DatasetMembersEvent event = new S100DatasetMembersEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
+        // Project the accepted dataset members
+        final List<S100ProjectedMember> datasetMembers = new ArrayList<>();
+        try(S100StaxCodec.ProjectionReader reader = STAX_CODEC.openProjections(s201, Dataset.Members.class, filter, projection)) {
+            for(S100ProjectedMember member = reader.next(); Objects.nonNull(member); member = reader.next()) {
+                datasetMembers.add(member);
+            }
+        } catch (XMLStreamException ex) {
+            throw new JAXBException(ex);
+        }
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.GET_MEMBERS, startTime);
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setOperation("projectDatasetMembers")
+                    .setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount(datasetMembers.size())
+                    .commit();
+        }
+
+        // And return the projected dataset members
+        return datasetMembers;
+    }
+
     /**
      * Returns a list of all defined abstract feature types in a given dataset.
      * This list will basically contain all the entries of the XML-based dataset
@@ -142,6 +541,111 @@ public class S201Utils {
      * @return the list of all dataset member entries as abstract feature types
      */
     public static List<? extends AbstractGMLType> getDatasetMembers(Dataset dataset) {
+        // Start monitoring the operation
+        final S100DatasetMembersEvent event = new S100DatasetMembersEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
+        // Collect all the dataset members
+        final List<AbstractGMLType> datasetMembers = streamDatasetMembers(dataset).toList();
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.GET_MEMBERS, startTime);
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setOperation("getDatasetMembers")
+                    .setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount(datasetMembers.size())
+                    .commit();
+        }
+
+        // And return the dataset members
+        return datasetMembers;
+    }
+
+    /**
+     * A reactive variant of the dataset members retrieval, which publishes
+     * the same abstract feature types as the {@link #getDatasetMembers(Dataset)}
+     * operation, but parses them incrementally from the provided channel,
+     * only as they are requested by the subscriber. The members are published
+     * in their document order on virtual threads, and the channel is closed
+     * once the subscription completes, fails or is cancelled.
+     *
+     * @param s201 the channel of the S-201 dataset XML representation
+     * @return the publisher of all dataset member entries as abstract feature types
+     */
+    public static Flow.Publisher<AbstractGMLType> publishDatasetMembers(ReadableByteChannel s201) {
+        return publishDatasetMembers(s201, S100MemberPublisher.VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * A reactive variant of the dataset members retrieval, which parses the
+     * members incrementally from the provided channel and publishes them on
+     * the provided executor.
+     *
+     * @param s201 the channel of the S-201 dataset XML representation
+     * @param executor the executor to parse and publish the members with
+     * @return the publisher of all dataset member entries as abstract feature types
+     */
+    public static Flow.Publisher<AbstractGMLType> publishDatasetMembers(ReadableByteChannel s201, Executor executor) {
+        return new S100MemberPublisher<>(STAX_CODEC, s201, Dataset.Members.class, AbstractGMLType.class, executor);
+    }
+
+    /**
+     * A selective variant of the reactive dataset members retrieval, which
+     * only parses and publishes the members accepted by the provided filter,
+     * on virtual threads.
+     *
+     * @param s201 the channel of the S-201 dataset XML representation
+     * @param filter the filter of the members to be published
+     * @return the publisher of the accepted dataset member entries as abstract feature types
+     */
+    public static Flow.Publisher<AbstractGMLType> publishDatasetMembers(ReadableByteChannel s201, S100MemberFilter filter) {
+        return new S100MemberPublisher<>(STAX_CODEC, s201, Dataset.Members.class, AbstractGMLType.class, filter, S100MemberPublisher.VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Indexes the members of the provided S-201 dataset for the queries of
+     * the {@link S100DatasetQuery} API. The members are indexed spatially by
+     * their bounding envelopes, or by their point geometries if no envelope
+     * is provided, and temporally by their fixed date ranges. The index
+     * should be reused for all the queries over the same dataset.
+     *
+     * @param dataset the dataset to be indexed
+     * @return the index of the dataset members
+     */
+    public static S100DatasetIndex<AbstractGMLType> indexDatasetMembers(Dataset dataset) {
+        return S100DatasetIndex.of(streamDatasetMembers(dataset).toList(), S201Utils::getMemberEnvelope, S201Utils::getMemberValidity);
+    }
+
+    /**
+     * Executes the provided query over the members of the provided S-201
+     * dataset, returning a lazily evaluated stream of the matching members.
+     * For multiple queries over the same dataset, the dataset should instead
+     * be indexed once through the {@link #indexDatasetMembers(Dataset)}
+     * operation, and the queries executed directly against the index.
+     *
+     * @param dataset the dataset to be queried
+     * @param query the dataset members query
+     * @return the stream of the matching dataset members
+     */
+    public static Stream<AbstractGMLType> queryDatasetMembers(Dataset dataset, S100DatasetQuery<AbstractGMLType> query) {
+        return query.execute(indexDatasetMembers(dataset));
+    }
+
+    /**
+     * Streams all defined abstract feature types in a given dataset, without
+     * collecting them into a list first, e.g. so that they can be counted.
+     *
+     * @param dataset the dataset to be processed
+     * @return the stream of all dataset member entries as abstract feature types
+     */
+    private static Stream<AbstractGMLType> streamDatasetMembers(Dataset dataset) {
         // First get the dataset members
         Dataset.Members members = Optional.ofNullable(dataset)
                 .map(Dataset::getMembers)
@@ -149,7 +653,7 @@ public class S201Utils {
 
         // Sanity Check
         if(Objects.isNull(members)) {
-            return Collections.emptyList();
+            return Stream.empty();
         }
 
         // Otherwise combine all member data
@@ -183,6 +687,7 @@ public class S201Utils {
                 members.getLightAirObstruction(),
                 members.getLightFogDetector(),
                 members.getFogSignal(),
+                members.getRadarReflector(),
                 members.getRetroreflector(),
                 members.getDaymark(),
                 members.getRadarTransponderBeacon(),
@@ -196,8 +701,6 @@ public class S201Utils {
                 members.getQualityOfNonBathymetricData(),
                 members.getSoundingDatum(),
                 members.getVerticalDatumOfData(),
-                members.getVerticalDatumOfData(),
-                members.getSoundingDatum(),
                 members.getAidsToNavigation(),
                 members.getEquipment(),
                 members.getStructureObject(),
@@ -214,8 +717,101 @@ public class S201Utils {
                 )
                 .flatMap(Collection::stream)
                 .filter(AbstractGMLType.class::isInstance)
-                .map(AbstractGMLType.class::cast)
-                .toList();
+                .map(AbstractGMLType.class::cast);
+    }
+
+    /**
+     * Returns the bounding box of a dataset member, either from its bounding
+     * envelope or from the positions of its point geometries.
+     *
+     * @param member the dataset member
+     * @return the bounding box of the member, or null if it cannot be determined
+     */
+    private static S100BoundingBox getMemberEnvelope(AbstractGMLType member) {
+        // First try the bounding envelope of the member
+        final S100BoundingBox envelope = Optional.ofNullable(readMemberProperty(member, "boundedBy"))
+                .filter(BoundingShapeType.class::isInstance)
+                .map(BoundingShapeType.class::cast)
+                .map(BoundingShapeType::getEnvelope)
+                .filter(env -> Objects.nonNull(env.getLowerCorner()) && Objects.nonNull(env.getUpperCorner()))
+                .map(env -> S100BoundingBox.ofCorners(env.getLowerCorner().getValue(), env.getUpperCorner().getValue()))
+                .orElse(null);
+        if(Objects.nonNull(envelope) || !(member instanceof AidsToNavigationType aidsToNavigationType)) {
+            return envelope;
+        }
+
+        // Otherwise combine the positions of the point geometries
+        return getS201AidsToNavigationTypeGeometriesList(aidsToNavigationType)
+                .stream()
+                .filter(PointProperty.class::isInstance)
+                .map(PointProperty.class::cast)
+                .map(PointProperty::getPoint)
+                .filter(point -> Objects.nonNull(point) && Objects.nonNull(point.getPos()))
+                .map(point -> S100BoundingBox.ofCorners(point.getPos().getValue(), point.getPos().getValue()))
+                .filter(Objects::nonNull)
+                .reduce(S100BoundingBox::union)
+                .orElse(null);
+    }
+
+    /**
+     * Returns the validity period of a dataset member, from its fixed date
+     * range, if any.
+     *
+     * @param member the dataset member
+     * @return the validity period of the member, or null if it is always valid
+     */
+    private static S100ValidityPeriod getMemberValidity(AbstractGMLType member) {
+        return Optional.ofNullable(readMemberProperty(member, "fixedDateRange"))
+                .filter(FixedDateRangeType.class::isInstance)
+                .map(FixedDateRangeType.class::cast)
+                .map(range -> new S100ValidityPeriod(
+                        s100TruncatedDateToLocalDate(range.getDateStart()),
+                        s100TruncatedDateToLocalDate(range.getDateEnd())))
+                .orElse(null);
+    }
+
+    /**
+     * Reads a property of a dataset member through its getter, since the
+     * property might not be defined for all the member types. The getters
+     * are looked up once per member class and then cached.
+     *
+     * @param member the dataset member
+     * @param property the property name
+     * @return the property value, or null if not defined
+     */
+    private static Object readMemberProperty(AbstractGMLType member, String property) {
+        final Method getter = MEMBER_PROPERTY_GETTERS
+                .computeIfAbsent(member.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(property, name -> findMemberPropertyGetter(member.getClass(), name))
+                .orElse(null);
+
+        // Sanity Check
+        if(Objects.isNull(getter)) {
+            return null;
+        }
+
+        // Read the property
+        try {
+            return getter.invoke(member);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the getter of a dataset member property, once per member class,
+     * so that it can be cached.
+     *
+     * @param type the dataset member class
+     * @param property the property name
+     * @return the property getter, if defined
+     */
+    private static Optional<Method> findMemberPropertyGetter(Class<?> type, String property) {
+        try {
+            return Optional.ofNullable(new PropertyDescriptor(property, type).getReadMethod());
+        } catch (IntrospectionException ex) {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -234,6 +830,12 @@ public class S201Utils {
             return;
         }
 
+        // Start monitoring the operation
+        final S100DatasetMembersEvent event = new S100DatasetMembersEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // First get the dataset members
         final Dataset.Members members = Optional.of(dataset)
                 .map(Dataset::getMembers)
@@ -347,6 +949,61 @@ public class S201Utils {
 
         // Now add the updated members back
         dataset.setMembers(members);
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.ADD_MEMBERS, startTime);
+        metrics.incrementCounter(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.ROUTED_MEMBERS, memberEntries.size());
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setOperation("addDatasetMembers")
+                    .setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount(memberEntries.size())
+                    .commit();
+        }
+    }
+
+    /**
+     * A variant of the {@link #addDatasetMembers(Dataset, Collection)}
+     * operation that also indexes the added members in the provided
+     * reference resolver, e.g. one created through the
+     * {@link #indexDatasetReferences(Dataset)} operation, so that the
+     * references to the new members can be resolved without indexing the
+     * whole dataset again.
+     *
+     * @param dataset the dataset whose members will be populated
+     * @param memberEntries the collection of member entries to be added
+     * @param resolver the reference resolver of the dataset
+     * @param <T> the generic type of the entry, extending the AbstractFeatureTypeImpl
+     */
+    public static <T extends AbstractGMLType> void addDatasetMembers(Dataset dataset, Collection<T> memberEntries, S100ReferenceResolver<AbstractGMLType> resolver) {
+        addDatasetMembers(dataset, memberEntries);
+
+        // Keep the reference index up to date
+        if(Objects.nonNull(dataset) && Objects.nonNull(resolver)) {
+            resolver.indexAll(memberEntries);
+        }
+    }
+
+    /**
+     * Indexes the members of the provided S-201 dataset by their GML
+     * identifiers, so that the xlink:href references between them, e.g. the
+     * peers of the AtoN aggregations and associations, can be resolved
+     * through a single lookup each, and all of them can be resolved in bulk
+     * to find the dangling ones. The resolver can be kept up to date as
+     * members are added through the
+     * {@link #addDatasetMembers(Dataset, Collection, S100ReferenceResolver)}
+     * operation.
+     *
+     * @param dataset the dataset to be indexed
+     * @return the reference resolver of the dataset
+     */
+    public static S100ReferenceResolver<AbstractGMLType> indexDatasetReferences(Dataset dataset) {
+        return S100ReferenceResolver.forReferenceType(AbstractGMLType::getId, ReferenceType.class, ReferenceType::getHref)
+                .indexAll(streamDatasetMembers(dataset).toList());
     }
 
     /**
@@ -367,6 +1024,12 @@ public class S201Utils {
             return Collections.emptyList();
         }
 
+        // Start monitoring the operation
+        final S100GeometryEvent event = new S100GeometryEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
         // Create a new custom AtoN geometry object to insert to the list
         final Class<?> geometryClass = Optional.of(aidsToNavigationTypeClass)
                 .map(clazz -> getS201AidsToNavigationDeclaredClass("GeometryImpl", clazz))
@@ -377,7 +1040,7 @@ public class S201Utils {
         // Now we need to instantiate and populate the geometry objects based
         // on the geometries value type of each of the provided S100 spatial
         // attributes. The generated list will be collected and returned
-        return values.stream()
+        final List<?> geometries = values.stream()
                 .map(val -> {
                     final Object geometriesClassObj = Optional.ofNullable(geometryClass)
                             .map(c -> { try { return c.getConstructor(); } catch (Exception ex) { return null; }})
@@ -405,6 +1068,24 @@ public class S201Utils {
                 .filter(Objects::nonNull)
                 .map(geometryClass::cast)
                 .collect(Collectors.toList());
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.GENERATE_GEOMETRIES, startTime);
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setOperation("generateGeometriesList")
+                    .setFeatureType(aidsToNavigationTypeClass.getSimpleName())
+                    .setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount(geometries.size())
+                    .commit();
+        }
+
+        // And return the geometries
+        return geometries;
     }
 
     /**
@@ -422,7 +1103,14 @@ public class S201Utils {
             return Collections.emptyList();
         }
 
-        return (List<S100SpatialAttributeType>) Optional.of(aidsToNavigationType)
+        // Start monitoring the operation
+        final S100GeometryEvent event = new S100GeometryEvent();
+        event.begin();
+        final BindingMetrics metrics = BindingMetricsRegistry.getInstance();
+        final long startTime = metrics.startTimer();
+
+        // Retrieve the geometries through their geometry property wrappers
+        final List<S100SpatialAttributeType> geometries = (List<S100SpatialAttributeType>) Optional.of(aidsToNavigationType)
                     .map(aton -> getS201AidsToNavigationField("geometries", aton))
                     .map(geometriesField -> {
                         try {
@@ -461,6 +1149,24 @@ public class S201Utils {
                     .filter(S100SpatialAttributeType.class::isInstance)
                     .map(S100SpatialAttributeType.class::cast)
                     .collect(Collectors.toList());
+
+        // Stop timing the operation, before recording its metrics
+        event.end();
+
+        // Record the operation metrics
+        metrics.recordLatency(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER, BindingMetrics.GET_GEOMETRIES, startTime);
+
+        // Record the operation if required
+        if(event.shouldCommit()) {
+            event.setOperation("getGeometriesList")
+                    .setFeatureType(aidsToNavigationType.getClass().getSimpleName())
+                    .setProduct(GIRegistryInfo.DATA_PRODUCT_IDENTIFIER)
+                    .setMemberCount(geometries.size())
+                    .commit();
+        }
+
+        // And return the geometries
+        return geometries;
     }
 
     /**